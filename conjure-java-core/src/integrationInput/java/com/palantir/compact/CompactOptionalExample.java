@@ -0,0 +1,169 @@
+package com.palantir.compact;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.palantir.conjure.java.lib.internal.HasStreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodecs;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import javax.annotation.Nonnull;
+import javax.annotation.processing.Generated;
+
+@JsonDeserialize(builder = CompactOptionalExample.Builder.class)
+@HasStreamingCodec(CompactOptionalExample.Codec.class)
+@Generated("com.palantir.conjure.java.types.BeanGenerator")
+public final class CompactOptionalExample {
+    private final int value;
+
+    private final int _present0;
+
+    private CompactOptionalExample(OptionalInt value) {
+        validateFields(value);
+        this.value = value.orElse(0);
+        this._present0 = (value.isPresent() ? 1 << 0 : 0);
+    }
+
+    @JsonProperty("value")
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public OptionalInt getValue() {
+        return (this._present0 & 1 << 0) != 0 ? OptionalInt.of(this.value) : OptionalInt.empty();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof CompactOptionalExample && equalTo((CompactOptionalExample) other));
+    }
+
+    private boolean equalTo(CompactOptionalExample other) {
+        return this.value == other.value && this._present0 == other._present0;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        hash = 31 * hash + this.value;
+        hash = 31 * hash + this._present0;
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactOptionalExample{value: " + getValue() + '}';
+    }
+
+    public static CompactOptionalExample of(OptionalInt value) {
+        return builder().value(value).build();
+    }
+
+    private static void validateFields(OptionalInt value) {
+        List<String> missingFields = null;
+        missingFields = addFieldIfMissing(missingFields, value, "value");
+        if (missingFields != null) {
+            throw new SafeIllegalArgumentException(
+                    "Some required fields have not been set", SafeArg.of("missingFields", missingFields));
+        }
+    }
+
+    private static List<String> addFieldIfMissing(List<String> prev, Object fieldValue, String fieldName) {
+        List<String> missingFields = prev;
+        if (fieldValue == null) {
+            if (missingFields == null) {
+                missingFields = new ArrayList<>(1);
+            }
+            missingFields.add(fieldName);
+        }
+        return missingFields;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Generated("com.palantir.conjure.java.types.BeanBuilderGenerator")
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static final class Builder {
+        boolean _buildInvoked;
+
+        private OptionalInt value = OptionalInt.empty();
+
+        private Builder() {}
+
+        public Builder from(CompactOptionalExample other) {
+            checkNotBuilt();
+            value(other.getValue());
+            return this;
+        }
+
+        @JsonSetter(value = "value", nulls = Nulls.SKIP)
+        public Builder value(@Nonnull OptionalInt value) {
+            checkNotBuilt();
+            this.value = Preconditions.checkNotNull(value, "value cannot be null");
+            return this;
+        }
+
+        public Builder value(int value) {
+            checkNotBuilt();
+            this.value = OptionalInt.of(value);
+            return this;
+        }
+
+        public CompactOptionalExample build() {
+            checkNotBuilt();
+            this._buildInvoked = true;
+            return new CompactOptionalExample(value);
+        }
+
+        private void checkNotBuilt() {
+            Preconditions.checkState(!_buildInvoked, "Build has already been called");
+        }
+    }
+
+    @Generated("com.palantir.conjure.java.types.StreamingCodecGenerator")
+    public static final class Codec implements StreamingCodec<CompactOptionalExample> {
+        public static final Codec INSTANCE = new Codec();
+
+        @Override
+        public void serialize(CompactOptionalExample value, JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            if ((value._present0 & 1 << 0) != 0) {
+                generator.writeFieldName("value");
+                generator.writeNumber(value.value);
+            }
+            generator.writeEndObject();
+        }
+
+        @Override
+        public CompactOptionalExample deserialize(JsonParser parser) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            StreamingCodecs.expect(parser, JsonToken.START_OBJECT, CompactOptionalExample.class);
+            Builder builder = new Builder();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "value":
+                        builder.value(StreamingCodecs.optionalInts().deserialize(parser));
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,526 @@
+package com.palantir.compact;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.palantir.conjure.java.lib.SafeLong;
+import com.palantir.conjure.java.lib.internal.HasStreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodecs;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.processing.Generated;
+
+@JsonDeserialize(builder = CompactOptionalsExample.Builder.class)
+@HasStreamingCodec(CompactOptionalsExample.Codec.class)
+@Generated("com.palantir.conjure.java.types.BeanGenerator")
+public final class CompactOptionalsExample {
+    private final int integer;
+
+    private final double num;
+
+    private final boolean bool;
+
+    private final long safelong;
+
+    @Nullable
+    private final String string;
+
+    @Nullable
+    private final OffsetDateTime datetime;
+
+    @Nullable
+    private final UUID uuid;
+
+    private final Optional<List<String>> list;
+
+    private final int required;
+
+    private final int _present0;
+
+    private int memoizedHashCode;
+
+    private CompactOptionalsExample(
+            OptionalInt integer,
+            OptionalDouble num,
+            Optional<Boolean> bool,
+            Optional<SafeLong> safelong,
+            Optional<String> string,
+            Optional<OffsetDateTime> datetime,
+            Optional<UUID> uuid,
+            Optional<List<String>> list,
+            int required) {
+        validateFields(integer, num, bool, safelong, string, datetime, uuid, list);
+        this.integer = integer.orElse(0);
+        this.num = num.orElse(0);
+        this.bool = bool.orElse(false);
+        this.safelong = safelong.isPresent() ? safelong.get().longValue() : 0L;
+        this.string = string.orElse(null);
+        this.datetime = datetime.orElse(null);
+        this.uuid = uuid.orElse(null);
+        this.list = list;
+        this.required = required;
+        this._present0 = (integer.isPresent() ? 1 << 0 : 0)
+                | (num.isPresent() ? 1 << 1 : 0)
+                | (bool.isPresent() ? 1 << 2 : 0)
+                | (safelong.isPresent() ? 1 << 3 : 0);
+    }
+
+    @JsonProperty("integer")
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public OptionalInt getInteger() {
+        return (this._present0 & 1 << 0) != 0 ? OptionalInt.of(this.integer) : OptionalInt.empty();
+    }
+
+    @JsonProperty("num")
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public OptionalDouble getNum() {
+        return (this._present0 & 1 << 1) != 0 ? OptionalDouble.of(this.num) : OptionalDouble.empty();
+    }
+
+    @JsonProperty("bool")
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public Optional<Boolean> getBool() {
+        return (this._present0 & 1 << 2) != 0 ? Optional.of(this.bool) : Optional.empty();
+    }
+
+    @JsonProperty("safelong")
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public Optional<SafeLong> getSafelong() {
+        return (this._present0 & 1 << 3) != 0 ? Optional.of(SafeLong.of(this.safelong)) : Optional.empty();
+    }
+
+    @JsonProperty("string")
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public Optional<String> getString() {
+        return Optional.ofNullable(this.string);
+    }
+
+    @JsonProperty("datetime")
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public Optional<OffsetDateTime> getDatetime() {
+        return Optional.ofNullable(this.datetime);
+    }
+
+    @JsonProperty("uuid")
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public Optional<UUID> getUuid() {
+        return Optional.ofNullable(this.uuid);
+    }
+
+    @JsonProperty("list")
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public Optional<List<String>> getList() {
+        return this.list;
+    }
+
+    @JsonProperty("required")
+    public int getRequired() {
+        return this.required;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof CompactOptionalsExample && equalTo((CompactOptionalsExample) other));
+    }
+
+    private boolean equalTo(CompactOptionalsExample other) {
+        if (this.memoizedHashCode != 0
+                && other.memoizedHashCode != 0
+                && this.memoizedHashCode != other.memoizedHashCode) {
+            return false;
+        }
+        return this.integer == other.integer
+                && Double.doubleToLongBits(this.num) == Double.doubleToLongBits(other.num)
+                && this.bool == other.bool
+                && this.safelong == other.safelong
+                && Objects.equals(this.string, other.string)
+                && Objects.equals(this.datetime, other.datetime)
+                && Objects.equals(this.uuid, other.uuid)
+                && this.list.equals(other.list)
+                && this.required == other.required
+                && this._present0 == other._present0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = memoizedHashCode;
+        if (result == 0) {
+            int hash = 1;
+            hash = 31 * hash + this.integer;
+            hash = 31 * hash + Double.hashCode(this.num);
+            hash = 31 * hash + Boolean.hashCode(this.bool);
+            hash = 31 * hash + Long.hashCode(this.safelong);
+            hash = 31 * hash + Objects.hashCode(this.string);
+            hash = 31 * hash + Objects.hashCode(this.datetime);
+            hash = 31 * hash + Objects.hashCode(this.uuid);
+            hash = 31 * hash + this.list.hashCode();
+            hash = 31 * hash + this.required;
+            hash = 31 * hash + this._present0;
+            result = hash;
+            memoizedHashCode = result;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactOptionalsExample{integer: " + getInteger() + ", num: " + getNum() + ", bool: " + getBool()
+                + ", safelong: " + getSafelong() + ", string: " + getString() + ", datetime: " + getDatetime()
+                + ", uuid: " + getUuid() + ", list: " + list + ", required: " + required + '}';
+    }
+
+    private static void validateFields(
+            OptionalInt integer,
+            OptionalDouble num,
+            Optional<Boolean> bool,
+            Optional<SafeLong> safelong,
+            Optional<String> string,
+            Optional<OffsetDateTime> datetime,
+            Optional<UUID> uuid,
+            Optional<List<String>> list) {
+        List<String> missingFields = null;
+        missingFields = addFieldIfMissing(missingFields, integer, "integer");
+        missingFields = addFieldIfMissing(missingFields, num, "num");
+        missingFields = addFieldIfMissing(missingFields, bool, "bool");
+        missingFields = addFieldIfMissing(missingFields, safelong, "safelong");
+        missingFields = addFieldIfMissing(missingFields, string, "string");
+        missingFields = addFieldIfMissing(missingFields, datetime, "datetime");
+        missingFields = addFieldIfMissing(missingFields, uuid, "uuid");
+        missingFields = addFieldIfMissing(missingFields, list, "list");
+        if (missingFields != null) {
+            throw new SafeIllegalArgumentException(
+                    "Some required fields have not been set", SafeArg.of("missingFields", missingFields));
+        }
+    }
+
+    private static List<String> addFieldIfMissing(List<String> prev, Object fieldValue, String fieldName) {
+        List<String> missingFields = prev;
+        if (fieldValue == null) {
+            if (missingFields == null) {
+                missingFields = new ArrayList<>(8);
+            }
+            missingFields.add(fieldName);
+        }
+        return missingFields;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Generated("com.palantir.conjure.java.types.BeanBuilderGenerator")
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static final class Builder {
+        boolean _buildInvoked;
+
+        private OptionalInt integer = OptionalInt.empty();
+
+        private OptionalDouble num = OptionalDouble.empty();
+
+        private Optional<Boolean> bool = Optional.empty();
+
+        private Optional<SafeLong> safelong = Optional.empty();
+
+        private Optional<String> string = Optional.empty();
+
+        private Optional<OffsetDateTime> datetime = Optional.empty();
+
+        private Optional<UUID> uuid = Optional.empty();
+
+        private Optional<List<String>> list = Optional.empty();
+
+        private int required;
+
+        private boolean _requiredInitialized = false;
+
+        private Builder() {}
+
+        public Builder from(CompactOptionalsExample other) {
+            checkNotBuilt();
+            integer(other.getInteger());
+            num(other.getNum());
+            bool(other.getBool());
+            safelong(other.getSafelong());
+            string(other.getString());
+            datetime(other.getDatetime());
+            uuid(other.getUuid());
+            list(other.getList());
+            required(other.getRequired());
+            return this;
+        }
+
+        @JsonSetter(value = "integer", nulls = Nulls.SKIP)
+        public Builder integer(@Nonnull OptionalInt integer) {
+            checkNotBuilt();
+            this.integer = Preconditions.checkNotNull(integer, "integer cannot be null");
+            return this;
+        }
+
+        public Builder integer(int integer) {
+            checkNotBuilt();
+            this.integer = OptionalInt.of(integer);
+            return this;
+        }
+
+        @JsonSetter(value = "num", nulls = Nulls.SKIP)
+        public Builder num(@Nonnull OptionalDouble num) {
+            checkNotBuilt();
+            this.num = Preconditions.checkNotNull(num, "num cannot be null");
+            return this;
+        }
+
+        public Builder num(double num) {
+            checkNotBuilt();
+            this.num = OptionalDouble.of(num);
+            return this;
+        }
+
+        @JsonSetter(value = "bool", nulls = Nulls.SKIP)
+        public Builder bool(@Nonnull Optional<Boolean> bool) {
+            checkNotBuilt();
+            this.bool = Preconditions.checkNotNull(bool, "bool cannot be null");
+            return this;
+        }
+
+        public Builder bool(boolean bool) {
+            checkNotBuilt();
+            this.bool = Optional.of(bool);
+            return this;
+        }
+
+        @JsonSetter(value = "safelong", nulls = Nulls.SKIP)
+        public Builder safelong(@Nonnull Optional<SafeLong> safelong) {
+            checkNotBuilt();
+            this.safelong = Preconditions.checkNotNull(safelong, "safelong cannot be null");
+            return this;
+        }
+
+        public Builder safelong(@Nonnull SafeLong safelong) {
+            checkNotBuilt();
+            this.safelong = Optional.of(Preconditions.checkNotNull(safelong, "safelong cannot be null"));
+            return this;
+        }
+
+        @JsonSetter(value = "string", nulls = Nulls.SKIP)
+        public Builder string(@Nonnull Optional<String> string) {
+            checkNotBuilt();
+            this.string = Preconditions.checkNotNull(string, "string cannot be null");
+            return this;
+        }
+
+        public Builder string(@Nonnull String string) {
+            checkNotBuilt();
+            this.string = Optional.of(Preconditions.checkNotNull(string, "string cannot be null"));
+            return this;
+        }
+
+        @JsonSetter(value = "datetime", nulls = Nulls.SKIP)
+        public Builder datetime(@Nonnull Optional<OffsetDateTime> datetime) {
+            checkNotBuilt();
+            this.datetime = Preconditions.checkNotNull(datetime, "datetime cannot be null");
+            return this;
+        }
+
+        public Builder datetime(@Nonnull OffsetDateTime datetime) {
+            checkNotBuilt();
+            this.datetime = Optional.of(Preconditions.checkNotNull(datetime, "datetime cannot be null"));
+            return this;
+        }
+
+        @JsonSetter(value = "uuid", nulls = Nulls.SKIP)
+        public Builder uuid(@Nonnull Optional<UUID> uuid) {
+            checkNotBuilt();
+            this.uuid = Preconditions.checkNotNull(uuid, "uuid cannot be null");
+            return this;
+        }
+
+        public Builder uuid(@Nonnull UUID uuid) {
+            checkNotBuilt();
+            this.uuid = Optional.of(Preconditions.checkNotNull(uuid, "uuid cannot be null"));
+            return this;
+        }
+
+        @JsonSetter(value = "list", nulls = Nulls.SKIP)
+        public Builder list(@Nonnull Optional<? extends List<String>> list) {
+            checkNotBuilt();
+            this.list = Preconditions.checkNotNull(list, "list cannot be null").map(Function.identity());
+            return this;
+        }
+
+        public Builder list(@Nonnull List<String> list) {
+            checkNotBuilt();
+            this.list = Optional.of(Preconditions.checkNotNull(list, "list cannot be null"));
+            return this;
+        }
+
+        @JsonSetter("required")
+        public Builder required(int required) {
+            checkNotBuilt();
+            this.required = required;
+            this._requiredInitialized = true;
+            return this;
+        }
+
+        private void validatePrimitiveFieldsHaveBeenInitialized() {
+            List<String> missingFields = null;
+            missingFields = addFieldIfMissing(missingFields, _requiredInitialized, "required");
+            if (missingFields != null) {
+                throw new SafeIllegalArgumentException(
+                        "Some required fields have not been set", SafeArg.of("missingFields", missingFields));
+            }
+        }
+
+        private static List<String> addFieldIfMissing(List<String> prev, boolean initialized, String fieldName) {
+            List<String> missingFields = prev;
+            if (!initialized) {
+                if (missingFields == null) {
+                    missingFields = new ArrayList<>(1);
+                }
+                missingFields.add(fieldName);
+            }
+            return missingFields;
+        }
+
+        public CompactOptionalsExample build() {
+            checkNotBuilt();
+            this._buildInvoked = true;
+            validatePrimitiveFieldsHaveBeenInitialized();
+            return new CompactOptionalsExample(integer, num, bool, safelong, string, datetime, uuid, list, required);
+        }
+
+        private void checkNotBuilt() {
+            Preconditions.checkState(!_buildInvoked, "Build has already been called");
+        }
+    }
+
+    @Generated("com.palantir.conjure.java.types.StreamingCodecGenerator")
+    public static final class Codec implements StreamingCodec<CompactOptionalsExample> {
+        public static final Codec INSTANCE = new Codec();
+
+        private static final StreamingCodec<OffsetDateTime> DATETIME_VALUE =
+                StreamingCodecs.databind(new TypeReference<OffsetDateTime>() {});
+
+        private static final StreamingCodec<Optional<List<String>>> LIST =
+                StreamingCodecs.optional(StreamingCodecs.list(StreamingCodecs.strings()));
+
+        private static final StreamingCodec<Optional<Boolean>> BOOL =
+                StreamingCodecs.optional(StreamingCodecs.booleans());
+
+        private static final StreamingCodec<Optional<SafeLong>> SAFELONG =
+                StreamingCodecs.optional(StreamingCodecs.safeLongs());
+
+        private static final StreamingCodec<Optional<String>> STRING =
+                StreamingCodecs.optional(StreamingCodecs.strings());
+
+        private static final StreamingCodec<Optional<OffsetDateTime>> DATETIME =
+                StreamingCodecs.optional(StreamingCodecs.databind(new TypeReference<OffsetDateTime>() {}));
+
+        private static final StreamingCodec<Optional<UUID>> UUID = StreamingCodecs.optional(StreamingCodecs.uuids());
+
+        @Override
+        public void serialize(CompactOptionalsExample value, JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            if ((value._present0 & 1 << 0) != 0) {
+                generator.writeFieldName("integer");
+                generator.writeNumber(value.integer);
+            }
+            if ((value._present0 & 1 << 1) != 0) {
+                generator.writeFieldName("num");
+                generator.writeNumber(value.num);
+            }
+            if ((value._present0 & 1 << 2) != 0) {
+                generator.writeFieldName("bool");
+                generator.writeBoolean(value.bool);
+            }
+            if ((value._present0 & 1 << 3) != 0) {
+                generator.writeFieldName("safelong");
+                generator.writeNumber(value.safelong);
+            }
+            if (value.string != null) {
+                generator.writeFieldName("string");
+                generator.writeString(value.string);
+            }
+            if (value.datetime != null) {
+                generator.writeFieldName("datetime");
+                DATETIME_VALUE.serialize(value.datetime, generator);
+            }
+            if (value.uuid != null) {
+                generator.writeFieldName("uuid");
+                generator.writeString(value.uuid.toString());
+            }
+            if (value.list.isPresent()) {
+                generator.writeFieldName("list");
+                LIST.serialize(value.list, generator);
+            }
+            generator.writeFieldName("required");
+            generator.writeNumber(value.required);
+            generator.writeEndObject();
+        }
+
+        @Override
+        public CompactOptionalsExample deserialize(JsonParser parser) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            StreamingCodecs.expect(parser, JsonToken.START_OBJECT, CompactOptionalsExample.class);
+            Builder builder = new Builder();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "integer":
+                        builder.integer(StreamingCodecs.optionalInts().deserialize(parser));
+                        break;
+                    case "num":
+                        builder.num(StreamingCodecs.optionalDoubles().deserialize(parser));
+                        break;
+                    case "bool":
+                        builder.bool(BOOL.deserialize(parser));
+                        break;
+                    case "safelong":
+                        builder.safelong(SAFELONG.deserialize(parser));
+                        break;
+                    case "string":
+                        builder.string(STRING.deserialize(parser));
+                        break;
+                    case "datetime":
+                        builder.datetime(DATETIME.deserialize(parser));
+                        break;
+                    case "uuid":
+                        builder.uuid(UUID.deserialize(parser));
+                        break;
+                    case "list":
+                        builder.list(LIST.deserialize(parser));
+                        break;
+                    case "required":
+                        builder.required(StreamingCodecs.readInteger(parser));
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package com.palantir.primitive;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.palantir.conjure.java.lib.DoubleList;
+import com.palantir.conjure.java.lib.IntegerList;
+import com.palantir.conjure.java.lib.internal.ConjureCollections;
+import com.palantir.conjure.java.lib.internal.HasStreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodecs;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.processing.Generated;
+
+@JsonDeserialize(builder = PrimitiveListExample.Builder.class)
+@HasStreamingCodec(PrimitiveListExample.Codec.class)
+@Generated("com.palantir.conjure.java.types.BeanGenerator")
+public final class PrimitiveListExample {
+    private final IntegerList integers;
+
+    private final DoubleList doubles;
+
+    private final List<String> strings;
+
+    private final Optional<List<Integer>> optionalIntegers;
+
+    private final Set<Integer> integerSet;
+
+    private int memoizedHashCode;
+
+    private PrimitiveListExample(
+            IntegerList integers,
+            DoubleList doubles,
+            List<String> strings,
+            Optional<List<Integer>> optionalIntegers,
+            Set<Integer> integerSet) {
+        validateFields(integers, doubles, strings, optionalIntegers, integerSet);
+        this.integers = IntegerList.unmodifiable(integers);
+        this.doubles = DoubleList.unmodifiable(doubles);
+        this.strings = Collections.unmodifiableList(strings);
+        this.optionalIntegers = optionalIntegers;
+        this.integerSet = Collections.unmodifiableSet(integerSet);
+    }
+
+    @JsonProperty("integers")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public IntegerList getIntegers() {
+        return this.integers;
+    }
+
+    @JsonProperty("doubles")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public DoubleList getDoubles() {
+        return this.doubles;
+    }
+
+    @JsonProperty("strings")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public List<String> getStrings() {
+        return this.strings;
+    }
+
+    @JsonProperty("optionalIntegers")
+    public Optional<List<Integer>> getOptionalIntegers() {
+        return this.optionalIntegers;
+    }
+
+    @JsonProperty("integerSet")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public Set<Integer> getIntegerSet() {
+        return this.integerSet;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof PrimitiveListExample && equalTo((PrimitiveListExample) other));
+    }
+
+    private boolean equalTo(PrimitiveListExample other) {
+        if (this.memoizedHashCode != 0
+                && other.memoizedHashCode != 0
+                && this.memoizedHashCode != other.memoizedHashCode) {
+            return false;
+        }
+        return this.integers.equals(other.integers)
+                && this.doubles.equals(other.doubles)
+                && this.strings.equals(other.strings)
+                && this.optionalIntegers.equals(other.optionalIntegers)
+                && this.integerSet.equals(other.integerSet);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = memoizedHashCode;
+        if (result == 0) {
+            int hash = 1;
+            hash = 31 * hash + this.integers.hashCode();
+            hash = 31 * hash + this.doubles.hashCode();
+            hash = 31 * hash + this.strings.hashCode();
+            hash = 31 * hash + this.optionalIntegers.hashCode();
+            hash = 31 * hash + this.integerSet.hashCode();
+            result = hash;
+            memoizedHashCode = result;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "PrimitiveListExample{integers: " + integers + ", doubles: " + doubles + ", strings: " + strings
+                + ", optionalIntegers: " + optionalIntegers + ", integerSet: " + integerSet + '}';
+    }
+
+    private static void validateFields(
+            IntegerList integers,
+            DoubleList doubles,
+            List<String> strings,
+            Optional<List<Integer>> optionalIntegers,
+            Set<Integer> integerSet) {
+        List<String> missingFields = null;
+        missingFields = addFieldIfMissing(missingFields, integers, "integers");
+        missingFields = addFieldIfMissing(missingFields, doubles, "doubles");
+        missingFields = addFieldIfMissing(missingFields, strings, "strings");
+        missingFields = addFieldIfMissing(missingFields, optionalIntegers, "optionalIntegers");
+        missingFields = addFieldIfMissing(missingFields, integerSet, "integerSet");
+        if (missingFields != null) {
+            throw new SafeIllegalArgumentException(
+                    "Some required fields have not been set", SafeArg.of("missingFields", missingFields));
+        }
+    }
+
+    private static List<String> addFieldIfMissing(List<String> prev, Object fieldValue, String fieldName) {
+        List<String> missingFields = prev;
+        if (fieldValue == null) {
+            if (missingFields == null) {
+                missingFields = new ArrayList<>(5);
+            }
+            missingFields.add(fieldName);
+        }
+        return missingFields;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Generated("com.palantir.conjure.java.types.BeanBuilderGenerator")
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static final class Builder {
+        boolean _buildInvoked;
+
+        private IntegerList integers = new IntegerList();
+
+        private DoubleList doubles = new DoubleList();
+
+        private List<String> strings = new ArrayList<>();
+
+        private Optional<List<Integer>> optionalIntegers = Optional.empty();
+
+        private Set<Integer> integerSet = new LinkedHashSet<>();
+
+        private Builder() {}
+
+        public Builder from(PrimitiveListExample other) {
+            checkNotBuilt();
+            integers(other.getIntegers());
+            doubles(other.getDoubles());
+            strings(other.getStrings());
+            optionalIntegers(other.getOptionalIntegers());
+            integerSet(other.getIntegerSet());
+            return this;
+        }
+
+        public Builder integers(@Nonnull Iterable<Integer> integers) {
+            checkNotBuilt();
+            this.integers =
+                    ConjureCollections.newIntegerList(Preconditions.checkNotNull(integers, "integers cannot be null"));
+            return this;
+        }
+
+        @JsonSetter(value = "integers", nulls = Nulls.SKIP)
+        private Builder adoptIntegers(@Nonnull IntegerList integers) {
+            checkNotBuilt();
+            this.integers = Preconditions.checkNotNull(integers, "integers cannot be null");
+            return this;
+        }
+
+        public Builder addAllIntegers(@Nonnull Iterable<Integer> integers) {
+            checkNotBuilt();
+            ConjureCollections.addAll(this.integers, Preconditions.checkNotNull(integers, "integers cannot be null"));
+            return this;
+        }
+
+        public Builder integers(int integers) {
+            checkNotBuilt();
+            this.integers.addInt(integers);
+            return this;
+        }
+
+        public Builder doubles(@Nonnull Iterable<Double> doubles) {
+            checkNotBuilt();
+            this.doubles =
+                    ConjureCollections.newDoubleList(Preconditions.checkNotNull(doubles, "doubles cannot be null"));
+            return this;
+        }
+
+        @JsonSetter(value = "doubles", nulls = Nulls.SKIP)
+        private Builder adoptDoubles(@Nonnull DoubleList doubles) {
+            checkNotBuilt();
+            this.doubles = Preconditions.checkNotNull(doubles, "doubles cannot be null");
+            return this;
+        }
+
+        public Builder addAllDoubles(@Nonnull Iterable<Double> doubles) {
+            checkNotBuilt();
+            ConjureCollections.addAll(this.doubles, Preconditions.checkNotNull(doubles, "doubles cannot be null"));
+            return this;
+        }
+
+        public Builder doubles(double doubles) {
+            checkNotBuilt();
+            this.doubles.addDouble(doubles);
+            return this;
+        }
+
+        public Builder strings(@Nonnull Iterable<String> strings) {
+            checkNotBuilt();
+            this.strings =
+                    ConjureCollections.newArrayList(Preconditions.checkNotNull(strings, "strings cannot be null"));
+            return this;
+        }
+
+        @JsonSetter(value = "strings", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = ArrayList.class)
+        private Builder adoptStrings(@Nonnull List<String> strings) {
+            checkNotBuilt();
+            this.strings = Preconditions.checkNotNull(strings, "strings cannot be null");
+            return this;
+        }
+
+        public Builder addAllStrings(@Nonnull Iterable<String> strings) {
+            checkNotBuilt();
+            ConjureCollections.addAll(this.strings, Preconditions.checkNotNull(strings, "strings cannot be null"));
+            return this;
+        }
+
+        public Builder strings(String strings) {
+            checkNotBuilt();
+            this.strings.add(strings);
+            return this;
+        }
+
+        @JsonSetter(value = "optionalIntegers", nulls = Nulls.SKIP)
+        public Builder optionalIntegers(@Nonnull Optional<? extends List<Integer>> optionalIntegers) {
+            checkNotBuilt();
+            this.optionalIntegers = Preconditions.checkNotNull(optionalIntegers, "optionalIntegers cannot be null")
+                    .map(Function.identity());
+            return this;
+        }
+
+        public Builder optionalIntegers(@Nonnull List<Integer> optionalIntegers) {
+            checkNotBuilt();
+            this.optionalIntegers =
+                    Optional.of(Preconditions.checkNotNull(optionalIntegers, "optionalIntegers cannot be null"));
+            return this;
+        }
+
+        public Builder integerSet(@Nonnull Iterable<Integer> integerSet) {
+            checkNotBuilt();
+            this.integerSet = ConjureCollections.newLinkedHashSet(
+                    Preconditions.checkNotNull(integerSet, "integerSet cannot be null"));
+            return this;
+        }
+
+        @JsonSetter(value = "integerSet", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = LinkedHashSet.class)
+        private Builder adoptIntegerSet(@Nonnull Set<Integer> integerSet) {
+            checkNotBuilt();
+            this.integerSet = Preconditions.checkNotNull(integerSet, "integerSet cannot be null");
+            return this;
+        }
+
+        public Builder addAllIntegerSet(@Nonnull Iterable<Integer> integerSet) {
+            checkNotBuilt();
+            ConjureCollections.addAll(
+                    this.integerSet, Preconditions.checkNotNull(integerSet, "integerSet cannot be null"));
+            return this;
+        }
+
+        public Builder integerSet(int integerSet) {
+            checkNotBuilt();
+            this.integerSet.add(integerSet);
+            return this;
+        }
+
+        public PrimitiveListExample build() {
+            checkNotBuilt();
+            this._buildInvoked = true;
+            return new PrimitiveListExample(integers, doubles, strings, optionalIntegers, integerSet);
+        }
+
+        private void checkNotBuilt() {
+            Preconditions.checkState(!_buildInvoked, "Build has already been called");
+        }
+    }
+
+    @Generated("com.palantir.conjure.java.types.StreamingCodecGenerator")
+    public static final class Codec implements StreamingCodec<PrimitiveListExample> {
+        public static final Codec INSTANCE = new Codec();
+
+        private static final StreamingCodec<List<String>> STRINGS = StreamingCodecs.list(StreamingCodecs.strings());
+
+        private static final StreamingCodec<Optional<List<Integer>>> OPTIONAL_INTEGERS =
+                StreamingCodecs.optional(StreamingCodecs.list(StreamingCodecs.integers()));
+
+        private static final StreamingCodec<Set<Integer>> INTEGER_SET = StreamingCodecs.set(StreamingCodecs.integers());
+
+        @Override
+        public void serialize(PrimitiveListExample value, JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            if (!value.integers.isEmpty()) {
+                generator.writeFieldName("integers");
+                StreamingCodecs.integerLists().serialize(value.integers, generator);
+            }
+            if (!value.doubles.isEmpty()) {
+                generator.writeFieldName("doubles");
+                StreamingCodecs.doubleLists().serialize(value.doubles, generator);
+            }
+            if (!value.strings.isEmpty()) {
+                generator.writeFieldName("strings");
+                STRINGS.serialize(value.strings, generator);
+            }
+            generator.writeFieldName("optionalIntegers");
+            OPTIONAL_INTEGERS.serialize(value.optionalIntegers, generator);
+            if (!value.integerSet.isEmpty()) {
+                generator.writeFieldName("integerSet");
+                INTEGER_SET.serialize(value.integerSet, generator);
+            }
+            generator.writeEndObject();
+        }
+
+        @Override
+        public PrimitiveListExample deserialize(JsonParser parser) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            StreamingCodecs.expect(parser, JsonToken.START_OBJECT, PrimitiveListExample.class);
+            Builder builder = new Builder();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "integers":
+                        builder.adoptIntegers(StreamingCodecs.integerLists().deserialize(parser));
+                        break;
+                    case "doubles":
+                        builder.adoptDoubles(StreamingCodecs.doubleLists().deserialize(parser));
+                        break;
+                    case "strings":
+                        builder.adoptStrings(STRINGS.deserialize(parser));
+                        break;
+                    case "optionalIntegers":
+                        builder.optionalIntegers(OPTIONAL_INTEGERS.deserialize(parser));
+                        break;
+                    case "integerSet":
+                        builder.adoptIntegerSet(INTEGER_SET.deserialize(parser));
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            return builder.build();
+        }
+    }
+}
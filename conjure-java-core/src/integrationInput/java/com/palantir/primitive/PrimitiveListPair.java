@@ -0,0 +1,239 @@
+package com.palantir.primitive;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.palantir.conjure.java.lib.DoubleList;
+import com.palantir.conjure.java.lib.IntegerList;
+import com.palantir.conjure.java.lib.internal.ConjureCollections;
+import com.palantir.conjure.java.lib.internal.HasStreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodecs;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.processing.Generated;
+
+@JsonDeserialize(builder = PrimitiveListPair.Builder.class)
+@HasStreamingCodec(PrimitiveListPair.Codec.class)
+@Generated("com.palantir.conjure.java.types.BeanGenerator")
+public final class PrimitiveListPair {
+    private final IntegerList integers;
+
+    private final DoubleList doubles;
+
+    private int memoizedHashCode;
+
+    private PrimitiveListPair(IntegerList integers, DoubleList doubles) {
+        validateFields(integers, doubles);
+        this.integers = IntegerList.unmodifiable(integers);
+        this.doubles = DoubleList.unmodifiable(doubles);
+    }
+
+    @JsonProperty("integers")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public IntegerList getIntegers() {
+        return this.integers;
+    }
+
+    @JsonProperty("doubles")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public DoubleList getDoubles() {
+        return this.doubles;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof PrimitiveListPair && equalTo((PrimitiveListPair) other));
+    }
+
+    private boolean equalTo(PrimitiveListPair other) {
+        if (this.memoizedHashCode != 0
+                && other.memoizedHashCode != 0
+                && this.memoizedHashCode != other.memoizedHashCode) {
+            return false;
+        }
+        return this.integers.equals(other.integers) && this.doubles.equals(other.doubles);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = memoizedHashCode;
+        if (result == 0) {
+            int hash = 1;
+            hash = 31 * hash + this.integers.hashCode();
+            hash = 31 * hash + this.doubles.hashCode();
+            result = hash;
+            memoizedHashCode = result;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "PrimitiveListPair{integers: " + integers + ", doubles: " + doubles + '}';
+    }
+
+    public static PrimitiveListPair of(List<Integer> integers, List<Double> doubles) {
+        return builder().integers(integers).doubles(doubles).build();
+    }
+
+    private static void validateFields(IntegerList integers, DoubleList doubles) {
+        List<String> missingFields = null;
+        missingFields = addFieldIfMissing(missingFields, integers, "integers");
+        missingFields = addFieldIfMissing(missingFields, doubles, "doubles");
+        if (missingFields != null) {
+            throw new SafeIllegalArgumentException(
+                    "Some required fields have not been set", SafeArg.of("missingFields", missingFields));
+        }
+    }
+
+    private static List<String> addFieldIfMissing(List<String> prev, Object fieldValue, String fieldName) {
+        List<String> missingFields = prev;
+        if (fieldValue == null) {
+            if (missingFields == null) {
+                missingFields = new ArrayList<>(2);
+            }
+            missingFields.add(fieldName);
+        }
+        return missingFields;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Generated("com.palantir.conjure.java.types.BeanBuilderGenerator")
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static final class Builder {
+        boolean _buildInvoked;
+
+        private IntegerList integers = new IntegerList();
+
+        private DoubleList doubles = new DoubleList();
+
+        private Builder() {}
+
+        public Builder from(PrimitiveListPair other) {
+            checkNotBuilt();
+            integers(other.getIntegers());
+            doubles(other.getDoubles());
+            return this;
+        }
+
+        public Builder integers(@Nonnull Iterable<Integer> integers) {
+            checkNotBuilt();
+            this.integers =
+                    ConjureCollections.newIntegerList(Preconditions.checkNotNull(integers, "integers cannot be null"));
+            return this;
+        }
+
+        @JsonSetter(value = "integers", nulls = Nulls.SKIP)
+        private Builder adoptIntegers(@Nonnull IntegerList integers) {
+            checkNotBuilt();
+            this.integers = Preconditions.checkNotNull(integers, "integers cannot be null");
+            return this;
+        }
+
+        public Builder addAllIntegers(@Nonnull Iterable<Integer> integers) {
+            checkNotBuilt();
+            ConjureCollections.addAll(this.integers, Preconditions.checkNotNull(integers, "integers cannot be null"));
+            return this;
+        }
+
+        public Builder integers(int integers) {
+            checkNotBuilt();
+            this.integers.addInt(integers);
+            return this;
+        }
+
+        public Builder doubles(@Nonnull Iterable<Double> doubles) {
+            checkNotBuilt();
+            this.doubles =
+                    ConjureCollections.newDoubleList(Preconditions.checkNotNull(doubles, "doubles cannot be null"));
+            return this;
+        }
+
+        @JsonSetter(value = "doubles", nulls = Nulls.SKIP)
+        private Builder adoptDoubles(@Nonnull DoubleList doubles) {
+            checkNotBuilt();
+            this.doubles = Preconditions.checkNotNull(doubles, "doubles cannot be null");
+            return this;
+        }
+
+        public Builder addAllDoubles(@Nonnull Iterable<Double> doubles) {
+            checkNotBuilt();
+            ConjureCollections.addAll(this.doubles, Preconditions.checkNotNull(doubles, "doubles cannot be null"));
+            return this;
+        }
+
+        public Builder doubles(double doubles) {
+            checkNotBuilt();
+            this.doubles.addDouble(doubles);
+            return this;
+        }
+
+        public PrimitiveListPair build() {
+            checkNotBuilt();
+            this._buildInvoked = true;
+            return new PrimitiveListPair(integers, doubles);
+        }
+
+        private void checkNotBuilt() {
+            Preconditions.checkState(!_buildInvoked, "Build has already been called");
+        }
+    }
+
+    @Generated("com.palantir.conjure.java.types.StreamingCodecGenerator")
+    public static final class Codec implements StreamingCodec<PrimitiveListPair> {
+        public static final Codec INSTANCE = new Codec();
+
+        @Override
+        public void serialize(PrimitiveListPair value, JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            if (!value.integers.isEmpty()) {
+                generator.writeFieldName("integers");
+                StreamingCodecs.integerLists().serialize(value.integers, generator);
+            }
+            if (!value.doubles.isEmpty()) {
+                generator.writeFieldName("doubles");
+                StreamingCodecs.doubleLists().serialize(value.doubles, generator);
+            }
+            generator.writeEndObject();
+        }
+
+        @Override
+        public PrimitiveListPair deserialize(JsonParser parser) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            StreamingCodecs.expect(parser, JsonToken.START_OBJECT, PrimitiveListPair.class);
+            Builder builder = new Builder();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "integers":
+                        builder.adoptIntegers(StreamingCodecs.integerLists().deserialize(parser));
+                        break;
+                    case "doubles":
+                        builder.adoptDoubles(StreamingCodecs.doubleLists().deserialize(parser));
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            return builder.build();
+        }
+    }
+}
@@ -203,13 +203,20 @@ public final class AliasAsMapKeyExample {
             return this;
         }
 
-        @JsonSetter(value = "strings", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
         public Builder strings(@Nonnull Map<StringAliasExample, ManyFieldExample> strings) {
             checkNotBuilt();
             this.strings = new LinkedHashMap<>(Preconditions.checkNotNull(strings, "strings cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "strings", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptStrings(@Nonnull Map<StringAliasExample, ManyFieldExample> strings) {
+            checkNotBuilt();
+            this.strings = Preconditions.checkNotNull(strings, "strings cannot be null");
+            return this;
+        }
+
         public Builder putAllStrings(@Nonnull Map<StringAliasExample, ManyFieldExample> strings) {
             checkNotBuilt();
             this.strings.putAll(Preconditions.checkNotNull(strings, "strings cannot be null"));
@@ -222,13 +229,20 @@ public final class AliasAsMapKeyExample {
             return this;
         }
 
-        @JsonSetter(value = "rids", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
         public Builder rids(@Nonnull Map<RidAliasExample, ManyFieldExample> rids) {
             checkNotBuilt();
             this.rids = new LinkedHashMap<>(Preconditions.checkNotNull(rids, "rids cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "rids", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptRids(@Nonnull Map<RidAliasExample, ManyFieldExample> rids) {
+            checkNotBuilt();
+            this.rids = Preconditions.checkNotNull(rids, "rids cannot be null");
+            return this;
+        }
+
         public Builder putAllRids(@Nonnull Map<RidAliasExample, ManyFieldExample> rids) {
             checkNotBuilt();
             this.rids.putAll(Preconditions.checkNotNull(rids, "rids cannot be null"));
@@ -241,7 +255,6 @@ public final class AliasAsMapKeyExample {
             return this;
         }
 
-        @JsonSetter(value = "bearertokens", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
         public Builder bearertokens(@Nonnull Map<BearerTokenAliasExample, ManyFieldExample> bearertokens) {
             checkNotBuilt();
             this.bearertokens =
@@ -249,6 +262,14 @@ public final class AliasAsMapKeyExample {
             return this;
         }
 
+        @JsonSetter(value = "bearertokens", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptBearertokens(@Nonnull Map<BearerTokenAliasExample, ManyFieldExample> bearertokens) {
+            checkNotBuilt();
+            this.bearertokens = Preconditions.checkNotNull(bearertokens, "bearertokens cannot be null");
+            return this;
+        }
+
         public Builder putAllBearertokens(@Nonnull Map<BearerTokenAliasExample, ManyFieldExample> bearertokens) {
             checkNotBuilt();
             this.bearertokens.putAll(Preconditions.checkNotNull(bearertokens, "bearertokens cannot be null"));
@@ -261,13 +282,20 @@ public final class AliasAsMapKeyExample {
             return this;
         }
 
-        @JsonSetter(value = "integers", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
         public Builder integers(@Nonnull Map<IntegerAliasExample, ManyFieldExample> integers) {
             checkNotBuilt();
             this.integers = new LinkedHashMap<>(Preconditions.checkNotNull(integers, "integers cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "integers", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptIntegers(@Nonnull Map<IntegerAliasExample, ManyFieldExample> integers) {
+            checkNotBuilt();
+            this.integers = Preconditions.checkNotNull(integers, "integers cannot be null");
+            return this;
+        }
+
         public Builder putAllIntegers(@Nonnull Map<IntegerAliasExample, ManyFieldExample> integers) {
             checkNotBuilt();
             this.integers.putAll(Preconditions.checkNotNull(integers, "integers cannot be null"));
@@ -280,13 +308,20 @@ public final class AliasAsMapKeyExample {
             return this;
         }
 
-        @JsonSetter(value = "safelongs", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
         public Builder safelongs(@Nonnull Map<SafeLongAliasExample, ManyFieldExample> safelongs) {
             checkNotBuilt();
             this.safelongs = new LinkedHashMap<>(Preconditions.checkNotNull(safelongs, "safelongs cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "safelongs", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptSafelongs(@Nonnull Map<SafeLongAliasExample, ManyFieldExample> safelongs) {
+            checkNotBuilt();
+            this.safelongs = Preconditions.checkNotNull(safelongs, "safelongs cannot be null");
+            return this;
+        }
+
         public Builder putAllSafelongs(@Nonnull Map<SafeLongAliasExample, ManyFieldExample> safelongs) {
             checkNotBuilt();
             this.safelongs.putAll(Preconditions.checkNotNull(safelongs, "safelongs cannot be null"));
@@ -299,13 +334,20 @@ public final class AliasAsMapKeyExample {
             return this;
         }
 
-        @JsonSetter(value = "datetimes", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
         public Builder datetimes(@Nonnull Map<DateTimeAliasExample, ManyFieldExample> datetimes) {
             checkNotBuilt();
             this.datetimes = new LinkedHashMap<>(Preconditions.checkNotNull(datetimes, "datetimes cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "datetimes", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptDatetimes(@Nonnull Map<DateTimeAliasExample, ManyFieldExample> datetimes) {
+            checkNotBuilt();
+            this.datetimes = Preconditions.checkNotNull(datetimes, "datetimes cannot be null");
+            return this;
+        }
+
         public Builder putAllDatetimes(@Nonnull Map<DateTimeAliasExample, ManyFieldExample> datetimes) {
             checkNotBuilt();
             this.datetimes.putAll(Preconditions.checkNotNull(datetimes, "datetimes cannot be null"));
@@ -318,13 +360,20 @@ public final class AliasAsMapKeyExample {
             return this;
         }
 
-        @JsonSetter(value = "uuids", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
         public Builder uuids(@Nonnull Map<UuidAliasExample, ManyFieldExample> uuids) {
             checkNotBuilt();
             this.uuids = new LinkedHashMap<>(Preconditions.checkNotNull(uuids, "uuids cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "uuids", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptUuids(@Nonnull Map<UuidAliasExample, ManyFieldExample> uuids) {
+            checkNotBuilt();
+            this.uuids = Preconditions.checkNotNull(uuids, "uuids cannot be null");
+            return this;
+        }
+
         public Builder putAllUuids(@Nonnull Map<UuidAliasExample, ManyFieldExample> uuids) {
             checkNotBuilt();
             this.uuids.putAll(Preconditions.checkNotNull(uuids, "uuids cannot be null"));
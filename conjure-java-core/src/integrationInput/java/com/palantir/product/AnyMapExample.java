@@ -103,13 +103,20 @@ public final class AnyMapExample {
             return this;
         }
 
-        @JsonSetter(value = "items", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
         public Builder items(@Nonnull Map<String, Object> items) {
             checkNotBuilt();
             this.items = new LinkedHashMap<>(Preconditions.checkNotNull(items, "items cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "items", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptItems(@Nonnull Map<String, Object> items) {
+            checkNotBuilt();
+            this.items = Preconditions.checkNotNull(items, "items cannot be null");
+            return this;
+        }
+
         public Builder putAllItems(@Nonnull Map<String, Object> items) {
             checkNotBuilt();
             this.items.putAll(Preconditions.checkNotNull(items, "items cannot be null"));
@@ -213,13 +213,20 @@ public final class CollectionsTestObject {
             return this;
         }
 
-        @JsonSetter(value = "items", nulls = Nulls.SKIP)
         public Builder items(@Nonnull Iterable<String> items) {
             checkNotBuilt();
             this.items = ConjureCollections.newArrayList(Preconditions.checkNotNull(items, "items cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "items", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = ArrayList.class)
+        private Builder adoptItems(@Nonnull List<String> items) {
+            checkNotBuilt();
+            this.items = Preconditions.checkNotNull(items, "items cannot be null");
+            return this;
+        }
+
         public Builder addAllItems(@Nonnull Iterable<String> items) {
             checkNotBuilt();
             ConjureCollections.addAll(this.items, Preconditions.checkNotNull(items, "items cannot be null"));
@@ -232,13 +239,20 @@ public final class CollectionsTestObject {
             return this;
         }
 
-        @JsonSetter(value = "itemsMap", nulls = Nulls.SKIP)
         public Builder itemsMap(@Nonnull Map<String, Integer> itemsMap) {
             checkNotBuilt();
             this.itemsMap = new LinkedHashMap<>(Preconditions.checkNotNull(itemsMap, "itemsMap cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "itemsMap", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptItemsMap(@Nonnull Map<String, Integer> itemsMap) {
+            checkNotBuilt();
+            this.itemsMap = Preconditions.checkNotNull(itemsMap, "itemsMap cannot be null");
+            return this;
+        }
+
         public Builder putAllItemsMap(@Nonnull Map<String, Integer> itemsMap) {
             checkNotBuilt();
             this.itemsMap.putAll(Preconditions.checkNotNull(itemsMap, "itemsMap cannot be null"));
@@ -264,7 +278,6 @@ public final class CollectionsTestObject {
             return this;
         }
 
-        @JsonSetter(value = "itemsSet", nulls = Nulls.SKIP)
         public Builder itemsSet(@Nonnull Iterable<String> itemsSet) {
             checkNotBuilt();
             this.itemsSet = ConjureCollections.newLinkedHashSet(
@@ -272,6 +285,14 @@ public final class CollectionsTestObject {
             return this;
         }
 
+        @JsonSetter(value = "itemsSet", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = LinkedHashSet.class)
+        private Builder adoptItemsSet(@Nonnull Set<String> itemsSet) {
+            checkNotBuilt();
+            this.itemsSet = Preconditions.checkNotNull(itemsSet, "itemsSet cannot be null");
+            return this;
+        }
+
         public Builder addAllItemsSet(@Nonnull Iterable<String> itemsSet) {
             checkNotBuilt();
             ConjureCollections.addAll(this.itemsSet, Preconditions.checkNotNull(itemsSet, "itemsSet cannot be null"));
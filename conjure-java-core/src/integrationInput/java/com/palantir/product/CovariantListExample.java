@@ -118,13 +118,20 @@ public final class CovariantListExample {
             return this;
         }
 
-        @JsonSetter(value = "items", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
         public Builder items(@Nonnull Iterable<?> items) {
             checkNotBuilt();
             this.items = ConjureCollections.newArrayList(Preconditions.checkNotNull(items, "items cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "items", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = ArrayList.class)
+        private Builder adoptItems(@Nonnull List<Object> items) {
+            checkNotBuilt();
+            this.items = Preconditions.checkNotNull(items, "items cannot be null");
+            return this;
+        }
+
         public Builder addAllItems(@Nonnull Iterable<?> items) {
             checkNotBuilt();
             ConjureCollections.addAll(this.items, Preconditions.checkNotNull(items, "items cannot be null"));
@@ -137,7 +144,6 @@ public final class CovariantListExample {
             return this;
         }
 
-        @JsonSetter(value = "externalItems", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
         public Builder externalItems(@Nonnull Iterable<? extends ExampleExternalReference> externalItems) {
             checkNotBuilt();
             this.externalItems = ConjureCollections.newArrayList(
@@ -145,6 +151,14 @@ public final class CovariantListExample {
             return this;
         }
 
+        @JsonSetter(value = "externalItems", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = ArrayList.class)
+        private Builder adoptExternalItems(@Nonnull List<ExampleExternalReference> externalItems) {
+            checkNotBuilt();
+            this.externalItems = Preconditions.checkNotNull(externalItems, "externalItems cannot be null");
+            return this;
+        }
+
         public Builder addAllExternalItems(@Nonnull Iterable<? extends ExampleExternalReference> externalItems) {
             checkNotBuilt();
             ConjureCollections.addAll(
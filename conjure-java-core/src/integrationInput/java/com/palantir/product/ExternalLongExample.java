@@ -166,7 +166,6 @@ public final class ExternalLongExample {
             return this;
         }
 
-        @JsonSetter(value = "listExternalLong", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
         public Builder listExternalLong(@Nonnull Iterable<? extends Long> listExternalLong) {
             checkNotBuilt();
             this.listExternalLong = ConjureCollections.newArrayList(
@@ -174,6 +173,14 @@ public final class ExternalLongExample {
             return this;
         }
 
+        @JsonSetter(value = "listExternalLong", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = ArrayList.class)
+        private Builder adoptListExternalLong(@Nonnull List<Long> listExternalLong) {
+            checkNotBuilt();
+            this.listExternalLong = Preconditions.checkNotNull(listExternalLong, "listExternalLong cannot be null");
+            return this;
+        }
+
         public Builder addAllListExternalLong(@Nonnull Iterable<? extends Long> listExternalLong) {
             checkNotBuilt();
             ConjureCollections.addAll(
@@ -185,13 +185,20 @@ public final class ListExample {
             return this;
         }
 
-        @JsonSetter(value = "items", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
         public Builder items(@Nonnull Iterable<String> items) {
             checkNotBuilt();
             this.items = ConjureCollections.newArrayList(Preconditions.checkNotNull(items, "items cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "items", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = ArrayList.class)
+        private Builder adoptItems(@Nonnull List<String> items) {
+            checkNotBuilt();
+            this.items = Preconditions.checkNotNull(items, "items cannot be null");
+            return this;
+        }
+
         public Builder addAllItems(@Nonnull Iterable<String> items) {
             checkNotBuilt();
             ConjureCollections.addAll(this.items, Preconditions.checkNotNull(items, "items cannot be null"));
@@ -204,7 +211,6 @@ public final class ListExample {
             return this;
         }
 
-        @JsonSetter(value = "primitiveItems", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
         public Builder primitiveItems(@Nonnull Iterable<Integer> primitiveItems) {
             checkNotBuilt();
             this.primitiveItems = ConjureCollections.newArrayList(
@@ -212,6 +218,14 @@ public final class ListExample {
             return this;
         }
 
+        @JsonSetter(value = "primitiveItems", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = ArrayList.class)
+        private Builder adoptPrimitiveItems(@Nonnull List<Integer> primitiveItems) {
+            checkNotBuilt();
+            this.primitiveItems = Preconditions.checkNotNull(primitiveItems, "primitiveItems cannot be null");
+            return this;
+        }
+
         public Builder addAllPrimitiveItems(@Nonnull Iterable<Integer> primitiveItems) {
             checkNotBuilt();
             ConjureCollections.addAll(
@@ -225,7 +239,6 @@ public final class ListExample {
             return this;
         }
 
-        @JsonSetter(value = "doubleItems", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
         public Builder doubleItems(@Nonnull Iterable<Double> doubleItems) {
             checkNotBuilt();
             this.doubleItems = ConjureCollections.newArrayList(
@@ -233,6 +246,14 @@ public final class ListExample {
             return this;
         }
 
+        @JsonSetter(value = "doubleItems", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = ArrayList.class)
+        private Builder adoptDoubleItems(@Nonnull List<Double> doubleItems) {
+            checkNotBuilt();
+            this.doubleItems = Preconditions.checkNotNull(doubleItems, "doubleItems cannot be null");
+            return this;
+        }
+
         public Builder addAllDoubleItems(@Nonnull Iterable<Double> doubleItems) {
             checkNotBuilt();
             ConjureCollections.addAll(
@@ -246,7 +267,6 @@ public final class ListExample {
             return this;
         }
 
-        @JsonSetter(value = "optionalItems", nulls = Nulls.SKIP, contentNulls = Nulls.AS_EMPTY)
         public Builder optionalItems(@Nonnull Iterable<Optional<String>> optionalItems) {
             checkNotBuilt();
             this.optionalItems = ConjureCollections.newArrayList(
@@ -254,6 +274,14 @@ public final class ListExample {
             return this;
         }
 
+        @JsonSetter(value = "optionalItems", nulls = Nulls.SKIP, contentNulls = Nulls.AS_EMPTY)
+        @JsonDeserialize(as = ArrayList.class)
+        private Builder adoptOptionalItems(@Nonnull List<Optional<String>> optionalItems) {
+            checkNotBuilt();
+            this.optionalItems = Preconditions.checkNotNull(optionalItems, "optionalItems cannot be null");
+            return this;
+        }
+
         public Builder addAllOptionalItems(@Nonnull Iterable<Optional<String>> optionalItems) {
             checkNotBuilt();
             ConjureCollections.addAll(
@@ -267,7 +295,6 @@ public final class ListExample {
             return this;
         }
 
-        @JsonSetter(value = "aliasOptionalItems", nulls = Nulls.SKIP, contentNulls = Nulls.AS_EMPTY)
         public Builder aliasOptionalItems(@Nonnull Iterable<OptionalAlias> aliasOptionalItems) {
             checkNotBuilt();
             this.aliasOptionalItems = ConjureCollections.newArrayList(
@@ -275,6 +302,15 @@ public final class ListExample {
             return this;
         }
 
+        @JsonSetter(value = "aliasOptionalItems", nulls = Nulls.SKIP, contentNulls = Nulls.AS_EMPTY)
+        @JsonDeserialize(as = ArrayList.class)
+        private Builder adoptAliasOptionalItems(@Nonnull List<OptionalAlias> aliasOptionalItems) {
+            checkNotBuilt();
+            this.aliasOptionalItems =
+                    Preconditions.checkNotNull(aliasOptionalItems, "aliasOptionalItems cannot be null");
+            return this;
+        }
+
         public Builder addAllAliasOptionalItems(@Nonnull Iterable<OptionalAlias> aliasOptionalItems) {
             checkNotBuilt();
             ConjureCollections.addAll(
@@ -289,7 +325,6 @@ public final class ListExample {
             return this;
         }
 
-        @JsonSetter(value = "nestedItems", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
         public Builder nestedItems(@Nonnull Iterable<? extends List<String>> nestedItems) {
             checkNotBuilt();
             this.nestedItems = ConjureCollections.newArrayList(
@@ -297,6 +332,14 @@ public final class ListExample {
             return this;
         }
 
+        @JsonSetter(value = "nestedItems", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = ArrayList.class)
+        private Builder adoptNestedItems(@Nonnull List<List<String>> nestedItems) {
+            checkNotBuilt();
+            this.nestedItems = Preconditions.checkNotNull(nestedItems, "nestedItems cannot be null");
+            return this;
+        }
+
         public Builder addAllNestedItems(@Nonnull Iterable<? extends List<String>> nestedItems) {
             checkNotBuilt();
             ConjureCollections.addAll(
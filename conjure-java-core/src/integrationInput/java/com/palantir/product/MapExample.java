@@ -148,13 +148,20 @@ public final class MapExample {
             return this;
         }
 
-        @JsonSetter(value = "items", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
         public Builder items(@Nonnull Map<String, String> items) {
             checkNotBuilt();
             this.items = new LinkedHashMap<>(Preconditions.checkNotNull(items, "items cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "items", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptItems(@Nonnull Map<String, String> items) {
+            checkNotBuilt();
+            this.items = Preconditions.checkNotNull(items, "items cannot be null");
+            return this;
+        }
+
         public Builder putAllItems(@Nonnull Map<String, String> items) {
             checkNotBuilt();
             this.items.putAll(Preconditions.checkNotNull(items, "items cannot be null"));
@@ -167,7 +174,6 @@ public final class MapExample {
             return this;
         }
 
-        @JsonSetter(value = "optionalItems", nulls = Nulls.SKIP, contentNulls = Nulls.AS_EMPTY)
         public Builder optionalItems(@Nonnull Map<String, Optional<String>> optionalItems) {
             checkNotBuilt();
             this.optionalItems =
@@ -175,6 +181,14 @@ public final class MapExample {
             return this;
         }
 
+        @JsonSetter(value = "optionalItems", nulls = Nulls.SKIP, contentNulls = Nulls.AS_EMPTY)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptOptionalItems(@Nonnull Map<String, Optional<String>> optionalItems) {
+            checkNotBuilt();
+            this.optionalItems = Preconditions.checkNotNull(optionalItems, "optionalItems cannot be null");
+            return this;
+        }
+
         public Builder putAllOptionalItems(@Nonnull Map<String, Optional<String>> optionalItems) {
             checkNotBuilt();
             this.optionalItems.putAll(Preconditions.checkNotNull(optionalItems, "optionalItems cannot be null"));
@@ -187,7 +201,6 @@ public final class MapExample {
             return this;
         }
 
-        @JsonSetter(value = "aliasOptionalItems", nulls = Nulls.SKIP, contentNulls = Nulls.AS_EMPTY)
         public Builder aliasOptionalItems(@Nonnull Map<String, OptionalAlias> aliasOptionalItems) {
             checkNotBuilt();
             this.aliasOptionalItems = new LinkedHashMap<>(
@@ -195,6 +208,15 @@ public final class MapExample {
             return this;
         }
 
+        @JsonSetter(value = "aliasOptionalItems", nulls = Nulls.SKIP, contentNulls = Nulls.AS_EMPTY)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptAliasOptionalItems(@Nonnull Map<String, OptionalAlias> aliasOptionalItems) {
+            checkNotBuilt();
+            this.aliasOptionalItems =
+                    Preconditions.checkNotNull(aliasOptionalItems, "aliasOptionalItems cannot be null");
+            return this;
+        }
+
         public Builder putAllAliasOptionalItems(@Nonnull Map<String, OptionalAlias> aliasOptionalItems) {
             checkNotBuilt();
             this.aliasOptionalItems.putAll(
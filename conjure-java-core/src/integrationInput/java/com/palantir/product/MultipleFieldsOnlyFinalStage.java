@@ -243,13 +243,20 @@ public final class MultipleFieldsOnlyFinalStage {
             return this;
         }
 
-        @JsonSetter(value = "items", nulls = Nulls.SKIP)
         public Builder items(@Nonnull Iterable<String> items) {
             checkNotBuilt();
             this.items = ConjureCollections.newArrayList(Preconditions.checkNotNull(items, "items cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "items", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = ArrayList.class)
+        private Builder adoptItems(@Nonnull List<String> items) {
+            checkNotBuilt();
+            this.items = Preconditions.checkNotNull(items, "items cannot be null");
+            return this;
+        }
+
         public Builder addAllItems(@Nonnull Iterable<String> items) {
             checkNotBuilt();
             ConjureCollections.addAll(this.items, Preconditions.checkNotNull(items, "items cannot be null"));
@@ -262,13 +269,20 @@ public final class MultipleFieldsOnlyFinalStage {
             return this;
         }
 
-        @JsonSetter(value = "itemsMap", nulls = Nulls.SKIP)
         public Builder itemsMap(@Nonnull Map<String, Integer> itemsMap) {
             checkNotBuilt();
             this.itemsMap = new LinkedHashMap<>(Preconditions.checkNotNull(itemsMap, "itemsMap cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "itemsMap", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptItemsMap(@Nonnull Map<String, Integer> itemsMap) {
+            checkNotBuilt();
+            this.itemsMap = Preconditions.checkNotNull(itemsMap, "itemsMap cannot be null");
+            return this;
+        }
+
         public Builder putAllItemsMap(@Nonnull Map<String, Integer> itemsMap) {
             checkNotBuilt();
             this.itemsMap.putAll(Preconditions.checkNotNull(itemsMap, "itemsMap cannot be null"));
@@ -294,7 +308,6 @@ public final class MultipleFieldsOnlyFinalStage {
             return this;
         }
 
-        @JsonSetter(value = "itemsSet", nulls = Nulls.SKIP)
         public Builder itemsSet(@Nonnull Iterable<String> itemsSet) {
             checkNotBuilt();
             this.itemsSet = ConjureCollections.newLinkedHashSet(
@@ -302,6 +315,14 @@ public final class MultipleFieldsOnlyFinalStage {
             return this;
         }
 
+        @JsonSetter(value = "itemsSet", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = LinkedHashSet.class)
+        private Builder adoptItemsSet(@Nonnull Set<String> itemsSet) {
+            checkNotBuilt();
+            this.itemsSet = Preconditions.checkNotNull(itemsSet, "itemsSet cannot be null");
+            return this;
+        }
+
         public Builder addAllItemsSet(@Nonnull Iterable<String> itemsSet) {
             checkNotBuilt();
             ConjureCollections.addAll(this.itemsSet, Preconditions.checkNotNull(itemsSet, "itemsSet cannot be null"));
@@ -318,7 +339,6 @@ public final class MultipleFieldsOnlyFinalStage {
          * @deprecated this list is deprecated
          */
         @Deprecated
-        @JsonSetter(value = "itemsOld", nulls = Nulls.SKIP)
         public Builder itemsOld(@Nonnull Iterable<String> itemsOld) {
             checkNotBuilt();
             this.itemsOld =
@@ -326,6 +346,14 @@ public final class MultipleFieldsOnlyFinalStage {
             return this;
         }
 
+        @JsonSetter(value = "itemsOld", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = ArrayList.class)
+        private Builder adoptItemsOld(@Nonnull List<String> itemsOld) {
+            checkNotBuilt();
+            this.itemsOld = Preconditions.checkNotNull(itemsOld, "itemsOld cannot be null");
+            return this;
+        }
+
         /**
          * @deprecated this list is deprecated
          */
@@ -350,7 +378,6 @@ public final class MultipleFieldsOnlyFinalStage {
          * @deprecated this map is deprecated
          */
         @Deprecated
-        @JsonSetter(value = "itemsMapOld", nulls = Nulls.SKIP)
         public Builder itemsMapOld(@Nonnull Map<String, Integer> itemsMapOld) {
             checkNotBuilt();
             this.itemsMapOld =
@@ -358,6 +385,14 @@ public final class MultipleFieldsOnlyFinalStage {
             return this;
         }
 
+        @JsonSetter(value = "itemsMapOld", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptItemsMapOld(@Nonnull Map<String, Integer> itemsMapOld) {
+            checkNotBuilt();
+            this.itemsMapOld = Preconditions.checkNotNull(itemsMapOld, "itemsMapOld cannot be null");
+            return this;
+        }
+
         /**
          * @deprecated this map is deprecated
          */
@@ -404,7 +439,6 @@ public final class MultipleFieldsOnlyFinalStage {
          * @deprecated this set is deprecated
          */
         @Deprecated
-        @JsonSetter(value = "itemsSetOld", nulls = Nulls.SKIP)
         public Builder itemsSetOld(@Nonnull Iterable<String> itemsSetOld) {
             checkNotBuilt();
             this.itemsSetOld = ConjureCollections.newLinkedHashSet(
@@ -412,6 +446,14 @@ public final class MultipleFieldsOnlyFinalStage {
             return this;
         }
 
+        @JsonSetter(value = "itemsSetOld", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = LinkedHashSet.class)
+        private Builder adoptItemsSetOld(@Nonnull Set<String> itemsSetOld) {
+            checkNotBuilt();
+            this.itemsSetOld = Preconditions.checkNotNull(itemsSetOld, "itemsSetOld cannot be null");
+            return this;
+        }
+
         /**
          * @deprecated this set is deprecated
          */
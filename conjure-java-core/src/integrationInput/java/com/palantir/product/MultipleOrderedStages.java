@@ -286,13 +286,20 @@ public final class MultipleOrderedStages {
         }
 
         @Override
-        @JsonSetter(value = "items", nulls = Nulls.SKIP)
         public Builder items(@Nonnull Iterable<SafeLong> items) {
             checkNotBuilt();
             this.items = ConjureCollections.newLinkedHashSet(Preconditions.checkNotNull(items, "items cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "items", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = LinkedHashSet.class)
+        private Builder adoptItems(@Nonnull Set<SafeLong> items) {
+            checkNotBuilt();
+            this.items = Preconditions.checkNotNull(items, "items cannot be null");
+            return this;
+        }
+
         @Override
         public Builder addAllItems(@Nonnull Iterable<SafeLong> items) {
             checkNotBuilt();
@@ -308,13 +315,20 @@ public final class MultipleOrderedStages {
         }
 
         @Override
-        @JsonSetter(value = "mappedRids", nulls = Nulls.SKIP)
         public Builder mappedRids(@Nonnull Map<ResourceIdentifier, String> mappedRids) {
             checkNotBuilt();
             this.mappedRids = new LinkedHashMap<>(Preconditions.checkNotNull(mappedRids, "mappedRids cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "mappedRids", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptMappedRids(@Nonnull Map<ResourceIdentifier, String> mappedRids) {
+            checkNotBuilt();
+            this.mappedRids = Preconditions.checkNotNull(mappedRids, "mappedRids cannot be null");
+            return this;
+        }
+
         @Override
         public Builder putAllMappedRids(@Nonnull Map<ResourceIdentifier, String> mappedRids) {
             checkNotBuilt();
@@ -119,13 +119,20 @@ public final class SetExample {
             return this;
         }
 
-        @JsonSetter(value = "items", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
         public Builder items(@Nonnull Iterable<String> items) {
             checkNotBuilt();
             this.items = ConjureCollections.newLinkedHashSet(Preconditions.checkNotNull(items, "items cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "items", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = LinkedHashSet.class)
+        private Builder adoptItems(@Nonnull Set<String> items) {
+            checkNotBuilt();
+            this.items = Preconditions.checkNotNull(items, "items cannot be null");
+            return this;
+        }
+
         public Builder addAllItems(@Nonnull Iterable<String> items) {
             checkNotBuilt();
             ConjureCollections.addAll(this.items, Preconditions.checkNotNull(items, "items cannot be null"));
@@ -138,7 +145,6 @@ public final class SetExample {
             return this;
         }
 
-        @JsonSetter(value = "doubleItems", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
         public Builder doubleItems(@Nonnull Iterable<Double> doubleItems) {
             checkNotBuilt();
             this.doubleItems = ConjureCollections.newLinkedHashSet(
@@ -146,6 +152,14 @@ public final class SetExample {
             return this;
         }
 
+        @JsonSetter(value = "doubleItems", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = LinkedHashSet.class)
+        private Builder adoptDoubleItems(@Nonnull Set<Double> doubleItems) {
+            checkNotBuilt();
+            this.doubleItems = Preconditions.checkNotNull(doubleItems, "doubleItems cannot be null");
+            return this;
+        }
+
         public Builder addAllDoubleItems(@Nonnull Iterable<Double> doubleItems) {
             checkNotBuilt();
             ConjureCollections.addAll(
@@ -3,12 +3,12 @@ package com.palantir.product;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 import com.google.errorprone.annotations.Immutable;
+import com.palantir.conjure.java.lib.internal.EnumLookup;
 import com.palantir.logsafe.Preconditions;
 import com.palantir.logsafe.Safe;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 import javax.annotation.Nonnull;
 import javax.annotation.processing.Generated;
 
@@ -30,6 +30,9 @@ public final class SimpleEnum {
 
     private static final List<SimpleEnum> values = Collections.unmodifiableList(Arrays.asList(VALUE));
 
+    private static final EnumLookup<SimpleEnum> lookup =
+            EnumLookup.of(values, string -> new SimpleEnum(Value.UNKNOWN, string));
+
     private final Value value;
 
     private final String string;
@@ -62,13 +65,7 @@ public final class SimpleEnum {
     @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
     public static SimpleEnum valueOf(@Nonnull @Safe String value) {
         Preconditions.checkNotNull(value, "value cannot be null");
-        String upperCasedValue = value.toUpperCase(Locale.ROOT);
-        switch (upperCasedValue) {
-            case "VALUE":
-                return VALUE;
-            default:
-                return new SimpleEnum(Value.UNKNOWN, upperCasedValue);
-        }
+        return lookup.valueOf(value);
     }
 
     public <T> T accept(Visitor<T> visitor) {
@@ -0,0 +1,58 @@
+package com.palantir.streaming;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.palantir.conjure.java.lib.internal.HasStreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodecs;
+import com.palantir.logsafe.Safe;
+import java.io.IOException;
+import javax.annotation.processing.Generated;
+
+@Safe
+@JsonSerialize
+@HasStreamingCodec(StreamingEmptyObject.Codec.class)
+@Generated("com.palantir.conjure.java.types.BeanGenerator")
+public final class StreamingEmptyObject {
+    private static final StreamingEmptyObject INSTANCE = new StreamingEmptyObject();
+
+    private StreamingEmptyObject() {}
+
+    @Override
+    public String toString() {
+        return "StreamingEmptyObject{}";
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static StreamingEmptyObject of() {
+        return INSTANCE;
+    }
+
+    @Generated("com.palantir.conjure.java.types.StreamingCodecGenerator")
+    public static final class Codec implements StreamingCodec<StreamingEmptyObject> {
+        public static final Codec INSTANCE = new Codec();
+
+        @Override
+        public void serialize(StreamingEmptyObject value, JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            generator.writeEndObject();
+        }
+
+        @Override
+        public StreamingEmptyObject deserialize(JsonParser parser) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            StreamingCodecs.expect(parser, JsonToken.START_OBJECT, StreamingEmptyObject.class);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                StreamingCodecs.unknownField(parser, StreamingEmptyObject.class, field);
+            }
+            return StreamingEmptyObject.of();
+        }
+    }
+}
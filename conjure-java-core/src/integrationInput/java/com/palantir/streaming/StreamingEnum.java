@@ -0,0 +1,129 @@
+package com.palantir.streaming;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.google.errorprone.annotations.Immutable;
+import com.palantir.conjure.java.lib.internal.EnumLookup;
+import com.palantir.conjure.java.lib.internal.HasStreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodecs;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.Safe;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.processing.Generated;
+
+/**
+ * This class is used instead of a native enum to support unknown values.
+ * Rather than throw an exception, the {@link StreamingEnum#valueOf} method defaults to a new instantiation of
+ * {@link StreamingEnum} where {@link StreamingEnum#get} will return {@link StreamingEnum.Value#UNKNOWN}.
+ * <p>
+ * For example, {@code StreamingEnum.valueOf("corrupted value").get()} will return {@link StreamingEnum.Value#UNKNOWN},
+ * but {@link StreamingEnum#toString} will return "corrupted value".
+ * <p>
+ * There is no method to access all instantiations of this class, since they cannot be known at compile time.
+ */
+@Generated("com.palantir.conjure.java.types.EnumGenerator")
+@Safe
+@Immutable
+@HasStreamingCodec(StreamingEnum.Codec.class)
+public final class StreamingEnum {
+    public static final StreamingEnum ONE = new StreamingEnum(Value.ONE, "ONE");
+
+    public static final StreamingEnum TWO = new StreamingEnum(Value.TWO, "TWO");
+
+    private static final List<StreamingEnum> values = Collections.unmodifiableList(Arrays.asList(ONE, TWO));
+
+    private static final EnumLookup<StreamingEnum> lookup =
+            EnumLookup.of(values, string -> new StreamingEnum(Value.UNKNOWN, string));
+
+    private final Value value;
+
+    private final String string;
+
+    private StreamingEnum(Value value, String string) {
+        this.value = value;
+        this.string = string;
+    }
+
+    public Value get() {
+        return this.value;
+    }
+
+    @Override
+    @JsonValue
+    public String toString() {
+        return this.string;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return (this == other)
+                || (other instanceof StreamingEnum && this.string.equals(((StreamingEnum) other).string));
+    }
+
+    @Override
+    public int hashCode() {
+        return this.string.hashCode();
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static StreamingEnum valueOf(@Nonnull @Safe String value) {
+        Preconditions.checkNotNull(value, "value cannot be null");
+        return lookup.valueOf(value);
+    }
+
+    public <T> T accept(Visitor<T> visitor) {
+        switch (value) {
+            case ONE:
+                return visitor.visitOne();
+            case TWO:
+                return visitor.visitTwo();
+            default:
+                return visitor.visitUnknown(string);
+        }
+    }
+
+    public static List<StreamingEnum> values() {
+        return values;
+    }
+
+    @Generated("com.palantir.conjure.java.types.EnumGenerator")
+    public enum Value {
+        ONE,
+
+        TWO,
+
+        UNKNOWN
+    }
+
+    @Generated("com.palantir.conjure.java.types.EnumGenerator")
+    public interface Visitor<T> {
+        T visitOne();
+
+        T visitTwo();
+
+        T visitUnknown(String unknownValue);
+    }
+
+    @Generated("com.palantir.conjure.java.types.StreamingCodecGenerator")
+    public static final class Codec implements StreamingCodec<StreamingEnum> {
+        public static final Codec INSTANCE = new Codec();
+
+        @Override
+        public void serialize(StreamingEnum value, JsonGenerator generator) throws IOException {
+            generator.writeString(value.string);
+        }
+
+        @Override
+        public StreamingEnum deserialize(JsonParser parser) throws IOException {
+            String string = StreamingCodecs.readString(parser);
+            return string == null ? null : StreamingEnum.valueOf(string);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.palantir.streaming;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.palantir.conjure.java.lib.internal.HasStreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodecs;
+import com.palantir.logsafe.Preconditions;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.processing.Generated;
+
+@Generated("com.palantir.conjure.java.types.AliasGenerator")
+@HasStreamingCodec(StreamingListAlias.Codec.class)
+public final class StreamingListAlias {
+    private static final StreamingListAlias EMPTY = new StreamingListAlias();
+
+    private final List<StreamingStringAlias> value;
+
+    private StreamingListAlias(@Nonnull List<StreamingStringAlias> value) {
+        this.value = Preconditions.checkNotNull(value, "value cannot be null");
+    }
+
+    private StreamingListAlias() {
+        this(Collections.emptyList());
+    }
+
+    @JsonValue
+    public List<StreamingStringAlias> get() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other
+                || (other instanceof StreamingListAlias && this.value.equals(((StreamingListAlias) other).value));
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static StreamingListAlias of(@Nonnull List<StreamingStringAlias> value) {
+        return new StreamingListAlias(value);
+    }
+
+    public static StreamingListAlias empty() {
+        return EMPTY;
+    }
+
+    @Generated("com.palantir.conjure.java.types.StreamingCodecGenerator")
+    public static final class Codec implements StreamingCodec<StreamingListAlias> {
+        public static final Codec INSTANCE = new Codec();
+
+        private static final StreamingCodec<List<StreamingStringAlias>> VALUE =
+                StreamingCodecs.list(StreamingStringAlias.Codec.INSTANCE);
+
+        @Override
+        public void serialize(StreamingListAlias value, JsonGenerator generator) throws IOException {
+            VALUE.serialize(value.value, generator);
+        }
+
+        @Override
+        public StreamingListAlias deserialize(JsonParser parser) throws IOException {
+            return StreamingListAlias.of(VALUE.deserialize(parser));
+        }
+
+        @Override
+        public boolean isEmpty(StreamingListAlias value) {
+            return VALUE.isEmpty(value.value);
+        }
+    }
+}
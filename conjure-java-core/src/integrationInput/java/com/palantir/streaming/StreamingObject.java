@@ -0,0 +1,1022 @@
+package com.palantir.streaming;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.palantir.conjure.java.lib.Bytes;
+import com.palantir.conjure.java.lib.SafeLong;
+import com.palantir.conjure.java.lib.internal.ConjureCollections;
+import com.palantir.conjure.java.lib.internal.HasStreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodecs;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import com.palantir.ri.ResourceIdentifier;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.processing.Generated;
+
+@JsonDeserialize(builder = StreamingObject.Builder.class)
+@HasStreamingCodec(StreamingObject.Codec.class)
+@Generated("com.palantir.conjure.java.types.BeanGenerator")
+public final class StreamingObject {
+    private final String string;
+
+    private final int integer;
+
+    private final double doubleValue;
+
+    private final boolean flag;
+
+    private final SafeLong safeLong;
+
+    private final UUID uuid;
+
+    private final ResourceIdentifier rid;
+
+    private final OffsetDateTime datetime;
+
+    private final Bytes binary;
+
+    private final Object any;
+
+    private final Optional<String> optionalString;
+
+    private final OptionalInt optionalInteger;
+
+    private final OptionalDouble optionalDouble;
+
+    private final List<String> items;
+
+    private final Set<StreamingEnum> itemsSet;
+
+    private final Map<String, List<Integer>> itemsMap;
+
+    private final Map<StreamingEnum, Optional<String>> enumMap;
+
+    private final Map<StreamingObjectKey, String> complexMap;
+
+    private final StreamingStringAlias alias;
+
+    private final StreamingOptionalAlias optionalAlias;
+
+    private final StreamingListAlias listAlias;
+
+    private final StreamingUnion union;
+
+    private final StreamingEmptyObject empty;
+
+    private int memoizedHashCode;
+
+    private StreamingObject(
+            String string,
+            int integer,
+            double doubleValue,
+            boolean flag,
+            SafeLong safeLong,
+            UUID uuid,
+            ResourceIdentifier rid,
+            OffsetDateTime datetime,
+            Bytes binary,
+            Object any,
+            Optional<String> optionalString,
+            OptionalInt optionalInteger,
+            OptionalDouble optionalDouble,
+            List<String> items,
+            Set<StreamingEnum> itemsSet,
+            Map<String, List<Integer>> itemsMap,
+            Map<StreamingEnum, Optional<String>> enumMap,
+            Map<StreamingObjectKey, String> complexMap,
+            StreamingStringAlias alias,
+            StreamingOptionalAlias optionalAlias,
+            StreamingListAlias listAlias,
+            StreamingUnion union,
+            StreamingEmptyObject empty) {
+        validateFields(
+                string,
+                safeLong,
+                uuid,
+                rid,
+                datetime,
+                binary,
+                any,
+                optionalString,
+                optionalInteger,
+                optionalDouble,
+                items,
+                itemsSet,
+                itemsMap,
+                enumMap,
+                complexMap,
+                alias,
+                optionalAlias,
+                listAlias,
+                union,
+                empty);
+        this.string = string;
+        this.integer = integer;
+        this.doubleValue = doubleValue;
+        this.flag = flag;
+        this.safeLong = safeLong;
+        this.uuid = uuid;
+        this.rid = rid;
+        this.datetime = datetime;
+        this.binary = binary;
+        this.any = any;
+        this.optionalString = optionalString;
+        this.optionalInteger = optionalInteger;
+        this.optionalDouble = optionalDouble;
+        this.items = Collections.unmodifiableList(items);
+        this.itemsSet = Collections.unmodifiableSet(itemsSet);
+        this.itemsMap = Collections.unmodifiableMap(itemsMap);
+        this.enumMap = Collections.unmodifiableMap(enumMap);
+        this.complexMap = Collections.unmodifiableMap(complexMap);
+        this.alias = alias;
+        this.optionalAlias = optionalAlias;
+        this.listAlias = listAlias;
+        this.union = union;
+        this.empty = empty;
+    }
+
+    @JsonProperty("string")
+    public String getString() {
+        return this.string;
+    }
+
+    @JsonProperty("integer")
+    public int getInteger() {
+        return this.integer;
+    }
+
+    @JsonProperty("doubleValue")
+    public double getDoubleValue() {
+        return this.doubleValue;
+    }
+
+    @JsonProperty("flag")
+    public boolean getFlag() {
+        return this.flag;
+    }
+
+    @JsonProperty("safeLong")
+    public SafeLong getSafeLong() {
+        return this.safeLong;
+    }
+
+    @JsonProperty("uuid")
+    public UUID getUuid() {
+        return this.uuid;
+    }
+
+    @JsonProperty("rid")
+    public ResourceIdentifier getRid() {
+        return this.rid;
+    }
+
+    @JsonProperty("datetime")
+    public OffsetDateTime getDatetime() {
+        return this.datetime;
+    }
+
+    @JsonProperty("binary")
+    public Bytes getBinary() {
+        return this.binary;
+    }
+
+    @JsonProperty("any")
+    public Object getAny() {
+        return this.any;
+    }
+
+    @JsonProperty("optionalString")
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public Optional<String> getOptionalString() {
+        return this.optionalString;
+    }
+
+    @JsonProperty("optionalInteger")
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public OptionalInt getOptionalInteger() {
+        return this.optionalInteger;
+    }
+
+    @JsonProperty("optionalDouble")
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public OptionalDouble getOptionalDouble() {
+        return this.optionalDouble;
+    }
+
+    @JsonProperty("items")
+    public List<String> getItems() {
+        return this.items;
+    }
+
+    @JsonProperty("itemsSet")
+    public Set<StreamingEnum> getItemsSet() {
+        return this.itemsSet;
+    }
+
+    @JsonProperty("itemsMap")
+    public Map<String, List<Integer>> getItemsMap() {
+        return this.itemsMap;
+    }
+
+    @JsonProperty("enumMap")
+    public Map<StreamingEnum, Optional<String>> getEnumMap() {
+        return this.enumMap;
+    }
+
+    @JsonProperty("complexMap")
+    public Map<StreamingObjectKey, String> getComplexMap() {
+        return this.complexMap;
+    }
+
+    @JsonProperty("alias")
+    public StreamingStringAlias getAlias() {
+        return this.alias;
+    }
+
+    @JsonProperty("optionalAlias")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public StreamingOptionalAlias getOptionalAlias() {
+        return this.optionalAlias;
+    }
+
+    @JsonProperty("listAlias")
+    public StreamingListAlias getListAlias() {
+        return this.listAlias;
+    }
+
+    @JsonProperty("union")
+    public StreamingUnion getUnion() {
+        return this.union;
+    }
+
+    @JsonProperty("empty")
+    public StreamingEmptyObject getEmpty() {
+        return this.empty;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof StreamingObject && equalTo((StreamingObject) other));
+    }
+
+    private boolean equalTo(StreamingObject other) {
+        if (this.memoizedHashCode != 0
+                && other.memoizedHashCode != 0
+                && this.memoizedHashCode != other.memoizedHashCode) {
+            return false;
+        }
+        return this.string.equals(other.string)
+                && this.integer == other.integer
+                && Double.doubleToLongBits(this.doubleValue) == Double.doubleToLongBits(other.doubleValue)
+                && this.flag == other.flag
+                && this.safeLong.equals(other.safeLong)
+                && this.uuid.equals(other.uuid)
+                && this.rid.equals(other.rid)
+                && this.datetime.isEqual(other.datetime)
+                && this.binary.equals(other.binary)
+                && this.any.equals(other.any)
+                && this.optionalString.equals(other.optionalString)
+                && this.optionalInteger.equals(other.optionalInteger)
+                && this.optionalDouble.equals(other.optionalDouble)
+                && this.items.equals(other.items)
+                && this.itemsSet.equals(other.itemsSet)
+                && this.itemsMap.equals(other.itemsMap)
+                && this.enumMap.equals(other.enumMap)
+                && this.complexMap.equals(other.complexMap)
+                && this.alias.equals(other.alias)
+                && this.optionalAlias.equals(other.optionalAlias)
+                && this.listAlias.equals(other.listAlias)
+                && this.union.equals(other.union)
+                && this.empty.equals(other.empty);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = memoizedHashCode;
+        if (result == 0) {
+            int hash = 1;
+            hash = 31 * hash + this.string.hashCode();
+            hash = 31 * hash + this.integer;
+            hash = 31 * hash + Double.hashCode(this.doubleValue);
+            hash = 31 * hash + Boolean.hashCode(this.flag);
+            hash = 31 * hash + this.safeLong.hashCode();
+            hash = 31 * hash + this.uuid.hashCode();
+            hash = 31 * hash + this.rid.hashCode();
+            hash = 31 * hash + this.datetime.toInstant().hashCode();
+            hash = 31 * hash + this.binary.hashCode();
+            hash = 31 * hash + this.any.hashCode();
+            hash = 31 * hash + this.optionalString.hashCode();
+            hash = 31 * hash + this.optionalInteger.hashCode();
+            hash = 31 * hash + this.optionalDouble.hashCode();
+            hash = 31 * hash + this.items.hashCode();
+            hash = 31 * hash + this.itemsSet.hashCode();
+            hash = 31 * hash + this.itemsMap.hashCode();
+            hash = 31 * hash + this.enumMap.hashCode();
+            hash = 31 * hash + this.complexMap.hashCode();
+            hash = 31 * hash + this.alias.hashCode();
+            hash = 31 * hash + this.optionalAlias.hashCode();
+            hash = 31 * hash + this.listAlias.hashCode();
+            hash = 31 * hash + this.union.hashCode();
+            hash = 31 * hash + this.empty.hashCode();
+            result = hash;
+            memoizedHashCode = result;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingObject{string: " + string + ", integer: " + integer + ", doubleValue: " + doubleValue
+                + ", flag: " + flag + ", safeLong: " + safeLong + ", uuid: " + uuid + ", rid: " + rid + ", datetime: "
+                + datetime + ", binary: " + binary + ", any: " + any + ", optionalString: " + optionalString
+                + ", optionalInteger: " + optionalInteger + ", optionalDouble: " + optionalDouble + ", items: " + items
+                + ", itemsSet: " + itemsSet + ", itemsMap: " + itemsMap + ", enumMap: " + enumMap + ", complexMap: "
+                + complexMap + ", alias: " + alias + ", optionalAlias: " + optionalAlias + ", listAlias: " + listAlias
+                + ", union: " + union + ", empty: " + empty + '}';
+    }
+
+    private static void validateFields(
+            String string,
+            SafeLong safeLong,
+            UUID uuid,
+            ResourceIdentifier rid,
+            OffsetDateTime datetime,
+            Bytes binary,
+            Object any,
+            Optional<String> optionalString,
+            OptionalInt optionalInteger,
+            OptionalDouble optionalDouble,
+            List<String> items,
+            Set<StreamingEnum> itemsSet,
+            Map<String, List<Integer>> itemsMap,
+            Map<StreamingEnum, Optional<String>> enumMap,
+            Map<StreamingObjectKey, String> complexMap,
+            StreamingStringAlias alias,
+            StreamingOptionalAlias optionalAlias,
+            StreamingListAlias listAlias,
+            StreamingUnion union,
+            StreamingEmptyObject empty) {
+        List<String> missingFields = null;
+        missingFields = addFieldIfMissing(missingFields, string, "string");
+        missingFields = addFieldIfMissing(missingFields, safeLong, "safeLong");
+        missingFields = addFieldIfMissing(missingFields, uuid, "uuid");
+        missingFields = addFieldIfMissing(missingFields, rid, "rid");
+        missingFields = addFieldIfMissing(missingFields, datetime, "datetime");
+        missingFields = addFieldIfMissing(missingFields, binary, "binary");
+        missingFields = addFieldIfMissing(missingFields, any, "any");
+        missingFields = addFieldIfMissing(missingFields, optionalString, "optionalString");
+        missingFields = addFieldIfMissing(missingFields, optionalInteger, "optionalInteger");
+        missingFields = addFieldIfMissing(missingFields, optionalDouble, "optionalDouble");
+        missingFields = addFieldIfMissing(missingFields, items, "items");
+        missingFields = addFieldIfMissing(missingFields, itemsSet, "itemsSet");
+        missingFields = addFieldIfMissing(missingFields, itemsMap, "itemsMap");
+        missingFields = addFieldIfMissing(missingFields, enumMap, "enumMap");
+        missingFields = addFieldIfMissing(missingFields, complexMap, "complexMap");
+        missingFields = addFieldIfMissing(missingFields, alias, "alias");
+        missingFields = addFieldIfMissing(missingFields, optionalAlias, "optionalAlias");
+        missingFields = addFieldIfMissing(missingFields, listAlias, "listAlias");
+        missingFields = addFieldIfMissing(missingFields, union, "union");
+        missingFields = addFieldIfMissing(missingFields, empty, "empty");
+        if (missingFields != null) {
+            throw new SafeIllegalArgumentException(
+                    "Some required fields have not been set", SafeArg.of("missingFields", missingFields));
+        }
+    }
+
+    private static List<String> addFieldIfMissing(List<String> prev, Object fieldValue, String fieldName) {
+        List<String> missingFields = prev;
+        if (fieldValue == null) {
+            if (missingFields == null) {
+                missingFields = new ArrayList<>(20);
+            }
+            missingFields.add(fieldName);
+        }
+        return missingFields;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Generated("com.palantir.conjure.java.types.BeanBuilderGenerator")
+    public static final class Builder {
+        boolean _buildInvoked;
+
+        private String string;
+
+        private int integer;
+
+        private double doubleValue;
+
+        private boolean flag;
+
+        private SafeLong safeLong;
+
+        private UUID uuid;
+
+        private ResourceIdentifier rid;
+
+        private OffsetDateTime datetime;
+
+        private Bytes binary;
+
+        private Object any;
+
+        private Optional<String> optionalString = Optional.empty();
+
+        private OptionalInt optionalInteger = OptionalInt.empty();
+
+        private OptionalDouble optionalDouble = OptionalDouble.empty();
+
+        private List<String> items = new ArrayList<>();
+
+        private Set<StreamingEnum> itemsSet = new LinkedHashSet<>();
+
+        private Map<String, List<Integer>> itemsMap = new LinkedHashMap<>();
+
+        private Map<StreamingEnum, Optional<String>> enumMap = new LinkedHashMap<>();
+
+        private Map<StreamingObjectKey, String> complexMap = new LinkedHashMap<>();
+
+        private StreamingStringAlias alias;
+
+        private StreamingOptionalAlias optionalAlias = StreamingOptionalAlias.empty();
+
+        private StreamingListAlias listAlias = StreamingListAlias.empty();
+
+        private StreamingUnion union;
+
+        private StreamingEmptyObject empty;
+
+        private boolean _integerInitialized = false;
+
+        private boolean _doubleValueInitialized = false;
+
+        private boolean _flagInitialized = false;
+
+        private Builder() {}
+
+        public Builder from(StreamingObject other) {
+            checkNotBuilt();
+            string(other.getString());
+            integer(other.getInteger());
+            doubleValue(other.getDoubleValue());
+            flag(other.getFlag());
+            safeLong(other.getSafeLong());
+            uuid(other.getUuid());
+            rid(other.getRid());
+            datetime(other.getDatetime());
+            binary(other.getBinary());
+            any(other.getAny());
+            optionalString(other.getOptionalString());
+            optionalInteger(other.getOptionalInteger());
+            optionalDouble(other.getOptionalDouble());
+            items(other.getItems());
+            itemsSet(other.getItemsSet());
+            itemsMap(other.getItemsMap());
+            enumMap(other.getEnumMap());
+            complexMap(other.getComplexMap());
+            alias(other.getAlias());
+            optionalAlias(other.getOptionalAlias());
+            listAlias(other.getListAlias());
+            union(other.getUnion());
+            empty(other.getEmpty());
+            return this;
+        }
+
+        @JsonSetter("string")
+        public Builder string(@Nonnull String string) {
+            checkNotBuilt();
+            this.string = Preconditions.checkNotNull(string, "string cannot be null");
+            return this;
+        }
+
+        @JsonSetter("integer")
+        public Builder integer(int integer) {
+            checkNotBuilt();
+            this.integer = integer;
+            this._integerInitialized = true;
+            return this;
+        }
+
+        @JsonSetter("doubleValue")
+        public Builder doubleValue(double doubleValue) {
+            checkNotBuilt();
+            this.doubleValue = doubleValue;
+            this._doubleValueInitialized = true;
+            return this;
+        }
+
+        @JsonSetter("flag")
+        public Builder flag(boolean flag) {
+            checkNotBuilt();
+            this.flag = flag;
+            this._flagInitialized = true;
+            return this;
+        }
+
+        @JsonSetter("safeLong")
+        public Builder safeLong(@Nonnull SafeLong safeLong) {
+            checkNotBuilt();
+            this.safeLong = Preconditions.checkNotNull(safeLong, "safeLong cannot be null");
+            return this;
+        }
+
+        @JsonSetter("uuid")
+        public Builder uuid(@Nonnull UUID uuid) {
+            checkNotBuilt();
+            this.uuid = Preconditions.checkNotNull(uuid, "uuid cannot be null");
+            return this;
+        }
+
+        @JsonSetter("rid")
+        public Builder rid(@Nonnull ResourceIdentifier rid) {
+            checkNotBuilt();
+            this.rid = Preconditions.checkNotNull(rid, "rid cannot be null");
+            return this;
+        }
+
+        @JsonSetter("datetime")
+        public Builder datetime(@Nonnull OffsetDateTime datetime) {
+            checkNotBuilt();
+            this.datetime = Preconditions.checkNotNull(datetime, "datetime cannot be null");
+            return this;
+        }
+
+        @JsonSetter("binary")
+        public Builder binary(@Nonnull Bytes binary) {
+            checkNotBuilt();
+            this.binary = Preconditions.checkNotNull(binary, "binary cannot be null");
+            return this;
+        }
+
+        @JsonSetter("any")
+        public Builder any(@Nonnull Object any) {
+            checkNotBuilt();
+            this.any = Preconditions.checkNotNull(any, "any cannot be null");
+            return this;
+        }
+
+        @JsonSetter(value = "optionalString", nulls = Nulls.SKIP)
+        public Builder optionalString(@Nonnull Optional<String> optionalString) {
+            checkNotBuilt();
+            this.optionalString = Preconditions.checkNotNull(optionalString, "optionalString cannot be null");
+            return this;
+        }
+
+        public Builder optionalString(@Nonnull String optionalString) {
+            checkNotBuilt();
+            this.optionalString =
+                    Optional.of(Preconditions.checkNotNull(optionalString, "optionalString cannot be null"));
+            return this;
+        }
+
+        @JsonSetter(value = "optionalInteger", nulls = Nulls.SKIP)
+        public Builder optionalInteger(@Nonnull OptionalInt optionalInteger) {
+            checkNotBuilt();
+            this.optionalInteger = Preconditions.checkNotNull(optionalInteger, "optionalInteger cannot be null");
+            return this;
+        }
+
+        public Builder optionalInteger(int optionalInteger) {
+            checkNotBuilt();
+            this.optionalInteger = OptionalInt.of(optionalInteger);
+            return this;
+        }
+
+        @JsonSetter(value = "optionalDouble", nulls = Nulls.SKIP)
+        public Builder optionalDouble(@Nonnull OptionalDouble optionalDouble) {
+            checkNotBuilt();
+            this.optionalDouble = Preconditions.checkNotNull(optionalDouble, "optionalDouble cannot be null");
+            return this;
+        }
+
+        public Builder optionalDouble(double optionalDouble) {
+            checkNotBuilt();
+            this.optionalDouble = OptionalDouble.of(optionalDouble);
+            return this;
+        }
+
+        public Builder items(@Nonnull Iterable<String> items) {
+            checkNotBuilt();
+            this.items = ConjureCollections.newArrayList(Preconditions.checkNotNull(items, "items cannot be null"));
+            return this;
+        }
+
+        @JsonSetter(value = "items", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = ArrayList.class)
+        private Builder adoptItems(@Nonnull List<String> items) {
+            checkNotBuilt();
+            this.items = Preconditions.checkNotNull(items, "items cannot be null");
+            return this;
+        }
+
+        public Builder addAllItems(@Nonnull Iterable<String> items) {
+            checkNotBuilt();
+            ConjureCollections.addAll(this.items, Preconditions.checkNotNull(items, "items cannot be null"));
+            return this;
+        }
+
+        public Builder items(String items) {
+            checkNotBuilt();
+            this.items.add(items);
+            return this;
+        }
+
+        public Builder itemsSet(@Nonnull Iterable<StreamingEnum> itemsSet) {
+            checkNotBuilt();
+            this.itemsSet = ConjureCollections.newLinkedHashSet(
+                    Preconditions.checkNotNull(itemsSet, "itemsSet cannot be null"));
+            return this;
+        }
+
+        @JsonSetter(value = "itemsSet", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = LinkedHashSet.class)
+        private Builder adoptItemsSet(@Nonnull Set<StreamingEnum> itemsSet) {
+            checkNotBuilt();
+            this.itemsSet = Preconditions.checkNotNull(itemsSet, "itemsSet cannot be null");
+            return this;
+        }
+
+        public Builder addAllItemsSet(@Nonnull Iterable<StreamingEnum> itemsSet) {
+            checkNotBuilt();
+            ConjureCollections.addAll(this.itemsSet, Preconditions.checkNotNull(itemsSet, "itemsSet cannot be null"));
+            return this;
+        }
+
+        public Builder itemsSet(StreamingEnum itemsSet) {
+            checkNotBuilt();
+            this.itemsSet.add(itemsSet);
+            return this;
+        }
+
+        public Builder itemsMap(@Nonnull Map<String, List<Integer>> itemsMap) {
+            checkNotBuilt();
+            this.itemsMap = new LinkedHashMap<>(Preconditions.checkNotNull(itemsMap, "itemsMap cannot be null"));
+            return this;
+        }
+
+        @JsonSetter(value = "itemsMap", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptItemsMap(@Nonnull Map<String, List<Integer>> itemsMap) {
+            checkNotBuilt();
+            this.itemsMap = Preconditions.checkNotNull(itemsMap, "itemsMap cannot be null");
+            return this;
+        }
+
+        public Builder putAllItemsMap(@Nonnull Map<String, List<Integer>> itemsMap) {
+            checkNotBuilt();
+            this.itemsMap.putAll(Preconditions.checkNotNull(itemsMap, "itemsMap cannot be null"));
+            return this;
+        }
+
+        public Builder itemsMap(String key, List<Integer> value) {
+            checkNotBuilt();
+            this.itemsMap.put(key, value);
+            return this;
+        }
+
+        public Builder enumMap(@Nonnull Map<StreamingEnum, Optional<String>> enumMap) {
+            checkNotBuilt();
+            this.enumMap = new LinkedHashMap<>(Preconditions.checkNotNull(enumMap, "enumMap cannot be null"));
+            return this;
+        }
+
+        @JsonSetter(value = "enumMap", nulls = Nulls.SKIP, contentNulls = Nulls.AS_EMPTY)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptEnumMap(@Nonnull Map<StreamingEnum, Optional<String>> enumMap) {
+            checkNotBuilt();
+            this.enumMap = Preconditions.checkNotNull(enumMap, "enumMap cannot be null");
+            return this;
+        }
+
+        public Builder putAllEnumMap(@Nonnull Map<StreamingEnum, Optional<String>> enumMap) {
+            checkNotBuilt();
+            this.enumMap.putAll(Preconditions.checkNotNull(enumMap, "enumMap cannot be null"));
+            return this;
+        }
+
+        public Builder enumMap(StreamingEnum key, Optional<String> value) {
+            checkNotBuilt();
+            this.enumMap.put(key, value);
+            return this;
+        }
+
+        public Builder complexMap(@Nonnull Map<StreamingObjectKey, String> complexMap) {
+            checkNotBuilt();
+            this.complexMap = new LinkedHashMap<>(Preconditions.checkNotNull(complexMap, "complexMap cannot be null"));
+            return this;
+        }
+
+        @JsonSetter(value = "complexMap", nulls = Nulls.SKIP, contentNulls = Nulls.FAIL)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptComplexMap(@Nonnull Map<StreamingObjectKey, String> complexMap) {
+            checkNotBuilt();
+            this.complexMap = Preconditions.checkNotNull(complexMap, "complexMap cannot be null");
+            return this;
+        }
+
+        public Builder putAllComplexMap(@Nonnull Map<StreamingObjectKey, String> complexMap) {
+            checkNotBuilt();
+            this.complexMap.putAll(Preconditions.checkNotNull(complexMap, "complexMap cannot be null"));
+            return this;
+        }
+
+        public Builder complexMap(StreamingObjectKey key, String value) {
+            checkNotBuilt();
+            this.complexMap.put(key, value);
+            return this;
+        }
+
+        @JsonSetter("alias")
+        public Builder alias(@Nonnull StreamingStringAlias alias) {
+            checkNotBuilt();
+            this.alias = Preconditions.checkNotNull(alias, "alias cannot be null");
+            return this;
+        }
+
+        @JsonSetter(value = "optionalAlias", nulls = Nulls.AS_EMPTY)
+        public Builder optionalAlias(@Nonnull StreamingOptionalAlias optionalAlias) {
+            checkNotBuilt();
+            this.optionalAlias = Preconditions.checkNotNull(optionalAlias, "optionalAlias cannot be null");
+            return this;
+        }
+
+        @JsonSetter(value = "listAlias", nulls = Nulls.AS_EMPTY)
+        public Builder listAlias(@Nonnull StreamingListAlias listAlias) {
+            checkNotBuilt();
+            this.listAlias = Preconditions.checkNotNull(listAlias, "listAlias cannot be null");
+            return this;
+        }
+
+        @JsonSetter("union")
+        public Builder union(@Nonnull StreamingUnion union) {
+            checkNotBuilt();
+            this.union = Preconditions.checkNotNull(union, "union cannot be null");
+            return this;
+        }
+
+        @JsonSetter("empty")
+        public Builder empty(@Nonnull StreamingEmptyObject empty) {
+            checkNotBuilt();
+            this.empty = Preconditions.checkNotNull(empty, "empty cannot be null");
+            return this;
+        }
+
+        private void validatePrimitiveFieldsHaveBeenInitialized() {
+            List<String> missingFields = null;
+            missingFields = addFieldIfMissing(missingFields, _integerInitialized, "integer");
+            missingFields = addFieldIfMissing(missingFields, _doubleValueInitialized, "doubleValue");
+            missingFields = addFieldIfMissing(missingFields, _flagInitialized, "flag");
+            if (missingFields != null) {
+                throw new SafeIllegalArgumentException(
+                        "Some required fields have not been set", SafeArg.of("missingFields", missingFields));
+            }
+        }
+
+        private static List<String> addFieldIfMissing(List<String> prev, boolean initialized, String fieldName) {
+            List<String> missingFields = prev;
+            if (!initialized) {
+                if (missingFields == null) {
+                    missingFields = new ArrayList<>(3);
+                }
+                missingFields.add(fieldName);
+            }
+            return missingFields;
+        }
+
+        public StreamingObject build() {
+            checkNotBuilt();
+            this._buildInvoked = true;
+            validatePrimitiveFieldsHaveBeenInitialized();
+            return new StreamingObject(
+                    string,
+                    integer,
+                    doubleValue,
+                    flag,
+                    safeLong,
+                    uuid,
+                    rid,
+                    datetime,
+                    binary,
+                    any,
+                    optionalString,
+                    optionalInteger,
+                    optionalDouble,
+                    items,
+                    itemsSet,
+                    itemsMap,
+                    enumMap,
+                    complexMap,
+                    alias,
+                    optionalAlias,
+                    listAlias,
+                    union,
+                    empty);
+        }
+
+        private void checkNotBuilt() {
+            Preconditions.checkState(!_buildInvoked, "Build has already been called");
+        }
+    }
+
+    @Generated("com.palantir.conjure.java.types.StreamingCodecGenerator")
+    public static final class Codec implements StreamingCodec<StreamingObject> {
+        public static final Codec INSTANCE = new Codec();
+
+        private static final StreamingCodec<OffsetDateTime> DATETIME =
+                StreamingCodecs.databind(new TypeReference<OffsetDateTime>() {});
+
+        private static final StreamingCodec<Bytes> BINARY = StreamingCodecs.databind(new TypeReference<Bytes>() {});
+
+        private static final StreamingCodec<Object> ANY = StreamingCodecs.databind(new TypeReference<Object>() {});
+
+        private static final StreamingCodec<Optional<String>> OPTIONAL_STRING =
+                StreamingCodecs.optional(StreamingCodecs.strings());
+
+        private static final StreamingCodec<List<String>> ITEMS =
+                StreamingCodecs.list(StreamingCodecs.nonNull(StreamingCodecs.strings()));
+
+        private static final StreamingCodec<Set<StreamingEnum>> ITEMS_SET =
+                StreamingCodecs.set(StreamingCodecs.nonNull(StreamingEnum.Codec.INSTANCE));
+
+        private static final StreamingCodec<Map<String, List<Integer>>> ITEMS_MAP = StreamingCodecs.map(
+                Function.identity(), StreamingCodecs.nonNull(StreamingCodecs.list(StreamingCodecs.integers())));
+
+        private static final StreamingCodec<Map<StreamingEnum, Optional<String>>> ENUM_MAP =
+                StreamingCodecs.map(StreamingEnum::valueOf, StreamingCodecs.optional(StreamingCodecs.strings()));
+
+        private static final StreamingCodec<Map<StreamingObjectKey, String>> COMPLEX_MAP =
+                StreamingCodecs.databind(new TypeReference<Map<StreamingObjectKey, String>>() {});
+
+        @Override
+        public void serialize(StreamingObject value, JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            generator.writeFieldName("string");
+            generator.writeString(value.string);
+            generator.writeFieldName("integer");
+            generator.writeNumber(value.integer);
+            generator.writeFieldName("doubleValue");
+            generator.writeNumber(value.doubleValue);
+            generator.writeFieldName("flag");
+            generator.writeBoolean(value.flag);
+            generator.writeFieldName("safeLong");
+            generator.writeNumber(value.safeLong.longValue());
+            generator.writeFieldName("uuid");
+            generator.writeString(value.uuid.toString());
+            generator.writeFieldName("rid");
+            generator.writeString(value.rid.toString());
+            generator.writeFieldName("datetime");
+            DATETIME.serialize(value.datetime, generator);
+            generator.writeFieldName("binary");
+            BINARY.serialize(value.binary, generator);
+            generator.writeFieldName("any");
+            ANY.serialize(value.any, generator);
+            if (value.optionalString.isPresent()) {
+                generator.writeFieldName("optionalString");
+                OPTIONAL_STRING.serialize(value.optionalString, generator);
+            }
+            if (value.optionalInteger.isPresent()) {
+                generator.writeFieldName("optionalInteger");
+                StreamingCodecs.optionalInts().serialize(value.optionalInteger, generator);
+            }
+            if (value.optionalDouble.isPresent()) {
+                generator.writeFieldName("optionalDouble");
+                StreamingCodecs.optionalDoubles().serialize(value.optionalDouble, generator);
+            }
+            generator.writeFieldName("items");
+            ITEMS.serialize(value.items, generator);
+            generator.writeFieldName("itemsSet");
+            ITEMS_SET.serialize(value.itemsSet, generator);
+            generator.writeFieldName("itemsMap");
+            ITEMS_MAP.serialize(value.itemsMap, generator);
+            generator.writeFieldName("enumMap");
+            ENUM_MAP.serialize(value.enumMap, generator);
+            generator.writeFieldName("complexMap");
+            COMPLEX_MAP.serialize(value.complexMap, generator);
+            generator.writeFieldName("alias");
+            StreamingStringAlias.Codec.INSTANCE.serialize(value.alias, generator);
+            if (!StreamingOptionalAlias.Codec.INSTANCE.isEmpty(value.optionalAlias)) {
+                generator.writeFieldName("optionalAlias");
+                StreamingOptionalAlias.Codec.INSTANCE.serialize(value.optionalAlias, generator);
+            }
+            generator.writeFieldName("listAlias");
+            StreamingListAlias.Codec.INSTANCE.serialize(value.listAlias, generator);
+            generator.writeFieldName("union");
+            StreamingUnion.Codec.INSTANCE.serialize(value.union, generator);
+            generator.writeFieldName("empty");
+            StreamingEmptyObject.Codec.INSTANCE.serialize(value.empty, generator);
+            generator.writeEndObject();
+        }
+
+        @Override
+        public StreamingObject deserialize(JsonParser parser) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            StreamingCodecs.expect(parser, JsonToken.START_OBJECT, StreamingObject.class);
+            Builder builder = new Builder();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "string":
+                        builder.string(StreamingCodecs.readString(parser));
+                        break;
+                    case "integer":
+                        builder.integer(StreamingCodecs.readInteger(parser));
+                        break;
+                    case "doubleValue":
+                        builder.doubleValue(StreamingCodecs.readDouble(parser));
+                        break;
+                    case "flag":
+                        builder.flag(StreamingCodecs.readBoolean(parser));
+                        break;
+                    case "safeLong":
+                        builder.safeLong(StreamingCodecs.readSafeLong(parser));
+                        break;
+                    case "uuid":
+                        builder.uuid(StreamingCodecs.readUuid(parser));
+                        break;
+                    case "rid":
+                        builder.rid(StreamingCodecs.readResourceIdentifier(parser));
+                        break;
+                    case "datetime":
+                        builder.datetime(DATETIME.deserialize(parser));
+                        break;
+                    case "binary":
+                        builder.binary(BINARY.deserialize(parser));
+                        break;
+                    case "any":
+                        builder.any(ANY.deserialize(parser));
+                        break;
+                    case "optionalString":
+                        builder.optionalString(OPTIONAL_STRING.deserialize(parser));
+                        break;
+                    case "optionalInteger":
+                        builder.optionalInteger(StreamingCodecs.optionalInts().deserialize(parser));
+                        break;
+                    case "optionalDouble":
+                        builder.optionalDouble(StreamingCodecs.optionalDoubles().deserialize(parser));
+                        break;
+                    case "items":
+                        builder.adoptItems(ITEMS.deserialize(parser));
+                        break;
+                    case "itemsSet":
+                        builder.adoptItemsSet(ITEMS_SET.deserialize(parser));
+                        break;
+                    case "itemsMap":
+                        builder.adoptItemsMap(ITEMS_MAP.deserialize(parser));
+                        break;
+                    case "enumMap":
+                        builder.adoptEnumMap(ENUM_MAP.deserialize(parser));
+                        break;
+                    case "complexMap":
+                        builder.adoptComplexMap(COMPLEX_MAP.deserialize(parser));
+                        break;
+                    case "alias":
+                        builder.alias(StreamingStringAlias.Codec.INSTANCE.deserialize(parser));
+                        break;
+                    case "optionalAlias":
+                        builder.optionalAlias(StreamingOptionalAlias.Codec.INSTANCE.deserialize(parser));
+                        break;
+                    case "listAlias":
+                        builder.listAlias(StreamingListAlias.Codec.INSTANCE.deserialize(parser));
+                        break;
+                    case "union":
+                        builder.union(StreamingUnion.Codec.INSTANCE.deserialize(parser));
+                        break;
+                    case "empty":
+                        builder.empty(StreamingEmptyObject.Codec.INSTANCE.deserialize(parser));
+                        break;
+                    default:
+                        StreamingCodecs.unknownField(parser, StreamingObject.class, field);
+                }
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.palantir.streaming;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.palantir.conjure.java.lib.internal.HasStreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodecs;
+import com.palantir.logsafe.Preconditions;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import javax.annotation.Nonnull;
+import javax.annotation.processing.Generated;
+
+@Generated("com.palantir.conjure.java.types.AliasGenerator")
+@HasStreamingCodec(StreamingObjectKey.Codec.class)
+public final class StreamingObjectKey implements Comparable<StreamingObjectKey> {
+    private final OffsetDateTime value;
+
+    private StreamingObjectKey(@Nonnull OffsetDateTime value) {
+        this.value = Preconditions.checkNotNull(value, "value cannot be null");
+    }
+
+    @JsonValue
+    public OffsetDateTime get() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other
+                || (other instanceof StreamingObjectKey && this.value.equals(((StreamingObjectKey) other).value));
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public int compareTo(StreamingObjectKey other) {
+        return value.compareTo(other.get());
+    }
+
+    public static StreamingObjectKey valueOf(String value) {
+        return of(OffsetDateTime.parse(value));
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static StreamingObjectKey of(@Nonnull OffsetDateTime value) {
+        return new StreamingObjectKey(value);
+    }
+
+    @Generated("com.palantir.conjure.java.types.StreamingCodecGenerator")
+    public static final class Codec implements StreamingCodec<StreamingObjectKey> {
+        public static final Codec INSTANCE = new Codec();
+
+        private static final StreamingCodec<OffsetDateTime> VALUE =
+                StreamingCodecs.databind(new TypeReference<OffsetDateTime>() {});
+
+        @Override
+        public void serialize(StreamingObjectKey value, JsonGenerator generator) throws IOException {
+            VALUE.serialize(value.value, generator);
+        }
+
+        @Override
+        public StreamingObjectKey deserialize(JsonParser parser) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            return StreamingObjectKey.of(VALUE.deserialize(parser));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.palantir.streaming;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.palantir.conjure.java.lib.internal.HasStreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodecs;
+import com.palantir.logsafe.Preconditions;
+import java.io.IOException;
+import java.util.OptionalInt;
+import javax.annotation.Nonnull;
+import javax.annotation.processing.Generated;
+
+@Generated("com.palantir.conjure.java.types.AliasGenerator")
+@HasStreamingCodec(StreamingOptionalAlias.Codec.class)
+public final class StreamingOptionalAlias {
+    private static final StreamingOptionalAlias EMPTY = new StreamingOptionalAlias();
+
+    private final OptionalInt value;
+
+    private StreamingOptionalAlias(@Nonnull OptionalInt value) {
+        this.value = Preconditions.checkNotNull(value, "value cannot be null");
+    }
+
+    private StreamingOptionalAlias() {
+        this(OptionalInt.empty());
+    }
+
+    @JsonValue
+    public OptionalInt get() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other
+                || (other instanceof StreamingOptionalAlias
+                        && this.value.equals(((StreamingOptionalAlias) other).value));
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static StreamingOptionalAlias of(@Nonnull OptionalInt value) {
+        return new StreamingOptionalAlias(value);
+    }
+
+    public static StreamingOptionalAlias empty() {
+        return EMPTY;
+    }
+
+    @Generated("com.palantir.conjure.java.types.StreamingCodecGenerator")
+    public static final class Codec implements StreamingCodec<StreamingOptionalAlias> {
+        public static final Codec INSTANCE = new Codec();
+
+        @Override
+        public void serialize(StreamingOptionalAlias value, JsonGenerator generator) throws IOException {
+            StreamingCodecs.optionalInts().serialize(value.value, generator);
+        }
+
+        @Override
+        public StreamingOptionalAlias deserialize(JsonParser parser) throws IOException {
+            return StreamingOptionalAlias.of(StreamingCodecs.optionalInts().deserialize(parser));
+        }
+
+        @Override
+        public boolean isEmpty(StreamingOptionalAlias value) {
+            return StreamingCodecs.optionalInts().isEmpty(value.value);
+        }
+    }
+}
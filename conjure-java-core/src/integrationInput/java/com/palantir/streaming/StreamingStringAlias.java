@@ -0,0 +1,77 @@
+package com.palantir.streaming;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.palantir.conjure.java.lib.internal.HasStreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodecs;
+import com.palantir.logsafe.Preconditions;
+import java.io.IOException;
+import javax.annotation.Nonnull;
+import javax.annotation.processing.Generated;
+
+@Generated("com.palantir.conjure.java.types.AliasGenerator")
+@HasStreamingCodec(StreamingStringAlias.Codec.class)
+public final class StreamingStringAlias implements Comparable<StreamingStringAlias> {
+    private final String value;
+
+    private StreamingStringAlias(@Nonnull String value) {
+        this.value = Preconditions.checkNotNull(value, "value cannot be null");
+    }
+
+    @JsonValue
+    public String get() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other
+                || (other instanceof StreamingStringAlias && this.value.equals(((StreamingStringAlias) other).value));
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public int compareTo(StreamingStringAlias other) {
+        return value.compareTo(other.get());
+    }
+
+    public static StreamingStringAlias valueOf(String value) {
+        return of(value);
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static StreamingStringAlias of(@Nonnull String value) {
+        return new StreamingStringAlias(value);
+    }
+
+    @Generated("com.palantir.conjure.java.types.StreamingCodecGenerator")
+    public static final class Codec implements StreamingCodec<StreamingStringAlias> {
+        public static final Codec INSTANCE = new Codec();
+
+        @Override
+        public void serialize(StreamingStringAlias value, JsonGenerator generator) throws IOException {
+            generator.writeString(value.value);
+        }
+
+        @Override
+        public StreamingStringAlias deserialize(JsonParser parser) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            return StreamingStringAlias.of(StreamingCodecs.readString(parser));
+        }
+    }
+}
@@ -0,0 +1,671 @@
+package com.palantir.streaming;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.annotation.Nulls;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.palantir.conjure.java.lib.internal.HasStreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodecDeserializer;
+import com.palantir.conjure.java.lib.internal.StreamingCodecSerializer;
+import com.palantir.conjure.java.lib.internal.StreamingCodecs;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.Safe;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import javax.annotation.Nonnull;
+import javax.annotation.processing.Generated;
+
+@Generated("com.palantir.conjure.java.types.UnionGenerator")
+@HasStreamingCodec(StreamingUnion.Codec.class)
+@JsonSerialize(using = StreamingUnion.Serializer.class)
+@JsonDeserialize(using = StreamingUnion.Deserializer.class)
+public final class StreamingUnion {
+    private final Base value;
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    private StreamingUnion(Base value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    private Base getValue() {
+        return value;
+    }
+
+    public static StreamingUnion string(String value) {
+        return new StreamingUnion(new StringWrapper(value));
+    }
+
+    public static StreamingUnion integer(int value) {
+        return new StreamingUnion(new IntegerWrapper(value));
+    }
+
+    public static StreamingUnion object(StreamingEmptyObject value) {
+        return new StreamingUnion(new ObjectWrapper(value));
+    }
+
+    public static StreamingUnion items(List<StreamingEnum> value) {
+        return new StreamingUnion(new ItemsWrapper(value));
+    }
+
+    public static StreamingUnion unknown_(boolean value) {
+        return new StreamingUnion(new Unknown_Wrapper(value));
+    }
+
+    public static StreamingUnion unknown(@Safe String type, Object value) {
+        switch (Preconditions.checkNotNull(type, "Type is required")) {
+            case "string":
+                throw new SafeIllegalArgumentException(
+                        "Unknown type cannot be created as the provided type is known: string");
+            case "integer":
+                throw new SafeIllegalArgumentException(
+                        "Unknown type cannot be created as the provided type is known: integer");
+            case "object":
+                throw new SafeIllegalArgumentException(
+                        "Unknown type cannot be created as the provided type is known: object");
+            case "items":
+                throw new SafeIllegalArgumentException(
+                        "Unknown type cannot be created as the provided type is known: items");
+            case "unknown":
+                throw new SafeIllegalArgumentException(
+                        "Unknown type cannot be created as the provided type is known: unknown");
+            default:
+                return new StreamingUnion(new UnknownWrapper(type, Collections.singletonMap(type, value)));
+        }
+    }
+
+    public <T> T accept(Visitor<T> visitor) {
+        return value.accept(visitor);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof StreamingUnion && equalTo((StreamingUnion) other));
+    }
+
+    private boolean equalTo(StreamingUnion other) {
+        return this.value.equals(other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingUnion{value: " + value + '}';
+    }
+
+    public interface Visitor<T> {
+        T visitString(String value);
+
+        T visitInteger(int value);
+
+        T visitObject(StreamingEmptyObject value);
+
+        T visitItems(List<StreamingEnum> value);
+
+        T visitUnknown_(boolean value);
+
+        T visitUnknown(@Safe String unknownType);
+
+        static <T> IntegerStageVisitorBuilder<T> builder() {
+            return new VisitorBuilder<T>();
+        }
+    }
+
+    private static final class VisitorBuilder<T>
+            implements IntegerStageVisitorBuilder<T>,
+                    ItemsStageVisitorBuilder<T>,
+                    ObjectStageVisitorBuilder<T>,
+                    StringStageVisitorBuilder<T>,
+                    Unknown_StageVisitorBuilder<T>,
+                    UnknownStageVisitorBuilder<T>,
+                    Completed_StageVisitorBuilder<T> {
+        private IntFunction<T> integerVisitor;
+
+        private Function<List<StreamingEnum>, T> itemsVisitor;
+
+        private Function<StreamingEmptyObject, T> objectVisitor;
+
+        private Function<String, T> stringVisitor;
+
+        private Function<Boolean, T> unknown_Visitor;
+
+        private Function<String, T> unknownVisitor;
+
+        @Override
+        public ItemsStageVisitorBuilder<T> integer(@Nonnull IntFunction<T> integerVisitor) {
+            Preconditions.checkNotNull(integerVisitor, "integerVisitor cannot be null");
+            this.integerVisitor = integerVisitor;
+            return this;
+        }
+
+        @Override
+        public ObjectStageVisitorBuilder<T> items(@Nonnull Function<List<StreamingEnum>, T> itemsVisitor) {
+            Preconditions.checkNotNull(itemsVisitor, "itemsVisitor cannot be null");
+            this.itemsVisitor = itemsVisitor;
+            return this;
+        }
+
+        @Override
+        public StringStageVisitorBuilder<T> object(@Nonnull Function<StreamingEmptyObject, T> objectVisitor) {
+            Preconditions.checkNotNull(objectVisitor, "objectVisitor cannot be null");
+            this.objectVisitor = objectVisitor;
+            return this;
+        }
+
+        @Override
+        public Unknown_StageVisitorBuilder<T> string(@Nonnull Function<String, T> stringVisitor) {
+            Preconditions.checkNotNull(stringVisitor, "stringVisitor cannot be null");
+            this.stringVisitor = stringVisitor;
+            return this;
+        }
+
+        @Override
+        public UnknownStageVisitorBuilder<T> unknown_(@Nonnull Function<Boolean, T> unknown_Visitor) {
+            Preconditions.checkNotNull(unknown_Visitor, "unknown_Visitor cannot be null");
+            this.unknown_Visitor = unknown_Visitor;
+            return this;
+        }
+
+        @Override
+        public Completed_StageVisitorBuilder<T> unknown(@Nonnull Function<String, T> unknownVisitor) {
+            Preconditions.checkNotNull(unknownVisitor, "unknownVisitor cannot be null");
+            this.unknownVisitor = unknownVisitor;
+            return this;
+        }
+
+        @Override
+        public Completed_StageVisitorBuilder<T> throwOnUnknown() {
+            this.unknownVisitor = unknownType -> {
+                throw new SafeIllegalArgumentException(
+                        "Unknown variant of the 'StreamingUnion' union", SafeArg.of("unknownType", unknownType));
+            };
+            return this;
+        }
+
+        @Override
+        public Visitor<T> build() {
+            final IntFunction<T> integerVisitor = this.integerVisitor;
+            final Function<List<StreamingEnum>, T> itemsVisitor = this.itemsVisitor;
+            final Function<StreamingEmptyObject, T> objectVisitor = this.objectVisitor;
+            final Function<String, T> stringVisitor = this.stringVisitor;
+            final Function<Boolean, T> unknown_Visitor = this.unknown_Visitor;
+            final Function<String, T> unknownVisitor = this.unknownVisitor;
+            return new Visitor<T>() {
+                @Override
+                public T visitInteger(int value) {
+                    return integerVisitor.apply(value);
+                }
+
+                @Override
+                public T visitItems(List<StreamingEnum> value) {
+                    return itemsVisitor.apply(value);
+                }
+
+                @Override
+                public T visitObject(StreamingEmptyObject value) {
+                    return objectVisitor.apply(value);
+                }
+
+                @Override
+                public T visitString(String value) {
+                    return stringVisitor.apply(value);
+                }
+
+                @Override
+                public T visitUnknown_(boolean value) {
+                    return unknown_Visitor.apply(value);
+                }
+
+                @Override
+                public T visitUnknown(String value) {
+                    return unknownVisitor.apply(value);
+                }
+            };
+        }
+    }
+
+    public interface IntegerStageVisitorBuilder<T> {
+        ItemsStageVisitorBuilder<T> integer(@Nonnull IntFunction<T> integerVisitor);
+    }
+
+    public interface ItemsStageVisitorBuilder<T> {
+        ObjectStageVisitorBuilder<T> items(@Nonnull Function<List<StreamingEnum>, T> itemsVisitor);
+    }
+
+    public interface ObjectStageVisitorBuilder<T> {
+        StringStageVisitorBuilder<T> object(@Nonnull Function<StreamingEmptyObject, T> objectVisitor);
+    }
+
+    public interface StringStageVisitorBuilder<T> {
+        Unknown_StageVisitorBuilder<T> string(@Nonnull Function<String, T> stringVisitor);
+    }
+
+    public interface Unknown_StageVisitorBuilder<T> {
+        UnknownStageVisitorBuilder<T> unknown_(@Nonnull Function<Boolean, T> unknown_Visitor);
+    }
+
+    public interface UnknownStageVisitorBuilder<T> {
+        Completed_StageVisitorBuilder<T> unknown(@Nonnull Function<String, T> unknownVisitor);
+
+        Completed_StageVisitorBuilder<T> throwOnUnknown();
+    }
+
+    public interface Completed_StageVisitorBuilder<T> {
+        Visitor<T> build();
+    }
+
+    @JsonTypeInfo(
+            use = JsonTypeInfo.Id.NAME,
+            include = JsonTypeInfo.As.EXISTING_PROPERTY,
+            property = "type",
+            visible = true,
+            defaultImpl = UnknownWrapper.class)
+    @JsonSubTypes({
+        @JsonSubTypes.Type(StringWrapper.class),
+        @JsonSubTypes.Type(IntegerWrapper.class),
+        @JsonSubTypes.Type(ObjectWrapper.class),
+        @JsonSubTypes.Type(ItemsWrapper.class),
+        @JsonSubTypes.Type(Unknown_Wrapper.class)
+    })
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private interface Base {
+        <T> T accept(Visitor<T> visitor);
+    }
+
+    @JsonTypeName("string")
+    private static final class StringWrapper implements Base {
+        private final String value;
+
+        @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+        private StringWrapper(@JsonSetter("string") @Nonnull String value) {
+            Preconditions.checkNotNull(value, "string cannot be null");
+            this.value = value;
+        }
+
+        @JsonProperty(value = "type", index = 0)
+        private String getType() {
+            return "string";
+        }
+
+        @JsonProperty("string")
+        private String getValue() {
+            return value;
+        }
+
+        @Override
+        public <T> T accept(Visitor<T> visitor) {
+            return visitor.visitString(value);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || (other instanceof StringWrapper && equalTo((StringWrapper) other));
+        }
+
+        private boolean equalTo(StringWrapper other) {
+            return this.value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.value.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "StringWrapper{value: " + value + '}';
+        }
+    }
+
+    @JsonTypeName("integer")
+    private static final class IntegerWrapper implements Base {
+        private final int value;
+
+        @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+        private IntegerWrapper(@JsonSetter("integer") @Nonnull int value) {
+            Preconditions.checkNotNull(value, "integer cannot be null");
+            this.value = value;
+        }
+
+        @JsonProperty(value = "type", index = 0)
+        private String getType() {
+            return "integer";
+        }
+
+        @JsonProperty("integer")
+        private int getValue() {
+            return value;
+        }
+
+        @Override
+        public <T> T accept(Visitor<T> visitor) {
+            return visitor.visitInteger(value);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || (other instanceof IntegerWrapper && equalTo((IntegerWrapper) other));
+        }
+
+        private boolean equalTo(IntegerWrapper other) {
+            return this.value == other.value;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.value;
+        }
+
+        @Override
+        public String toString() {
+            return "IntegerWrapper{value: " + value + '}';
+        }
+    }
+
+    @JsonTypeName("object")
+    private static final class ObjectWrapper implements Base {
+        private final StreamingEmptyObject value;
+
+        @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+        private ObjectWrapper(@JsonSetter("object") @Nonnull StreamingEmptyObject value) {
+            Preconditions.checkNotNull(value, "object cannot be null");
+            this.value = value;
+        }
+
+        @JsonProperty(value = "type", index = 0)
+        private String getType() {
+            return "object";
+        }
+
+        @JsonProperty("object")
+        private StreamingEmptyObject getValue() {
+            return value;
+        }
+
+        @Override
+        public <T> T accept(Visitor<T> visitor) {
+            return visitor.visitObject(value);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || (other instanceof ObjectWrapper && equalTo((ObjectWrapper) other));
+        }
+
+        private boolean equalTo(ObjectWrapper other) {
+            return this.value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.value.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "ObjectWrapper{value: " + value + '}';
+        }
+    }
+
+    @JsonTypeName("items")
+    private static final class ItemsWrapper implements Base {
+        private final List<StreamingEnum> value;
+
+        @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+        private ItemsWrapper(@JsonSetter(value = "items", nulls = Nulls.AS_EMPTY) @Nonnull List<StreamingEnum> value) {
+            Preconditions.checkNotNull(value, "items cannot be null");
+            this.value = value;
+        }
+
+        @JsonProperty(value = "type", index = 0)
+        private String getType() {
+            return "items";
+        }
+
+        @JsonProperty("items")
+        private List<StreamingEnum> getValue() {
+            return value;
+        }
+
+        @Override
+        public <T> T accept(Visitor<T> visitor) {
+            return visitor.visitItems(value);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || (other instanceof ItemsWrapper && equalTo((ItemsWrapper) other));
+        }
+
+        private boolean equalTo(ItemsWrapper other) {
+            return this.value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.value.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "ItemsWrapper{value: " + value + '}';
+        }
+    }
+
+    @JsonTypeName("unknown")
+    private static final class Unknown_Wrapper implements Base {
+        private final boolean value;
+
+        @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+        private Unknown_Wrapper(@JsonSetter("unknown") @Nonnull boolean value) {
+            Preconditions.checkNotNull(value, "unknown_ cannot be null");
+            this.value = value;
+        }
+
+        @JsonProperty(value = "type", index = 0)
+        private String getType() {
+            return "unknown";
+        }
+
+        @JsonProperty("unknown")
+        private boolean getValue() {
+            return value;
+        }
+
+        @Override
+        public <T> T accept(Visitor<T> visitor) {
+            return visitor.visitUnknown_(value);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || (other instanceof Unknown_Wrapper && equalTo((Unknown_Wrapper) other));
+        }
+
+        private boolean equalTo(Unknown_Wrapper other) {
+            return this.value == other.value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Boolean.hashCode(this.value);
+        }
+
+        @Override
+        public String toString() {
+            return "Unknown_Wrapper{value: " + value + '}';
+        }
+    }
+
+    private static final class UnknownWrapper implements Base {
+        private final String type;
+
+        private final Map<String, Object> value;
+
+        @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+        private UnknownWrapper(@JsonProperty("type") String type) {
+            this(type, new HashMap<String, Object>());
+        }
+
+        private UnknownWrapper(@Nonnull String type, @Nonnull Map<String, Object> value) {
+            Preconditions.checkNotNull(type, "type cannot be null");
+            Preconditions.checkNotNull(value, "value cannot be null");
+            this.type = type;
+            this.value = value;
+        }
+
+        @JsonProperty
+        private String getType() {
+            return type;
+        }
+
+        @JsonAnyGetter
+        private Map<String, Object> getValue() {
+            return value;
+        }
+
+        @JsonAnySetter
+        private void put(String key, Object val) {
+            value.put(key, val);
+        }
+
+        @Override
+        public <T> T accept(Visitor<T> visitor) {
+            return visitor.visitUnknown(type);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || (other instanceof UnknownWrapper && equalTo((UnknownWrapper) other));
+        }
+
+        private boolean equalTo(UnknownWrapper other) {
+            return this.type.equals(other.type) && this.value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 1;
+            hash = 31 * hash + this.type.hashCode();
+            hash = 31 * hash + this.value.hashCode();
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return "UnknownWrapper{type: " + type + ", value: " + value + '}';
+        }
+    }
+
+    @Generated("com.palantir.conjure.java.types.StreamingCodecGenerator")
+    public static final class Codec implements StreamingCodec<StreamingUnion> {
+        public static final Codec INSTANCE = new Codec();
+
+        private static final StreamingCodec<List<StreamingEnum>> ITEMS =
+                StreamingCodecs.list(StreamingEnum.Codec.INSTANCE);
+
+        @Override
+        public void serialize(StreamingUnion value, JsonGenerator generator) throws IOException {
+            Base base = value.value;
+            if (base instanceof StringWrapper) {
+                generator.writeStartObject();
+                generator.writeStringField("type", "string");
+                generator.writeFieldName("string");
+                generator.writeString(((StringWrapper) base).value);
+                generator.writeEndObject();
+            } else if (base instanceof IntegerWrapper) {
+                generator.writeStartObject();
+                generator.writeStringField("type", "integer");
+                generator.writeFieldName("integer");
+                generator.writeNumber(((IntegerWrapper) base).value);
+                generator.writeEndObject();
+            } else if (base instanceof ObjectWrapper) {
+                generator.writeStartObject();
+                generator.writeStringField("type", "object");
+                generator.writeFieldName("object");
+                StreamingEmptyObject.Codec.INSTANCE.serialize(((ObjectWrapper) base).value, generator);
+                generator.writeEndObject();
+            } else if (base instanceof ItemsWrapper) {
+                generator.writeStartObject();
+                generator.writeStringField("type", "items");
+                generator.writeFieldName("items");
+                ITEMS.serialize(((ItemsWrapper) base).value, generator);
+                generator.writeEndObject();
+            } else if (base instanceof Unknown_Wrapper) {
+                generator.writeStartObject();
+                generator.writeStringField("type", "unknown");
+                generator.writeFieldName("unknown");
+                generator.writeBoolean(((Unknown_Wrapper) base).value);
+                generator.writeEndObject();
+            } else {
+                UnknownWrapper unknown = (UnknownWrapper) base;
+                StreamingCodecs.writeUnknownUnion(generator, unknown.type, unknown.value);
+            }
+        }
+
+        @Override
+        public StreamingUnion deserialize(JsonParser parser) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            JsonParser typed = StreamingCodecs.readUnionType(parser, StreamingUnion.class);
+            String type = typed.getText();
+            switch (type) {
+                case "string":
+                    return new StreamingUnion(new StringWrapper(
+                            StreamingCodecs.readUnionValue(typed, "string", StreamingCodecs.strings())));
+                case "integer":
+                    return new StreamingUnion(new IntegerWrapper(
+                            StreamingCodecs.readUnionValue(typed, "integer", StreamingCodecs.integers())));
+                case "object":
+                    return new StreamingUnion(new ObjectWrapper(
+                            StreamingCodecs.readUnionValue(typed, "object", StreamingEmptyObject.Codec.INSTANCE)));
+                case "items":
+                    return new StreamingUnion(new ItemsWrapper(StreamingCodecs.readUnionValue(typed, "items", ITEMS)));
+                case "unknown":
+                    return new StreamingUnion(new Unknown_Wrapper(
+                            StreamingCodecs.readUnionValue(typed, "unknown", StreamingCodecs.booleans())));
+                default:
+                    return new StreamingUnion(new UnknownWrapper(type, StreamingCodecs.readUnknownUnionValues(typed)));
+            }
+        }
+    }
+
+    @Generated("com.palantir.conjure.java.types.StreamingCodecGenerator")
+    static final class Serializer extends StreamingCodecSerializer<StreamingUnion> {
+        Serializer() {
+            super(StreamingUnion.class, Codec.INSTANCE);
+        }
+    }
+
+    @Generated("com.palantir.conjure.java.types.StreamingCodecGenerator")
+    static final class Deserializer extends StreamingCodecDeserializer<StreamingUnion> {
+        Deserializer() {
+            super(StreamingUnion.class, Codec.INSTANCE);
+        }
+    }
+}
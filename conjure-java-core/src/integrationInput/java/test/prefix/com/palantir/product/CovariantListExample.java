@@ -120,13 +120,20 @@ public final class CovariantListExample {
             return this;
         }
 
-        @JsonSetter(value = "items", nulls = Nulls.SKIP)
         public Builder items(@Nonnull Iterable<?> items) {
             checkNotBuilt();
             this.items = ConjureCollections.newArrayList(Preconditions.checkNotNull(items, "items cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "items", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = ArrayList.class)
+        private Builder adoptItems(@Nonnull List<Object> items) {
+            checkNotBuilt();
+            this.items = Preconditions.checkNotNull(items, "items cannot be null");
+            return this;
+        }
+
         public Builder addAllItems(@Nonnull Iterable<?> items) {
             checkNotBuilt();
             ConjureCollections.addAll(this.items, Preconditions.checkNotNull(items, "items cannot be null"));
@@ -139,7 +146,6 @@ public final class CovariantListExample {
             return this;
         }
 
-        @JsonSetter(value = "externalItems", nulls = Nulls.SKIP)
         public Builder externalItems(@Nonnull Iterable<? extends ExampleExternalReference> externalItems) {
             checkNotBuilt();
             this.externalItems = ConjureCollections.newArrayList(
@@ -147,6 +153,14 @@ public final class CovariantListExample {
             return this;
         }
 
+        @JsonSetter(value = "externalItems", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = ArrayList.class)
+        private Builder adoptExternalItems(@Nonnull List<ExampleExternalReference> externalItems) {
+            checkNotBuilt();
+            this.externalItems = Preconditions.checkNotNull(externalItems, "externalItems cannot be null");
+            return this;
+        }
+
         public Builder addAllExternalItems(@Nonnull Iterable<? extends ExampleExternalReference> externalItems) {
             checkNotBuilt();
             ConjureCollections.addAll(
@@ -3,12 +3,12 @@ package test.prefix.com.palantir.product;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 import com.google.errorprone.annotations.Immutable;
+import com.palantir.conjure.java.lib.internal.EnumLookup;
 import com.palantir.logsafe.Preconditions;
 import com.palantir.logsafe.Safe;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 import javax.annotation.Nonnull;
 import javax.annotation.processing.Generated;
 
@@ -46,6 +46,9 @@ public final class EnumExample {
     @SuppressWarnings("deprecation")
     private static final List<EnumExample> values = Collections.unmodifiableList(Arrays.asList(ONE, TWO, ONE_HUNDRED));
 
+    private static final EnumLookup<EnumExample> lookup =
+            EnumLookup.of(values, string -> new EnumExample(Value.UNKNOWN, string));
+
     private final Value value;
 
     private final String string;
@@ -76,20 +79,9 @@ public final class EnumExample {
     }
 
     @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
-    @SuppressWarnings("deprecation")
     public static EnumExample valueOf(@Nonnull @Safe String value) {
         Preconditions.checkNotNull(value, "value cannot be null");
-        String upperCasedValue = value.toUpperCase(Locale.ROOT);
-        switch (upperCasedValue) {
-            case "ONE":
-                return ONE;
-            case "TWO":
-                return TWO;
-            case "ONE_HUNDRED":
-                return ONE_HUNDRED;
-            default:
-                return new EnumExample(Value.UNKNOWN, upperCasedValue);
-        }
+        return lookup.valueOf(value);
     }
 
     @SuppressWarnings("deprecation")
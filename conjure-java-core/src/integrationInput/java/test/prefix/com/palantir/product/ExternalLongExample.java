@@ -168,7 +168,6 @@ public final class ExternalLongExample {
             return this;
         }
 
-        @JsonSetter(value = "listExternalLong", nulls = Nulls.SKIP)
         public Builder listExternalLong(@Nonnull Iterable<? extends Long> listExternalLong) {
             checkNotBuilt();
             this.listExternalLong = ConjureCollections.newArrayList(
@@ -176,6 +175,14 @@ public final class ExternalLongExample {
             return this;
         }
 
+        @JsonSetter(value = "listExternalLong", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = ArrayList.class)
+        private Builder adoptListExternalLong(@Nonnull List<Long> listExternalLong) {
+            checkNotBuilt();
+            this.listExternalLong = Preconditions.checkNotNull(listExternalLong, "listExternalLong cannot be null");
+            return this;
+        }
+
         public Builder addAllListExternalLong(@Nonnull Iterable<? extends Long> listExternalLong) {
             checkNotBuilt();
             ConjureCollections.addAll(
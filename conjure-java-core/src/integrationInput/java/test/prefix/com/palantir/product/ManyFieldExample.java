@@ -312,13 +312,20 @@ public final class ManyFieldExample {
         /**
          * docs for items field with exciting character$ used by javapoet.
          */
-        @JsonSetter(value = "items", nulls = Nulls.SKIP)
         public Builder items(@Nonnull Iterable<String> items) {
             checkNotBuilt();
             this.items = ConjureCollections.newArrayList(Preconditions.checkNotNull(items, "items cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "items", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = ArrayList.class)
+        private Builder adoptItems(@Nonnull List<String> items) {
+            checkNotBuilt();
+            this.items = Preconditions.checkNotNull(items, "items cannot be null");
+            return this;
+        }
+
         /**
          * docs for items field with exciting character$ used by javapoet.
          */
@@ -340,13 +347,20 @@ public final class ManyFieldExample {
         /**
          * docs for set field
          */
-        @JsonSetter(value = "set", nulls = Nulls.SKIP)
         public Builder set(@Nonnull Iterable<String> set) {
             checkNotBuilt();
             this.set = ConjureCollections.newLinkedHashSet(Preconditions.checkNotNull(set, "set cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "set", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = LinkedHashSet.class)
+        private Builder adoptSet(@Nonnull Set<String> set) {
+            checkNotBuilt();
+            this.set = Preconditions.checkNotNull(set, "set cannot be null");
+            return this;
+        }
+
         /**
          * docs for set field
          */
@@ -369,13 +383,20 @@ public final class ManyFieldExample {
          * @deprecated deprecation documentation.
          */
         @Deprecated
-        @JsonSetter(value = "map", nulls = Nulls.SKIP)
         public Builder map(@Nonnull Map<String, String> map) {
             checkNotBuilt();
             this.map = new LinkedHashMap<>(Preconditions.checkNotNull(map, "map cannot be null"));
             return this;
         }
 
+        @JsonSetter(value = "map", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = LinkedHashMap.class)
+        private Builder adoptMap(@Nonnull Map<String, String> map) {
+            checkNotBuilt();
+            this.map = Preconditions.checkNotNull(map, "map cannot be null");
+            return this;
+        }
+
         /**
          * @deprecated deprecation documentation.
          */
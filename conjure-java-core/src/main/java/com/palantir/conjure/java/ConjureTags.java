@@ -38,10 +38,11 @@ public final class ConjureTags {
     public static final String SERVER_REQUEST_CONTEXT_TAG = "server-request-context";
     public static final String SERVER_REQUEST_CONTEXT_NAME = "requestContext";
     public static final String SERVER_SAFE_LOGGING_DISABLED = "server-squelch";
+    public static final String SERVER_STREAM_TAG = "server-stream";
 
     /** Values that are consumed by the conjure generator, and needn't be listed for use at runtime. */
     public static final ImmutableSet<String> HANDLED_ARGUMENT_TAGS =
-            ImmutableSet.of(SERVER_SAFE_LOGGING_DISABLED, SAFE, UNSAFE);
+            ImmutableSet.of(SERVER_SAFE_LOGGING_DISABLED, SERVER_STREAM_TAG, SAFE, UNSAFE);
 
     public static boolean hasServerRequestContext(EndpointDefinition endpointDefinition) {
         return endpointDefinition.getTags().contains(SERVER_REQUEST_CONTEXT_TAG);
@@ -66,6 +66,27 @@ public interface Options {
         return false;
     }
 
+    /**
+     * Instructs the {@link com.palantir.conjure.java.services.UndertowServiceGenerator} to generate asynchronous service
+     * endpoints returning {@link java.util.concurrent.CompletionStage} rather than
+     * {@link com.google.common.util.concurrent.ListenableFuture}. This does not make endpoints asynchronous on its
+     * own, see {@link #undertowListenableFutures()}.
+     */
+    @Value.Default
+    default boolean undertowCompletionStages() {
+        return false;
+    }
+
+    /**
+     * Instructs the {@link com.palantir.conjure.java.services.UndertowServiceGenerator} to decode
+     * {@code list<integer>}, {@code list<double>} and {@code list<safelong>} query parameters into primitive arrays,
+     * which back the list passed to the service without boxing each element up front.
+     */
+    @Value.Default
+    default boolean undertowPrimitiveParameters() {
+        return false;
+    }
+
     /**
      * Allows synchronous and {@link com.google.common.util.concurrent.ListenableFuture} based asynchronous request
      * handling to be mixed in a single module using {@link com.palantir.conjure.spec.EndpointDefinition#getMarkers()}.
@@ -147,6 +168,37 @@ public interface Options {
         return false;
     }
 
+    /**
+     * Instructs the object generator to generate a nested {@code Codec} for each object, which reads and writes the
+     * object directly against the jackson streaming API. Encodings which support streaming codecs use it in place of
+     * jackson databind. Unions additionally register their codec with databind, replacing polymorphic type handling.
+     */
+    @Beta
+    @Value.Default
+    default boolean experimentalStreamingCodecs() {
+        return false;
+    }
+
+    /**
+     * Instructs the object generator to back {@code list<integer>} and {@code list<double>} object fields with the
+     * compact {@link com.palantir.conjure.java.lib.IntegerList} and {@link com.palantir.conjure.java.lib.DoubleList}
+     * implementations, which store elements in primitive arrays rather than as boxed values.
+     */
+    @Value.Default
+    default boolean primitiveLists() {
+        return false;
+    }
+
+    /**
+     * Instructs the object generator to store optional primitive fields without an {@link Optional} wrapper: numbers
+     * and booleans as unboxed values alongside a presence bitset, and other primitives as nullable references. Getters
+     * are unchanged, and create the optional when invoked.
+     */
+    @Value.Default
+    default boolean compactOptionals() {
+        return false;
+    }
+
     Optional<String> packagePrefix();
 
     Optional<String> apiVersion();
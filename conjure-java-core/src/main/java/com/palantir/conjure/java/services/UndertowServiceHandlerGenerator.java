@@ -27,6 +27,9 @@ import com.palantir.conjure.java.ConjureAnnotations;
 import com.palantir.conjure.java.ConjureMarkers;
 import com.palantir.conjure.java.ConjureTags;
 import com.palantir.conjure.java.Options;
+import com.palantir.conjure.java.lib.DoubleList;
+import com.palantir.conjure.java.lib.IntegerList;
+import com.palantir.conjure.java.lib.internal.ConjureCollections;
 import com.palantir.conjure.java.services.UndertowTypeFunctions.AsyncRequestProcessingMetadata;
 import com.palantir.conjure.java.types.CodeBlocks;
 import com.palantir.conjure.java.types.SafetyEvaluator;
@@ -36,6 +39,7 @@ import com.palantir.conjure.java.undertow.lib.Endpoint;
 import com.palantir.conjure.java.undertow.lib.RequestContext;
 import com.palantir.conjure.java.undertow.lib.ReturnValueWriter;
 import com.palantir.conjure.java.undertow.lib.Serializer;
+import com.palantir.conjure.java.undertow.lib.StreamingSerializer;
 import com.palantir.conjure.java.undertow.lib.TypeMarker;
 import com.palantir.conjure.java.undertow.lib.UndertowRuntime;
 import com.palantir.conjure.java.undertow.lib.UndertowService;
@@ -258,7 +262,26 @@ final class UndertowServiceHandlerGenerator {
 
         addTags(endpointDefinition, endpointBuilder);
 
+        Optional<Type> streamingBodyElementType = getBodyParamTypeArgument(endpointDefinition.getArgs())
+                .flatMap(UndertowTypeFunctions::streamingBodyElementType);
+        if (streamingBodyElementType.isPresent()) {
+            TypeName typeName =
+                    typeMapper.getClassName(streamingBodyElementType.get()).box();
+            TypeName type = ParameterizedTypeName.get(
+                    ClassName.get(Deserializer.class),
+                    UndertowTypeFunctions.getIteratorType(streamingBodyElementType.get(), typeMapper));
+            endpointBuilder.addField(FieldSpec.builder(type, DESERIALIZER_VAR_NAME, Modifier.PRIVATE, Modifier.FINAL)
+                    .build());
+            ctorBuilder.addStatement(
+                    "this.$1N = $2N.bodySerDe().streamingDeserializer(new $3T() {}, this)",
+                    DESERIALIZER_VAR_NAME,
+                    RUNTIME_VAR_NAME,
+                    ParameterizedTypeName.get(ClassName.get(TypeMarker.class), typeName));
+        }
+
         getBodyParamTypeArgument(endpointDefinition.getArgs())
+                .filter(argument ->
+                        UndertowTypeFunctions.streamingBodyElementType(argument).isEmpty())
                 .map(ArgumentDefinition::getType)
                 // Filter out binary data
                 .flatMap(type -> {
@@ -280,9 +303,23 @@ final class UndertowServiceHandlerGenerator {
                             ParameterizedTypeName.get(ClassName.get(TypeMarker.class), typeName));
                 });
 
+        Optional<Type> streamingElementType = UndertowTypeFunctions.streamingElementType(endpointDefinition);
+        if (streamingElementType.isPresent()) {
+            TypeName typeName =
+                    returnTypeMapper.getClassName(streamingElementType.get()).box();
+            TypeName type = ParameterizedTypeName.get(ClassName.get(StreamingSerializer.class), typeName);
+            endpointBuilder.addField(FieldSpec.builder(type, SERIALIZER_VAR_NAME, Modifier.PRIVATE, Modifier.FINAL)
+                    .build());
+            ctorBuilder.addStatement(
+                    "this.$1N = $2N.bodySerDe().streamingSerializer(new $3T() {}, this)",
+                    SERIALIZER_VAR_NAME,
+                    RUNTIME_VAR_NAME,
+                    ParameterizedTypeName.get(ClassName.get(TypeMarker.class), typeName));
+        }
+
         endpointDefinition.getReturns().ifPresent(returnType -> {
             Type dealiased = TypeFunctions.toConjureTypeWithoutAliases(returnType, typeDefinitions);
-            if (!TypeFunctions.isBinaryOrOptionalBinary(dealiased)) {
+            if (!TypeFunctions.isBinaryOrOptionalBinary(dealiased) && streamingElementType.isEmpty()) {
                 TypeName typeName = returnTypeMapper.getClassName(returnType).box();
                 TypeName type = ParameterizedTypeName.get(ClassName.get(Serializer.class), typeName);
                 endpointBuilder.addField(FieldSpec.builder(type, SERIALIZER_VAR_NAME, Modifier.PRIVATE, Modifier.FINAL)
@@ -457,7 +494,14 @@ final class UndertowServiceHandlerGenerator {
         getBodyParamTypeArgument(endpointDefinition.getArgs()).ifPresent(bodyParam -> {
             String paramName = sanitizeVarName(bodyParam.getArgName().get(), endpointDefinition, safetyEvaluator);
             Type dealiased = TypeFunctions.toConjureTypeWithoutAliases(bodyParam.getType(), typeDefinitions);
-            if (TypeFunctions.isBinaryOrOptionalBinary(dealiased)) {
+            if (UndertowTypeFunctions.isStreamingBinaryBody(endpointDefinition, bodyParam, options)) {
+                code.addStatement(
+                        "$1T $2N = $3N.bodySerDe().deserializeByteBuffers($4N)",
+                        UndertowTypeFunctions.getByteBufferPublisherType(),
+                        paramName,
+                        RUNTIME_VAR_NAME,
+                        EXCHANGE_VAR_NAME);
+            } else if (TypeFunctions.isBinaryOrOptionalBinary(dealiased)) {
                 code.addStatement(
                         "$1T $2N = $3N.bodySerDe().deserializeInputStream($4N)",
                         InputStream.class,
@@ -465,9 +509,12 @@ final class UndertowServiceHandlerGenerator {
                         RUNTIME_VAR_NAME,
                         EXCHANGE_VAR_NAME);
             } else {
+                Optional<Type> streamingElementType = UndertowTypeFunctions.streamingBodyElementType(bodyParam);
                 code.addStatement(
                         "$1T $2N = $3N.deserialize($4N)",
-                        typeMapper.getClassName(bodyParam.getType()).box(),
+                        streamingElementType.isPresent()
+                                ? UndertowTypeFunctions.getIteratorType(streamingElementType.get(), typeMapper)
+                                : typeMapper.getClassName(bodyParam.getType()).box(),
                         paramName,
                         DESERIALIZER_VAR_NAME,
                         EXCHANGE_VAR_NAME);
@@ -496,14 +543,13 @@ final class UndertowServiceHandlerGenerator {
             methodArgs.add(CodeBlock.of("$N", ConjureTags.SERVER_REQUEST_CONTEXT_NAME));
         }
 
+        Optional<Type> publisherElementType = UndertowTypeFunctions.publisherElementType(endpointDefinition);
+        Optional<Type> streamElementType = UndertowTypeFunctions.streamElementType(endpointDefinition);
         Optional<AsyncRequestProcessingMetadata> async = UndertowTypeFunctions.async(endpointDefinition, options);
         if (async.isPresent() || endpointDefinition.getReturns().isPresent()) {
             code.addStatement(
                     "$1T $2N = $3N.$4L($5L)",
-                    async.isPresent()
-                            ? UndertowTypeFunctions.getAsyncReturnType(endpointDefinition, returnTypeMapper, options)
-                            : returnTypeMapper.getClassName(
-                                    endpointDefinition.getReturns().get()),
+                    resultType(endpointDefinition, returnTypeMapper),
                     RESULT_VAR_NAME,
                     DELEGATE_VAR_NAME,
                     JavaNameSanitizer.sanitize(
@@ -516,7 +562,17 @@ final class UndertowServiceHandlerGenerator {
                     endpointDefinition.getEndpointName(),
                     methodArgs.stream().collect(CodeBlock.joining(",")));
         }
-        if (async.isPresent()) {
+        if (publisherElementType.isPresent()) {
+            code.add(CodeBlocks.statement(
+                    "$1N.async().register($2N, $3N, $4N)",
+                    RUNTIME_VAR_NAME,
+                    RESULT_VAR_NAME,
+                    SERIALIZER_VAR_NAME,
+                    EXCHANGE_VAR_NAME));
+        } else if (streamElementType.isPresent()) {
+            code.add(CodeBlocks.statement(
+                    "$1N.serialize($2N, $3N)", SERIALIZER_VAR_NAME, RESULT_VAR_NAME, EXCHANGE_VAR_NAME));
+        } else if (async.isPresent()) {
             AsyncRequestProcessingMetadata metadata = async.get();
             if (metadata.timeout().isPresent()) {
                 HumanReadableDuration timeout = metadata.timeout().get();
@@ -538,6 +594,22 @@ final class UndertowServiceHandlerGenerator {
         return code.build();
     }
 
+    /** Returns the type of the value returned by the service interface method. */
+    private TypeName resultType(EndpointDefinition endpointDefinition, TypeMapper returnTypeMapper) {
+        Optional<Type> publisherElementType = UndertowTypeFunctions.publisherElementType(endpointDefinition);
+        if (publisherElementType.isPresent()) {
+            return UndertowTypeFunctions.getPublisherReturnType(publisherElementType.get(), returnTypeMapper);
+        }
+        Optional<Type> streamElementType = UndertowTypeFunctions.streamElementType(endpointDefinition);
+        if (streamElementType.isPresent()) {
+            return UndertowTypeFunctions.getStreamReturnType(streamElementType.get(), returnTypeMapper);
+        }
+        if (UndertowTypeFunctions.isAsync(endpointDefinition, options)) {
+            return UndertowTypeFunctions.getAsyncReturnType(endpointDefinition, returnTypeMapper, options);
+        }
+        return returnTypeMapper.getClassName(endpointDefinition.getReturns().get());
+    }
+
     private CodeBlock generateReturnValueCodeBlock(
             EndpointDefinition endpointDefinition,
             Map<com.palantir.conjure.spec.TypeName, TypeDefinition> typeDefinitions) {
@@ -862,6 +934,11 @@ final class UndertowServiceHandlerGenerator {
         if (complexDeserializer.isPresent()) {
             return complexDeserializer.get();
         }
+        Optional<CodeBlock> arrayDeserializer =
+                getPrimitiveArrayDeserializer(type, typeMapper, resultVarName, paramsVarName, paramId);
+        if (arrayDeserializer.isPresent()) {
+            return arrayDeserializer.get();
+        }
         return CodeBlocks.statement(
                 "$1T $2N = $3N.plainSerDe().$4L($5N.get($6S))",
                 typeMapper.getClassName(type),
@@ -872,6 +949,45 @@ final class UndertowServiceHandlerGenerator {
                 paramId);
     }
 
+    /**
+     * Generates a deserializer block decoding {@code list<integer>}, {@code list<double>} and {@code list<safelong>}
+     * parameters into a primitive array, which backs the list passed to the service. Only used when
+     * {@link Options#undertowPrimitiveParameters()} is enabled.
+     */
+    private Optional<CodeBlock> getPrimitiveArrayDeserializer(
+            Type type, TypeMapper typeMapper, String resultVarName, String paramsVarName, String paramId) {
+        if (!options.undertowPrimitiveParameters() || !type.accept(TypeVisitor.IS_LIST)) {
+            return Optional.empty();
+        }
+        Type itemType = type.accept(TypeVisitor.LIST).getItemType();
+        if (!itemType.accept(TypeVisitor.IS_PRIMITIVE)) {
+            return Optional.empty();
+        }
+        final CodeBlock wrapper;
+        switch (itemType.accept(TypeVisitor.PRIMITIVE).get()) {
+            case INTEGER:
+                wrapper = CodeBlock.of("$T.unmodifiable", IntegerList.class);
+                break;
+            case DOUBLE:
+                wrapper = CodeBlock.of("$T.unmodifiable", DoubleList.class);
+                break;
+            case SAFELONG:
+                wrapper = CodeBlock.of("$T.unmodifiableSafeLongList", ConjureCollections.class);
+                break;
+            default:
+                return Optional.empty();
+        }
+        return Optional.of(CodeBlocks.statement(
+                "$1T $2N = $3L($4N.plainSerDe().$5L($6N.get($7S)))",
+                typeMapper.getClassName(type),
+                resultVarName,
+                wrapper,
+                RUNTIME_VAR_NAME,
+                deserializeFunctionName(itemType) + "Array",
+                paramsVarName,
+                paramId));
+    }
+
     /**
      * Generates a deserializer block decoding strings using conjure plain encoding from header, query, and path
      * parameters to complex types.
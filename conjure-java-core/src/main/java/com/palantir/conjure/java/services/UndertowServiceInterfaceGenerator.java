@@ -34,12 +34,14 @@ import com.palantir.conjure.spec.EndpointDefinition;
 import com.palantir.conjure.spec.HeaderAuthType;
 import com.palantir.conjure.spec.LogSafety;
 import com.palantir.conjure.spec.ServiceDefinition;
+import com.palantir.conjure.spec.Type;
 import com.palantir.tokens.auth.AuthHeader;
 import com.palantir.tokens.auth.BearerToken;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import java.util.ArrayList;
 import java.util.List;
@@ -98,7 +100,14 @@ final class UndertowServiceInterfaceGenerator {
 
         methodBuilder.addJavadoc("$L", ServiceGenerators.getJavaDocWithRequestLine(endpointDef));
 
-        if (UndertowTypeFunctions.isAsync(endpointDef, options)) {
+        Optional<Type> publisherElementType = UndertowTypeFunctions.publisherElementType(endpointDef);
+        Optional<Type> streamElementType = UndertowTypeFunctions.streamElementType(endpointDef);
+        if (publisherElementType.isPresent()) {
+            methodBuilder.returns(
+                    UndertowTypeFunctions.getPublisherReturnType(publisherElementType.get(), returnTypeMapper));
+        } else if (streamElementType.isPresent()) {
+            methodBuilder.returns(UndertowTypeFunctions.getStreamReturnType(streamElementType.get(), returnTypeMapper));
+        } else if (UndertowTypeFunctions.isAsync(endpointDef, options)) {
             methodBuilder.returns(UndertowTypeFunctions.getAsyncReturnType(endpointDef, returnTypeMapper, options));
         } else {
             endpointDef.getReturns().ifPresent(type -> methodBuilder.returns(returnTypeMapper.getClassName(type)));
@@ -150,8 +159,17 @@ final class UndertowServiceInterfaceGenerator {
             ArgumentDefinition def,
             EndpointDefinition endpoint) {
         Optional<LogSafety> safety = ConjureTags.validateArgument(def, safetyEvaluator);
+        Optional<Type> streamingElementType = UndertowTypeFunctions.streamingBodyElementType(def);
+        TypeName type;
+        if (UndertowTypeFunctions.isStreamingBinaryBody(endpoint, def, options)) {
+            type = UndertowTypeFunctions.getByteBufferPublisherType();
+        } else if (streamingElementType.isPresent()) {
+            type = UndertowTypeFunctions.getIteratorType(streamingElementType.get(), typeMapper);
+        } else {
+            type = typeMapper.getClassName(def.getType());
+        }
         return ParameterSpec.builder(
-                        typeMapper.getClassName(def.getType()),
+                        type,
                         JavaNameSanitizer.sanitizeParameterName(def.getArgName().get(), endpoint))
                 .addAnnotations(ConjureAnnotations.safety(safety))
                 .build();
@@ -18,20 +18,32 @@ package com.palantir.conjure.java.services;
 
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.palantir.conjure.java.ConjureTags;
 import com.palantir.conjure.java.Options;
 import com.palantir.conjure.java.types.TypeMapper;
+import com.palantir.conjure.spec.ArgumentDefinition;
 import com.palantir.conjure.spec.EndpointDefinition;
+import com.palantir.conjure.spec.Type;
+import com.palantir.conjure.visitor.ParameterTypeVisitor;
+import com.palantir.conjure.visitor.TypeVisitor;
 import com.palantir.humanreadabletypes.HumanReadableDuration;
 import com.palantir.logsafe.SafeArg;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.ParameterizedTypeName;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 final class UndertowTypeFunctions {
 
     private static final Pattern ASYNC_TAG = Pattern.compile("server-async(\\{timeout=(.*?)})?");
+    private static final String PUBLISHER_TAG = "server-publisher";
+    private static final String STREAM_TAG = ConjureTags.SERVER_STREAM_TAG;
 
     /**
      * Asynchronous-processing capable endpoints are generated if any of the following are true.
@@ -64,9 +76,14 @@ final class UndertowTypeFunctions {
      * </ul>
      *
      * This method returns a {@link AsyncRequestProcessingMetadata} when async processing is enabled, which provides
-     * a timeout duration used to limit the maximum asynchronous processing time.
+     * a timeout duration used to limit the maximum asynchronous processing time. Endpoints tagged with
+     * {@code server-publisher} or {@code server-stream} are never async, see
+     * {@link #streamingElementType(EndpointDefinition)}.
      */
     static Optional<AsyncRequestProcessingMetadata> async(EndpointDefinition endpoint, Options options) {
+        if (streamingElementType(endpoint).isPresent()) {
+            return Optional.empty();
+        }
         Optional<AsyncRequestProcessingMetadata> result = endpoint.getTags().stream()
                 .map(ASYNC_TAG::matcher)
                 .filter(Matcher::matches)
@@ -94,13 +111,118 @@ final class UndertowTypeFunctions {
         Preconditions.checkArgument(
                 isAsync(endpoint, flags), "Endpoint must be async", SafeArg.of("endpoint", endpoint));
         return ParameterizedTypeName.get(
-                ClassName.get(ListenableFuture.class),
+                ClassName.get(flags.undertowCompletionStages() ? CompletionStage.class : ListenableFuture.class),
                 endpoint.getReturns()
                         .map(mapper::getClassName)
                         .orElseGet(() -> ClassName.get(Void.class))
                         .box());
     }
 
+    /**
+     * Endpoints {@link EndpointDefinition#getTags() tagged} with {@code server-publisher} return a {@link Flow.Publisher}
+     * of list elements, which are written to the response as they are published rather than once the entire list is
+     * available. This method returns the element type of such endpoints, which must return a {@code list}.
+     */
+    static Optional<Type> publisherElementType(EndpointDefinition endpoint) {
+        return listElementType(endpoint, PUBLISHER_TAG);
+    }
+
+    /**
+     * Endpoints {@link EndpointDefinition#getTags() tagged} with {@code server-stream} return a {@link Stream} of list
+     * elements, which are written to the response one element at a time rather than collected into a list first. This
+     * method returns the element type of such endpoints, which must return a {@code list}.
+     */
+    static Optional<Type> streamElementType(EndpointDefinition endpoint) {
+        return listElementType(endpoint, STREAM_TAG);
+    }
+
+    /** Returns the element type of endpoints which write their {@code list} response one element at a time. */
+    static Optional<Type> streamingElementType(EndpointDefinition endpoint) {
+        Optional<Type> publisherElementType = publisherElementType(endpoint);
+        return publisherElementType.isPresent() ? publisherElementType : streamElementType(endpoint);
+    }
+
+    private static Optional<Type> listElementType(EndpointDefinition endpoint, String tag) {
+        if (!endpoint.getTags().contains(tag)) {
+            return Optional.empty();
+        }
+        Preconditions.checkArgument(
+                !endpoint.getTags().contains(PUBLISHER_TAG)
+                        || !endpoint.getTags().contains(STREAM_TAG),
+                "Endpoints cannot be tagged with both server-publisher and server-stream",
+                SafeArg.of("endpoint", endpoint.getEndpointName()));
+        Preconditions.checkArgument(
+                endpoint.getReturns()
+                        .filter(type -> type.accept(TypeVisitor.IS_LIST))
+                        .isPresent(),
+                "Streaming endpoints must return a list",
+                SafeArg.of("endpoint", endpoint.getEndpointName()),
+                SafeArg.of("tag", tag));
+        return Optional.of(endpoint.getReturns().get().accept(TypeVisitor.LIST).getItemType());
+    }
+
+    /**
+     * Body {@link ArgumentDefinition arguments} {@link ArgumentDefinition#getTags() tagged} with {@code server-stream}
+     * are passed to the service as an {@link Iterator} which reads list elements from the request as it is consumed,
+     * rather than reading the entire list up front. This method returns the element type of such arguments.
+     */
+    static Optional<Type> streamingBodyElementType(ArgumentDefinition argument) {
+        if (!isStreamingBody(argument) || !argument.getType().accept(TypeVisitor.IS_LIST)) {
+            return Optional.empty();
+        }
+        return Optional.of(argument.getType().accept(TypeVisitor.LIST).getItemType());
+    }
+
+    /**
+     * Binary body {@link ArgumentDefinition arguments} {@link ArgumentDefinition#getTags() tagged} with
+     * {@code server-stream} are passed to the service as a {@link Flow.Publisher} of {@link ByteBuffer buffers} which
+     * are read without blocking a thread. The request is only read once the endpoint returns, so such endpoints must
+     * complete asynchronously.
+     */
+    static boolean isStreamingBinaryBody(EndpointDefinition endpoint, ArgumentDefinition argument, Options options) {
+        if (!isStreamingBody(argument) || !argument.getType().accept(TypeVisitor.IS_BINARY)) {
+            return false;
+        }
+        Preconditions.checkArgument(
+                isAsync(endpoint, options) || publisherElementType(endpoint).isPresent(),
+                "Endpoints with streaming binary arguments must be server-async or server-publisher",
+                SafeArg.of("endpoint", endpoint.getEndpointName()));
+        return true;
+    }
+
+    private static boolean isStreamingBody(ArgumentDefinition argument) {
+        if (!argument.getTags().contains(STREAM_TAG)) {
+            return false;
+        }
+        Preconditions.checkArgument(
+                argument.getParamType().accept(ParameterTypeVisitor.IS_BODY)
+                        && (argument.getType().accept(TypeVisitor.IS_LIST)
+                                || argument.getType().accept(TypeVisitor.IS_BINARY)),
+                "Streaming arguments must be list or binary body parameters",
+                SafeArg.of("argument", argument.getArgName()));
+        return true;
+    }
+
+    static ParameterizedTypeName getIteratorType(Type elementType, TypeMapper mapper) {
+        return ParameterizedTypeName.get(
+                ClassName.get(Iterator.class), mapper.getClassName(elementType).box());
+    }
+
+    static ParameterizedTypeName getByteBufferPublisherType() {
+        return ParameterizedTypeName.get(ClassName.get(Flow.Publisher.class), ClassName.get(ByteBuffer.class));
+    }
+
+    static ParameterizedTypeName getPublisherReturnType(Type elementType, TypeMapper mapper) {
+        return ParameterizedTypeName.get(
+                ClassName.get(Flow.Publisher.class),
+                mapper.getClassName(elementType).box());
+    }
+
+    static ParameterizedTypeName getStreamReturnType(Type elementType, TypeMapper mapper) {
+        return ParameterizedTypeName.get(
+                ClassName.get(Stream.class), mapper.getClassName(elementType).box());
+    }
+
     private UndertowTypeFunctions() {}
 
     static final class AsyncRequestProcessingMetadata {
@@ -34,6 +34,7 @@ import com.palantir.conjure.spec.PrimitiveType;
 import com.palantir.conjure.spec.SetType;
 import com.palantir.conjure.spec.Type;
 import com.palantir.conjure.spec.Type.Visitor;
+import com.palantir.conjure.spec.TypeDefinition;
 import com.palantir.conjure.visitor.TypeDefinitionVisitor;
 import com.palantir.conjure.visitor.TypeVisitor;
 import com.palantir.logsafe.Preconditions;
@@ -51,6 +52,7 @@ import com.squareup.javapoet.TypeSpec;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import javax.lang.model.element.Modifier;
@@ -61,7 +63,11 @@ public final class AliasGenerator {
 
     @SuppressWarnings("checkstyle:MethodLength")
     public static JavaFile generateAliasType(
-            TypeMapper typeMapper, SafetyEvaluator safetyEvaluator, AliasDefinition typeDef, Options options) {
+            TypeMapper typeMapper,
+            SafetyEvaluator safetyEvaluator,
+            Map<com.palantir.conjure.spec.TypeName, TypeDefinition> typesMap,
+            AliasDefinition typeDef,
+            Options options) {
         com.palantir.conjure.spec.TypeName prefixedTypeName =
                 Packages.getPrefixedName(typeDef.getTypeName(), options.packagePrefix());
         TypeName aliasTypeName =
@@ -221,6 +227,12 @@ public final class AliasGenerator {
                     .build());
         }
 
+        if (options.experimentalStreamingCodecs()) {
+            spec.addAnnotation(StreamingCodecGenerator.hasStreamingCodec(thisClass))
+                    .addType(StreamingCodecGenerator.generateAliasCodec(
+                            typeMapper, typesMap, options, thisClass, typeDef.getAlias()));
+        }
+
         typeDef.getDocs().ifPresent(docs -> spec.addJavadoc("$L", Javadoc.render(docs)));
 
         return JavaFile.builder(prefixedTypeName.getPackage(), spec.build())
@@ -19,6 +19,7 @@ package com.palantir.conjure.java.types;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonSetter;
 import com.fasterxml.jackson.annotation.Nulls;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
@@ -71,6 +72,7 @@ import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.lang.model.element.Modifier;
+import org.apache.commons.lang3.StringUtils;
 
 public final class BeanBuilderGenerator {
 
@@ -263,9 +265,15 @@ public final class BeanBuilderGenerator {
 
     private EnrichedField createField(FieldName fieldName, FieldDefinition field) {
         Type type = field.getType();
-        TypeName typeName = ConjureAnnotations.withSafety(typeMapper.getClassName(type), field.getSafety());
+        TypeName typeName =
+                ConjureAnnotations.withSafety(PrimitiveLists.fieldType(type, typeMapper, options), field.getSafety());
         FieldSpec.Builder spec = FieldSpec.builder(typeName, JavaNameSanitizer.sanitize(fieldName), Modifier.PRIVATE);
-        if (type.accept(TypeVisitor.IS_LIST) || type.accept(TypeVisitor.IS_SET) || type.accept(TypeVisitor.IS_MAP)) {
+        Optional<Class<?>> primitiveList = PrimitiveLists.implementation(type, options);
+        if (primitiveList.isPresent()) {
+            spec.initializer("new $T()", primitiveList.get());
+        } else if (type.accept(TypeVisitor.IS_LIST)
+                || type.accept(TypeVisitor.IS_SET)
+                || type.accept(TypeVisitor.IS_MAP)) {
             spec.initializer("new $T<>()", type.accept(COLLECTION_CONCRETE_TYPE));
         } else if (type.accept(TypeVisitor.IS_OPTIONAL)) {
             spec.initializer("$T.empty()", asRawType(typeMapper.getClassName(type)));
@@ -293,25 +301,88 @@ public final class BeanBuilderGenerator {
             boolean override) {
         Collection<MethodSpec> setters = Lists.newArrayListWithExpectedSize(fields.size());
         for (EnrichedField field : fields) {
-            setters.add(createSetter(field, typesMap, override));
+            boolean adoptsCollection = isCollectionType(field.conjureDef().getType());
+            setters.add(createSetter(field, typesMap, override, !adoptsCollection));
+            if (adoptsCollection) {
+                setters.add(createAdoptingSetter(field, typesMap));
+            }
             setters.addAll(createAuxiliarySetters(field, override));
         }
         return setters;
     }
 
+    /**
+     * Collections created by Jackson or a streaming codec are owned by the builder, so they are assigned without the
+     * defensive copy made by the public setter.
+     */
+    private MethodSpec createAdoptingSetter(
+            EnrichedField enriched, Map<com.palantir.conjure.spec.TypeName, TypeDefinition> typesMap) {
+        FieldSpec field = enriched.poetSpec();
+        Type type = enriched.conjureDef().getType();
+        MethodSpec.Builder setter = MethodSpec.methodBuilder(adoptingSetterName(enriched))
+                .addModifiers(Modifier.PRIVATE)
+                .returns(builderClass)
+                .addAnnotation(jsonSetter(enriched, typesMap));
+        if (!PrimitiveLists.implementation(type, options).isPresent()) {
+            // primitive lists provide their own deserializer
+            setter.addAnnotation(AnnotationSpec.builder(JsonDeserialize.class)
+                    .addMember("as", "$T.class", type.accept(COLLECTION_CONCRETE_TYPE))
+                    .build());
+        }
+        return setter.addParameter(Parameters.nonnullParameter(
+                        field.type, field.name, enriched.conjureDef().getSafety()))
+                .addCode(verifyNotBuilt())
+                .addStatement(
+                        "this.$1N = $2L",
+                        field.name,
+                        Expressions.requireNonNull(
+                                field.name, enriched.fieldName().get() + " cannot be null"))
+                .addStatement("return this")
+                .build();
+    }
+
+    /** Name of the private setter which takes ownership of deserialized collections, see {@link #createSetters}. */
+    static String adoptingSetterName(EnrichedField enriched) {
+        return "adopt" + StringUtils.capitalize(enriched.poetSpec().name);
+    }
+
     private MethodSpec createSetter(
             EnrichedField enriched,
             Map<com.palantir.conjure.spec.TypeName, TypeDefinition> typesMap,
-            boolean override) {
+            boolean override,
+            boolean jsonSetter) {
         FieldSpec field = enriched.poetSpec();
         Type type = enriched.conjureDef().getType();
+        boolean shouldClearFirst = true;
+        MethodSpec.Builder setterBuilder = BeanBuilderAuxiliarySettersUtils.publicSetter(enriched, builderClass)
+                .addParameter(Parameters.nonnullParameter(
+                        BeanBuilderAuxiliarySettersUtils.widenParameterIfPossible(field.type, type, typeMapper),
+                        field.name,
+                        enriched.conjureDef().getSafety()))
+                .addCode(verifyNotBuilt())
+                .addCode(typeAwareAssignment(enriched, type, shouldClearFirst));
+
+        if (enriched.isPrimitive()) {
+            setterBuilder.addCode("this.$L = true;", deriveFieldInitializedName(enriched));
+        }
+
+        setterBuilder.addStatement("return this").addAnnotations(ConjureAnnotations.override(override));
+        if (jsonSetter) {
+            setterBuilder.addAnnotation(jsonSetter(enriched, typesMap));
+        }
+        return setterBuilder.build();
+    }
+
+    private AnnotationSpec jsonSetter(
+            EnrichedField enriched, Map<com.palantir.conjure.spec.TypeName, TypeDefinition> typesMap) {
+        Type type = enriched.conjureDef().getType();
         AnnotationSpec.Builder annotationBuilder = AnnotationSpec.builder(JsonSetter.class)
                 .addMember("value", "$S", enriched.fieldName().get());
         if (type.accept(TypeVisitor.IS_OPTIONAL)) {
             annotationBuilder.addMember("nulls", "$T.SKIP", Nulls.class);
         } else if (isCollectionType(type)) {
             annotationBuilder.addMember("nulls", "$T.SKIP", Nulls.class);
-            if (isOptionalInnerType(type)) {
+            if (isOptionalInnerType(typeMapper, type)) {
                 annotationBuilder.addMember("contentNulls", "$T.AS_EMPTY", Nulls.class);
             } else if (options.nonNullCollections()) {
                 annotationBuilder.addMember("contentNulls", "$T.FAIL", Nulls.class);
@@ -322,25 +393,7 @@ public final class BeanBuilderGenerator {
                 annotationBuilder.addMember("nulls", "$T.AS_EMPTY", Nulls.class);
             }
         }
-
-        boolean shouldClearFirst = true;
-        MethodSpec.Builder setterBuilder = BeanBuilderAuxiliarySettersUtils.publicSetter(enriched, builderClass)
-                .addParameter(Parameters.nonnullParameter(
-                        BeanBuilderAuxiliarySettersUtils.widenParameterIfPossible(field.type, type, typeMapper),
-                        field.name,
-                        enriched.conjureDef().getSafety()))
-                .addCode(verifyNotBuilt())
-                .addCode(typeAwareAssignment(enriched, type, shouldClearFirst));
-
-        if (enriched.isPrimitive()) {
-            setterBuilder.addCode("this.$L = true;", deriveFieldInitializedName(enriched));
-        }
-
-        return setterBuilder
-                .addStatement("return this")
-                .addAnnotations(ConjureAnnotations.override(override))
-                .addAnnotation(annotationBuilder.build())
-                .build();
+        return annotationBuilder.build();
     }
 
     private MethodSpec createCollectionSetter(String prefix, EnrichedField enriched, boolean override) {
@@ -364,7 +417,8 @@ public final class BeanBuilderGenerator {
                         "this.$1N = $2T.new$3T($4L)",
                         spec.name,
                         ConjureCollections.class,
-                        type.accept(COLLECTION_CONCRETE_TYPE),
+                        PrimitiveLists.implementation(type, options)
+                                .orElseGet(() -> type.accept(COLLECTION_CONCRETE_TYPE)),
                         Expressions.requireNonNull(
                                 spec.name, enriched.fieldName().get() + " cannot be null"));
             }
@@ -490,10 +544,13 @@ public final class BeanBuilderGenerator {
 
     private MethodSpec createItemSetter(EnrichedField enriched, Type itemType, boolean override) {
         FieldSpec field = enriched.poetSpec();
+        String add = PrimitiveLists.implementation(enriched.conjureDef().getType(), options)
+                .map(PrimitiveLists::addMethod)
+                .orElse("add");
         return BeanBuilderAuxiliarySettersUtils.createItemSetterBuilder(enriched, itemType, typeMapper, builderClass)
                 .addAnnotations(ConjureAnnotations.override(override))
                 .addCode(verifyNotBuilt())
-                .addStatement("this.$1N.add($1N)", field.name)
+                .addStatement("this.$1N.$2N($1N)", field.name, add)
                 .addStatement("return this")
                 .build();
     }
@@ -547,7 +604,7 @@ public final class BeanBuilderGenerator {
         return type.accept(TypeVisitor.IS_LIST) || type.accept(TypeVisitor.IS_SET) || type.accept(TypeVisitor.IS_MAP);
     }
 
-    private boolean isOptionalInnerType(Type type) {
+    static boolean isOptionalInnerType(TypeMapper typeMapper, Type type) {
         return type.accept(new Type.Visitor<Boolean>() {
             @Override
             public Boolean visitPrimitive(PrimitiveType value) {
@@ -561,7 +618,7 @@ public final class BeanBuilderGenerator {
 
             @Override
             public Boolean visitList(ListType value) {
-                return isOptionalInnerType(value.getItemType());
+                return isOptionalInnerType(typeMapper, value.getItemType());
             }
 
             @Override
@@ -571,7 +628,7 @@ public final class BeanBuilderGenerator {
 
             @Override
             public Boolean visitMap(MapType value) {
-                return isOptionalInnerType(value.getValueType());
+                return isOptionalInnerType(typeMapper, value.getValueType());
             }
 
             @Override
@@ -89,8 +89,10 @@ public final class BeanGenerator {
             ObjectDefinition typeDef,
             Map<com.palantir.conjure.spec.TypeName, TypeDefinition> typesMap,
             Options options) {
-        ImmutableList<EnrichedField> fields = createFields(typeMapper, typeDef.getFields());
+        ImmutableList<EnrichedField> fields = createFields(typeMapper, typeDef.getFields(), options);
         ImmutableList<FieldSpec> poetFields = EnrichedField.toPoetSpecs(fields);
+        CompactOptionals compactOptionals = CompactOptionals.of(fields, typeMapper, options);
+        ImmutableList<FieldSpec> storageFields = compactOptionals.storageFields(fields);
         ImmutableList<EnrichedField> nonPrimitiveEnrichedFields =
                 fields.stream().filter(field -> !field.isPrimitive()).collect(ImmutableList.toImmutableList());
 
@@ -112,28 +114,29 @@ public final class BeanGenerator {
         TypeSpec.Builder typeBuilder = TypeSpec.classBuilder(prefixedName.getName())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addAnnotations(safety)
-                .addFields(poetFields)
-                .addMethod(createConstructor(fields, poetFields))
-                .addMethods(createGetters(fields, typesMap, options));
+                .addFields(storageFields)
+                .addMethod(createConstructor(fields, poetFields, compactOptionals, options))
+                .addMethods(createGetters(fields, typesMap, compactOptionals, options));
 
         if (!poetFields.isEmpty()) {
             boolean useCachedHashCode = useCachedHashCode(fields);
             typeBuilder
                     .addMethod(MethodSpecs.createEquals(objectClass))
-                    .addMethod(MethodSpecs.createEqualTo(objectClass, poetFields, useCachedHashCode));
+                    .addMethod(MethodSpecs.createEqualTo(objectClass, storageFields, useCachedHashCode));
             if (useCachedHashCode) {
-                MethodSpecs.addCachedHashCode(typeBuilder, poetFields);
+                MethodSpecs.addCachedHashCode(typeBuilder, storageFields);
             } else {
-                typeBuilder.addMethod(MethodSpecs.createHashCode(poetFields));
+                typeBuilder.addMethod(MethodSpecs.createHashCode(storageFields));
             }
         }
 
         typeBuilder.addMethod(MethodSpecs.createToString(
                 prefixedName.getName(),
-                fields.stream().map(EnrichedField::fieldName).collect(Collectors.toList())));
+                fields.stream().map(EnrichedField::fieldName).collect(Collectors.toList()),
+                compactOptionals::value));
 
         if (poetFields.size() <= MAX_NUM_PARAMS_FOR_FACTORY) {
-            typeBuilder.addMethod(createStaticFactoryMethod(fields, objectClass));
+            typeBuilder.addMethod(createStaticFactoryMethod(fields, objectClass, typeMapper, options));
         }
 
         if (!nonPrimitiveEnrichedFields.isEmpty()) {
@@ -226,6 +229,18 @@ public final class BeanGenerator {
                                         objectClass.packageName(), objectClass.simpleName(), builderInterface.name))));
             }
         }
+        if (options.experimentalStreamingCodecs()) {
+            typeBuilder
+                    .addAnnotation(StreamingCodecGenerator.hasStreamingCodec(objectClass))
+                    .addType(StreamingCodecGenerator.generateBeanCodec(
+                            typeMapper,
+                            typesMap,
+                            options,
+                            objectClass,
+                            builderImplementation,
+                            fields,
+                            compactOptionals));
+        }
         typeBuilder.addAnnotation(ConjureAnnotations.getConjureGeneratedAnnotation(BeanGenerator.class));
 
         typeDef.getDocs().ifPresent(docs -> typeBuilder.addJavadoc("$L", Javadoc.render(docs)));
@@ -395,14 +410,15 @@ public final class BeanGenerator {
                 .build();
     }
 
-    private static ImmutableList<EnrichedField> createFields(TypeMapper typeMapper, List<FieldDefinition> fields) {
+    private static ImmutableList<EnrichedField> createFields(
+            TypeMapper typeMapper, List<FieldDefinition> fields, Options options) {
         return fields.stream()
                 .map(e -> EnrichedField.of(
                         e.getFieldName(),
                         e,
                         FieldSpec.builder(
                                         // fields are guarded against using reserved keywords
-                                        typeMapper.getClassName(e.getType()),
+                                        PrimitiveLists.fieldType(e.getType(), typeMapper, options),
                                         JavaNameSanitizer.sanitize(e.getFieldName()),
                                         Modifier.PRIVATE,
                                         Modifier.FINAL)
@@ -410,7 +426,11 @@ public final class BeanGenerator {
                 .collect(ImmutableList.toImmutableList());
     }
 
-    private static MethodSpec createConstructor(Collection<EnrichedField> fields, Collection<FieldSpec> poetFields) {
+    private static MethodSpec createConstructor(
+            Collection<EnrichedField> fields,
+            Collection<FieldSpec> poetFields,
+            CompactOptionals compactOptionals,
+            Options options) {
         MethodSpec.Builder builder = MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE);
 
         Collection<FieldSpec> nonPrimitivePoetFields = Collections2.filter(poetFields, f -> !f.type.isPrimitive());
@@ -426,7 +446,13 @@ public final class BeanGenerator {
 
             // Collection and Map types not copied in constructor for performance. This assumes that the constructor
             // is private and necessarily called from the builder, which does its own defensive copying.
-            if (field.conjureDef().getType().accept(TypeVisitor.IS_LIST)) {
+            Optional<Class<?>> primitiveList =
+                    PrimitiveLists.implementation(field.conjureDef().getType(), options);
+            if (compactOptionals.isCompact(field)) {
+                body.add(compactOptionals.assignment(field));
+            } else if (primitiveList.isPresent()) {
+                body.addStatement("this.$1N = $2T.unmodifiable($1N)", spec, primitiveList.get());
+            } else if (field.conjureDef().getType().accept(TypeVisitor.IS_LIST)) {
                 // TODO(melliot): contribute a fix to JavaPoet that parses $T correctly for a JavaPoet FieldSpec
                 body.addStatement("this.$1N = $2T.unmodifiableList($1N)", spec, Collections.class);
             } else if (field.conjureDef().getType().accept(TypeVisitor.IS_SET)) {
@@ -438,7 +464,7 @@ public final class BeanGenerator {
             }
         }
 
-        builder.addCode(body.build());
+        builder.addCode(body.add(compactOptionals.presenceAssignments()).build());
 
         return builder.build();
     }
@@ -446,15 +472,17 @@ public final class BeanGenerator {
     private static Collection<MethodSpec> createGetters(
             Collection<EnrichedField> fields,
             Map<com.palantir.conjure.spec.TypeName, TypeDefinition> typesMap,
+            CompactOptionals compactOptionals,
             Options featureFlags) {
         return fields.stream()
-                .map(field -> BeanGenerator.createGetter(field, typesMap, featureFlags))
+                .map(field -> BeanGenerator.createGetter(field, typesMap, compactOptionals, featureFlags))
                 .collect(Collectors.toList());
     }
 
     private static MethodSpec createGetter(
             EnrichedField field,
             Map<com.palantir.conjure.spec.TypeName, TypeDefinition> typesMap,
+            CompactOptionals compactOptionals,
             Options featureFlags) {
         MethodSpec.Builder getterBuilder = MethodSpec.methodBuilder(field.getterName())
                 .addModifiers(Modifier.PUBLIC)
@@ -492,7 +520,9 @@ public final class BeanGenerator {
             }
         }
 
-        if (conjureDefType.accept(TypeVisitor.IS_BINARY) && !featureFlags.useImmutableBytes()) {
+        if (compactOptionals.isCompact(field)) {
+            getterBuilder.addCode(compactOptionals.getterBody(field));
+        } else if (conjureDefType.accept(TypeVisitor.IS_BINARY) && !featureFlags.useImmutableBytes()) {
             getterBuilder.addStatement("return this.$N.asReadOnlyBuffer()", field.poetSpec().name);
         } else {
             getterBuilder.addStatement("return this.$N", field.poetSpec().name);
@@ -528,7 +558,8 @@ public final class BeanGenerator {
         return builder.build();
     }
 
-    private static MethodSpec createStaticFactoryMethod(ImmutableList<EnrichedField> fields, ClassName objectClass) {
+    private static MethodSpec createStaticFactoryMethod(
+            ImmutableList<EnrichedField> fields, ClassName objectClass, TypeMapper typeMapper, Options options) {
         MethodSpec.Builder builder = MethodSpec.methodBuilder("of")
                 .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
                 .returns(objectClass);
@@ -538,8 +569,13 @@ public final class BeanGenerator {
                     .addCode("return $L;", SINGLETON_INSTANCE_NAME);
         } else {
             builder.addCode("return builder()");
+            // primitive lists are accepted as any list, matching the builder setters
             fields.forEach(field -> builder.addParameter(ParameterSpec.builder(
-                            getTypeNameWithoutOptional(field.poetSpec()), field.poetSpec().name)
+                            PrimitiveLists.implementation(field.conjureDef().getType(), options)
+                                            .isPresent()
+                                    ? typeMapper.getClassName(field.conjureDef().getType())
+                                    : getTypeNameWithoutOptional(field.poetSpec()),
+                            field.poetSpec().name)
                     .addAnnotations(ConjureAnnotations.safety(field.conjureDef().getSafety()))
                     .build()));
             // Follow order on adding methods on builder to comply with staged builders option if set
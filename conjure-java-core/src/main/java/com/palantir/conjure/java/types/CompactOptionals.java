@@ -0,0 +1,233 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.types;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.palantir.conjure.java.Options;
+import com.palantir.conjure.java.lib.SafeLong;
+import com.palantir.conjure.java.types.BeanGenerator.EnrichedField;
+import com.palantir.conjure.java.util.JavaNameSanitizer;
+import com.palantir.conjure.spec.FieldName;
+import com.palantir.conjure.spec.PrimitiveType;
+import com.palantir.conjure.spec.Type;
+import com.palantir.conjure.visitor.TypeVisitor;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.TypeName;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import javax.annotation.Nullable;
+import javax.lang.model.element.Modifier;
+
+/**
+ * Stores object fields of type {@code optional<T>}, for primitive {@code T}, without an {@link Optional} wrapper when
+ * {@link Options#compactOptionals()} is enabled. Numeric and boolean values are stored unboxed, with their presence
+ * recorded in a bitset, and other primitives as nullable references. Getters materialize the optional on demand, and
+ * equality and hashing operate on the stored state.
+ */
+final class CompactOptionals {
+
+    private static final String PRESENT_FIELD = "_present";
+    private static final int BITS_PER_FIELD = Integer.SIZE;
+
+    /** Fields stored as a primitive, keyed by poet field name, to their bit in the presence bitset. */
+    private final ImmutableMap<String, Integer> bits;
+    /** Fields stored as nullable references, keyed by poet field name. */
+    private final ImmutableMap<String, TypeName> nullable;
+
+    private CompactOptionals(ImmutableMap<String, Integer> bits, ImmutableMap<String, TypeName> nullable) {
+        this.bits = bits;
+        this.nullable = nullable;
+    }
+
+    static CompactOptionals of(Collection<EnrichedField> fields, TypeMapper typeMapper, Options options) {
+        ImmutableMap.Builder<String, Integer> bits = ImmutableMap.builder();
+        ImmutableMap.Builder<String, TypeName> nullable = ImmutableMap.builder();
+        if (options.compactOptionals()) {
+            int bit = 0;
+            for (EnrichedField field : fields) {
+                Optional<PrimitiveType> item = primitiveItemType(field);
+                if (!item.isPresent()) {
+                    continue;
+                }
+                if (unboxedType(item.get()).isPresent()) {
+                    bits.put(field.poetSpec().name, bit++);
+                } else if (isNullable(item.get())) {
+                    nullable.put(field.poetSpec().name, typeMapper.getClassName(Type.primitive(item.get())));
+                }
+            }
+        }
+        return new CompactOptionals(bits.build(), nullable.build());
+    }
+
+    /** Returns true if the field is stored without an {@link Optional}. */
+    boolean isCompact(EnrichedField field) {
+        return bits.containsKey(field.poetSpec().name) || nullable.containsKey(field.poetSpec().name);
+    }
+
+    /** Returns the fields holding the state of the object, followed by the presence bitset. */
+    ImmutableList<FieldSpec> storageFields(Collection<EnrichedField> fields) {
+        ImmutableList.Builder<FieldSpec> storage = ImmutableList.builder();
+        for (EnrichedField field : fields) {
+            String name = field.poetSpec().name;
+            if (bits.containsKey(name)) {
+                storage.add(FieldSpec.builder(
+                                unboxedType(primitiveItemType(field).get()).get(),
+                                name,
+                                Modifier.PRIVATE,
+                                Modifier.FINAL)
+                        .build());
+            } else if (nullable.containsKey(name)) {
+                storage.add(FieldSpec.builder(nullable.get(name), name, Modifier.PRIVATE, Modifier.FINAL)
+                        .addAnnotation(AnnotationSpec.builder(Nullable.class).build())
+                        .build());
+            } else {
+                storage.add(field.poetSpec());
+            }
+        }
+        for (int i = 0; i < presentFieldCount(); i++) {
+            storage.add(FieldSpec.builder(TypeName.INT, PRESENT_FIELD + i, Modifier.PRIVATE, Modifier.FINAL)
+                    .build());
+        }
+        return storage.build();
+    }
+
+    /** Assigns the storage of a compact field from the optional constructor parameter of the same name. */
+    CodeBlock assignment(EnrichedField field) {
+        String name = field.poetSpec().name;
+        if (nullable.containsKey(name)) {
+            return CodeBlocks.statement("this.$1N = $1N.orElse(null)", name);
+        }
+        switch (primitiveItemType(field).get().get()) {
+            case SAFELONG:
+                return CodeBlocks.statement("this.$1N = $1N.isPresent() ? $1N.get().longValue() : 0L", name);
+            case BOOLEAN:
+                return CodeBlocks.statement("this.$1N = $1N.orElse(false)", name);
+            default:
+                return CodeBlocks.statement("this.$1N = $1N.orElse(0)", name);
+        }
+    }
+
+    /** Assigns the presence bitset from the optional constructor parameters. */
+    CodeBlock presenceAssignments() {
+        CodeBlock.Builder assignments = CodeBlock.builder();
+        for (int i = 0; i < presentFieldCount(); i++) {
+            int index = i;
+            CodeBlock value = bits.entrySet().stream()
+                    .filter(entry -> entry.getValue() / BITS_PER_FIELD == index)
+                    .map(entry -> CodeBlock.of(
+                            "($N.isPresent() ? 1 << $L : 0)", entry.getKey(), entry.getValue() % BITS_PER_FIELD))
+                    .collect(CodeBlock.joining(" | "));
+            assignments.addStatement("this.$N = $L", PRESENT_FIELD + i, value);
+        }
+        return assignments.build();
+    }
+
+    /** Returns an expression for the optional value of a field, for use within the object. */
+    CodeBlock value(FieldName fieldName) {
+        String name = JavaNameSanitizer.sanitize(fieldName);
+        return bits.containsKey(name) || nullable.containsKey(name)
+                ? CodeBlock.of("$N()", BeanGenerator.asGetterName(fieldName.get()))
+                : CodeBlock.of("$N", name);
+    }
+
+    /** Returns an expression which is true if the compact field of the {@code owner} object holds a value. */
+    CodeBlock isPresent(CodeBlock owner, EnrichedField field) {
+        String name = field.poetSpec().name;
+        if (nullable.containsKey(name)) {
+            return CodeBlock.of("$L.$N != null", owner, name);
+        }
+        int bit = bits.get(name);
+        return CodeBlock.of(
+                "($L.$N & 1 << $L) != 0", owner, PRESENT_FIELD + bit / BITS_PER_FIELD, bit % BITS_PER_FIELD);
+    }
+
+    /** Materializes the optional value of a compact field. */
+    CodeBlock getterBody(EnrichedField field) {
+        String name = field.poetSpec().name;
+        if (nullable.containsKey(name)) {
+            return CodeBlocks.statement("return $T.ofNullable(this.$N)", Optional.class, name);
+        }
+        CodeBlock present = isPresent(CodeBlock.of("this"), field);
+        switch (primitiveItemType(field).get().get()) {
+            case INTEGER:
+                return CodeBlocks.statement(
+                        "return $1L ? $2T.of(this.$3N) : $2T.empty()", present, OptionalInt.class, name);
+            case DOUBLE:
+                return CodeBlocks.statement(
+                        "return $1L ? $2T.of(this.$3N) : $2T.empty()", present, OptionalDouble.class, name);
+            case SAFELONG:
+                return CodeBlocks.statement(
+                        "return $1L ? $2T.of($3T.of(this.$4N)) : $2T.empty()",
+                        present,
+                        Optional.class,
+                        SafeLong.class,
+                        name);
+            default:
+                return CodeBlocks.statement(
+                        "return $1L ? $2T.of(this.$3N) : $2T.empty()", present, Optional.class, name);
+        }
+    }
+
+    private int presentFieldCount() {
+        return (bits.size() + BITS_PER_FIELD - 1) / BITS_PER_FIELD;
+    }
+
+    private static Optional<PrimitiveType> primitiveItemType(EnrichedField field) {
+        Type type = field.conjureDef().getType();
+        if (!type.accept(TypeVisitor.IS_OPTIONAL)) {
+            return Optional.empty();
+        }
+        Type itemType = type.accept(TypeVisitor.OPTIONAL).getItemType();
+        return itemType.accept(TypeVisitor.IS_PRIMITIVE)
+                ? Optional.of(itemType.accept(TypeVisitor.PRIMITIVE))
+                : Optional.empty();
+    }
+
+    private static Optional<TypeName> unboxedType(PrimitiveType primitive) {
+        switch (primitive.get()) {
+            case INTEGER:
+                return Optional.of(TypeName.INT);
+            case DOUBLE:
+                return Optional.of(TypeName.DOUBLE);
+            case BOOLEAN:
+                return Optional.of(TypeName.BOOLEAN);
+            case SAFELONG:
+                return Optional.of(TypeName.LONG);
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private static boolean isNullable(PrimitiveType primitive) {
+        switch (primitive.get()) {
+            case STRING:
+            case DATETIME:
+            case UUID:
+            case RID:
+            case BEARERTOKEN:
+                return true;
+            default:
+                // binary buffers are mutable and any values may be collections, both keep their optional
+                return false;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import com.google.common.collect.Iterables;
 import com.google.errorprone.annotations.Immutable;
 import com.palantir.conjure.java.ConjureAnnotations;
 import com.palantir.conjure.java.Options;
+import com.palantir.conjure.java.lib.internal.EnumLookup;
 import com.palantir.conjure.java.util.Javadoc;
 import com.palantir.conjure.java.util.Packages;
 import com.palantir.conjure.spec.EnumDefinition;
@@ -50,6 +51,7 @@ public final class EnumGenerator {
 
     private static final String VALUE_PARAMETER = "value";
     private static final String STRING_PARAMETER = "string";
+    private static final String LOOKUP_FIELD = "lookup";
     private static final String VISIT_METHOD_NAME = "visit";
     private static final String VISIT_UNKNOWN_METHOD_NAME = "visitUnknown";
     private static final TypeVariableName TYPE_VARIABLE = TypeVariableName.get("T");
@@ -65,14 +67,15 @@ public final class EnumGenerator {
                 prefixedTypeName.getPackage(), typeDef.getTypeName().getName(), "Visitor");
 
         return JavaFile.builder(
-                        prefixedTypeName.getPackage(), createSafeEnum(typeDef, thisClass, enumClass, visitorClass))
+                        prefixedTypeName.getPackage(),
+                        createSafeEnum(typeDef, thisClass, enumClass, visitorClass, options))
                 .skipJavaLangImports(true)
                 .indent("    ")
                 .build();
     }
 
     private static TypeSpec createSafeEnum(
-            EnumDefinition typeDef, ClassName thisClass, ClassName enumClass, ClassName visitorClass) {
+            EnumDefinition typeDef, ClassName thisClass, ClassName enumClass, ClassName visitorClass, Options options) {
         TypeSpec.Builder wrapper = TypeSpec.classBuilder(typeDef.getTypeName().getName())
                 .addAnnotation(ConjureAnnotations.getConjureGeneratedAnnotation(EnumGenerator.class))
                 .addAnnotation(Safe.class)
@@ -84,6 +87,7 @@ public final class EnumGenerator {
                 .addField(ClassName.get(String.class), STRING_PARAMETER, Modifier.PRIVATE, Modifier.FINAL)
                 .addFields(createConstants(typeDef.getValues(), thisClass, enumClass))
                 .addField(createValuesList(thisClass, typeDef.getValues()))
+                .addField(createLookup(thisClass, enumClass))
                 .addMethod(createConstructor(enumClass))
                 .addMethod(MethodSpec.methodBuilder("get")
                         .addModifiers(Modifier.PUBLIC)
@@ -99,10 +103,15 @@ public final class EnumGenerator {
                         .build())
                 .addMethod(createEquals(thisClass))
                 .addMethod(createHashCode())
-                .addMethod(createValueOf(thisClass, typeDef.getValues()))
+                .addMethod(createValueOf(thisClass))
                 .addMethod(generateAcceptVisitMethod(visitorClass, typeDef.getValues()))
                 .addMethod(createValues(thisClass));
 
+        if (options.experimentalStreamingCodecs()) {
+            wrapper.addAnnotation(StreamingCodecGenerator.hasStreamingCodec(thisClass))
+                    .addType(StreamingCodecGenerator.generateEnumCodec(thisClass));
+        }
+
         typeDef.getDocs().ifPresent(docs -> wrapper.addJavadoc("$L<p>\n", Javadoc.render(docs)));
 
         wrapper.addJavadoc(
@@ -237,41 +246,31 @@ public final class EnumGenerator {
                 .build();
     }
 
-    private static MethodSpec createValueOf(ClassName thisClass, List<EnumValueDefinition> values) {
+    private static MethodSpec createValueOf(ClassName thisClass) {
         ParameterSpec param = ParameterSpec.builder(ClassName.get(String.class), "value")
                 .addAnnotation(Nonnull.class)
                 .addAnnotation(Safe.class)
                 .build();
-
-        CodeBlock.Builder parser = CodeBlock.builder().beginControlFlow("switch (upperCasedValue)");
-        for (EnumValueDefinition value : values) {
-            parser.add("case $S:\n", value.getValue())
-                    .indent()
-                    .addStatement("return $L", value.getValue())
-                    .unindent();
-        }
-        parser.add("default:\n")
-                .indent()
-                .addStatement("return new $T(Value.UNKNOWN, upperCasedValue)", thisClass)
-                .unindent()
-                .endControlFlow();
-        boolean anyDeprecatedValues = values.stream()
-                .anyMatch(definition -> definition.getDeprecated().isPresent());
         return MethodSpec.methodBuilder("valueOf")
                 .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
                 .returns(thisClass)
                 .addAnnotation(ConjureAnnotations.delegatingJsonCreator())
-                .addAnnotations(
-                        anyDeprecatedValues
-                                ? ImmutableList.of(AnnotationSpec.builder(SuppressWarnings.class)
-                                        .addMember("value", "$S", "deprecation")
-                                        .build())
-                                : ImmutableList.of())
                 .addParameter(param)
                 .addStatement("$L", Expressions.requireNonNull(param.name, param.name + " cannot be null"))
-                // uppercase param for backwards compatibility
-                .addStatement("String upperCasedValue = $N.toUpperCase($T.ROOT)", param, Locale.class)
-                .addCode(parser.build())
+                // matches the upper-cased param for backwards compatibility
+                .addStatement("return $N.valueOf($N)", LOOKUP_FIELD, param)
+                .build();
+    }
+
+    private static FieldSpec createLookup(ClassName thisClass, ClassName enumClass) {
+        return FieldSpec.builder(
+                        ParameterizedTypeName.get(ClassName.get(EnumLookup.class), thisClass),
+                        LOOKUP_FIELD,
+                        Modifier.PRIVATE,
+                        Modifier.STATIC,
+                        Modifier.FINAL)
+                .initializer(
+                        "$T.of(values, string -> new $T($T.UNKNOWN, string))", EnumLookup.class, thisClass, enumClass)
                 .build();
     }
 
@@ -33,7 +33,10 @@ import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collector;
+import javax.annotation.Nullable;
 import javax.lang.model.element.Modifier;
 
 public final class MethodSpecs {
@@ -86,7 +89,9 @@ public final class MethodSpecs {
         String thisField = "this." + field.name;
         String otherField = "other." + field.name;
 
-        if (field.type.equals(TypeName.DOUBLE)) {
+        if (isNullable(field)) {
+            return CodeBlock.of("$T.equals($L, $L)", Objects.class, thisField, otherField);
+        } else if (field.type.equals(TypeName.DOUBLE)) {
             return CodeBlock.of(
                     "$1T.doubleToLongBits($2L) == $1T.doubleToLongBits($3L)", Double.class, thisField, otherField);
         } else if (field.type.isPrimitive()) {
@@ -161,6 +166,9 @@ public final class MethodSpecs {
     }
 
     private static CodeBlock computeHashCode(FieldSpec fieldSpec) {
+        if (isNullable(fieldSpec)) {
+            return CodeBlock.of("$T.hashCode($N)", Objects.class, "this." + fieldSpec.name);
+        }
         if (fieldSpec.type.isPrimitive()) {
             if (TypeName.INT.equals(fieldSpec.type)) {
                 return createHashInput(fieldSpec);
@@ -172,6 +180,13 @@ public final class MethodSpecs {
     }
 
     static MethodSpec createToString(String thisClassName, List<FieldName> fieldNames) {
+        return createToString(
+                thisClassName, fieldNames, fieldName -> CodeBlock.of("$N", JavaNameSanitizer.sanitize(fieldName)));
+    }
+
+    /** Creates a {@code toString} method which renders the value of each field using {@code values}. */
+    static MethodSpec createToString(
+            String thisClassName, List<FieldName> fieldNames, Function<FieldName, CodeBlock> values) {
         return MethodSpec.methodBuilder("toString")
                 .addAnnotation(Override.class)
                 .addModifiers(Modifier.PUBLIC)
@@ -182,12 +197,14 @@ public final class MethodSpecs {
                                         .addStatement("return $S", thisClassName + "{}")
                                         .build()
                                 : CodeBlock.builder()
-                                        .addStatement("return $L", toStringConcatenation(thisClassName, fieldNames))
+                                        .addStatement(
+                                                "return $L", toStringConcatenation(thisClassName, fieldNames, values))
                                         .build())
                 .build();
     }
 
-    private static CodeBlock toStringConcatenation(String thisClassName, List<FieldName> fieldNames) {
+    private static CodeBlock toStringConcatenation(
+            String thisClassName, List<FieldName> fieldNames, Function<FieldName, CodeBlock> values) {
         checkState(!fieldNames.isEmpty(), "String concatenation is only necessary if there are fields");
         CodeBlock.Builder builder = CodeBlock.builder()
                 .add("$S\n", thisClassName + '{' + fieldNames.get(0).get() + ": ");
@@ -197,11 +214,16 @@ public final class MethodSpecs {
             if (i != 0) {
                 builder.add(" + $S", ", " + fieldName.get() + ": ");
             }
-            builder.add(" + $N", JavaNameSanitizer.sanitize(fieldName));
+            builder.add(" + $L", values.apply(fieldName));
         }
         return builder.add(" + '}'").build();
     }
 
+    /** Fields which may be null are annotated {@link Nullable}, see {@link CompactOptionals}. */
+    private static boolean isNullable(FieldSpec field) {
+        return field.annotations.stream().anyMatch(annotation -> annotation.type.equals(ClassName.get(Nullable.class)));
+    }
+
     private static CodeBlock createHashInput(FieldSpec field) {
         if (field.type.equals(ClassName.get(OffsetDateTime.class))) {
             return CodeBlock.of("$N.toInstant()", "this." + field.name);
@@ -59,7 +59,7 @@ public final class ObjectGenerator implements Generator {
             return EnumGenerator.generateEnumType(typeDef.accept(TypeDefinitionVisitor.ENUM), options);
         } else if (typeDef.accept(TypeDefinitionVisitor.IS_ALIAS)) {
             return AliasGenerator.generateAliasType(
-                    typeMapper, safetyEvaluator, typeDef.accept(TypeDefinitionVisitor.ALIAS), options);
+                    typeMapper, safetyEvaluator, typesMap, typeDef.accept(TypeDefinitionVisitor.ALIAS), options);
         } else {
             throw new IllegalArgumentException("Unknown object definition type " + typeDef.getClass());
         }
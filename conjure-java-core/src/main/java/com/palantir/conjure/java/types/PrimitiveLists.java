@@ -0,0 +1,63 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.types;
+
+import com.palantir.conjure.java.Options;
+import com.palantir.conjure.java.lib.DoubleList;
+import com.palantir.conjure.java.lib.IntegerList;
+import com.palantir.conjure.spec.Type;
+import com.palantir.conjure.visitor.TypeVisitor;
+import com.squareup.javapoet.TypeName;
+import java.util.Optional;
+
+/**
+ * Object fields of type {@code list<integer>} and {@code list<double>} are backed by {@link IntegerList} and
+ * {@link DoubleList} when {@link Options#primitiveLists()} is enabled.
+ */
+final class PrimitiveLists {
+
+    private PrimitiveLists() {}
+
+    /** Returns the primitive list implementation for fields of the given type, if any. */
+    static Optional<Class<?>> implementation(Type type, Options options) {
+        if (!options.primitiveLists() || !type.accept(TypeVisitor.IS_LIST)) {
+            return Optional.empty();
+        }
+        Type itemType = type.accept(TypeVisitor.LIST).getItemType();
+        if (!itemType.accept(TypeVisitor.IS_PRIMITIVE)) {
+            return Optional.empty();
+        }
+        switch (itemType.accept(TypeVisitor.PRIMITIVE).get()) {
+            case INTEGER:
+                return Optional.of(IntegerList.class);
+            case DOUBLE:
+                return Optional.of(DoubleList.class);
+            default:
+                return Optional.empty();
+        }
+    }
+
+    /** Returns the type of fields and getters of the given type. */
+    static TypeName fieldType(Type type, TypeMapper typeMapper, Options options) {
+        return implementation(type, options).map(TypeName::get).orElseGet(() -> typeMapper.getClassName(type));
+    }
+
+    /** Returns the name of the method which appends an unboxed element to the given implementation. */
+    static String addMethod(Class<?> implementation) {
+        return implementation.equals(IntegerList.class) ? "addInt" : "addDouble";
+    }
+}
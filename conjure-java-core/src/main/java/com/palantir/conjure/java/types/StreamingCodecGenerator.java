@@ -0,0 +1,744 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.types;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.base.CaseFormat;
+import com.google.common.collect.ImmutableList;
+import com.palantir.conjure.java.ConjureAnnotations;
+import com.palantir.conjure.java.Options;
+import com.palantir.conjure.java.lib.IntegerList;
+import com.palantir.conjure.java.lib.SafeLong;
+import com.palantir.conjure.java.lib.internal.HasStreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodecDeserializer;
+import com.palantir.conjure.java.lib.internal.StreamingCodecSerializer;
+import com.palantir.conjure.java.lib.internal.StreamingCodecs;
+import com.palantir.conjure.java.types.BeanGenerator.EnrichedField;
+import com.palantir.conjure.java.util.TypeFunctions;
+import com.palantir.conjure.java.visitor.DefaultableTypeVisitor;
+import com.palantir.conjure.java.visitor.MoreVisitors;
+import com.palantir.conjure.spec.ExternalReference;
+import com.palantir.conjure.spec.FieldDefinition;
+import com.palantir.conjure.spec.FieldName;
+import com.palantir.conjure.spec.ListType;
+import com.palantir.conjure.spec.MapType;
+import com.palantir.conjure.spec.OptionalType;
+import com.palantir.conjure.spec.PrimitiveType;
+import com.palantir.conjure.spec.SetType;
+import com.palantir.conjure.spec.Type;
+import com.palantir.conjure.spec.TypeDefinition;
+import com.palantir.conjure.visitor.TypeDefinitionVisitor;
+import com.palantir.conjure.visitor.TypeVisitor;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+import com.palantir.ri.ResourceIdentifier;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import javax.lang.model.element.Modifier;
+
+/**
+ * Generates the nested {@code Codec} classes which read and write conjure types using the jackson streaming API,
+ * see {@link Options#experimentalStreamingCodecs()}. Values without a streaming representation, for example
+ * {@code datetime} and external imports, are delegated to jackson databind.
+ */
+final class StreamingCodecGenerator {
+
+    static final String CODEC_CLASS_NAME = "Codec";
+
+    private static final String SERIALIZER_CLASS_NAME = "Serializer";
+    private static final String DESERIALIZER_CLASS_NAME = "Deserializer";
+
+    private static final String INSTANCE = "INSTANCE";
+    private static final String VALUE = "value";
+    private static final String GENERATOR = "generator";
+    private static final String PARSER = "parser";
+    private static final String FIELD = "field";
+
+    private final TypeMapper typeMapper;
+    private final Options options;
+    private final ClassName typeClass;
+    private final ClassName codecClass;
+    private final Map<CodeBlock, FieldSpec> constants = new LinkedHashMap<>();
+
+    private StreamingCodecGenerator(TypeMapper typeMapper, Options options, ClassName typeClass) {
+        this.typeMapper = typeMapper;
+        this.options = options;
+        this.typeClass = typeClass;
+        this.codecClass = typeClass.nestedClass(CODEC_CLASS_NAME);
+    }
+
+    /** Annotates a generated type with the codec produced by this generator. */
+    static AnnotationSpec hasStreamingCodec(ClassName typeClass) {
+        return AnnotationSpec.builder(HasStreamingCodec.class)
+                .addMember("value", "$T.class", typeClass.nestedClass(CODEC_CLASS_NAME))
+                .build();
+    }
+
+    /**
+     * Annotates a generated type so that jackson databind reads and writes it using its codec, through the adapters
+     * produced by {@link #generateDatabindAdapters}.
+     */
+    static ImmutableList<AnnotationSpec> databindAnnotations(ClassName typeClass) {
+        return ImmutableList.of(
+                AnnotationSpec.builder(JsonSerialize.class)
+                        .addMember("using", "$T.class", typeClass.nestedClass(SERIALIZER_CLASS_NAME))
+                        .build(),
+                AnnotationSpec.builder(JsonDeserialize.class)
+                        .addMember("using", "$T.class", typeClass.nestedClass(DESERIALIZER_CLASS_NAME))
+                        .build());
+    }
+
+    /** Generates the nested jackson serializer and deserializer which delegate to the codec of a generated type. */
+    static ImmutableList<TypeSpec> generateDatabindAdapters(ClassName typeClass) {
+        ClassName codecClass = typeClass.nestedClass(CODEC_CLASS_NAME);
+        return ImmutableList.of(
+                databindAdapter(typeClass, codecClass, SERIALIZER_CLASS_NAME, StreamingCodecSerializer.class),
+                databindAdapter(typeClass, codecClass, DESERIALIZER_CLASS_NAME, StreamingCodecDeserializer.class));
+    }
+
+    private static TypeSpec databindAdapter(
+            ClassName typeClass, ClassName codecClass, String adapterName, Class<?> adapterBase) {
+        return TypeSpec.classBuilder(adapterName)
+                .addAnnotation(ConjureAnnotations.getConjureGeneratedAnnotation(StreamingCodecGenerator.class))
+                .addModifiers(Modifier.STATIC, Modifier.FINAL)
+                .superclass(ParameterizedTypeName.get(ClassName.get(adapterBase), typeClass))
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addStatement("super($T.class, $T.$N)", typeClass, codecClass, INSTANCE)
+                        .build())
+                .build();
+    }
+
+    static TypeSpec generateBeanCodec(
+            TypeMapper typeMapper,
+            Map<com.palantir.conjure.spec.TypeName, TypeDefinition> typesMap,
+            Options options,
+            ClassName objectClass,
+            ClassName builderClass,
+            Collection<EnrichedField> fields,
+            CompactOptionals compactOptionals) {
+        return new StreamingCodecGenerator(typeMapper, options, objectClass)
+                .generateBean(typesMap, builderClass, fields, compactOptionals);
+    }
+
+    static TypeSpec generateUnionCodec(
+            TypeMapper typeMapper,
+            Options options,
+            ClassName unionClass,
+            List<FieldDefinition> members,
+            Function<FieldName, ClassName> wrapperClass,
+            ClassName unknownWrapperClass) {
+        return new StreamingCodecGenerator(typeMapper, options, unionClass)
+                .generateUnion(members, wrapperClass, unknownWrapperClass);
+    }
+
+    static TypeSpec generateEnumCodec(ClassName enumClass) {
+        MethodSpec serialize = serializeMethod(enumClass)
+                .addStatement("$N.writeString($N.string)", GENERATOR, VALUE)
+                .build();
+        MethodSpec deserialize = deserializeMethod(enumClass)
+                .addStatement("$T string = $T.readString($N)", String.class, StreamingCodecs.class, PARSER)
+                .addStatement("return string == null ? null : $T.valueOf(string)", enumClass)
+                .build();
+        return new StreamingCodecGenerator(null, null, enumClass).codec(serialize, deserialize);
+    }
+
+    static TypeSpec generateAliasCodec(
+            TypeMapper typeMapper,
+            Map<com.palantir.conjure.spec.TypeName, TypeDefinition> typesMap,
+            Options options,
+            ClassName aliasClass,
+            Type aliasType) {
+        return new StreamingCodecGenerator(typeMapper, options, aliasClass).generateAlias(typesMap, aliasType);
+    }
+
+    private TypeSpec generateBean(
+            Map<com.palantir.conjure.spec.TypeName, TypeDefinition> typesMap,
+            ClassName builderClass,
+            Collection<EnrichedField> fields,
+            CompactOptionals compactOptionals) {
+        MethodSpec.Builder serialize = serializeMethod(typeClass).addStatement("$N.writeStartObject()", GENERATOR);
+        for (EnrichedField field : fields) {
+            if (compactOptionals.isCompact(field)) {
+                serialize.addCode(writeCompact(field, compactOptionals));
+                continue;
+            }
+            Type type = field.conjureDef().getType();
+            CodeBlock write = CodeBlock.builder()
+                    .addStatement(
+                            "$N.writeFieldName($S)",
+                            GENERATOR,
+                            field.fieldName().get())
+                    .add(write(type, fieldValue(field), fieldCodec(field)))
+                    .build();
+            Optional<CodeBlock> nonEmpty = nonEmptyCondition(field, typesMap);
+            if (nonEmpty.isPresent()) {
+                serialize
+                        .beginControlFlow("if ($L)", nonEmpty.get())
+                        .addCode(write)
+                        .endControlFlow();
+            } else {
+                serialize.addCode(write);
+            }
+        }
+        serialize.addStatement("$N.writeEndObject()", GENERATOR);
+
+        MethodSpec.Builder deserialize = deserializeMethod(typeClass)
+                .beginControlFlow("if ($N.currentToken() == $T.VALUE_NULL)", PARSER, JsonToken.class)
+                .addStatement("return null")
+                .endControlFlow()
+                .addStatement(
+                        "$T.expect($N, $T.START_OBJECT, $T.class)",
+                        StreamingCodecs.class,
+                        PARSER,
+                        JsonToken.class,
+                        typeClass);
+        if (fields.isEmpty()) {
+            deserialize.addCode(readFields(CodeBlock.of(""))).addStatement("return $T.of()", typeClass);
+        } else {
+            CodeBlock.Builder cases = CodeBlock.builder().beginControlFlow("switch ($N)", FIELD);
+            for (EnrichedField field : fields) {
+                cases.add("case $S:\n", field.fieldName().get())
+                        .indent()
+                        .addStatement(
+                                "builder.$N($L)",
+                                // Collections read by the codec are owned by the builder, avoiding another copy.
+                                field.conjureDef().getType().accept(MoreVisitors.IS_COLLECTION)
+                                        ? BeanBuilderGenerator.adoptingSetterName(field)
+                                        : field.poetSpec().name,
+                                read(field.conjureDef().getType(), fieldCodec(field)))
+                        .addStatement("break")
+                        .unindent();
+            }
+            cases.add("default:\n").indent().add(unknownField()).unindent().endControlFlow();
+            deserialize
+                    .addStatement("$1T builder = new $1T()", builderClass)
+                    .addCode(readFields(cases.build()))
+                    .addStatement("return builder.build()");
+        }
+        return codec(serialize.build(), deserialize.build());
+    }
+
+    private TypeSpec generateUnion(
+            List<FieldDefinition> members, Function<FieldName, ClassName> wrapperClass, ClassName unknownWrapperClass) {
+        ClassName baseClass = typeClass.nestedClass("Base");
+        MethodSpec.Builder serialize = serializeMethod(typeClass).addStatement("$T base = $N.value", baseClass, VALUE);
+        CodeBlock.Builder cases = CodeBlock.builder().beginControlFlow("switch (type)");
+        boolean first = true;
+        for (FieldDefinition member : members) {
+            ClassName wrapper = wrapperClass.apply(member.getFieldName());
+            String memberName = member.getFieldName().get();
+            if (first) {
+                serialize.beginControlFlow("if (base instanceof $T)", wrapper);
+                first = false;
+            } else {
+                serialize.nextControlFlow("else if (base instanceof $T)", wrapper);
+            }
+            serialize
+                    .addStatement("$N.writeStartObject()", GENERATOR)
+                    .addStatement("$N.writeStringField($S, $S)", GENERATOR, "type", memberName)
+                    .addStatement("$N.writeFieldName($S)", GENERATOR, memberName)
+                    .addCode(write(
+                            member.getType(),
+                            CodeBlock.of("(($T) base).value", wrapper),
+                            codec(member.getType(), memberName)))
+                    .addStatement("$N.writeEndObject()", GENERATOR);
+
+            cases.add("case $S:\n", memberName)
+                    .indent()
+                    .addStatement(
+                            "return new $T(new $T($T.readUnionValue(typed, $S, $L)))",
+                            typeClass,
+                            wrapper,
+                            StreamingCodecs.class,
+                            memberName,
+                            codec(member.getType(), memberName))
+                    .unindent();
+        }
+        CodeBlock writeUnknown = CodeBlock.builder()
+                .addStatement("$1T unknown = ($1T) base", unknownWrapperClass)
+                .addStatement("$T.writeUnknownUnion($N, unknown.type, unknown.value)", StreamingCodecs.class, GENERATOR)
+                .build();
+        if (first) {
+            serialize.addCode(writeUnknown);
+        } else {
+            serialize.nextControlFlow("else").addCode(writeUnknown).endControlFlow();
+        }
+        cases.add("default:\n")
+                .indent()
+                .addStatement(
+                        "return new $T(new $T(type, $T.readUnknownUnionValues(typed)))",
+                        typeClass,
+                        unknownWrapperClass,
+                        StreamingCodecs.class)
+                .unindent()
+                .endControlFlow();
+
+        MethodSpec deserialize = deserializeMethod(typeClass)
+                .beginControlFlow("if ($N.currentToken() == $T.VALUE_NULL)", PARSER, JsonToken.class)
+                .addStatement("return null")
+                .endControlFlow()
+                .addStatement(
+                        "$T typed = $T.readUnionType($N, $T.class)",
+                        JsonParser.class,
+                        StreamingCodecs.class,
+                        PARSER,
+                        typeClass)
+                .addStatement("$T type = typed.getText()", String.class)
+                .addCode(cases.build())
+                .build();
+        return codec(serialize.build(), deserialize);
+    }
+
+    private TypeSpec generateAlias(Map<com.palantir.conjure.spec.TypeName, TypeDefinition> typesMap, Type aliasType) {
+        MethodSpec serialize = serializeMethod(typeClass)
+                .addCode(write(aliasType, CodeBlock.of("$N.value", VALUE), codec(aliasType, VALUE)))
+                .build();
+        Type dealiased = TypeFunctions.toConjureTypeWithoutAliases(aliasType, typesMap);
+        boolean defaultable = dealiased.accept(DefaultableTypeVisitor.INSTANCE);
+        MethodSpec.Builder deserialize = deserializeMethod(typeClass);
+        if (!defaultable) {
+            // matches databind, which does not invoke delegating creators for null
+            deserialize
+                    .beginControlFlow("if ($N.currentToken() == $T.VALUE_NULL)", PARSER, JsonToken.class)
+                    .addStatement("return null")
+                    .endControlFlow();
+        }
+        deserialize.addStatement("return $T.of($L)", typeClass, read(aliasType, codec(aliasType, VALUE)));
+        TypeSpec.Builder codec = codecBuilder(serialize, deserialize.build());
+        if (defaultable) {
+            codec.addMethod(MethodSpec.methodBuilder("isEmpty")
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameter(typeClass, VALUE)
+                    .returns(TypeName.BOOLEAN)
+                    .addStatement("return $L.isEmpty($N.value)", codec(aliasType, VALUE), VALUE)
+                    .build());
+        }
+        return codec.addFields(constants.values()).build();
+    }
+
+    private TypeSpec codec(MethodSpec serialize, MethodSpec deserialize) {
+        return codecBuilder(serialize, deserialize)
+                .addFields(constants.values())
+                .build();
+    }
+
+    private TypeSpec.Builder codecBuilder(MethodSpec serialize, MethodSpec deserialize) {
+        return TypeSpec.classBuilder(codecClass)
+                .addAnnotation(ConjureAnnotations.getConjureGeneratedAnnotation(StreamingCodecGenerator.class))
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .addSuperinterface(ParameterizedTypeName.get(ClassName.get(StreamingCodec.class), typeClass))
+                .addField(FieldSpec.builder(codecClass, INSTANCE, Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("new $T()", codecClass)
+                        .build())
+                .addMethod(serialize)
+                .addMethod(deserialize);
+    }
+
+    private static MethodSpec.Builder serializeMethod(ClassName typeClass) {
+        return MethodSpec.methodBuilder("serialize")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(typeClass, VALUE)
+                .addParameter(JsonGenerator.class, GENERATOR)
+                .addException(IOException.class);
+    }
+
+    private static MethodSpec.Builder deserializeMethod(ClassName typeClass) {
+        return MethodSpec.methodBuilder("deserialize")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(JsonParser.class, PARSER)
+                .addException(IOException.class)
+                .returns(typeClass);
+    }
+
+    /** Iterates over the fields of the current object, running {@code body} with the parser on each value. */
+    private CodeBlock readFields(CodeBlock body) {
+        CodeBlock.Builder loop = CodeBlock.builder()
+                .beginControlFlow("while ($N.nextToken() == $T.FIELD_NAME)", PARSER, JsonToken.class);
+        if (body.isEmpty()) {
+            if (options.strictObjects()) {
+                loop.addStatement("$T $N = $N.getCurrentName()", String.class, FIELD, PARSER)
+                        .addStatement("$N.nextToken()", PARSER)
+                        .add(unknownField());
+            } else {
+                loop.addStatement("$N.nextToken()", PARSER).add(unknownField());
+            }
+        } else {
+            loop.addStatement("$T $N = $N.getCurrentName()", String.class, FIELD, PARSER)
+                    .addStatement("$N.nextToken()", PARSER)
+                    .add(body);
+        }
+        return loop.endControlFlow().build();
+    }
+
+    private CodeBlock unknownField() {
+        if (options.strictObjects()) {
+            return CodeBlocks.statement(
+                    "$T.unknownField($N, $T.class, $N)", StreamingCodecs.class, PARSER, typeClass, FIELD);
+        }
+        return CodeBlocks.statement("$N.skipChildren()", PARSER);
+    }
+
+    /**
+     * Writes a field stored by {@link CompactOptionals} from its storage and presence, rather than materializing the
+     * optional using its getter.
+     */
+    private CodeBlock writeCompact(EnrichedField field, CompactOptionals compactOptionals) {
+        String name = field.poetSpec().name;
+        Type itemType =
+                field.conjureDef().getType().accept(TypeVisitor.OPTIONAL).getItemType();
+        CodeBlock present = compactOptionals.isPresent(CodeBlock.of("$N", VALUE), field);
+        CodeBlock writeName = CodeBlocks.statement(
+                "$N.writeFieldName($S)", GENERATOR, field.fieldName().get());
+        // safelong values are stored as a primitive long
+        CodeBlock writeValue = itemType.accept(TypeVisitor.PRIMITIVE).get() == PrimitiveType.Value.SAFELONG
+                ? CodeBlocks.statement("$N.writeNumber($N.$N)", GENERATOR, VALUE, name)
+                : write(itemType, CodeBlock.of("$N.$N", VALUE, name), codec(itemType, name + "Value"));
+        if (options.excludeEmptyOptionals()) {
+            return CodeBlock.builder()
+                    .beginControlFlow("if ($L)", present)
+                    .add(writeName)
+                    .add(writeValue)
+                    .endControlFlow()
+                    .build();
+        }
+        return CodeBlock.builder()
+                .add(writeName)
+                .beginControlFlow("if ($L)", present)
+                .add(writeValue)
+                .nextControlFlow("else")
+                .addStatement("$N.writeNull()", GENERATOR)
+                .endControlFlow()
+                .build();
+    }
+
+    private CodeBlock fieldValue(EnrichedField field) {
+        if (field.conjureDef().getType().accept(TypeVisitor.IS_BINARY) && !options.useImmutableBytes()) {
+            // the getter provides a read-only view, leaving the buffer position untouched
+            return CodeBlock.of("$N.$N()", VALUE, field.getterName());
+        }
+        return CodeBlock.of("$N.$N", VALUE, field.poetSpec().name);
+    }
+
+    /** Mirrors the {@code JsonInclude} annotations added to bean getters by {@link BeanGenerator}. */
+    private Optional<CodeBlock> nonEmptyCondition(
+            EnrichedField field, Map<com.palantir.conjure.spec.TypeName, TypeDefinition> typesMap) {
+        Type type = field.conjureDef().getType();
+        Type dealiased = type.accept(TypeVisitor.IS_REFERENCE)
+                ? TypeFunctions.toConjureTypeWithoutAliases(type, typesMap)
+                : type;
+        boolean excludeEmpty = (options.excludeEmptyOptionals() && dealiased.accept(TypeVisitor.IS_OPTIONAL))
+                || (options.excludeEmptyCollections() && dealiased.accept(MoreVisitors.IS_COLLECTION));
+        if (!excludeEmpty) {
+            return Optional.empty();
+        }
+        CodeBlock value = fieldValue(field);
+        if (type.accept(TypeVisitor.IS_OPTIONAL)) {
+            return Optional.of(CodeBlock.of("$L.isPresent()", value));
+        }
+        if (type.accept(MoreVisitors.IS_COLLECTION)) {
+            return Optional.of(CodeBlock.of("!$L.isEmpty()", value));
+        }
+        return Optional.of(CodeBlock.of("!$L.isEmpty($L)", codec(type, field.poetSpec().name), value));
+    }
+
+    /** Writes {@code value} using {@code codec}, inlining the generator calls for simple primitives. */
+    private static CodeBlock write(Type type, CodeBlock value, CodeBlock codec) {
+        if (type.accept(TypeVisitor.IS_PRIMITIVE)) {
+            switch (type.accept(TypeVisitor.PRIMITIVE).get()) {
+                case STRING:
+                    return CodeBlocks.statement("$N.writeString($L)", GENERATOR, value);
+                case INTEGER:
+                case DOUBLE:
+                    return CodeBlocks.statement("$N.writeNumber($L)", GENERATOR, value);
+                case BOOLEAN:
+                    return CodeBlocks.statement("$N.writeBoolean($L)", GENERATOR, value);
+                case SAFELONG:
+                    return CodeBlocks.statement("$N.writeNumber($L.longValue())", GENERATOR, value);
+                case UUID:
+                case RID:
+                    return CodeBlocks.statement("$N.writeString($L.toString())", GENERATOR, value);
+                default:
+                    // handled by the codec below
+            }
+        }
+        return CodeBlocks.statement("$L.serialize($L, $N)", codec, value, GENERATOR);
+    }
+
+    /** Reads a value using {@code codec}, inlining the parser calls for simple primitives. */
+    private static CodeBlock read(Type type, CodeBlock codec) {
+        if (type.accept(TypeVisitor.IS_PRIMITIVE)) {
+            switch (type.accept(TypeVisitor.PRIMITIVE).get()) {
+                case STRING:
+                    return CodeBlock.of("$T.readString($N)", StreamingCodecs.class, PARSER);
+                case INTEGER:
+                    return CodeBlock.of("$T.readInteger($N)", StreamingCodecs.class, PARSER);
+                case DOUBLE:
+                    return CodeBlock.of("$T.readDouble($N)", StreamingCodecs.class, PARSER);
+                case BOOLEAN:
+                    return CodeBlock.of("$T.readBoolean($N)", StreamingCodecs.class, PARSER);
+                case SAFELONG:
+                    return CodeBlock.of("$T.readSafeLong($N)", StreamingCodecs.class, PARSER);
+                case UUID:
+                    return CodeBlock.of("$T.readUuid($N)", StreamingCodecs.class, PARSER);
+                case RID:
+                    return CodeBlock.of("$T.readResourceIdentifier($N)", StreamingCodecs.class, PARSER);
+                default:
+                    // handled by the codec below
+            }
+        }
+        return CodeBlock.of("$L.deserialize($N)", codec, PARSER);
+    }
+
+    /**
+     * Returns an expression for the codec of {@code type}. Composite codecs are hoisted into constants of the
+     * generated codec class, named after the first field which uses them.
+     */
+    private CodeBlock codec(Type type, String name) {
+        return codec(type, name, false);
+    }
+
+    /**
+     * Returns the codec for a bean field. Mirrors the {@code contentNulls} handling of builder setters, which only
+     * applies to the elements of collections declared directly on the field. Primitive lists never contain nulls.
+     */
+    private CodeBlock fieldCodec(EnrichedField field) {
+        Type type = field.conjureDef().getType();
+        Optional<Class<?>> primitiveList = PrimitiveLists.implementation(type, options);
+        if (primitiveList.isPresent()) {
+            return CodeBlock.of(
+                    "$T.$N()",
+                    StreamingCodecs.class,
+                    primitiveList.get().equals(IntegerList.class) ? "integerLists" : "doubleLists");
+        }
+        boolean nonNullElements = options.nonNullCollections()
+                && type.accept(MoreVisitors.IS_COLLECTION)
+                && !BeanBuilderGenerator.isOptionalInnerType(typeMapper, type);
+        return codec(type, field.poetSpec().name, nonNullElements);
+    }
+
+    private CodeBlock codec(Type type, String name, boolean nonNullElements) {
+        CodeBlock expression = type.accept(new CodecVisitor(nonNullElements));
+        if (!isComposite(type)) {
+            return expression;
+        }
+        FieldSpec constant = constants.computeIfAbsent(expression, _expression -> FieldSpec.builder(
+                        ParameterizedTypeName.get(
+                                ClassName.get(StreamingCodec.class),
+                                typeMapper.getClassName(type).box()),
+                        constantName(name),
+                        Modifier.PRIVATE,
+                        Modifier.STATIC,
+                        Modifier.FINAL)
+                .initializer(expression)
+                .build());
+        return CodeBlock.of("$N", constant);
+    }
+
+    private String constantName(String name) {
+        String base = CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, name);
+        String candidate = base;
+        for (int suffix = 1; candidate.equals(INSTANCE) || isConstantName(candidate); suffix++) {
+            candidate = base + "_" + suffix;
+        }
+        return candidate;
+    }
+
+    private boolean isConstantName(String name) {
+        return constants.values().stream().anyMatch(constant -> constant.name.equals(name));
+    }
+
+    private static boolean isComposite(Type type) {
+        if (type.accept(TypeVisitor.IS_REFERENCE)) {
+            return false;
+        }
+        if (type.accept(TypeVisitor.IS_PRIMITIVE)) {
+            return isDatabindPrimitive(type.accept(TypeVisitor.PRIMITIVE));
+        }
+        if (type.accept(TypeVisitor.IS_OPTIONAL)) {
+            Type itemType = type.accept(TypeVisitor.OPTIONAL).getItemType();
+            return !(itemType.accept(TypeVisitor.IS_PRIMITIVE)
+                    && (itemType.accept(TypeVisitor.PRIMITIVE).equals(PrimitiveType.INTEGER)
+                            || itemType.accept(TypeVisitor.PRIMITIVE).equals(PrimitiveType.DOUBLE)));
+        }
+        return true;
+    }
+
+    private static boolean isDatabindPrimitive(PrimitiveType primitive) {
+        switch (primitive.get()) {
+            case STRING:
+            case INTEGER:
+            case DOUBLE:
+            case BOOLEAN:
+            case SAFELONG:
+            case UUID:
+            case RID:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    private CodeBlock databind(Type type) {
+        return CodeBlock.of(
+                "$T.databind(new $T<$T>() {})",
+                StreamingCodecs.class,
+                TypeReference.class,
+                typeMapper.getClassName(type).box());
+    }
+
+    /** Builds the (unhoisted) codec expression for a type. */
+    private final class CodecVisitor implements Type.Visitor<CodeBlock> {
+
+        private final boolean nonNullElements;
+
+        CodecVisitor(boolean nonNullElements) {
+            this.nonNullElements = nonNullElements;
+        }
+
+        @Override
+        public CodeBlock visitPrimitive(PrimitiveType value) {
+            switch (value.get()) {
+                case STRING:
+                    return CodeBlock.of("$T.strings()", StreamingCodecs.class);
+                case INTEGER:
+                    return CodeBlock.of("$T.integers()", StreamingCodecs.class);
+                case DOUBLE:
+                    return CodeBlock.of("$T.doubles()", StreamingCodecs.class);
+                case BOOLEAN:
+                    return CodeBlock.of("$T.booleans()", StreamingCodecs.class);
+                case SAFELONG:
+                    return CodeBlock.of("$T.safeLongs()", StreamingCodecs.class);
+                case UUID:
+                    return CodeBlock.of("$T.uuids()", StreamingCodecs.class);
+                case RID:
+                    return CodeBlock.of("$T.resourceIdentifiers()", StreamingCodecs.class);
+                default:
+                    return databind(Type.primitive(value));
+            }
+        }
+
+        @Override
+        public CodeBlock visitOptional(OptionalType value) {
+            Type itemType = value.getItemType();
+            if (itemType.accept(TypeVisitor.IS_PRIMITIVE)) {
+                PrimitiveType primitive = itemType.accept(TypeVisitor.PRIMITIVE);
+                if (primitive.equals(PrimitiveType.INTEGER)) {
+                    return CodeBlock.of("$T.optionalInts()", StreamingCodecs.class);
+                } else if (primitive.equals(PrimitiveType.DOUBLE)) {
+                    return CodeBlock.of("$T.optionalDoubles()", StreamingCodecs.class);
+                }
+            }
+            return CodeBlock.of("$T.optional($L)", StreamingCodecs.class, itemType.accept(new CodecVisitor(false)));
+        }
+
+        @Override
+        public CodeBlock visitList(ListType value) {
+            return CodeBlock.of("$T.list($L)", StreamingCodecs.class, element(value.getItemType()));
+        }
+
+        @Override
+        public CodeBlock visitSet(SetType value) {
+            return CodeBlock.of("$T.set($L)", StreamingCodecs.class, element(value.getItemType()));
+        }
+
+        @Override
+        public CodeBlock visitMap(MapType value) {
+            return keyReader(value.getKeyType())
+                    .map(keys ->
+                            CodeBlock.of("$T.map($L, $L)", StreamingCodecs.class, keys, element(value.getValueType())))
+                    .orElseGet(() -> databind(Type.map(value)));
+        }
+
+        @Override
+        public CodeBlock visitReference(com.palantir.conjure.spec.TypeName value) {
+            ClassName referenced = (ClassName) typeMapper.getClassName(Type.reference(value));
+            return CodeBlock.of("$T.$N", referenced.nestedClass(CODEC_CLASS_NAME), INSTANCE);
+        }
+
+        @Override
+        public CodeBlock visitExternal(ExternalReference value) {
+            return databind(Type.external(value));
+        }
+
+        @Override
+        public CodeBlock visitUnknown(String unknownType) {
+            throw new SafeIllegalStateException("Encountered unknown type", SafeArg.of("type", unknownType));
+        }
+
+        private CodeBlock element(Type type) {
+            CodeBlock codec = type.accept(new CodecVisitor(false));
+            if (nonNullElements) {
+                return CodeBlock.of("$T.nonNull($L)", StreamingCodecs.class, codec);
+            }
+            return codec;
+        }
+
+        /** Map keys are read from their string form, matching the jackson key deserializers of each type. */
+        private Optional<CodeBlock> keyReader(Type keyType) {
+            if (keyType.accept(TypeVisitor.IS_PRIMITIVE)) {
+                switch (keyType.accept(TypeVisitor.PRIMITIVE).get()) {
+                    case STRING:
+                        return Optional.of(CodeBlock.of("$T.identity()", Function.class));
+                    case INTEGER:
+                        return Optional.of(CodeBlock.of("$T::valueOf", Integer.class));
+                    case SAFELONG:
+                        return Optional.of(CodeBlock.of("$T::valueOf", SafeLong.class));
+                    case UUID:
+                        return Optional.of(CodeBlock.of("$T::fromString", UUID.class));
+                    case RID:
+                        return Optional.of(CodeBlock.of("$T::valueOf", ResourceIdentifier.class));
+                    default:
+                        return Optional.empty();
+                }
+            }
+            if (keyType.accept(TypeVisitor.IS_REFERENCE)) {
+                com.palantir.conjure.spec.TypeName name = keyType.accept(TypeVisitor.REFERENCE);
+                boolean isEnum = typeMapper
+                        .getType(name)
+                        .map(definition -> definition.accept(TypeDefinitionVisitor.IS_ENUM))
+                        .orElse(false);
+                if (isEnum) {
+                    return Optional.of(CodeBlock.of("$T::valueOf", typeMapper.getClassName(keyType)));
+                }
+            }
+            return Optional.empty();
+        }
+    }
+}
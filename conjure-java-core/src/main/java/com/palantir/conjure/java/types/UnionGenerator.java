@@ -135,6 +135,21 @@ public final class UnionGenerator {
                                 .map(fieldSpec -> FieldName.of(fieldSpec.name))
                                 .collect(Collectors.toList())));
 
+        if (options.experimentalStreamingCodecs()) {
+            typeBuilder
+                    .addAnnotation(StreamingCodecGenerator.hasStreamingCodec(unionClass))
+                    .addType(StreamingCodecGenerator.generateUnionCodec(
+                            typeMapper,
+                            options,
+                            unionClass,
+                            typeDef.getUnion(),
+                            memberName -> wrapperClass(unionClass, sanitizeUnknown(memberName)),
+                            unionClass.nestedClass(UNKNOWN_WRAPPER_CLASS_NAME)))
+                    // replaces jackson polymorphic handling of the wrappers, which buffers whenever type is not first
+                    .addAnnotations(StreamingCodecGenerator.databindAnnotations(unionClass))
+                    .addTypes(StreamingCodecGenerator.generateDatabindAdapters(unionClass));
+        }
+
         typeDef.getDocs().ifPresent(docs -> typeBuilder.addJavadoc("$L", Javadoc.render(docs)));
 
         return JavaFile.builder(prefixedTypeName.getPackage(), typeBuilder.build())
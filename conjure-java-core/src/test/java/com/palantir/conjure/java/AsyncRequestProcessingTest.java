@@ -76,6 +76,7 @@ public final class AsyncRequestProcessingTest extends TestBase {
     private static final int PORT = 12347;
 
     private ListeningScheduledExecutorService executor;
+    private ConjureUndertowRuntime runtime;
     private Undertow server;
     private AsyncRequestProcessingTestService client;
 
@@ -98,15 +99,16 @@ public final class AsyncRequestProcessingTest extends TestBase {
     @BeforeEach
     public void before() {
         executor = MoreExecutors.listeningDecorator(Executors.newSingleThreadScheduledExecutor());
+        runtime = ConjureUndertowRuntime.builder()
+                // Use a 1 second timeout so we can wait for the timeout to be hit without tests running
+                // too long.
+                .asyncTimeout(Duration.ofSeconds(1))
+                .build();
         server = Undertow.builder()
                 .setServerOption(UndertowOptions.DECODE_URL, false)
                 .addHttpListener(PORT, "0.0.0.0")
                 .setHandler(ConjureHandler.builder()
-                        .runtime(ConjureUndertowRuntime.builder()
-                                // Use a 1 second timeout so we can wait for the timeout to be hit without tests running
-                                // too long.
-                                .asyncTimeout(Duration.ofSeconds(1))
-                                .build())
+                        .runtime(runtime)
                         .services(AsyncRequestProcessingTestServiceEndpoints.of(
                                 new AsyncRequestProcessingTestResource(executor)))
                         .build())
@@ -151,6 +153,8 @@ public final class AsyncRequestProcessingTest extends TestBase {
             assertThat(response).matches(Response::isSuccessful);
             assertThat(response.body().string()).isEqualTo("\"Completed after 100ms\"");
         }
+        assertThat(runtime.asyncRequestsInFlight()).isZero();
+        assertThat(runtime.asyncRequestTimeouts()).isZero();
     }
 
     @Test
@@ -162,6 +166,7 @@ public final class AsyncRequestProcessingTest extends TestBase {
             assertThat(error.errorName()).isEqualTo("Conjure:AsyncRequestProcessingTimeout");
             assertThat(error.parameters()).containsEntry("timeoutSeconds", "1");
         }
+        assertThat(runtime.asyncRequestTimeouts()).isOne();
     }
 
     @Test
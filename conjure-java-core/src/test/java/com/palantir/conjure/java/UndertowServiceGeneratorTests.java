@@ -129,6 +129,31 @@ public final class UndertowServiceGeneratorTests extends TestBase {
         validateGeneratorOutput(files, Paths.get("src/test/resources/test/api"), ".undertow");
     }
 
+    @Test
+    public void testCompletionStagesAndPublishers() throws IOException {
+        ConjureDefinition def =
+                Conjure.parse(ImmutableList.of(new File("src/test/resources/undertow-reactive-endpoint.yml")));
+        List<Path> files = new GenerationCoordinator(
+                        MoreExecutors.directExecutor(),
+                        ImmutableSet.of(new UndertowServiceGenerator(
+                                Options.builder().undertowCompletionStages(true).build())))
+                .emit(def, tempDir);
+        validateGeneratorOutput(files, Paths.get("src/test/resources/test/api"), ".undertow");
+    }
+
+    @Test
+    public void testPrimitiveParameters() throws IOException {
+        ConjureDefinition def =
+                Conjure.parse(ImmutableList.of(new File("src/test/resources/undertow-primitive-parameters.yml")));
+        List<Path> files = new GenerationCoordinator(
+                        MoreExecutors.directExecutor(),
+                        ImmutableSet.of(new UndertowServiceGenerator(Options.builder()
+                                .undertowPrimitiveParameters(true)
+                                .build())))
+                .emit(def, tempDir);
+        validateGeneratorOutput(files, Paths.get("src/test/resources/test/api"), ".undertow");
+    }
+
     private void testServiceGeneration(String conjureFile) throws IOException {
         ConjureDefinition def = Conjure.parse(ImmutableList.of(new File("src/test/resources/" + conjureFile + ".yml")));
         List<Path> files = new GenerationCoordinator(
@@ -0,0 +1,113 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.palantir.compact.CompactOptionalExample;
+import com.palantir.compact.CompactOptionalsExample;
+import com.palantir.conjure.java.lib.SafeLong;
+import com.palantir.conjure.java.serialization.ObjectMappers;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import org.junit.jupiter.api.Test;
+
+public class CompactOptionalsTests {
+
+    private static final ObjectMapper MAPPER = ObjectMappers.newServerObjectMapper();
+
+    private static final CompactOptionalsExample EXAMPLE = CompactOptionalsExample.builder()
+            .integer(0)
+            .num(1.5)
+            .bool(false)
+            .safelong(SafeLong.of(3))
+            .string("a")
+            .required(4)
+            .build();
+
+    @Test
+    public void testGettersMaterializeOptionals() {
+        assertThat(EXAMPLE.getInteger()).isEqualTo(OptionalInt.of(0));
+        assertThat(EXAMPLE.getNum()).isEqualTo(OptionalDouble.of(1.5));
+        assertThat(EXAMPLE.getBool()).contains(false);
+        assertThat(EXAMPLE.getSafelong()).contains(SafeLong.of(3));
+        assertThat(EXAMPLE.getString()).contains("a");
+        assertThat(EXAMPLE.getDatetime()).isEmpty();
+        assertThat(EXAMPLE.getList()).isEmpty();
+    }
+
+    @Test
+    public void testAbsentDiffersFromDefaultValue() {
+        CompactOptionalExample empty = CompactOptionalExample.of(OptionalInt.empty());
+        CompactOptionalExample zero = CompactOptionalExample.of(OptionalInt.of(0));
+        assertThat(empty.getValue()).isEmpty();
+        assertThat(empty).isNotEqualTo(zero);
+        assertThat(empty.hashCode()).isNotEqualTo(zero.hashCode());
+        assertThat(zero).isEqualTo(CompactOptionalExample.builder().value(0).build());
+        assertThat(zero)
+                .hasSameHashCodeAs(CompactOptionalExample.builder().value(0).build());
+    }
+
+    @Test
+    public void testToStringMatchesOptionalFields() {
+        assertThat(CompactOptionalExample.of(OptionalInt.of(1)))
+                .hasToString("CompactOptionalExample{value: OptionalInt[1]}");
+        assertThat(EXAMPLE.toString()).contains("string: Optional[a]", "datetime: Optional.empty");
+    }
+
+    @Test
+    public void testDatabindRoundTrip() throws IOException {
+        String json = MAPPER.writeValueAsString(EXAMPLE);
+        assertThat(json)
+                .isEqualTo("{\"integer\":0,\"num\":1.5,\"bool\":false,\"safelong\":3,\"string\":\"a\",\"required\":4}");
+        assertThat(MAPPER.readValue(json, CompactOptionalsExample.class)).isEqualTo(EXAMPLE);
+        assertThat(MAPPER.readValue("{\"integer\":null,\"required\":4}", CompactOptionalsExample.class)
+                        .getInteger())
+                .isEmpty();
+    }
+
+    @Test
+    public void testStreamingCodecRoundTrip() throws IOException {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(writer)) {
+            CompactOptionalsExample.Codec.INSTANCE.serialize(EXAMPLE, generator);
+        }
+        assertThat(writer.toString()).isEqualTo(MAPPER.writeValueAsString(EXAMPLE));
+        try (JsonParser parser = MAPPER.getFactory().createParser(writer.toString())) {
+            parser.nextToken();
+            assertThat(CompactOptionalsExample.Codec.INSTANCE.deserialize(parser))
+                    .isEqualTo(EXAMPLE);
+        }
+    }
+
+    @Test
+    public void testBuilderFromCopiesAbsentFields() {
+        assertThat(CompactOptionalsExample.builder().from(EXAMPLE).build()).isEqualTo(EXAMPLE);
+        assertThat(CompactOptionalsExample.builder()
+                        .from(EXAMPLE)
+                        .string(Optional.empty())
+                        .build()
+                        .getString())
+                .isEmpty();
+    }
+}
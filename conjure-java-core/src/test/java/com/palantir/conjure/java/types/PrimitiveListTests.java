@@ -0,0 +1,90 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.palantir.conjure.java.lib.IntegerList;
+import com.palantir.conjure.java.serialization.ObjectMappers;
+import com.palantir.primitive.PrimitiveListExample;
+import com.palantir.primitive.PrimitiveListPair;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class PrimitiveListTests {
+
+    private static final ObjectMapper MAPPER = ObjectMappers.newServerObjectMapper();
+
+    private static final PrimitiveListExample EXAMPLE = PrimitiveListExample.builder()
+            .integers(List.of(1, 2))
+            .integers(3)
+            .doubles(List.of(1.5, Double.NaN))
+            .strings("a")
+            .integerSet(4)
+            .build();
+
+    @Test
+    public void testFieldsUsePrimitiveLists() {
+        assertThat(EXAMPLE.getIntegers()).isInstanceOf(IntegerList.class).containsExactly(1, 2, 3);
+        assertThat(EXAMPLE.getIntegers().getInt(2)).isEqualTo(3);
+        assertThat(EXAMPLE.getDoubles().toDoubleArray()).containsExactly(1.5, Double.NaN);
+        assertThatThrownBy(() -> EXAMPLE.getIntegers().addInt(4)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testStaticFactoryAcceptsAnyList() {
+        assertThat(PrimitiveListPair.of(List.of(1), List.of(2.0)).getIntegers()).isEqualTo(IntegerList.of(1));
+    }
+
+    @Test
+    public void testDatabindRoundTrip() throws IOException {
+        String json = MAPPER.writeValueAsString(EXAMPLE);
+        assertThat(json)
+                .isEqualTo("{\"integers\":[1,2,3],\"doubles\":[1.5,\"NaN\"],\"strings\":[\"a\"],"
+                        + "\"optionalIntegers\":null,\"integerSet\":[4]}");
+        assertThat(MAPPER.readValue(json, PrimitiveListExample.class)).isEqualTo(EXAMPLE);
+        assertThat(MAPPER.readValue("{\"integers\":null}", PrimitiveListExample.class)
+                        .getIntegers())
+                .isEmpty();
+    }
+
+    @Test
+    public void testDatabindRejectsNullElements() {
+        assertThatThrownBy(() -> MAPPER.readValue("{\"integers\":[1,null]}", PrimitiveListExample.class))
+                .isInstanceOf(JsonMappingException.class);
+    }
+
+    @Test
+    public void testStreamingCodecRoundTrip() throws IOException {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(writer)) {
+            PrimitiveListExample.Codec.INSTANCE.serialize(EXAMPLE, generator);
+        }
+        assertThat(writer.toString()).isEqualTo(MAPPER.writeValueAsString(EXAMPLE));
+        try (JsonParser parser = MAPPER.getFactory().createParser(writer.toString())) {
+            parser.nextToken();
+            assertThat(PrimitiveListExample.Codec.INSTANCE.deserialize(parser)).isEqualTo(EXAMPLE);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.google.common.collect.ImmutableMap;
+import com.palantir.conjure.java.lib.Bytes;
+import com.palantir.conjure.java.lib.SafeLong;
+import com.palantir.conjure.java.lib.internal.StreamingCodec;
+import com.palantir.conjure.java.serialization.ObjectMappers;
+import com.palantir.ri.ResourceIdentifier;
+import com.palantir.streaming.StreamingEmptyObject;
+import com.palantir.streaming.StreamingEnum;
+import com.palantir.streaming.StreamingListAlias;
+import com.palantir.streaming.StreamingObject;
+import com.palantir.streaming.StreamingObjectKey;
+import com.palantir.streaming.StreamingOptionalAlias;
+import com.palantir.streaming.StreamingStringAlias;
+import com.palantir.streaming.StreamingUnion;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class StreamingCodecTests {
+
+    private static final ObjectMapper MAPPER = ObjectMappers.newServerObjectMapper();
+
+    private static final StreamingObject OBJECT = StreamingObject.builder()
+            .string("string")
+            .integer(1)
+            .doubleValue(Double.NaN)
+            .flag(true)
+            .safeLong(SafeLong.of(9007199254740991L))
+            .uuid(UUID.fromString("c8ffc50b-b4d0-44e4-9d6b-0e3a44fa7d2d"))
+            .rid(ResourceIdentifier.of("ri.service.instance.type.locator"))
+            .datetime(OffsetDateTime.parse("2022-01-02T03:04:05.678Z"))
+            .binary(Bytes.from(new byte[] {1, 2, 3}))
+            .any(ImmutableMap.of("key", List.of(1, "two")))
+            .optionalInteger(OptionalInt.of(2))
+            .items(List.of("a", "b"))
+            .itemsSet(Set.of(StreamingEnum.ONE, StreamingEnum.valueOf("THREE")))
+            .itemsMap(ImmutableMap.of("a", List.of(1, 2)))
+            .enumMap(ImmutableMap.of(StreamingEnum.TWO, Optional.of("two")))
+            .complexMap(ImmutableMap.of(StreamingObjectKey.of(OffsetDateTime.parse("2022-01-02T03:04:05Z")), "c"))
+            .alias(StreamingStringAlias.of("alias"))
+            .optionalAlias(StreamingOptionalAlias.of(OptionalInt.empty()))
+            .listAlias(StreamingListAlias.of(List.of(StreamingStringAlias.of("element"))))
+            .union(StreamingUnion.items(List.of(StreamingEnum.ONE)))
+            .empty(StreamingEmptyObject.of())
+            .build();
+
+    @Test
+    public void testSerializationMatchesDatabind() throws IOException {
+        assertThat(MAPPER.readTree(serialize(StreamingObject.Codec.INSTANCE, OBJECT)))
+                .isEqualTo(MAPPER.readTree(MAPPER.writeValueAsString(OBJECT)));
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        assertThat(deserialize(StreamingObject.Codec.INSTANCE, serialize(StreamingObject.Codec.INSTANCE, OBJECT)))
+                .isEqualTo(OBJECT);
+        assertThat(deserialize(StreamingObject.Codec.INSTANCE, MAPPER.writeValueAsString(OBJECT)))
+                .isEqualTo(OBJECT);
+    }
+
+    @Test
+    public void testOmitsEmptyOptionals() throws IOException {
+        JsonNode node = MAPPER.readTree(serialize(StreamingObject.Codec.INSTANCE, OBJECT));
+        assertThat(node.has("optionalString")).isFalse();
+        assertThat(node.has("optionalDouble")).isFalse();
+        assertThat(node.has("optionalAlias")).isFalse();
+        assertThat(node.get("optionalInteger").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    public void testDeserializesMissingAndNullCollections() throws IOException {
+        String json = MAPPER.writeValueAsString(OBJECT)
+                .replace("\"items\":[\"a\",\"b\"]", "\"items\":null")
+                .replace("\"optionalInteger\":2", "\"optionalDouble\":null");
+        StreamingObject value = deserialize(StreamingObject.Codec.INSTANCE, json);
+        assertThat(value.getItems()).isEmpty();
+        assertThat(value.getOptionalInteger()).isEmpty();
+        assertThat(value.getOptionalDouble()).isEqualTo(OptionalDouble.empty());
+        assertThat(value).isEqualTo(MAPPER.readValue(json, StreamingObject.class));
+    }
+
+    @Test
+    public void testRejectsNullCollectionElements() throws IOException {
+        String json = MAPPER.writeValueAsString(OBJECT).replace("\"items\":[\"a\",\"b\"]", "\"items\":[\"a\",null]");
+        assertThatThrownBy(() -> MAPPER.readValue(json, StreamingObject.class))
+                .isInstanceOf(MismatchedInputException.class);
+        assertThatThrownBy(() -> deserialize(StreamingObject.Codec.INSTANCE, json))
+                .isInstanceOf(MismatchedInputException.class);
+    }
+
+    @Test
+    public void testUnionTypeAfterValue() throws IOException {
+        StreamingUnion expected = StreamingUnion.integer(3);
+        assertThat(deserialize(StreamingUnion.Codec.INSTANCE, "{\"integer\":3,\"type\":\"integer\"}"))
+                .isEqualTo(expected);
+        assertThat(deserialize(StreamingUnion.Codec.INSTANCE, "{\"type\":\"integer\",\"integer\":3}"))
+                .isEqualTo(expected);
+    }
+
+    @Test
+    public void testDatabindReadsUnionsWithCodec() throws IOException {
+        assertThat(MAPPER.readValue("{\"integer\":3,\"type\":\"integer\"}", StreamingUnion.class))
+                .isEqualTo(StreamingUnion.integer(3));
+        assertThat(MAPPER.writeValueAsString(StreamingUnion.integer(3)))
+                .isEqualTo("{\"type\":\"integer\",\"integer\":3}");
+        // like jackson type ids, scalar discriminators are read as text
+        assertThat(MAPPER.readValue("{\"type\":1,\"1\":3}", StreamingUnion.class))
+                .isEqualTo(StreamingUnion.unknown("1", 3));
+    }
+
+    @Test
+    public void testRejectsUnionsWithoutValue() {
+        for (String json : List.of(
+                "{\"type\":\"integer\"}",
+                "{\"type\":\"string\",\"string\":null}",
+                "{\"string\":\"a\"}",
+                "{\"type\":null,\"string\":\"a\"}")) {
+            assertThatThrownBy(() -> MAPPER.readValue(json, StreamingUnion.class))
+                    .as(json)
+                    .isInstanceOf(MismatchedInputException.class);
+        }
+    }
+
+    @Test
+    public void testUnknownUnionRoundTrip() throws IOException {
+        String json = "{\"type\":\"other\",\"other\":{\"nested\":[1,2]}}";
+        StreamingUnion value = deserialize(StreamingUnion.Codec.INSTANCE, json);
+        assertThat(value).isEqualTo(MAPPER.readValue(json, StreamingUnion.class));
+        assertThat(MAPPER.readTree(serialize(StreamingUnion.Codec.INSTANCE, value)))
+                .isEqualTo(MAPPER.readTree(json));
+    }
+
+    @Test
+    public void testUnknownFieldsRejectedByServerMapper() {
+        String json = "{\"unknown\":1}";
+        assertThatThrownBy(() -> MAPPER.readValue(json, StreamingEmptyObject.class))
+                .isInstanceOf(UnrecognizedPropertyException.class);
+        assertThatThrownBy(() -> deserialize(StreamingEmptyObject.Codec.INSTANCE, json))
+                .isInstanceOf(UnrecognizedPropertyException.class);
+    }
+
+    @Test
+    public void testUnknownFieldsIgnoredByClientMapper() throws IOException {
+        ObjectMapper client = ObjectMappers.newClientObjectMapper();
+        assertThat(deserialize(client, StreamingEmptyObject.Codec.INSTANCE, "{\"unknown\":{\"a\":[1]}}"))
+                .isEqualTo(StreamingEmptyObject.of());
+    }
+
+    @Test
+    public void testNullValues() throws IOException {
+        assertThat(deserialize(StreamingObject.Codec.INSTANCE, "null")).isNull();
+        assertThat(deserialize(StreamingEnum.Codec.INSTANCE, "null")).isNull();
+        assertThat(deserialize(StreamingStringAlias.Codec.INSTANCE, "null")).isNull();
+        assertThat(deserialize(StreamingOptionalAlias.Codec.INSTANCE, "null"))
+                .isEqualTo(StreamingOptionalAlias.of(OptionalInt.empty()));
+    }
+
+    private static <T> String serialize(StreamingCodec<T> codec, T value) throws IOException {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(writer)) {
+            codec.serialize(value, generator);
+        }
+        return writer.toString();
+    }
+
+    private static <T> T deserialize(StreamingCodec<T> codec, String json) throws IOException {
+        return deserialize(MAPPER, codec, json);
+    }
+
+    private static <T> T deserialize(ObjectMapper mapper, StreamingCodec<T> codec, String json) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(json)) {
+            parser.nextToken();
+            return codec.deserialize(parser);
+        }
+    }
+}
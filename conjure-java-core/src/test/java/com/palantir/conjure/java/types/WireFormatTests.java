@@ -60,6 +60,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -88,6 +89,30 @@ public final class WireFormatTests {
                 .containsEntry("a", "b");
     }
 
+    @Test
+    public void testDeserializedCollectionsPreserveOrder() throws Exception {
+        assertThat(mapper.readValue("{\"items\": [\"c\", \"a\", \"b\", \"a\"]}", SetExample.class)
+                        .getItems())
+                .containsExactly("c", "a", "b");
+        assertThat(mapper.readValue("{\"items\": {\"c\": \"1\", \"a\": \"2\"}}", MapExample.class)
+                        .getItems())
+                .containsExactly(Map.entry("c", "1"), Map.entry("a", "2"));
+    }
+
+    @Test
+    public void testDeserializedCollectionsRejectNullElements() {
+        assertThatThrownBy(() -> mapper.readValue("{\"items\": [\"a\", null]}", ListExample.class))
+                .isInstanceOf(JsonMappingException.class);
+    }
+
+    @Test
+    public void testBuilderCopiesProvidedCollections() {
+        List<String> items = new ArrayList<>(List.of("a"));
+        ListExample example = ListExample.builder().items(items).build();
+        items.add("b");
+        assertThat(example.getItems()).containsExactly("a");
+    }
+
     @Test
     public void double_alias_should_deserialize_nan() throws IOException {
         assertThat(mapper.readValue("\"NaN\"", DoubleAliasExample.class).get()).isNaN();
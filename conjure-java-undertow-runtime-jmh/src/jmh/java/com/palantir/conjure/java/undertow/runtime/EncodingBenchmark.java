@@ -0,0 +1,112 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.google.common.collect.ImmutableMap;
+import com.palantir.conjure.java.undertow.lib.TypeMarker;
+import com.palantir.product.CollectionsTestAliasList;
+import com.palantir.product.CollectionsTestAliasMap;
+import com.palantir.product.CollectionsTestAliasSet;
+import com.palantir.product.CollectionsTestObject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/** Measures request and response body serialization for each of the default {@link Encodings}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class EncodingBenchmark {
+
+    private static final TypeMarker<CollectionsTestObject> TYPE = new TypeMarker<CollectionsTestObject>() {};
+    private static final CollectionsTestObject VALUE = CollectionsTestObject.builder()
+            .items(List.of("one", "two", "three", "four"))
+            .itemsMap(ImmutableMap.of("five", 5, "six", 6))
+            .optionalItem("optional")
+            .itemsSet(Set.of("seven", "eight"))
+            .alist(CollectionsTestAliasList.of(List.of(9, 10, 11)))
+            .aset(CollectionsTestAliasSet.of(Set.of(12, 13)))
+            .amap(CollectionsTestAliasMap.of(ImmutableMap.of("fourteen", 14)))
+            .build();
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    public EncodingType encodingType;
+
+    private Encoding.Serializer<CollectionsTestObject> serializer;
+    private Encoding.Deserializer<CollectionsTestObject> deserializer;
+    private byte[] serialized;
+
+    public enum EncodingType {
+        JSON(Encodings.json()),
+        SMILE(Encodings.smile()),
+        CBOR(Encodings.cbor());
+
+        private final Encoding encoding;
+
+        EncodingType(Encoding encoding) {
+            this.encoding = encoding;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void before() throws IOException {
+        serializer = encodingType.encoding.serializer(TYPE);
+        deserializer = encodingType.encoding.deserializer(TYPE);
+        serialized = serialize();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        serializer.serialize(VALUE, output);
+        return output.toByteArray();
+    }
+
+    @Benchmark
+    public CollectionsTestObject deserialize() throws IOException {
+        return deserializer.deserialize(new ByteArrayInputStream(serialized));
+    }
+
+    public static void main(String[] _args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(EncodingBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build())
+                .run();
+    }
+}
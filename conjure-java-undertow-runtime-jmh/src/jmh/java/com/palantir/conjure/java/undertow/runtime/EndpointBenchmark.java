@@ -0,0 +1,180 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.google.common.collect.Iterables;
+import com.google.common.net.HttpHeaders;
+import com.palantir.conjure.java.api.errors.ErrorType;
+import com.palantir.conjure.java.api.errors.ServiceException;
+import com.palantir.conjure.java.undertow.lib.Endpoint;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.product.EteServiceEndpoints;
+import io.undertow.Undertow;
+import io.undertow.util.Methods;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Dispatches requests over the loopback interface to the generated {@link EteServiceEndpoints}, exercising the full
+ * handler chain built by {@link ConjureHandler.Builder#build()}: routing, tracing, authorization, parameter decoding,
+ * body serialization and exception handling. Allocation rates include the client, which is shared by all benchmarks.
+ *
+ * <p>The {@link Pipeline#NESTED} and {@link Pipeline#FUSED} parameters compare the default chain of nested handlers
+ * with {@link ConjureHandler.Builder#experimentalFusedPipeline(boolean)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Threads(4)
+@Fork(1)
+public class EndpointBenchmark {
+
+    private static final String AUTHORIZATION = "Bearer benchmark-token";
+    private static final ErrorType ERROR_TYPE = ErrorType.create(ErrorType.Code.INVALID_ARGUMENT, "Benchmark:Error");
+
+    @Param({"NESTED", "FUSED"})
+    public Pipeline pipeline;
+
+    private Undertow server;
+    private HttpClient client;
+    private String baseUrl;
+
+    public enum Pipeline {
+        NESTED,
+        FUSED
+    }
+
+    @Setup(Level.Trial)
+    public void before() {
+        server = Undertow.builder()
+                .addHttpListener(0, "localhost")
+                .setHandler(ConjureHandler.builder()
+                        .experimentalFusedPipeline(pipeline == Pipeline.FUSED)
+                        .services(EteServiceEndpoints.of(new BenchmarkEteService()))
+                        .services(_runtime -> List.of(Endpoint.builder()
+                                .method(Methods.GET)
+                                .template("/errors/service")
+                                .serviceName("BenchmarkService")
+                                .name("serviceException")
+                                .handler(_exchange -> {
+                                    throw new ServiceException(ERROR_TYPE, SafeArg.of("benchmark", "value"));
+                                })
+                                .build()))
+                        .build())
+                .build();
+        server.start();
+        baseUrl = "http://localhost:"
+                + ((InetSocketAddress) Iterables.getOnlyElement(server.getListenerInfo())
+                                .getAddress())
+                        .getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void after() {
+        server.stop();
+    }
+
+    @Benchmark
+    public String string() throws IOException, InterruptedException {
+        return send(get("/base/string"), 200);
+    }
+
+    @Benchmark
+    public String pathParameter() throws IOException, InterruptedException {
+        return send(get("/base/path/value"), 200);
+    }
+
+    @Benchmark
+    public String queryParameters() throws IOException, InterruptedException {
+        return send(
+                get("/base/datasets/ri.foundry.main.dataset.1234/strings"
+                        + "?strings=a&strings=b&longs=1&longs=2&ints=3&ints=4"),
+                204);
+    }
+
+    @Benchmark
+    public String headerParameter() throws IOException, InterruptedException {
+        return send(get("/base/enum/header").header("Custom-Header", "VALUE"), 200);
+    }
+
+    @Benchmark
+    public String jsonBody() throws IOException, InterruptedException {
+        return send(
+                request("/base/notNullBody")
+                        .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("\"Hello, world!\"", StandardCharsets.UTF_8)),
+                200);
+    }
+
+    @Benchmark
+    public String serviceException() throws IOException, InterruptedException {
+        return send(get("/errors/service"), 400);
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return request(path).GET();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .header(HttpHeaders.ACCEPT, "application/json");
+    }
+
+    private String send(HttpRequest.Builder request, int expectedStatus) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    public static void main(String[] _args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(EndpointBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build())
+                .run();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.palantir.conjure.java.undertow.lib.PlainSerDe;
+import com.palantir.product.StringAliasExample;
+import com.palantir.ri.ResourceIdentifier;
+import com.palantir.tokens.auth.AuthHeader;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HeaderValues;
+import io.undertow.util.Headers;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/** Measures decoding of header and query parameters, including the {@code Authorization} header. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class ParameterBenchmark {
+
+    private static final PlainSerDe PLAIN = ConjurePlainSerDe.INSTANCE;
+
+    private final ConjureAuthorizationExtractor authorization = new ConjureAuthorizationExtractor(PLAIN);
+    private HttpServerExchange exchange;
+    private HeaderValues dateTimeHeader;
+    private Deque<String> ridQuery;
+    private Deque<String> longsQuery;
+    private Deque<String> aliasesQuery;
+    private Deque<String> optionalIntegerQuery;
+
+    @Setup(Level.Trial)
+    public void before() {
+        exchange = new HttpServerExchange(null);
+        exchange.getRequestHeaders()
+                .put(Headers.AUTHORIZATION, "Bearer " + jsonWebToken())
+                .put(Headers.DATE, "2022-01-02T03:04:05.678Z");
+        dateTimeHeader = exchange.getRequestHeaders().get(Headers.DATE);
+        ridQuery = query("ri.foundry.main.dataset.1234");
+        longsQuery = query("1", "2", "3", "9007199254740991");
+        aliasesQuery = query("one", "two", "three");
+        optionalIntegerQuery = query("42");
+    }
+
+    @Benchmark
+    public AuthHeader authHeader() {
+        return authorization.header(exchange);
+    }
+
+    @Benchmark
+    public OffsetDateTime dateTimeHeader() {
+        return PLAIN.deserializeDateTime(dateTimeHeader);
+    }
+
+    @Benchmark
+    public ResourceIdentifier ridQuery() {
+        return PLAIN.deserializeRid(ridQuery);
+    }
+
+    @Benchmark
+    public Set<Long> longSetQuery() {
+        return PLAIN.deserializeComplexSet(longsQuery, Long::valueOf);
+    }
+
+    @Benchmark
+    public List<StringAliasExample> aliasListQuery() {
+        return PLAIN.deserializeComplexList(aliasesQuery, StringAliasExample::valueOf);
+    }
+
+    @Benchmark
+    public OptionalInt optionalIntegerQuery() {
+        return PLAIN.deserializeOptionalInteger(optionalIntegerQuery);
+    }
+
+    private static Deque<String> query(String... values) {
+        return new ArrayDeque<>(List.of(values));
+    }
+
+    /** Unsigned token in the format produced by multipass, which is parsed for logging context. */
+    private static String jsonWebToken() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = "{\"alg\":\"ES256\"}";
+        String payload = "{\"exp\":1700000000,\"sub\":\"" + uuid() + "\",\"sid\":\"" + uuid() + "\",\"jti\":\"" + uuid()
+                + "\",\"org\":\"" + uuid() + "\"}";
+        return encoder.encodeToString(header.getBytes(StandardCharsets.UTF_8))
+                + '.'
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+                + ".c2lnbmF0dXJl";
+    }
+
+    private static String uuid() {
+        UUID uuid = UUID.randomUUID();
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    public static void main(String[] _args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(ParameterBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build())
+                .run();
+    }
+}
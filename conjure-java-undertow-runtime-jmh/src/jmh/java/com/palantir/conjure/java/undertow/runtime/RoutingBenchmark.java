@@ -0,0 +1,138 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import io.undertow.Handlers;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.RoutingHandler;
+import io.undertow.server.handlers.ResponseCodeHandler;
+import io.undertow.util.HttpString;
+import io.undertow.util.Methods;
+import io.undertow.util.PathTemplateMatch;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link ConjureRouter} with the Undertow {@link RoutingHandler} for a service with many endpoints, each
+ * operation routing a request to every registered endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class RoutingBenchmark {
+
+    private static final HttpString[] METHODS = {Methods.GET, Methods.POST, Methods.PUT, Methods.DELETE};
+
+    @Param({"20", "400"})
+    public int endpoints;
+
+    @Param({"UNDERTOW", "TRIE"})
+    public Router router;
+
+    private HttpHandler handler;
+    private HttpServerExchange[] exchanges;
+
+    public enum Router {
+        UNDERTOW,
+        TRIE
+    }
+
+    @Setup(Level.Trial)
+    public void before() {
+        List<HttpString> methods = new ArrayList<>();
+        List<String> templates = new ArrayList<>();
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < endpoints; i++) {
+            String service = "/service" + (i % 20);
+            HttpString method = METHODS[i % METHODS.length];
+            switch (i % 3) {
+                case 0:
+                    templates.add(service + "/resources" + i + "/{resourceId}");
+                    paths.add(service + "/resources" + i + "/ri.service.main.resource.a7c1b58d");
+                    break;
+                case 1:
+                    templates.add(service + "/resources" + i + "/{resourceId}/children/{childId}");
+                    paths.add(service + "/resources" + i + "/ri.service.main.resource.a7c1b58d/children/2");
+                    break;
+                default:
+                    templates.add(service + "/static" + i + "/files/*");
+                    paths.add(service + "/static" + i + "/files/path/to/file.txt");
+                    break;
+            }
+            methods.add(method);
+        }
+        HttpHandler endpointHandler = _exchange -> {};
+        if (router == Router.TRIE) {
+            ConjureRouter.Builder builder = ConjureRouter.builder();
+            for (int i = 0; i < endpoints; i++) {
+                builder.add(methods.get(i), templates.get(i), endpointHandler);
+            }
+            handler = builder.build(ResponseCodeHandler.HANDLE_404);
+        } else {
+            RoutingHandler routingHandler = Handlers.routing(false).setFallbackHandler(ResponseCodeHandler.HANDLE_404);
+            for (int i = 0; i < endpoints; i++) {
+                routingHandler.add(methods.get(i), templates.get(i), endpointHandler);
+            }
+            handler = routingHandler;
+        }
+        exchanges = new HttpServerExchange[endpoints];
+        for (int i = 0; i < endpoints; i++) {
+            HttpServerExchange exchange = new HttpServerExchange(null);
+            exchange.setRequestMethod(methods.get(i));
+            exchange.setRelativePath(paths.get(i));
+            exchanges[i] = exchange;
+        }
+    }
+
+    @Benchmark
+    public void route(Blackhole blackhole) throws Exception {
+        for (HttpServerExchange exchange : exchanges) {
+            handler.handleRequest(exchange);
+            blackhole.consume(exchange.getAttachment(PathTemplateMatch.ATTACHMENT_KEY));
+        }
+    }
+
+    public static void main(String[] _args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(RoutingBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build())
+                .run();
+    }
+}
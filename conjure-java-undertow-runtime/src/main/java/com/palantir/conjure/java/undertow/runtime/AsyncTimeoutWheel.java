@@ -0,0 +1,174 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.logger.SafeLogger;
+import com.palantir.logsafe.logger.SafeLoggerFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * A coarse-grained hashed timer wheel for asynchronous request timeouts, shared by all requests. Scheduling and
+ * cancellation are constant time and never involve the server IO threads, unlike
+ * {@link org.xnio.XnioExecutor#executeAfter(Runnable, long, TimeUnit)} which maintains a task per request on the IO
+ * thread of each connection. Timeouts are executed on the timer thread up to one tick after they expire.
+ *
+ * <p>New timeouts are queued by the scheduling thread and assigned to a bucket by the timer thread on its next tick,
+ * so buckets are only accessed by the timer thread. Cancelled timeouts release their task immediately, and are removed
+ * from their bucket when it is next visited.
+ */
+final class AsyncTimeoutWheel {
+
+    private static final SafeLogger log = SafeLoggerFactory.get(AsyncTimeoutWheel.class);
+    private static final Duration SHARED_TICK = Duration.ofMillis(100);
+    private static final int SHARED_BUCKETS = 512;
+
+    private final long startNanos;
+    private final long tickNanos;
+    private final List<List<Timeout>> buckets;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+
+    // Only accessed by the timer thread
+    private long currentTick;
+
+    AsyncTimeoutWheel(long startNanos, Duration tick, int buckets) {
+        Preconditions.checkArgument(!tick.isNegative() && !tick.isZero(), "tick must be positive");
+        Preconditions.checkArgument(buckets > 0, "buckets must be positive", SafeArg.of("buckets", buckets));
+        this.startNanos = startNanos;
+        this.tickNanos = tick.toNanos();
+        this.buckets = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            this.buckets.add(new ArrayList<>());
+        }
+    }
+
+    /** Returns the wheel shared by all runtimes, which is advanced by a daemon thread. */
+    static AsyncTimeoutWheel shared() {
+        return Shared.INSTANCE;
+    }
+
+    /** Schedules the task to execute once the delay has elapsed, unless the returned timeout is cancelled. */
+    Timeout schedule(Runnable task, Duration delay) {
+        Timeout timeout = new Timeout(task, System.nanoTime() + delay.toNanos());
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /** Executes all timeouts which expired at or before the given time. Must only be invoked by the timer thread. */
+    void advance(long nowNanos) {
+        long targetTick = (nowNanos - startNanos) / tickNanos;
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (!timeout.isCancelled()) {
+                // Ceiling division so that timeouts never execute early
+                long deadlineTick =
+                        Math.max(currentTick, (timeout.deadlineNanos - startNanos + tickNanos - 1) / tickNanos);
+                timeout.deadlineTick = deadlineTick;
+                bucket(deadlineTick).add(timeout);
+            }
+        }
+        // Buckets are visited at most once per advance, timeouts more than a full rotation into the future remain
+        for (long tick = Math.max(currentTick, targetTick - buckets.size() + 1); tick <= targetTick; tick++) {
+            expire(bucket(tick), targetTick);
+        }
+        currentTick = Math.max(currentTick, targetTick + 1);
+    }
+
+    private List<Timeout> bucket(long tick) {
+        return buckets.get((int) (tick % buckets.size()));
+    }
+
+    private static void expire(List<Timeout> bucket, long targetTick) {
+        int retained = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            Timeout timeout = bucket.get(i);
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            if (timeout.deadlineTick <= targetTick) {
+                timeout.run();
+            } else {
+                bucket.set(retained++, timeout);
+            }
+        }
+        bucket.subList(retained, bucket.size()).clear();
+    }
+
+    /** A scheduled task which may be cancelled. */
+    static final class Timeout {
+
+        private final long deadlineNanos;
+
+        @Nullable
+        private volatile Runnable task;
+
+        // Only accessed by the timer thread
+        private long deadlineTick;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /** Prevents the task from executing, if it has not already. */
+        void cancel() {
+            task = null;
+        }
+
+        boolean isCancelled() {
+            return task == null;
+        }
+
+        private void run() {
+            Runnable value = task;
+            task = null;
+            if (value != null) {
+                try {
+                    value.run();
+                } catch (RuntimeException | Error e) {
+                    log.warn("Failed to execute an async request timeout", e);
+                }
+            }
+        }
+    }
+
+    private static final class Shared {
+        private static final AsyncTimeoutWheel INSTANCE = start();
+
+        private static AsyncTimeoutWheel start() {
+            AsyncTimeoutWheel wheel = new AsyncTimeoutWheel(System.nanoTime(), SHARED_TICK, SHARED_BUCKETS);
+            ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("conjure-async-timeout-%d")
+                    .setDaemon(true)
+                    .build());
+            long tickMillis = SHARED_TICK.toMillis();
+            timer.scheduleAtFixedRate(
+                    () -> wheel.advance(System.nanoTime()), tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+            return wheel;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.palantir.tokens.auth.BearerToken;
+import com.palantir.tokens.auth.UnverifiedJsonWebToken;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache of parsed credentials keyed on the raw {@code Authorization} header or cookie value. Clients
+ * tend to reuse the same token for many requests, so this avoids decoding the JWT payload for each request.
+ *
+ * <p>Entries are retained until the {@code exp} claim of the token, bounded by the configured maximum age. Values
+ * which fail to parse are not cached. Cached credentials are not verified, the same as those parsed per request.
+ */
+final class AuthorizationCache<T> {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final long NEVER = Long.MAX_VALUE;
+    private static final long ALREADY_EXPIRED = Long.MIN_VALUE;
+
+    private final Cache<String, Credentials<T>> cache;
+    private final Function<String, T> parser;
+    private final Function<T, BearerToken> tokenFunction;
+
+    AuthorizationCache(
+            int maximumSize, Duration maximumAge, Function<String, T> parser, Function<T, BearerToken> tokenFunction) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(maximumAge)
+                .build();
+        this.parser = parser;
+        this.tokenFunction = tokenFunction;
+    }
+
+    /** Returns the parsed credentials, throwing the exception raised by the parser for invalid values. */
+    Credentials<T> get(String rawValue) {
+        long now = System.currentTimeMillis();
+        Credentials<T> cached = cache.getIfPresent(rawValue);
+        if (cached != null && now < cached.expiresAtMillis) {
+            return cached;
+        }
+        T value = parser.apply(rawValue);
+        String token = tokenFunction.apply(value).getToken();
+        Optional<UnverifiedJsonWebToken> jwt = UnverifiedJsonWebToken.tryParse(token);
+        Credentials<T> credentials = new Credentials<>(value, jwt, jwt.isPresent() ? expirationMillis(token) : NEVER);
+        if (now < credentials.expiresAtMillis) {
+            cache.put(rawValue, credentials);
+        } else if (cached != null) {
+            cache.invalidate(rawValue);
+        }
+        return credentials;
+    }
+
+    /**
+     * Reads the {@code exp} claim of a JWT in milliseconds since the epoch. Tokens with an unreadable claim are
+     * treated as expired in order to avoid caching them.
+     */
+    private static long expirationMillis(String token) {
+        int payloadStart = token.indexOf('.') + 1;
+        int payloadEnd = token.indexOf('.', payloadStart);
+        if (payloadStart == 0 || payloadEnd < 0) {
+            return ALREADY_EXPIRED;
+        }
+        try (JsonParser parser =
+                JSON.createParser(Base64.getUrlDecoder().decode(token.substring(payloadStart, payloadEnd)))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return ALREADY_EXPIRED;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                JsonToken valueToken = parser.nextToken();
+                if ("exp".equals(parser.getCurrentName())) {
+                    return valueToken == JsonToken.VALUE_NUMBER_INT
+                            ? saturatedMillis(parser.getLongValue())
+                            : ALREADY_EXPIRED;
+                }
+                parser.skipChildren();
+            }
+            return NEVER;
+        } catch (IOException | RuntimeException e) {
+            return ALREADY_EXPIRED;
+        }
+    }
+
+    private static long saturatedMillis(long seconds) {
+        if (seconds <= 0) {
+            return ALREADY_EXPIRED;
+        }
+        return seconds > NEVER / 1000 ? NEVER : seconds * 1000;
+    }
+
+    static final class Credentials<T> {
+        private final T value;
+        private final Optional<UnverifiedJsonWebToken> jwt;
+        private final long expiresAtMillis;
+
+        Credentials(T value, Optional<UnverifiedJsonWebToken> jwt, long expiresAtMillis) {
+            this.value = value;
+            this.jwt = jwt;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        T value() {
+            return value;
+        }
+
+        Optional<UnverifiedJsonWebToken> jwt() {
+            return jwt;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.palantir.conjure.java.api.errors.QosException;
+import com.palantir.logsafe.Preconditions;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits the number of in-flight requests to a single endpoint. Requests beyond the limit fail fast with
+ * {@link QosException#throttle()} rather than queueing, allowing clients to back off. A permit is held until the
+ * exchange completes, which includes asynchronous endpoints.
+ */
+final class ConcurrencyLimitingHandler implements HttpHandler {
+
+    private final HttpHandler delegate;
+    private final Semaphore permits;
+
+    ConcurrencyLimitingHandler(HttpHandler delegate, int maxConcurrentRequests) {
+        this.delegate = Preconditions.checkNotNull(delegate, "Delegate handler is required");
+        this.permits = new Semaphore(maxConcurrentRequests);
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        if (!permits.tryAcquire()) {
+            throw QosException.throttle();
+        }
+        exchange.addExchangeCompleteListener(SafeExchangeCompletionListener.of(_exchange -> permits.release()));
+        delegate.handleRequest(exchange);
+    }
+}
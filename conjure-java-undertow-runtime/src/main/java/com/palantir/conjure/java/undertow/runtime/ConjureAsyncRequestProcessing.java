@@ -16,7 +16,6 @@
 
 package com.palantir.conjure.java.undertow.runtime;
 
-import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
@@ -26,6 +25,7 @@ import com.palantir.conjure.java.api.errors.ServiceException;
 import com.palantir.conjure.java.undertow.lib.AsyncRequestProcessing;
 import com.palantir.conjure.java.undertow.lib.ExceptionHandler;
 import com.palantir.conjure.java.undertow.lib.ReturnValueWriter;
+import com.palantir.conjure.java.undertow.lib.StreamingSerializer;
 import com.palantir.logsafe.Preconditions;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.tracing.DeferredTracer;
@@ -33,14 +33,17 @@ import io.undertow.server.ExchangeCompletionListener;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.util.AttachmentKey;
+import io.undertow.util.SameThreadExecutor;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
-import java.util.concurrent.TimeUnit;
-import org.checkerframework.checker.nullness.qual.Nullable;
-import org.xnio.XnioExecutor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  *
@@ -48,12 +51,13 @@ import org.xnio.XnioExecutor;
  * <h3>Thread Model</h3>
  *
  * <ul>
- *   <li>Any {@link ListenableFuture} may be registered for asynchronous request processing regardless of type, where
- *       it's executed, and what thread completes it.
+ *   <li>Any {@link ListenableFuture} or {@link CompletionStage} may be registered for asynchronous request processing
+ *       regardless of type, where it's executed, and what thread completes it.
+ *   <li>{@link Flow.Publisher} elements are written as they arrive, see {@link PublisherSubscriber}.
  *   <li>All serialization and I/O occurs on the server task pool, matching synchronous conjure services.
  * </ul>
  *
- * This requires us to move execution away from {@link ListenableFuture} callbacks as quickly as possible, because
+ * This requires us to move execution away from future callbacks as quickly as possible, because
  * they're controlled by a future created in the service implementation. This way service authors do not need to be
  * aware of the time it takes to serialize results and write them to clients, which can be time consuming depending on
  * the network. For example, an endpoint which schedules results on a single-threaded
@@ -68,7 +72,7 @@ final class ConjureAsyncRequestProcessing implements AsyncRequestProcessing {
     // Thread interruption can result in unexpected behavior. Most uses of this feature are not based on
     // running tasks, so the value passed to Future.cancel makes no difference.
     private static final boolean INTERRUPT_ON_CANCEL = false;
-    private static final AttachmentKey<ListenableFuture<?>> FUTURE = AttachmentKey.create(ListenableFuture.class);
+    private static final AttachmentKey<Future<?>> FUTURE = AttachmentKey.create(Future.class);
     private static final AttachmentKey<Boolean> TIMED_OUT = AttachmentKey.create(Boolean.class);
     private static final ErrorType ASYNC_REQUEST_PROCESSING_TIMEOUT =
             ErrorType.create(Code.TIMEOUT, "Conjure:AsyncRequestProcessingTimeout");
@@ -76,7 +80,7 @@ final class ConjureAsyncRequestProcessing implements AsyncRequestProcessing {
     // should be stopped. This occurs when clients cancel requests or connections are closed.
     private static final ExchangeCompletionListener COMPLETION_LISTENER =
             SafeExchangeCompletionListener.of(exchange -> {
-                ListenableFuture<?> future = exchange.getAttachment(FUTURE);
+                Future<?> future = exchange.getAttachment(FUTURE);
                 if (future != null) {
                     future.cancel(INTERRUPT_ON_CANCEL);
                 }
@@ -84,10 +88,24 @@ final class ConjureAsyncRequestProcessing implements AsyncRequestProcessing {
 
     private final Duration timeout;
     private final ExceptionHandler exceptionHandler;
+    private final AsyncTimeoutWheel timeoutWheel;
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
 
-    ConjureAsyncRequestProcessing(Duration timeout, ExceptionHandler exceptionHandler) {
+    ConjureAsyncRequestProcessing(Duration timeout, ExceptionHandler exceptionHandler, AsyncTimeoutWheel timeoutWheel) {
         this.timeout = timeout;
         this.exceptionHandler = exceptionHandler;
+        this.timeoutWheel = timeoutWheel;
+    }
+
+    /** Returns the number of registered futures which have not completed. */
+    long inFlight() {
+        return inFlight.sum();
+    }
+
+    /** Returns the number of futures which have been cancelled because they exceeded their timeout. */
+    long timeouts() {
+        return timeouts.sum();
     }
 
     @Override
@@ -112,6 +130,56 @@ final class ConjureAsyncRequestProcessing implements AsyncRequestProcessing {
         Preconditions.checkNotNull(requestAsyncTimeout, "timeout");
         Preconditions.checkNotNull(exchange, "exchange");
 
+        registerFuture(future, returnValueWriter, requestAsyncTimeout, exchange);
+    }
+
+    @Override
+    public <T> void register(
+            CompletionStage<T> stage, ReturnValueWriter<T> returnValueWriter, HttpServerExchange exchange)
+            throws IOException {
+        Preconditions.checkNotNull(stage, "stage");
+        Preconditions.checkNotNull(returnValueWriter, "returnValueWriter");
+        Preconditions.checkNotNull(exchange, "exchange");
+        register(stage, returnValueWriter, timeout, exchange);
+    }
+
+    @Override
+    public <T> void register(
+            CompletionStage<T> stage,
+            ReturnValueWriter<T> returnValueWriter,
+            Duration requestAsyncTimeout,
+            HttpServerExchange exchange)
+            throws IOException {
+        Preconditions.checkNotNull(stage, "stage");
+        Preconditions.checkNotNull(returnValueWriter, "returnValueWriter");
+        Preconditions.checkNotNull(requestAsyncTimeout, "timeout");
+        Preconditions.checkNotNull(exchange, "exchange");
+        // Stages are tracked directly as CompletableFutures rather than adapted into ListenableFutures, cancelling
+        // the future on timeout completes it exceptionally.
+        registerFuture(stage.toCompletableFuture(), returnValueWriter, requestAsyncTimeout, exchange);
+    }
+
+    @Override
+    public <T> void register(
+            Flow.Publisher<T> publisher, StreamingSerializer<T> serializer, HttpServerExchange exchange) {
+        Preconditions.checkNotNull(publisher, "publisher");
+        Preconditions.checkNotNull(serializer, "serializer");
+        Preconditions.checkNotNull(exchange, "exchange");
+        PublisherSubscriber<T> subscriber = new PublisherSubscriber<>(exchange, serializer, exceptionHandler);
+        // Dispatching puts the exchange into a 'dispatched' state, elements are subscribed to once the endpoint
+        // HttpHandler returns.
+        exchange.dispatch(SameThreadExecutor.INSTANCE, () -> {
+            RequestBodyPublisher.start(exchange);
+            subscriber.subscribe(publisher);
+        });
+    }
+
+    private <T> void registerFuture(
+            Future<T> future,
+            ReturnValueWriter<T> returnValueWriter,
+            Duration requestAsyncTimeout,
+            HttpServerExchange exchange)
+            throws IOException {
         if (future.isDone()) {
             // Optimization: write the completed result immediately without dispatching across threads.
             writeCompleteFuture(future, returnValueWriter, exchange);
@@ -121,8 +189,7 @@ final class ConjureAsyncRequestProcessing implements AsyncRequestProcessing {
     }
 
     private <T> void writeCompleteFuture(
-            ListenableFuture<T> future, ReturnValueWriter<T> returnValueWriter, HttpServerExchange exchange)
-            throws IOException {
+            Future<T> future, ReturnValueWriter<T> returnValueWriter, HttpServerExchange exchange) throws IOException {
         try {
             T result = Futures.getDone(future);
             returnValueWriter.write(result, exchange);
@@ -134,7 +201,7 @@ final class ConjureAsyncRequestProcessing implements AsyncRequestProcessing {
     }
 
     private <T> void registerCallback(
-            ListenableFuture<T> future,
+            Future<T> future,
             ReturnValueWriter<T> returnValueWriter,
             Duration requestAsyncTimeout,
             HttpServerExchange exchange) {
@@ -150,17 +217,22 @@ final class ConjureAsyncRequestProcessing implements AsyncRequestProcessing {
             exchange.addExchangeCompleteListener(COMPLETION_LISTENER);
         }
 
-        XnioExecutor.Key timeoutKey = exchange.getIoThread()
-                .executeAfter(
-                        () -> {
-                            // TIMED_OUT must be set prior to future.cancel, otherwise the FutureCallback
-                            // may be invoked before TIMED_OUT is set/visible.
-                            exchange.putAttachment(TIMED_OUT, Boolean.TRUE);
-                            future.cancel(INTERRUPT_ON_CANCEL);
-                        },
-                        requestAsyncTimeout.toMillis(),
-                        TimeUnit.MILLISECONDS);
-        future.addListener(timeoutKey::remove, DIRECT_EXECUTOR);
+        AsyncTimeoutWheel.Timeout timeoutTask = timeoutWheel.schedule(
+                () -> {
+                    if (!future.isDone()) {
+                        timeouts.increment();
+                        // TIMED_OUT must be set prior to future.cancel, otherwise the result may be
+                        // written before TIMED_OUT is set/visible.
+                        exchange.putAttachment(TIMED_OUT, Boolean.TRUE);
+                        future.cancel(INTERRUPT_ON_CANCEL);
+                    }
+                },
+                requestAsyncTimeout);
+        inFlight.increment();
+        addListener(future, () -> {
+            timeoutTask.cancel();
+            inFlight.decrement();
+        });
         // Dispatch the registration task, this accomplishes two things:
         // 1. Puts the exchange into a 'dispatched' state, otherwise the request will be terminated when
         //    the endpoint HttpHandler returns. See Connectors.executeRootHandler for more information.
@@ -169,24 +241,60 @@ final class ConjureAsyncRequestProcessing implements AsyncRequestProcessing {
         //    HttpServerExchange.isInCall transitioning from true -> false, causing hte dispatch task not
         //    to execute.
         DeferredTracer tracer = new DeferredTracer("Undertow: Async Result");
-        exchange.dispatch(() -> Futures.addCallback(
-                future,
-                new FutureCallback<T>() {
-                    @Override
-                    public void onSuccess(@Nullable T result) {
-                        exchange.dispatch(
-                                wrapCallback(_serverExchange -> returnValueWriter.write(result, exchange), tracer));
-                    }
+        exchange.dispatch(() -> {
+            // Request bodies consumed asynchronously by the future may only be read once the endpoint has returned.
+            RequestBodyPublisher.start(exchange);
+            if (future.isDone()) {
+                // Optimization: the registration task already executes on the server task pool, so results which
+                // completed in the meantime are written without dispatching a second task.
+                writeResult(future, returnValueWriter, requestAsyncTimeout, exchange, tracer);
+            } else {
+                addListener(
+                        future,
+                        () -> exchange.dispatch(
+                                () -> writeResult(future, returnValueWriter, requestAsyncTimeout, exchange, tracer)));
+            }
+        });
+    }
 
-                    @Override
-                    public void onFailure(Throwable throwable) {
-                        exchange.dispatch(wrapCallback(
-                                serverExchange -> exceptionHandler.handle(
-                                        serverExchange, getThrowable(serverExchange, throwable, requestAsyncTimeout)),
-                                tracer));
-                    }
-                },
-                DIRECT_EXECUTOR));
+    private <T> void writeResult(
+            Future<T> future,
+            ReturnValueWriter<T> returnValueWriter,
+            Duration requestAsyncTimeout,
+            HttpServerExchange exchange,
+            DeferredTracer tracer) {
+        tracer.withTrace(() -> {
+            try {
+                T result;
+                try {
+                    result = Futures.getDone(future);
+                } catch (ExecutionException e) {
+                    exceptionHandler.handle(exchange, e.getCause());
+                    return null;
+                } catch (CancellationException e) {
+                    exceptionHandler.handle(exchange, getThrowable(exchange, e, requestAsyncTimeout));
+                    return null;
+                }
+                returnValueWriter.write(result, exchange);
+            } catch (Throwable t) {
+                exceptionHandler.handle(exchange, t);
+            } finally {
+                // Results are written from dispatched tasks rather than handlers, so the exchange is not ended
+                // automatically when the task returns.
+                exchange.endExchange();
+            }
+            return null;
+        });
+    }
+
+    /** Runs the listener on the completing thread once the future is done. */
+    @SuppressWarnings("FutureReturnValueIgnored")
+    private static void addListener(Future<?> future, Runnable listener) {
+        if (future instanceof ListenableFuture) {
+            ((ListenableFuture<?>) future).addListener(listener, DIRECT_EXECUTOR);
+        } else {
+            ((CompletableFuture<?>) future).whenComplete((_result, _throwable) -> listener.run());
+        }
     }
 
     /**
@@ -200,15 +308,4 @@ final class ConjureAsyncRequestProcessing implements AsyncRequestProcessing {
         }
         return failure;
     }
-
-    private HttpHandler wrapCallback(HttpHandler action, DeferredTracer tracer) {
-        return exchange -> tracer.withTrace(() -> {
-            try {
-                action.handleRequest(exchange);
-            } catch (Throwable t) {
-                exceptionHandler.handle(exchange, t);
-            }
-            return null;
-        });
-    }
 }
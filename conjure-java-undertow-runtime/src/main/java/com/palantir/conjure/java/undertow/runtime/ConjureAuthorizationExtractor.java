@@ -27,6 +27,7 @@ import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.Cookie;
 import io.undertow.util.HeaderValues;
 import io.undertow.util.Headers;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.function.Consumer;
 import org.slf4j.MDC;
@@ -51,9 +52,30 @@ final class ConjureAuthorizationExtractor implements AuthorizationExtractor {
             ErrorType.create(ErrorType.Code.UNAUTHORIZED, "Conjure:MalformedCredentials");
 
     private final PlainSerDe plainSerDe;
+    private final Optional<AuthorizationCache<AuthHeader>> headerCache;
+    private final Optional<AuthorizationCache<BearerToken>> cookieCache;
 
     ConjureAuthorizationExtractor(PlainSerDe plainSerDe) {
+        this(plainSerDe, 0, Duration.ZERO);
+    }
+
+    /**
+     * Creates an extractor which caches up to {@code cacheSize} parsed header and cookie values for at most
+     * {@code cacheMaximumAge}, or does not cache values when {@code cacheSize} is zero.
+     */
+    ConjureAuthorizationExtractor(PlainSerDe plainSerDe, int cacheSize, Duration cacheMaximumAge) {
         this.plainSerDe = plainSerDe;
+        this.headerCache = cacheSize > 0
+                ? Optional.of(new AuthorizationCache<>(
+                        cacheSize,
+                        cacheMaximumAge,
+                        ConjureAuthorizationExtractor::parseAuthHeader,
+                        AuthHeader::getBearerToken))
+                : Optional.empty();
+        this.cookieCache = cacheSize > 0
+                ? Optional.of(
+                        new AuthorizationCache<>(cacheSize, cacheMaximumAge, this::parseBearerToken, token -> token))
+                : Optional.empty();
     }
 
     /**
@@ -62,8 +84,19 @@ final class ConjureAuthorizationExtractor implements AuthorizationExtractor {
      */
     @Override
     public AuthHeader header(HttpServerExchange exchange) {
-        AuthHeader authHeader = parseAuthHeader(exchange);
-        return setState(exchange, authHeader);
+        long start = EndpointMetricsHandler.startPhase();
+        try {
+            String authorization = getAuthorization(exchange);
+            if (headerCache.isPresent()) {
+                AuthorizationCache.Credentials<AuthHeader> credentials =
+                        headerCache.get().get(authorization);
+                setRequestToken(exchange, credentials.jwt());
+                return credentials.value();
+            }
+            return setState(exchange, parseAuthHeader(authorization));
+        } finally {
+            EndpointMetricsHandler.endPhase(EndpointPhase.AUTHORIZATION, start);
+        }
     }
 
     /**
@@ -72,10 +105,25 @@ final class ConjureAuthorizationExtractor implements AuthorizationExtractor {
      */
     @Override
     public BearerToken cookie(HttpServerExchange exchange, String cookieName) {
+        long start = EndpointMetricsHandler.startPhase();
+        try {
+            return parseCookie(exchange, cookieName);
+        } finally {
+            EndpointMetricsHandler.endPhase(EndpointPhase.AUTHORIZATION, start);
+        }
+    }
+
+    private BearerToken parseCookie(HttpServerExchange exchange, String cookieName) {
         Cookie cookie = exchange.getRequestCookies().get(cookieName);
         if (cookie == null) {
             throw new ServiceException(MISSING_CREDENTIAL_ERROR_TYPE);
         }
+        if (cookieCache.isPresent()) {
+            AuthorizationCache.Credentials<BearerToken> credentials =
+                    cookieCache.get().get(cookie.getValue());
+            setRequestToken(exchange, credentials.jwt());
+            return credentials.value();
+        }
         try {
             return setState(exchange, plainSerDe.deserializeBearerToken(cookie.getValue()));
         } catch (RuntimeException e) {
@@ -83,6 +131,14 @@ final class ConjureAuthorizationExtractor implements AuthorizationExtractor {
         }
     }
 
+    private BearerToken parseBearerToken(String value) {
+        try {
+            return plainSerDe.deserializeBearerToken(value);
+        } catch (RuntimeException e) {
+            throw new ServiceException(MALFORMED_CREDENTIAL_ERROR_TYPE, e);
+        }
+    }
+
     @Override
     public void setRequestToken(HttpServerExchange exchange, Optional<UnverifiedJsonWebToken> parsedJwt) {
         exchange.putAttachment(Attachments.UNVERIFIED_JWT, parsedJwt);
@@ -110,7 +166,7 @@ final class ConjureAuthorizationExtractor implements AuthorizationExtractor {
         return authHeader;
     }
 
-    private static AuthHeader parseAuthHeader(HttpServerExchange exchange) {
+    private static String getAuthorization(HttpServerExchange exchange) {
         HeaderValues authorization = exchange.getRequestHeaders().get(Headers.AUTHORIZATION);
         // Do not use Iterables.getOnlyElement because it includes values in the exception message.
         // We do not want credential material logged to disk, even if it's marked unsafe.
@@ -120,8 +176,12 @@ final class ConjureAuthorizationExtractor implements AuthorizationExtractor {
         if (authorization.size() != 1) {
             throw new ServiceException(MALFORMED_CREDENTIAL_ERROR_TYPE);
         }
+        return authorization.get(0);
+    }
+
+    private static AuthHeader parseAuthHeader(String authorization) {
         try {
-            return AuthHeader.valueOf(authorization.get(0));
+            return AuthHeader.valueOf(authorization);
         } catch (RuntimeException e) {
             throw new ServiceException(MALFORMED_CREDENTIAL_ERROR_TYPE, e);
         }
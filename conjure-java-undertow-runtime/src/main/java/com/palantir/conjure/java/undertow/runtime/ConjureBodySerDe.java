@@ -16,31 +16,43 @@
 
 package com.palantir.conjure.java.undertow.runtime;
 
-import com.google.common.base.Splitter;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.palantir.conjure.java.undertow.lib.BinaryResponseBody;
 import com.palantir.conjure.java.undertow.lib.BodySerDe;
 import com.palantir.conjure.java.undertow.lib.Deserializer;
 import com.palantir.conjure.java.undertow.lib.Endpoint;
+import com.palantir.conjure.java.undertow.lib.FileResponseBody;
 import com.palantir.conjure.java.undertow.lib.Serializer;
+import com.palantir.conjure.java.undertow.lib.StreamingSerializer;
 import com.palantir.conjure.java.undertow.lib.TypeMarker;
 import com.palantir.logsafe.Preconditions;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
 import com.palantir.logsafe.logger.SafeLogger;
 import com.palantir.logsafe.logger.SafeLoggerFactory;
 import com.palantir.tracing.CloseableTracer;
 import com.palantir.tracing.TagTranslator;
 import com.palantir.tracing.Tracer;
 import io.undertow.server.HttpServerExchange;
+import io.undertow.util.AttachmentKey;
 import io.undertow.util.HeaderValues;
 import io.undertow.util.Headers;
 import io.undertow.util.Protocols;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import org.xnio.IoUtils;
 
 /** Package private internal API. */
@@ -48,78 +60,208 @@ final class ConjureBodySerDe implements BodySerDe {
 
     private static final SafeLogger log = SafeLoggerFactory.get(ConjureBodySerDe.class);
     private static final String BINARY_CONTENT_TYPE = "application/octet-stream";
-    private static final Splitter ACCEPT_VALUE_SPLITTER =
-            Splitter.on(',').trimResults().omitEmptyStrings();
+    static final int DEFAULT_MAX_RESPONSE_BUFFERS = 0;
+    static final int DEFAULT_STREAMING_FLUSH_SIZE = 1000;
 
-    private final List<Encoding> encodings;
+    /**
+     * Marks exchanges whose request body is read by the endpoint while the response is written, which must not be
+     * drained by {@link #safelyDrainRequestBody(HttpServerExchange)}.
+     */
+    static final AttachmentKey<Boolean> STREAMED_REQUEST_BODY = AttachmentKey.create(Boolean.class);
+
+    private final List<LazilyInitializedEncoding> encodings;
+    private final EncodingNegotiator negotiator;
+    private final List<LazilyInitializedEncoding> streamingEncodings;
+    private final EncodingNegotiator streamingNegotiator;
+    private final int maxResponseBuffers;
+    private final boolean frameworkStackTraces;
+    private final int streamingFlushSize;
+
+    ConjureBodySerDe(List<Encoding> encodings) {
+        this(encodings, DEFAULT_MAX_RESPONSE_BUFFERS, true, DEFAULT_STREAMING_FLUSH_SIZE);
+    }
 
     /**
      * Selects the first (based on input order) of the provided encodings that
      * {@link Encoding#supportsContentType supports} the serialization format {@link Headers#ACCEPT accepted} by a given
-     * request, or the first serializer if no such serializer can be found.
+     * request, or the first serializer if no such serializer can be found. Accepted formats are ordered by their
+     * quality values and may use wildcards. Response bodies are buffered in up to {@code maxResponseBuffers} pooled
+     * buffers in order to send an exact {@code Content-Length}, or written directly to the exchange when zero.
+     * Unsupported request content types, and request bodies which the built-in {@link Encodings} cannot deserialize,
+     * fail without capturing a stack trace unless {@code frameworkStackTraces} is set. Streamed lists are flushed to the client every {@code streamingFlushSize} elements.
      */
-    ConjureBodySerDe(List<Encoding> encodings) {
+    ConjureBodySerDe(
+            List<Encoding> encodings, int maxResponseBuffers, boolean frameworkStackTraces, int streamingFlushSize) {
         // Defensive copy
-        this.encodings =
-                encodings.stream().map(LazilyInitializedEncoding::new).collect(ImmutableList.toImmutableList());
+        this.encodings = encodings.stream()
+                .map(encoding -> frameworkStackTraces ? encoding : Encodings.withoutFrameworkStackTraces(encoding))
+                .map(LazilyInitializedEncoding::new)
+                .collect(ImmutableList.toImmutableList());
         Preconditions.checkArgument(encodings.size() > 0, "At least one Encoding is required");
+        Preconditions.checkArgument(maxResponseBuffers >= 0, "maxResponseBuffers must not be negative");
+        Preconditions.checkArgument(streamingFlushSize > 0, "streamingFlushSize must be positive");
+        this.negotiator = new EncodingNegotiator(this.encodings);
+        // Streamed lists are negotiated separately, between the encodings which can read and write them
+        this.streamingEncodings = this.encodings.stream()
+                .filter(Encoding::supportsElementStreaming)
+                .collect(ImmutableList.toImmutableList());
+        this.streamingNegotiator = new EncodingNegotiator(this.streamingEncodings);
+        this.maxResponseBuffers = maxResponseBuffers;
+        this.frameworkStackTraces = frameworkStackTraces;
+        this.streamingFlushSize = streamingFlushSize;
+    }
+
+    /**
+     * Creates the serializers and deserializers which have been requested but not yet used, then runs the
+     * configured round-trips.
+     */
+    WarmUpResult warmUp(WarmUp warmUp) {
+        long start = System.nanoTime();
+        int serializers = 0;
+        int deserializers = 0;
+        List<CompletableFuture<?>> roundTrips = new ArrayList<>();
+        for (LazilyInitializedEncoding encoding : encodings) {
+            if (warmUp.includes(encoding)) {
+                LazilyInitializedEncoding.Initialized initialized = encoding.initialize(warmUp.executor());
+                serializers += initialized.serializers();
+                deserializers += initialized.deserializers();
+                for (WarmUp.RoundTrip<?> roundTrip : warmUp.roundTrips()) {
+                    roundTrips.add(CompletableFuture.runAsync(
+                            () -> runRoundTrip(roundTrip, encoding, warmUp.iterations()), warmUp.executor()));
+                }
+            }
+        }
+        WarmUp.await(roundTrips);
+        WarmUpResult result = new WarmUpResult(
+                serializers, deserializers, roundTrips.size(), Duration.ofNanos(System.nanoTime() - start));
+        log.info(
+                "Warmed up Conjure encodings",
+                SafeArg.of("serializers", result.serializers()),
+                SafeArg.of("deserializers", result.deserializers()),
+                SafeArg.of("roundTrips", result.roundTrips()),
+                SafeArg.of("duration", result.duration()));
+        return result;
+    }
+
+    private static void runRoundTrip(
+            WarmUp.RoundTrip<?> roundTrip, LazilyInitializedEncoding encoding, int iterations) {
+        try {
+            roundTrip.run(encoding.delegate(), iterations);
+        } catch (IOException | RuntimeException e) {
+            throw new SafeIllegalStateException(
+                    "Failed to round-trip warm-up value",
+                    e,
+                    SafeArg.of("type", roundTrip),
+                    SafeArg.of("contentType", encoding.getContentType()));
+        }
     }
 
     @Override
     public <T> Serializer<T> serializer(TypeMarker<T> token) {
-        return new EncodingSerializerRegistry<>(encodings, token, Optional.empty());
+        return new EncodingSerializerRegistry<>(encodings, negotiator, token, Optional.empty(), maxResponseBuffers);
     }
 
     @Override
     public <T> Serializer<T> serializer(TypeMarker<T> token, Endpoint endpoint) {
-        return new EncodingSerializerRegistry<>(encodings, token, Optional.of(endpoint));
+        return new EncodingSerializerRegistry<>(
+                encodings, negotiator, token, Optional.of(endpoint), maxResponseBuffers);
     }
 
     @Override
     public <T> Deserializer<T> deserializer(TypeMarker<T> token) {
-        return new EncodingDeserializerRegistry<>(encodings, token, Optional.empty());
+        return new EncodingDeserializerRegistry<>(encodings, negotiator, token, Optional.empty(), frameworkStackTraces);
     }
 
     @Override
     public <T> Deserializer<T> deserializer(TypeMarker<T> token, Endpoint endpoint) {
-        return new EncodingDeserializerRegistry<>(encodings, token, Optional.of(endpoint));
+        return new EncodingDeserializerRegistry<>(
+                encodings, negotiator, token, Optional.of(endpoint), frameworkStackTraces);
+    }
+
+    @Override
+    public <T> StreamingSerializer<T> streamingSerializer(TypeMarker<T> elementType, Endpoint endpoint) {
+        checkElementStreamingSupported(endpoint);
+        return new EncodingStreamingSerializer<>(
+                streamingEncodings, streamingNegotiator, elementType, streamingFlushSize);
+    }
+
+    @Override
+    public <T> Deserializer<Iterator<T>> streamingDeserializer(TypeMarker<T> elementType, Endpoint endpoint) {
+        checkElementStreamingSupported(endpoint);
+        return new EncodingStreamingDeserializer<>(
+                streamingEncodings, streamingNegotiator, elementType, frameworkStackTraces);
+    }
+
+    private void checkElementStreamingSupported(Endpoint endpoint) {
+        if (streamingEncodings.isEmpty()) {
+            throw new SafeIllegalStateException(
+                    "Streamed lists require an encoding which supports element streaming",
+                    SafeArg.of("serviceName", endpoint.serviceName()),
+                    SafeArg.of("endpointName", endpoint.name()),
+                    SafeArg.of("encodings", encodings));
+        }
     }
 
     @Override
     public void serialize(BinaryResponseBody value, HttpServerExchange exchange) throws IOException {
         Preconditions.checkNotNull(value, "A BinaryResponseBody value is required");
         exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, BINARY_CONTENT_TYPE);
+        EndpointMetricsHandler.responseEncoding(BINARY_CONTENT_TYPE);
+        long start = EndpointMetricsHandler.startPhase();
         Tracer.fastStartSpan(TracedEncoding.SERIALIZE_OPERATION);
         try {
-            value.write(exchange.getOutputStream());
+            if (value instanceof FileResponseBody) {
+                FileResponseBodies.send((FileResponseBody) value, exchange);
+            } else {
+                value.write(exchange.getOutputStream());
+            }
         } finally {
             Tracer.fastCompleteSpan(SerializeBinaryTagTranslator.INSTANCE, SerializeBinaryTagTranslator.INSTANCE);
+            EndpointMetricsHandler.endPhase(EndpointPhase.SERIALIZATION, start);
         }
     }
 
     @Override
     public InputStream deserializeInputStream(HttpServerExchange exchange) {
+        checkBinaryContentType(exchange);
+        return exchange.getInputStream();
+    }
+
+    @Override
+    public Flow.Publisher<ByteBuffer> deserializeByteBuffers(HttpServerExchange exchange) {
+        checkBinaryContentType(exchange);
+        return new RequestBodyPublisher(exchange);
+    }
+
+    private void checkBinaryContentType(HttpServerExchange exchange) {
         String contentType = getContentType(exchange);
         // Compare using 'String#regionMatches' to avoid allocation
         if (contentType.length() < BINARY_CONTENT_TYPE.length()
                 || !contentType.regionMatches(
                         /* ignoreCase = */ true, 0, BINARY_CONTENT_TYPE, 0, BINARY_CONTENT_TYPE.length())) {
             throw FrameworkException.unsupportedMediaType(
-                    "Unsupported Content-Type", SafeArg.of("Content-Type", contentType));
+                    frameworkStackTraces, "Unsupported Content-Type", SafeArg.of("Content-Type", contentType));
         }
-        return exchange.getInputStream();
+        EndpointMetricsHandler.requestEncoding(BINARY_CONTENT_TYPE);
     }
 
     private static final class EncodingSerializerRegistry<T> implements Serializer<T> {
 
-        private final EncodingSerializerContainer<T> defaultEncoding;
         private final List<EncodingSerializerContainer<T>> encodings;
-
-        EncodingSerializerRegistry(List<Encoding> encodings, TypeMarker<T> token, Optional<Endpoint> endpoint) {
+        private final EncodingNegotiator negotiator;
+        private final int maxResponseBuffers;
+
+        EncodingSerializerRegistry(
+                List<? extends Encoding> encodings,
+                EncodingNegotiator negotiator,
+                TypeMarker<T> token,
+                Optional<Endpoint> endpoint,
+                int maxResponseBuffers) {
             this.encodings = encodings.stream()
                     .map(encoding -> new EncodingSerializerContainer<>(encoding, token, endpoint))
                     .collect(ImmutableList.toImmutableList());
-            this.defaultEncoding = this.encodings.get(0);
+            this.negotiator = negotiator;
+            this.maxResponseBuffers = maxResponseBuffers;
         }
 
         @Override
@@ -127,29 +269,29 @@ final class ConjureBodySerDe implements BodySerDe {
             Preconditions.checkNotNull(value, "cannot serialize null value");
             safelyDrainRequestBody(exchange);
             EncodingSerializerContainer<T> container = getResponseSerializer(exchange);
-            exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, container.encoding.getContentType());
-            container.serializer.serialize(value, exchange.getOutputStream());
+            String contentType = container.encoding.getContentType();
+            exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, contentType);
+            EndpointMetricsHandler.responseEncoding(contentType);
+            long start = EndpointMetricsHandler.startPhase();
+            try {
+                if (maxResponseBuffers > 0) {
+                    try (PooledResponseOutputStream output =
+                            new PooledResponseOutputStream(exchange, maxResponseBuffers)) {
+                        container.serializer.serialize(value, output);
+                        output.complete();
+                    }
+                } else {
+                    container.serializer.serialize(value, exchange.getOutputStream());
+                }
+            } finally {
+                EndpointMetricsHandler.endPhase(EndpointPhase.SERIALIZATION, start);
+            }
         }
 
         /** Returns the {@link EncodingSerializerContainer} to use for the exchange response. */
-        @SuppressWarnings("ForLoopReplaceableByForEach") // performance sensitive code avoids iterator allocation
         EncodingSerializerContainer<T> getResponseSerializer(HttpServerExchange exchange) {
-            HeaderValues acceptValues = exchange.getRequestHeaders().get(Headers.ACCEPT);
-            if (acceptValues != null) {
-                // This implementation prefers the client "Accept" order
-                for (int i = 0; i < acceptValues.size(); i++) {
-                    for (String acceptValue : ACCEPT_VALUE_SPLITTER.split(acceptValues.get(i))) {
-                        for (int j = 0; j < encodings.size(); j++) {
-                            EncodingSerializerContainer<T> container = encodings.get(j);
-                            if (container.encoding.supportsContentType(acceptValue)) {
-                                return container;
-                            }
-                        }
-                    }
-                }
-            }
-            // Fall back to the default
-            return defaultEncoding;
+            return encodings.get(
+                    negotiator.responseEncoding(exchange.getRequestHeaders().get(Headers.ACCEPT)));
         }
     }
 
@@ -166,22 +308,125 @@ final class ConjureBodySerDe implements BodySerDe {
         }
     }
 
+    private static final class EncodingStreamingSerializer<T> implements StreamingSerializer<T> {
+
+        private final List<? extends Encoding> encodings;
+        private final List<Supplier<Encoding.ElementSerializer<T>>> serializers;
+        private final EncodingNegotiator negotiator;
+        private final int flushSize;
+
+        EncodingStreamingSerializer(
+                List<? extends Encoding> encodings,
+                EncodingNegotiator negotiator,
+                TypeMarker<T> elementType,
+                int flushSize) {
+            this.encodings = encodings;
+            // Element serializers are created on first use, most endpoints only ever respond with one encoding.
+            this.serializers = encodings.stream()
+                    .<Supplier<Encoding.ElementSerializer<T>>>map(
+                            encoding -> Suppliers.memoize(() -> encoding.elementSerializer(elementType)))
+                    .collect(ImmutableList.toImmutableList());
+            this.negotiator = negotiator;
+            this.flushSize = flushSize;
+        }
+
+        @Override
+        public void serialize(Iterator<? extends T> elements, HttpServerExchange exchange) throws IOException {
+            Preconditions.checkNotNull(elements, "cannot serialize null elements");
+            long start = EndpointMetricsHandler.startPhase();
+            try {
+                // The writer is only closed once every element has been written. Closing it after a failure would
+                // flush a truncated list and commit the response, preventing the error from being reported.
+                ElementWriter<T> writer = open(exchange);
+                int buffered = 0;
+                while (elements.hasNext()) {
+                    writer.write(elements.next());
+                    if (++buffered == flushSize) {
+                        writer.flush();
+                        buffered = 0;
+                    }
+                }
+                writer.close();
+            } finally {
+                EndpointMetricsHandler.endPhase(EndpointPhase.SERIALIZATION, start);
+            }
+        }
+
+        @Override
+        public ElementWriter<T> open(HttpServerExchange exchange) throws IOException {
+            safelyDrainRequestBody(exchange);
+            int index = negotiator.responseEncoding(exchange.getRequestHeaders().get(Headers.ACCEPT));
+            Encoding.ElementSerializer<T> serializer = serializers.get(index).get();
+            String contentType = encodings.get(index).getContentType();
+            exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, contentType);
+            EndpointMetricsHandler.responseEncoding(contentType);
+            OutputStream output = exchange.getOutputStream();
+            return new ExchangeElementWriter<>(serializer.open(output), output);
+        }
+    }
+
+    private static final class ExchangeElementWriter<T> implements StreamingSerializer.ElementWriter<T> {
+
+        private final StreamingSerializer.ElementWriter<T> delegate;
+        private final OutputStream output;
+
+        ExchangeElementWriter(StreamingSerializer.ElementWriter<T> delegate, OutputStream output) {
+            this.delegate = delegate;
+            this.output = output;
+        }
+
+        @Override
+        public void write(T element) throws IOException {
+            delegate.write(element);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+            // Encodings do not pass flushes through to the exchange, which would otherwise buffer elements.
+            output.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
     private static final class EncodingDeserializerRegistry<T> implements Deserializer<T> {
 
         private final List<EncodingDeserializerContainer<T>> encodings;
+        private final EncodingNegotiator negotiator;
         private final boolean optionalType;
         private final TypeMarker<T> marker;
-
-        EncodingDeserializerRegistry(List<Encoding> encodings, TypeMarker<T> token, Optional<Endpoint> endpoint) {
+        private final boolean frameworkStackTraces;
+
+        EncodingDeserializerRegistry(
+                List<? extends Encoding> encodings,
+                EncodingNegotiator negotiator,
+                TypeMarker<T> token,
+                Optional<Endpoint> endpoint,
+                boolean frameworkStackTraces) {
             this.encodings = encodings.stream()
                     .map(encoding -> new EncodingDeserializerContainer<>(encoding, token, endpoint))
                     .collect(ImmutableList.toImmutableList());
+            this.negotiator = negotiator;
             this.optionalType = TypeMarkers.isOptional(token);
             this.marker = token;
+            this.frameworkStackTraces = frameworkStackTraces;
         }
 
         @Override
         public T deserialize(HttpServerExchange exchange) throws IOException {
+            long start = EndpointMetricsHandler.startPhase();
+            try {
+                return deserializeBody(exchange);
+            } finally {
+                EndpointMetricsHandler.endPhase(EndpointPhase.DESERIALIZATION, start);
+            }
+        }
+
+        private T deserializeBody(HttpServerExchange exchange) throws IOException {
             // If this deserializer is built for an optional root type, Optional<?>, OptionalInt, etc,
             // and the incoming request body might be empty (does not have a content-length greater than zero)
             // we must map from an empty request body to an empty optional.
@@ -208,6 +453,7 @@ final class ConjureBodySerDe implements BodySerDe {
 
         private T deserializeInternal(HttpServerExchange exchange, InputStream requestStream) throws IOException {
             EncodingDeserializerContainer<T> container = getRequestDeserializer(exchange);
+            EndpointMetricsHandler.requestEncoding(container.contentType);
             return container.deserializer.deserialize(requestStream);
         }
 
@@ -218,27 +464,68 @@ final class ConjureBodySerDe implements BodySerDe {
         }
 
         /** Returns the {@link EncodingDeserializerContainer} to use to deserialize the request body. */
-        @SuppressWarnings("ForLoopReplaceableByForEach") // performance sensitive code avoids iterator allocation
         EncodingDeserializerContainer<T> getRequestDeserializer(HttpServerExchange exchange) {
             String contentType = getContentType(exchange);
-            for (int i = 0; i < encodings.size(); i++) {
-                EncodingDeserializerContainer<T> container = encodings.get(i);
-                if (container.encoding.supportsContentType(contentType)) {
-                    return container;
-                }
+            int encoding = negotiator.requestEncoding(contentType);
+            if (encoding == EncodingNegotiator.UNSUPPORTED) {
+                throw FrameworkException.unsupportedMediaType(
+                        frameworkStackTraces, "Unsupported Content-Type", SafeArg.of("Content-Type", contentType));
+            }
+            return encodings.get(encoding);
+        }
+    }
+
+    private static final class EncodingStreamingDeserializer<T> implements Deserializer<Iterator<T>> {
+
+        private final List<Supplier<Encoding.ElementDeserializer<T>>> deserializers;
+        private final List<String> contentTypes;
+        private final EncodingNegotiator negotiator;
+        private final boolean frameworkStackTraces;
+
+        EncodingStreamingDeserializer(
+                List<? extends Encoding> encodings,
+                EncodingNegotiator negotiator,
+                TypeMarker<T> elementType,
+                boolean frameworkStackTraces) {
+            // Element deserializers are created on first use, most endpoints only ever receive one encoding.
+            this.deserializers = encodings.stream()
+                    .<Supplier<Encoding.ElementDeserializer<T>>>map(
+                            encoding -> Suppliers.memoize(() -> encoding.elementDeserializer(elementType)))
+                    .collect(ImmutableList.toImmutableList());
+            this.contentTypes =
+                    encodings.stream().map(Encoding::getContentType).collect(ImmutableList.toImmutableList());
+            this.negotiator = negotiator;
+            this.frameworkStackTraces = frameworkStackTraces;
+        }
+
+        @Override
+        public Iterator<T> deserialize(HttpServerExchange exchange) throws IOException {
+            String contentType = getContentType(exchange);
+            int encoding = negotiator.requestEncoding(contentType);
+            if (encoding == EncodingNegotiator.UNSUPPORTED) {
+                throw FrameworkException.unsupportedMediaType(
+                        frameworkStackTraces, "Unsupported Content-Type", SafeArg.of("Content-Type", contentType));
+            }
+            EndpointMetricsHandler.requestEncoding(contentTypes.get(encoding));
+            // Elements are read by the endpoint as it consumes the iterator, so only opening the list is recorded
+            // as deserialization time.
+            exchange.putAttachment(STREAMED_REQUEST_BODY, Boolean.TRUE);
+            long start = EndpointMetricsHandler.startPhase();
+            try {
+                return deserializers.get(encoding).get().open(exchange.getInputStream());
+            } finally {
+                EndpointMetricsHandler.endPhase(EndpointPhase.DESERIALIZATION, start);
             }
-            throw FrameworkException.unsupportedMediaType(
-                    "Unsupported Content-Type", SafeArg.of("Content-Type", contentType));
         }
     }
 
     private static final class EncodingDeserializerContainer<T> {
 
-        private final Encoding encoding;
+        private final String contentType;
         private final Encoding.Deserializer<T> deserializer;
 
         EncodingDeserializerContainer(Encoding encoding, TypeMarker<T> token, Optional<Endpoint> endpoint) {
-            this.encoding = encoding;
+            this.contentType = encoding.getContentType();
             this.deserializer = endpoint.isPresent()
                     ? TracedEncoding.wrap(encoding).deserializer(token, endpoint.get())
                     : TracedEncoding.wrap(encoding).deserializer(token);
@@ -249,10 +536,11 @@ final class ConjureBodySerDe implements BodySerDe {
      * Ensure the client isn't blocked sending additional data. It's very uncommon for this to be necessary, in most
      * cases exceptional responses are far below the 16k buffer threshold, not even considering socket buffers.
      */
-    private static void safelyDrainRequestBody(HttpServerExchange exchange) {
+    static void safelyDrainRequestBody(HttpServerExchange exchange) {
         // No need to impact http/2 which supports out-of-band responses.
         if ((Protocols.HTTP_1_1.equals(exchange.getProtocol()) || Protocols.HTTP_1_0.equals(exchange.getProtocol()))
-                && !exchange.isRequestComplete()) {
+                && !exchange.isRequestComplete()
+                && exchange.getAttachment(STREAMED_REQUEST_BODY) == null) {
             try (CloseableTracer ignored = CloseableTracer.startSpan("Undertow: drain request body")) {
                 IoUtils.safeClose(exchange.getInputStream());
             }
@@ -24,11 +24,13 @@ import com.palantir.conjure.java.api.errors.ServiceException;
 import com.palantir.conjure.java.undertow.lib.ExceptionHandler;
 import com.palantir.conjure.java.undertow.lib.Serializer;
 import com.palantir.conjure.java.undertow.lib.TypeMarker;
+import com.palantir.logsafe.Arg;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.logger.SafeLogger;
 import com.palantir.logsafe.logger.SafeLoggerFactory;
 import io.undertow.io.UndertowOutputStream;
 import io.undertow.server.HttpServerExchange;
+import io.undertow.server.RequestTooBigException;
 import io.undertow.util.Headers;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -49,6 +51,10 @@ public enum ConjureExceptions implements ExceptionHandler {
     // Exceptions should always be serialized using JSON
     private static final Serializer<SerializableError> serializer =
             new ConjureBodySerDe(Collections.singletonList(Encodings.json())).serializer(new TypeMarker<>() {});
+    // Errors without parameters are written from pre-serialized bodies
+    private static final SerializedErrors serializedErrors = new SerializedErrors(Encodings.json());
+    // Bounds the cost of logging when clients repeatedly trigger the same failure
+    private static final ErrorLogRateLimiter logRateLimiter = new ErrorLogRateLimiter(100);
 
     @Override
     public void handle(HttpServerExchange exchange, Throwable throwable) {
@@ -65,6 +71,9 @@ public enum ConjureExceptions implements ExceptionHandler {
             frameworkException(exchange, (FrameworkException) throwable);
         } else if (throwable instanceof Error) {
             error(exchange, (Error) throwable);
+        } else if (isRequestTooBig(throwable)) {
+            frameworkException(
+                    exchange, FrameworkException.requestEntityTooLarge("Request entity is too large", throwable));
         } else if (throwable instanceof IOException && !exchange.getConnection().isOpen()) {
             log.info(
                     "I/O exception from a closed connection. The request may have been aborted by the client",
@@ -72,19 +81,26 @@ public enum ConjureExceptions implements ExceptionHandler {
         } else {
             ServiceException exception = new ServiceException(ErrorType.INTERNAL, throwable);
             log(exception, throwable);
-            writeResponse(
-                    exchange,
-                    Optional.of(SerializableError.forException(exception)),
-                    exception.getErrorType().httpErrorCode());
+            writeResponse(exchange, exception, exception.getErrorType().httpErrorCode());
+        }
+    }
+
+    /**
+     * Request size limits are enforced while the body is read, so the {@link RequestTooBigException} may be wrapped by
+     * the deserializer.
+     */
+    private static boolean isRequestTooBig(Throwable throwable) {
+        for (Throwable current = throwable; current != null; current = current.getCause()) {
+            if (current instanceof RequestTooBigException) {
+                return true;
+            }
         }
+        return false;
     }
 
     private static void serviceException(HttpServerExchange exchange, ServiceException exception) {
         log(exception);
-        writeResponse(
-                exchange,
-                Optional.of(SerializableError.forException(exception)),
-                exception.getErrorType().httpErrorCode());
+        writeResponse(exchange, exception, exception.getErrorType().httpErrorCode());
     }
 
     private static void qosException(HttpServerExchange exchange, QosException qosException) {
@@ -144,27 +160,21 @@ public enum ConjureExceptions implements ExceptionHandler {
                     remoteException);
 
             ServiceException exception = new ServiceException(ErrorType.INTERNAL, remoteException);
-            writeResponse(
-                    exchange,
-                    Optional.of(SerializableError.forException(exception)),
-                    exception.getErrorType().httpErrorCode());
+            writeResponse(exchange, exception, exception.getErrorType().httpErrorCode());
         }
     }
 
     private static void illegalArgumentException(HttpServerExchange exchange, Throwable throwable) {
         ServiceException exception = new ServiceException(ErrorType.INVALID_ARGUMENT, throwable);
         log(exception, throwable);
-        writeResponse(
-                exchange,
-                Optional.of(SerializableError.forException(exception)),
-                exception.getErrorType().httpErrorCode());
+        writeResponse(exchange, exception, exception.getErrorType().httpErrorCode());
     }
 
     private static void frameworkException(HttpServerExchange exchange, FrameworkException frameworkException) {
         int statusCode = frameworkException.getStatusCode();
         ServiceException exception = new ServiceException(frameworkException.getErrorType(), frameworkException);
         log(exception, frameworkException);
-        writeResponse(exchange, Optional.of(SerializableError.forException(exception)), statusCode);
+        writeResponse(exchange, exception, statusCode);
     }
 
     private static void error(HttpServerExchange exchange, Error error) {
@@ -176,6 +186,21 @@ public enum ConjureExceptions implements ExceptionHandler {
         writeResponse(exchange, Optional.empty(), ErrorType.INTERNAL.httpErrorCode());
     }
 
+    private static void writeResponse(HttpServerExchange exchange, ServiceException exception, int statusCode) {
+        if (!isResponseStarted(exchange)) {
+            exchange.setStatusCode(statusCode);
+            try {
+                if (!serializedErrors.tryWrite(exchange, exception)) {
+                    serializer.serialize(SerializableError.forException(exception), exchange);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.info("Failed to write error response", e);
+            }
+        } else {
+            writeResponse(exchange, Optional.empty(), statusCode);
+        }
+    }
+
     private static void writeResponse(
             HttpServerExchange exchange, Optional<SerializableError> maybeBody, int statusCode) {
         // Do not attempt to write the failure if data has already been written
@@ -212,21 +237,49 @@ public enum ConjureExceptions implements ExceptionHandler {
     }
 
     private static void log(ServiceException serviceException, Throwable exceptionForLogging) {
-        if (serviceException.getErrorType().httpErrorCode() / 100 == 4 /* client error */) {
-            log.info(
-                    "Error handling request",
+        boolean clientError = serviceException.getErrorType().httpErrorCode() / 100 == 4;
+        if (clientError ? !log.isInfoEnabled() : !log.isErrorEnabled()) {
+            return;
+        }
+        // Server errors are always logged, only client errors (including framework errors) are rate limited
+        int suppressedLogs = clientError
+                ? logRateLimiter.tryAcquire(serviceException.getErrorType().name())
+                : 0;
+        if (suppressedLogs == ErrorLogRateLimiter.SUPPRESSED) {
+            return;
+        }
+        if (suppressedLogs > 0) {
+            log(
+                    clientError,
                     SafeArg.of("errorInstanceId", serviceException.getErrorInstanceId()),
                     SafeArg.of("errorName", serviceException.getErrorType().name()),
+                    SafeArg.of("suppressedLogs", suppressedLogs),
                     exceptionForLogging);
         } else {
-            log.error(
-                    "Error handling request",
+            log(
+                    clientError,
                     SafeArg.of("errorInstanceId", serviceException.getErrorInstanceId()),
                     SafeArg.of("errorName", serviceException.getErrorType().name()),
                     exceptionForLogging);
         }
     }
 
+    private static void log(boolean clientError, Arg<?> arg1, Arg<?> arg2, Throwable throwable) {
+        if (clientError) {
+            log.info("Error handling request", arg1, arg2, throwable);
+        } else {
+            log.error("Error handling request", arg1, arg2, throwable);
+        }
+    }
+
+    private static void log(boolean clientError, Arg<?> arg1, Arg<?> arg2, Arg<?> arg3, Throwable throwable) {
+        if (clientError) {
+            log.info("Error handling request", arg1, arg2, arg3, throwable);
+        } else {
+            log.error("Error handling request", arg1, arg2, arg3, throwable);
+        }
+    }
+
     private static void log(ServiceException exception) {
         log(exception, exception);
     }
@@ -16,6 +16,7 @@
 
 package com.palantir.conjure.java.undertow.runtime;
 
+import com.google.common.annotations.Beta;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
@@ -34,13 +35,17 @@ import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.server.RoutingHandler;
 import io.undertow.server.handlers.BlockingHandler;
+import io.undertow.server.handlers.RequestBufferingHandler;
 import io.undertow.server.handlers.ResponseCodeHandler;
 import io.undertow.util.HttpString;
 import io.undertow.util.Methods;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 /**
@@ -49,19 +54,30 @@ import java.util.stream.Collectors;
  */
 public final class ConjureHandler implements HttpHandler {
 
-    private final RoutingHandler routingHandler;
+    private final HttpHandler router;
 
-    private ConjureHandler(HttpHandler fallback, List<Endpoint> endpoints) {
-        this.routingHandler = Handlers.routing(false)
-                .setFallbackHandler(fallback)
-                // The method may be valid for another handlers, the
-                // fallback handler will be used instead of 405 status.
-                .setInvalidMethodHandler(null);
-        endpoints.forEach(this::register);
-        registerSyntheticEndpoints(routingHandler, endpoints);
+    private ConjureHandler(HttpHandler fallback, List<Endpoint> endpoints, boolean trieRouting) {
+        if (trieRouting) {
+            ConjureRouter.Builder routerBuilder = ConjureRouter.builder();
+            register(routerBuilder::add, endpoints);
+            this.router = routerBuilder.build(fallback);
+        } else {
+            RoutingHandler routingHandler = Handlers.routing(false)
+                    .setFallbackHandler(fallback)
+                    // The method may be valid for another handlers, the
+                    // fallback handler will be used instead of 405 status.
+                    .setInvalidMethodHandler(null);
+            register(routingHandler::add, endpoints);
+            this.router = routingHandler;
+        }
+    }
+
+    private static void register(Routes routes, List<Endpoint> endpoints) {
+        endpoints.forEach(endpoint -> routes.add(endpoint.method(), endpoint.template(), endpoint.handler()));
+        registerSyntheticEndpoints(routes, endpoints);
     }
 
-    private static List<Endpoint> applyHeadEndpoints(RoutingHandler routingHandler, List<Endpoint> endpoints) {
+    private static List<Endpoint> applyHeadEndpoints(Routes routes, List<Endpoint> endpoints) {
         List<Endpoint> result = new ArrayList<>(endpoints.size());
         for (Endpoint endpoint : endpoints) {
             result.add(endpoint);
@@ -69,25 +85,25 @@ public final class ConjureHandler implements HttpHandler {
                 Endpoint headEndpoint =
                         Endpoint.builder().from(endpoint).method(Methods.HEAD).build();
                 result.add(headEndpoint);
-                routingHandler.add(headEndpoint.method(), headEndpoint.template(), headEndpoint.handler());
+                routes.add(headEndpoint.method(), headEndpoint.template(), headEndpoint.handler());
             }
         }
         return result;
     }
 
-    private static void registerSyntheticEndpoints(RoutingHandler routingHandler, List<Endpoint> endpoints) {
-        List<Endpoint> updatedEndpoints = applyHeadEndpoints(routingHandler, endpoints);
-        registerOptionsEndpoints(routingHandler, updatedEndpoints);
+    private static void registerSyntheticEndpoints(Routes routes, List<Endpoint> endpoints) {
+        List<Endpoint> updatedEndpoints = applyHeadEndpoints(routes, endpoints);
+        registerOptionsEndpoints(routes, updatedEndpoints);
     }
 
-    private static void registerOptionsEndpoints(RoutingHandler routingHandler, List<Endpoint> endpoints) {
+    private static void registerOptionsEndpoints(Routes routes, List<Endpoint> endpoints) {
         endpoints.stream()
                 .collect(ImmutableSetMultimap.toImmutableSetMultimap(
                         endpoint -> normalizeTemplate(endpoint.template()), Endpoint::method))
                 .asMap()
                 .forEach((normalizedPath, methods) -> {
                     if (!methods.contains(Methods.OPTIONS)) {
-                        routingHandler.add(
+                        routes.add(
                                 Methods.OPTIONS,
                                 normalizedPath,
                                 new WebSecurityHandler(new OptionsHandler(ImmutableSet.copyOf(methods))));
@@ -97,11 +113,7 @@ public final class ConjureHandler implements HttpHandler {
 
     @Override
     public void handleRequest(HttpServerExchange exchange) throws Exception {
-        routingHandler.handleRequest(exchange);
-    }
-
-    private void register(Endpoint endpoint) {
-        routingHandler.add(endpoint.method(), endpoint.template(), endpoint.handler());
+        router.handleRequest(exchange);
     }
 
     public static Builder builder() {
@@ -119,6 +131,13 @@ public final class ConjureHandler implements HttpHandler {
         private final List<UndertowService> services = new ArrayList<>();
         private HttpHandler fallback = ResponseCodeHandler.HANDLE_404;
         private UndertowRuntime runtime = ConjureUndertowRuntime.builder().build();
+        private int requestBufferingMaxBuffers = 0;
+        private Optional<Executor> executor = Optional.empty();
+        private int maxConcurrentRequestsPerEndpoint = 0;
+        private boolean trieRouting = false;
+        private boolean fusedPipeline = false;
+        private OptionalInt compressionMinimumResponseBytes = OptionalInt.empty();
+        private OptionalLong requestDecompressionMaxBytes = OptionalLong.empty();
 
         private Builder() {}
 
@@ -187,6 +206,108 @@ public final class ConjureHandler implements HttpHandler {
             return this;
         }
 
+        /**
+         * Reads request bodies into up to {@code maxBuffers} pooled buffers on the IO thread before the request is
+         * dispatched to the blocking task pool, so that worker threads deserialize from memory rather than waiting for
+         * slow clients to send the body. Bodies which exceed the buffered size are read as usual once the first buffers
+         * are consumed. Disabled by default.
+         *
+         * <p>This only buffers request bytes. Bodies are still deserialized on a worker thread, and every request,
+         * including requests to asynchronous endpoints, is still dispatched to the task pool. Enabling buffering does
+         * not reduce the number of worker threads a service requires to handle a given request rate.
+         */
+        @CanIgnoreReturnValue
+        public Builder requestBuffering(int maxBuffers) {
+            Preconditions.checkArgument(
+                    maxBuffers > 0, "maxBuffers must be positive", SafeArg.of("maxBuffers", maxBuffers));
+            this.requestBufferingMaxBuffers = maxBuffers;
+            return this;
+        }
+
+        /**
+         * Compresses responses using gzip or deflate for clients which allow it using {@code Accept-Encoding}.
+         * Responses with a {@code Content-Length} smaller than {@code minimumResponseBytes} are not compressed, nor are
+         * binary or already-compressed content types. Responses streamed without a {@code Content-Length} are always
+         * eligible. Compressors are pooled per thread. Disabled by default.
+         */
+        @CanIgnoreReturnValue
+        public Builder compression(int minimumResponseBytes) {
+            Preconditions.checkArgument(
+                    minimumResponseBytes >= 0,
+                    "minimumResponseBytes must not be negative",
+                    SafeArg.of("minimumResponseBytes", minimumResponseBytes));
+            this.compressionMinimumResponseBytes = OptionalInt.of(minimumResponseBytes);
+            return this;
+        }
+
+        /**
+         * Decodes request bodies sent with a gzip or deflate {@code Content-Encoding}. Requests which decode to more
+         * than {@code maxDecodedBytes} are rejected with a 413 response, because a small encoded body may otherwise
+         * inflate without bound. Decompressors are pooled per thread. Disabled by default.
+         */
+        @CanIgnoreReturnValue
+        public Builder requestDecompression(long maxDecodedBytes) {
+            Preconditions.checkArgument(
+                    maxDecodedBytes > 0,
+                    "maxDecodedBytes must be positive",
+                    SafeArg.of("maxDecodedBytes", maxDecodedBytes));
+            this.requestDecompressionMaxBytes = OptionalLong.of(maxDecodedBytes);
+            return this;
+        }
+
+        /**
+         * Dispatches blocking endpoint handlers to the provided {@link Executor} instead of the Undertow worker pool.
+         * Services with many slow downstream calls may provide a virtual-thread-per-task executor where available, in
+         * which case {@link #maxConcurrentRequestsPerEndpoint(int)} should be configured to bound concurrency.
+         * Tracing, logging context and exception handling are applied on the executor thread.
+         */
+        @CanIgnoreReturnValue
+        public Builder executor(Executor value) {
+            this.executor = Optional.of(Preconditions.checkNotNull(value, "Executor is required"));
+            return this;
+        }
+
+        /**
+         * Limits the number of concurrent requests to each endpoint. Requests which exceed the limit are rejected with
+         * a {@link com.palantir.conjure.java.api.errors.QosException#throttle() throttle} response. Unlimited by
+         * default.
+         */
+        @CanIgnoreReturnValue
+        public Builder maxConcurrentRequestsPerEndpoint(int maxConcurrentRequests) {
+            Preconditions.checkArgument(
+                    maxConcurrentRequests > 0,
+                    "maxConcurrentRequests must be positive",
+                    SafeArg.of("maxConcurrentRequests", maxConcurrentRequests));
+            this.maxConcurrentRequestsPerEndpoint = maxConcurrentRequests;
+            return this;
+        }
+
+        /**
+         * Routes requests using a trie compiled from the endpoint path templates rather than the Undertow
+         * {@link RoutingHandler}, which reduces routing overhead for services with many endpoints. Path parameters
+         * are exposed using the same {@link io.undertow.util.PathTemplateMatch} attachment. Empty path parameter
+         * values are not matched, where the {@link RoutingHandler} may match them.
+         */
+        @Beta
+        @CanIgnoreReturnValue
+        public Builder experimentalTrieRouting(boolean value) {
+            this.trieRouting = value;
+            return this;
+        }
+
+        /**
+         * Applies the built-in per-endpoint handlers as two fused stages, one on the IO thread and one on the blocking
+         * thread, rather than a chain of nested handlers. Responses are identical, while each request makes fewer
+         * handler invocations and registers fewer completion listeners. Wrappers registered using
+         * {@link #addWrapperBeforeBlocking(EndpointHandlerWrapper)} are applied between the two stages.
+         */
+        @Beta
+        @CanIgnoreReturnValue
+        public Builder experimentalFusedPipeline(boolean value) {
+            this.fusedPipeline = value;
+            return this;
+        }
+
         /** Configures the runtime instance to use with this handler. */
         @CanIgnoreReturnValue
         public Builder runtime(UndertowRuntime value) {
@@ -205,14 +326,21 @@ public final class ConjureHandler implements HttpHandler {
                     .build();
             checkOverlappingPaths(allEndpoints);
 
-            ImmutableList<EndpointHandlerWrapper> wrappers = ImmutableList.<EndpointHandlerWrapper>builder()
+            List<EndpointHandlerWrapper> wrappers = fusedPipeline ? fusedWrappers() : nestedWrappers();
+
+            return new ConjureHandler(
+                    fallback,
+                    allEndpoints.stream()
+                            .map(endpoint -> wrap(endpoint, wrappers))
+                            .collect(ImmutableList.toImmutableList()),
+                    trieRouting);
+        }
+
+        private List<EndpointHandlerWrapper> nestedWrappers() {
+            return ImmutableList.<EndpointHandlerWrapper>builder()
                     .add(
                             // Begin the server span as early as possible to capture the most of the request.
-                            endpoint -> Optional.of(new TracedRequestHandler(
-                                    endpoint.handler(),
-                                    "Undertow: " + endpoint.method() + " " + endpoint.template(),
-                                    CompletedRequestTagTranslator.INSTANCE.andThen(
-                                            new EndpointTagTranslator(endpoint)))),
+                            tracingWrapper(),
                             // Allow the server to configure UndertowOptions.DECODE_URL = false to allow slashes in
                             // parameters. Servers which do not configure DECODE_URL will still work properly except
                             // for encoded slash values. When DECODE_URL has not been disabled, the following handler
@@ -226,30 +354,110 @@ public final class ConjureHandler implements HttpHandler {
                                     : Optional.empty(),
                             endpoint -> Optional.of(new WebSecurityHandler(endpoint.handler())),
                             endpoint -> endpoint.deprecated()
-                                    .map(_reason -> new DeprecationReportingResponseHandler(endpoint.handler())))
+                                    .map(_reason -> new DeprecationReportingResponseHandler(endpoint.handler())),
+                            // Response compression only registers a conduit wrapper for the response.
+                            responseCompressionWrapper(compressionMinimumResponseBytes))
                     // Apply custom non-blocking handlers just before the BlockingHandler
                     .addAll(wrappersJustBeforeBlocking)
+                    .add(
+                            // Request decoding wraps the request channel, so it must be registered before
+                            // the channel is read by request buffering.
+                            requestDecompressionWrapper(requestDecompressionMaxBytes),
+                            // Request bodies are buffered using non-blocking reads on the IO thread, the
+                            // handler completes immediately for requests without a body.
+                            requestBufferingWrapper(requestBufferingMaxBuffers))
                     // It is vitally important to never run blocking operations on the initial IO thread otherwise
                     // the server will not process new requests. all handlers executed after BlockingHandler
                     // use the larger task pool which is allowed to block. Any operation which sets thread
                     // state (e.g. SLF4J MDC or Tracer) must execute on the blocking thread otherwise state
                     // will not propagate to the wrapped service.
                     .add(
-                            endpoint -> Optional.of(new BlockingHandler(endpoint.handler())),
+                            blockingWrapper(executor),
+                            // Metrics are recorded on the blocking thread so that runtime phases such as
+                            // serialization may be attributed to the endpoint.
+                            metricsWrapper(runtime),
                             // Logging context and trace handler must execute prior to the exception
                             // to provide user and trace information on exceptions.
                             endpoint -> Optional.of(new LoggingContextHandler(endpoint.handler())),
                             endpoint -> Optional.of(new TracedStateHandler(endpoint.handler())),
                             endpoint -> Optional.of(
-                                    new ConjureExceptionHandler(endpoint.handler(), runtime.exceptionHandler())))
+                                    new ConjureExceptionHandler(endpoint.handler(), runtime.exceptionHandler())),
+                            // Concurrency limits apply within the exception handler in order to produce
+                            // a throttle response.
+                            concurrencyLimitingWrapper(maxConcurrentRequestsPerEndpoint))
                     .build()
                     .reverse();
+        }
 
-            return new ConjureHandler(
-                    fallback,
-                    allEndpoints.stream()
-                            .map(endpoint -> wrap(endpoint, wrappers))
-                            .collect(ImmutableList.toImmutableList()));
+        /** Applies the stages of {@link #nestedWrappers()} using two fused handlers. */
+        private List<EndpointHandlerWrapper> fusedWrappers() {
+            Optional<EndpointMetricsRegistry> metrics = metrics(runtime);
+            return ImmutableList.<EndpointHandlerWrapper>builder()
+                    .add(
+                            tracingWrapper(),
+                            endpoint -> Optional.of(new FusedNonBlockingHandler(endpoint)),
+                            responseCompressionWrapper(compressionMinimumResponseBytes))
+                    .addAll(wrappersJustBeforeBlocking)
+                    .add(
+                            requestDecompressionWrapper(requestDecompressionMaxBytes),
+                            requestBufferingWrapper(requestBufferingMaxBuffers),
+                            blockingWrapper(executor),
+                            endpoint -> Optional.of(new FusedBlockingHandler(
+                                    endpoint.handler(),
+                                    runtime.exceptionHandler(),
+                                    metrics.flatMap(value -> value.endpoint(endpoint)),
+                                    maxConcurrentRequestsPerEndpoint)))
+                    .build()
+                    .reverse();
+        }
+
+        private static EndpointHandlerWrapper tracingWrapper() {
+            return endpoint -> Optional.of(new TracedRequestHandler(
+                    endpoint.handler(),
+                    "Undertow: " + endpoint.method() + " " + endpoint.template(),
+                    CompletedRequestTagTranslator.INSTANCE.andThen(new EndpointTagTranslator(endpoint))));
+        }
+
+        private static EndpointHandlerWrapper requestBufferingWrapper(int maxBuffers) {
+            return endpoint -> maxBuffers > 0
+                    ? Optional.of(new RequestBufferingHandler(endpoint.handler(), maxBuffers))
+                    : Optional.empty();
+        }
+
+        private static EndpointHandlerWrapper responseCompressionWrapper(OptionalInt minimumResponseBytes) {
+            return minimumResponseBytes.isPresent()
+                    ? ContentEncodings.responseWrapper(minimumResponseBytes.getAsInt())
+                    : _endpoint -> Optional.empty();
+        }
+
+        private static EndpointHandlerWrapper requestDecompressionWrapper(OptionalLong maxDecodedBytes) {
+            return maxDecodedBytes.isPresent()
+                    ? ContentEncodings.requestWrapper(maxDecodedBytes.getAsLong())
+                    : _endpoint -> Optional.empty();
+        }
+
+        private static EndpointHandlerWrapper blockingWrapper(Optional<Executor> maybeExecutor) {
+            return endpoint -> Optional.of(maybeExecutor
+                    .<HttpHandler>map(value -> new ExecutorBlockingHandler(endpoint.handler(), value))
+                    .orElseGet(() -> new BlockingHandler(endpoint.handler())));
+        }
+
+        private static EndpointHandlerWrapper metricsWrapper(UndertowRuntime runtime) {
+            Optional<EndpointMetricsRegistry> registry = metrics(runtime);
+            return endpoint -> registry.flatMap(value -> value.endpoint(endpoint))
+                    .map(metrics -> new EndpointMetricsHandler(endpoint.handler(), metrics));
+        }
+
+        private static Optional<EndpointMetricsRegistry> metrics(UndertowRuntime runtime) {
+            return runtime instanceof ConjureUndertowRuntime
+                    ? ((ConjureUndertowRuntime) runtime).metrics()
+                    : Optional.empty();
+        }
+
+        private static EndpointHandlerWrapper concurrencyLimitingWrapper(int maxConcurrentRequests) {
+            return endpoint -> maxConcurrentRequests > 0
+                    ? Optional.of(new ConcurrencyLimitingHandler(endpoint.handler(), maxConcurrentRequests))
+                    : Optional.empty();
         }
 
         private static Endpoint wrap(Endpoint input, List<EndpointHandlerWrapper> wrappers) {
@@ -295,6 +503,10 @@ public final class ConjureHandler implements HttpHandler {
         }
     }
 
+    private interface Routes {
+        void add(HttpString method, String template, HttpHandler handler);
+    }
+
     private static String normalizeTemplate(String template) {
         return template.replaceAll("\\{.*?\\}", "{param}");
     }
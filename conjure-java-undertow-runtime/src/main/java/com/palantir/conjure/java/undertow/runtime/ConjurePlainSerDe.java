@@ -81,7 +81,7 @@ enum ConjurePlainSerDe implements PlainSerDe {
         if (in == null) {
             return Collections.emptyList();
         }
-        ImmutableList.Builder<BearerToken> builder = ImmutableList.builder();
+        ImmutableList.Builder<BearerToken> builder = ImmutableList.builderWithExpectedSize(Iterables.size(in));
         for (String item : in) {
             builder.add(deserializeBearerToken(item));
         }
@@ -93,7 +93,7 @@ enum ConjurePlainSerDe implements PlainSerDe {
         if (in == null) {
             return Collections.emptySet();
         }
-        ImmutableSet.Builder<BearerToken> builder = ImmutableSet.builder();
+        ImmutableSet.Builder<BearerToken> builder = ImmutableSet.builderWithExpectedSize(Iterables.size(in));
         for (String item : in) {
             builder.add(deserializeBearerToken(item));
         }
@@ -136,7 +136,7 @@ enum ConjurePlainSerDe implements PlainSerDe {
         if (in == null) {
             return Collections.emptyList();
         }
-        ImmutableList.Builder<Boolean> builder = ImmutableList.builder();
+        ImmutableList.Builder<Boolean> builder = ImmutableList.builderWithExpectedSize(Iterables.size(in));
         for (String item : in) {
             builder.add(deserializeBoolean(item));
         }
@@ -148,7 +148,7 @@ enum ConjurePlainSerDe implements PlainSerDe {
         if (in == null) {
             return Collections.emptySet();
         }
-        ImmutableSet.Builder<Boolean> builder = ImmutableSet.builder();
+        ImmutableSet.Builder<Boolean> builder = ImmutableSet.builderWithExpectedSize(Iterables.size(in));
         for (String item : in) {
             builder.add(deserializeBoolean(item));
         }
@@ -191,7 +191,7 @@ enum ConjurePlainSerDe implements PlainSerDe {
         if (in == null) {
             return Collections.emptyList();
         }
-        ImmutableList.Builder<OffsetDateTime> builder = ImmutableList.builder();
+        ImmutableList.Builder<OffsetDateTime> builder = ImmutableList.builderWithExpectedSize(Iterables.size(in));
         for (String item : in) {
             builder.add(deserializeDateTime(item));
         }
@@ -203,7 +203,7 @@ enum ConjurePlainSerDe implements PlainSerDe {
         if (in == null) {
             return Collections.emptySet();
         }
-        ImmutableSet.Builder<OffsetDateTime> builder = ImmutableSet.builder();
+        ImmutableSet.Builder<OffsetDateTime> builder = ImmutableSet.builderWithExpectedSize(Iterables.size(in));
         for (String item : in) {
             builder.add(deserializeDateTime(item));
         }
@@ -246,7 +246,7 @@ enum ConjurePlainSerDe implements PlainSerDe {
         if (in == null) {
             return Collections.emptyList();
         }
-        ImmutableList.Builder<Double> builder = ImmutableList.builder();
+        ImmutableList.Builder<Double> builder = ImmutableList.builderWithExpectedSize(Iterables.size(in));
         for (String item : in) {
             builder.add(deserializeDouble(item));
         }
@@ -258,13 +258,26 @@ enum ConjurePlainSerDe implements PlainSerDe {
         if (in == null) {
             return Collections.emptySet();
         }
-        ImmutableSet.Builder<Double> builder = ImmutableSet.builder();
+        ImmutableSet.Builder<Double> builder = ImmutableSet.builderWithExpectedSize(Iterables.size(in));
         for (String item : in) {
             builder.add(deserializeDouble(item));
         }
         return builder.build();
     }
 
+    @Override
+    public double[] deserializeDoubleArray(@Nullable Iterable<String> in) {
+        if (in == null) {
+            return new double[0];
+        }
+        double[] result = new double[Iterables.size(in)];
+        int index = 0;
+        for (String item : in) {
+            result[index++] = deserializeDouble(item);
+        }
+        return result;
+    }
+
     @Override
     public int deserializeInteger(@Nullable String in) {
         checkArgumentNotNull(in);
@@ -301,7 +314,7 @@ enum ConjurePlainSerDe implements PlainSerDe {
         if (in == null) {
             return Collections.emptyList();
         }
-        ImmutableList.Builder<Integer> builder = ImmutableList.builder();
+        ImmutableList.Builder<Integer> builder = ImmutableList.builderWithExpectedSize(Iterables.size(in));
         for (String item : in) {
             builder.add(deserializeInteger(item));
         }
@@ -313,13 +326,26 @@ enum ConjurePlainSerDe implements PlainSerDe {
         if (in == null) {
             return Collections.emptySet();
         }
-        ImmutableSet.Builder<Integer> builder = ImmutableSet.builder();
+        ImmutableSet.Builder<Integer> builder = ImmutableSet.builderWithExpectedSize(Iterables.size(in));
         for (String item : in) {
             builder.add(deserializeInteger(item));
         }
         return builder.build();
     }
 
+    @Override
+    public int[] deserializeIntegerArray(@Nullable Iterable<String> in) {
+        if (in == null) {
+            return new int[0];
+        }
+        int[] result = new int[Iterables.size(in)];
+        int index = 0;
+        for (String item : in) {
+            result[index++] = deserializeInteger(item);
+        }
+        return result;
+    }
+
     @Override
     public ResourceIdentifier deserializeRid(@Nullable String in) {
         checkArgumentNotNull(in);
@@ -356,7 +382,7 @@ enum ConjurePlainSerDe implements PlainSerDe {
         if (in == null) {
             return Collections.emptyList();
         }
-        ImmutableList.Builder<ResourceIdentifier> builder = ImmutableList.builder();
+        ImmutableList.Builder<ResourceIdentifier> builder = ImmutableList.builderWithExpectedSize(Iterables.size(in));
         for (String item : in) {
             builder.add(deserializeRid(item));
         }
@@ -368,7 +394,7 @@ enum ConjurePlainSerDe implements PlainSerDe {
         if (in == null) {
             return Collections.emptySet();
         }
-        ImmutableSet.Builder<ResourceIdentifier> builder = ImmutableSet.builder();
+        ImmutableSet.Builder<ResourceIdentifier> builder = ImmutableSet.builderWithExpectedSize(Iterables.size(in));
         for (String item : in) {
             builder.add(deserializeRid(item));
         }
@@ -385,6 +411,21 @@ enum ConjurePlainSerDe implements PlainSerDe {
         }
     }
 
+    /** Parses and validates a safelong without allocating a {@link SafeLong} instance. */
+    private static long deserializeSafeLongValue(@Nullable String in) {
+        checkArgumentNotNull(in);
+        long value;
+        try {
+            value = Long.parseLong(in);
+        } catch (RuntimeException ex) {
+            throw new SafeIllegalArgumentException("failed to deserialize safelong", ex);
+        }
+        if (value < SafeLong.MIN_VALUE.longValue() || value > SafeLong.MAX_VALUE.longValue()) {
+            throw new SafeIllegalArgumentException("failed to deserialize safelong");
+        }
+        return value;
+    }
+
     @Override
     public SafeLong deserializeSafeLong(@Nullable Iterable<String> in) {
         return deserializeSafeLong(getOnlyElement(in));
@@ -411,7 +452,7 @@ enum ConjurePlainSerDe implements PlainSerDe {
         if (in == null) {
             return Collections.emptyList();
         }
-        ImmutableList.Builder<SafeLong> builder = ImmutableList.builder();
+        ImmutableList.Builder<SafeLong> builder = ImmutableList.builderWithExpectedSize(Iterables.size(in));
         for (String item : in) {
             builder.add(deserializeSafeLong(item));
         }
@@ -423,13 +464,26 @@ enum ConjurePlainSerDe implements PlainSerDe {
         if (in == null) {
             return Collections.emptySet();
         }
-        ImmutableSet.Builder<SafeLong> builder = ImmutableSet.builder();
+        ImmutableSet.Builder<SafeLong> builder = ImmutableSet.builderWithExpectedSize(Iterables.size(in));
         for (String item : in) {
             builder.add(deserializeSafeLong(item));
         }
         return builder.build();
     }
 
+    @Override
+    public long[] deserializeSafeLongArray(@Nullable Iterable<String> in) {
+        if (in == null) {
+            return new long[0];
+        }
+        long[] result = new long[Iterables.size(in)];
+        int index = 0;
+        for (String item : in) {
+            result[index++] = deserializeSafeLongValue(item);
+        }
+        return result;
+    }
+
     @Override
     public String deserializeString(@Nullable String in) {
         return checkArgumentNotNull(in);
@@ -502,7 +556,7 @@ enum ConjurePlainSerDe implements PlainSerDe {
         if (in == null) {
             return Collections.emptyList();
         }
-        ImmutableList.Builder<UUID> builder = ImmutableList.builder();
+        ImmutableList.Builder<UUID> builder = ImmutableList.builderWithExpectedSize(Iterables.size(in));
         for (String item : in) {
             builder.add(deserializeUuid(item));
         }
@@ -514,7 +568,7 @@ enum ConjurePlainSerDe implements PlainSerDe {
         if (in == null) {
             return Collections.emptySet();
         }
-        ImmutableSet.Builder<UUID> builder = ImmutableSet.builder();
+        ImmutableSet.Builder<UUID> builder = ImmutableSet.builderWithExpectedSize(Iterables.size(in));
         for (String item : in) {
             builder.add(deserializeUuid(item));
         }
@@ -541,7 +595,7 @@ enum ConjurePlainSerDe implements PlainSerDe {
         if (in == null) {
             return Collections.emptyList();
         }
-        ImmutableList.Builder<T> builder = ImmutableList.builder();
+        ImmutableList.Builder<T> builder = ImmutableList.builderWithExpectedSize(Iterables.size(in));
         for (String item : in) {
             builder.add(deserializeComplex(item, factory));
         }
@@ -553,7 +607,7 @@ enum ConjurePlainSerDe implements PlainSerDe {
         if (in == null) {
             return Collections.emptySet();
         }
-        ImmutableSet.Builder<T> builder = ImmutableSet.builder();
+        ImmutableSet.Builder<T> builder = ImmutableSet.builderWithExpectedSize(Iterables.size(in));
         for (String item : in) {
             builder.add(deserializeComplex(item, factory));
         }
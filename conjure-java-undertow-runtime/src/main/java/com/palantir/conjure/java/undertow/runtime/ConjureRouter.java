@@ -0,0 +1,498 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HttpString;
+import io.undertow.util.PathTemplateMatch;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Routes requests using a trie of path segments compiled from the registered path templates. Unlike Undertow's
+ * {@link io.undertow.server.RoutingHandler}, a request path is matched in a single pass over its segments, with
+ * method dispatch at the matched node, and path parameters are collected into an array rather than a map.
+ *
+ * <p>Templates are composed of literal segments, <code>{name}</code> parameter segments, and optionally a trailing
+ * {@code /*} glob which matches the remainder of the path and is exposed as the {@code *} parameter. Literal segments
+ * take precedence over parameters, which take precedence over globs, and the matcher backtracks when a more specific
+ * branch does not produce a route for the request method. A single trailing slash is ignored, and parameter segments
+ * never match empty values.
+ *
+ * <p>Matched requests are given a {@link PathTemplateMatch} attachment, exactly as with the
+ * {@link io.undertow.server.RoutingHandler}, so generated endpoints and handlers such as
+ * {@link GlobRetainingDecodingHandler} work unmodified.
+ */
+final class ConjureRouter implements HttpHandler {
+
+    private static final String GLOB_SEGMENT = "*";
+    private static final String[] EMPTY_VALUES = new String[0];
+
+    private final Node root;
+    private final HttpHandler fallback;
+    private final int maxParameters;
+
+    private ConjureRouter(Node root, HttpHandler fallback, int maxParameters) {
+        this.root = root;
+        this.fallback = fallback;
+        this.maxParameters = maxParameters;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        String path = exchange.getRelativePath();
+        if (path.isEmpty() || path.charAt(0) != '/') {
+            path = '/' + path;
+        }
+        String[] values = maxParameters == 0 ? EMPTY_VALUES : new String[maxParameters];
+        Route route = root.match(path, 0, exchange.getRequestMethod(), values, 0);
+        if (route == null) {
+            fallback.handleRequest(exchange);
+            return;
+        }
+        exchange.putAttachment(
+                PathTemplateMatch.ATTACHMENT_KEY,
+                new PathTemplateMatch(route.template, new PathParameters(route.parameterNames, values)));
+        route.handler.handleRequest(exchange);
+    }
+
+    @Override
+    public String toString() {
+        return "ConjureRouter{fallback=" + fallback + '}';
+    }
+
+    static final class Builder {
+        private final NodeBuilder root = new NodeBuilder();
+        private int maxParameters = 0;
+
+        private Builder() {}
+
+        Builder add(HttpString method, String template, HttpHandler handler) {
+            Preconditions.checkNotNull(method, "method is required");
+            Preconditions.checkNotNull(template, "template is required");
+            Preconditions.checkNotNull(handler, "handler is required");
+            NodeBuilder current = root;
+            List<String> parameterNames = new ArrayList<>();
+            List<String> segments = segments(template);
+            for (int i = 0; i < segments.size(); i++) {
+                String segment = segments.get(i);
+                if (GLOB_SEGMENT.equals(segment) && i == segments.size() - 1) {
+                    parameterNames.add(GLOB_SEGMENT);
+                    current = current.glob();
+                } else if (isParameter(segment)) {
+                    parameterNames.add(segment.substring(1, segment.length() - 1));
+                    current = current.parameter();
+                } else if (segment.indexOf('{') >= 0 || segment.indexOf('}') >= 0 || segment.isEmpty()) {
+                    throw new SafeIllegalArgumentException(
+                            "Unsupported path template segment",
+                            SafeArg.of("template", template),
+                            SafeArg.of("segment", segment));
+                } else {
+                    current = current.literal(segment);
+                }
+            }
+            Route route = new Route(template, parameterNames.toArray(new String[0]), handler);
+            if (current.routes.putIfAbsent(method, route) != null) {
+                throw new SafeIllegalArgumentException(
+                        "Multiple routes match the same path template",
+                        SafeArg.of("method", method),
+                        SafeArg.of("template", template));
+            }
+            maxParameters = Math.max(maxParameters, parameterNames.size());
+            return this;
+        }
+
+        ConjureRouter build(HttpHandler fallback) {
+            return new ConjureRouter(
+                    root.build(), Preconditions.checkNotNull(fallback, "fallback is required"), maxParameters);
+        }
+
+        private static List<String> segments(String template) {
+            List<String> segments = new ArrayList<>();
+            int start = template.startsWith("/") ? 1 : 0;
+            // Trailing slashes are not significant, matching the behavior of Undertow path templates
+            int end = template.endsWith("/") ? template.length() - 1 : template.length();
+            while (start < end) {
+                int next = template.indexOf('/', start);
+                if (next < 0 || next > end) {
+                    next = end;
+                }
+                segments.add(template.substring(start, next));
+                start = next + 1;
+            }
+            return segments;
+        }
+
+        private static boolean isParameter(String segment) {
+            return segment.length() > 2
+                    && segment.charAt(0) == '{'
+                    && segment.charAt(segment.length() - 1) == '}'
+                    && segment.indexOf('{', 1) < 0
+                    && segment.indexOf('}') == segment.length() - 1;
+        }
+    }
+
+    private static final class NodeBuilder {
+        private final Map<String, NodeBuilder> literals = new LinkedHashMap<>();
+        private final Map<HttpString, Route> routes = new LinkedHashMap<>();
+
+        @Nullable
+        private NodeBuilder parameter;
+
+        @Nullable
+        private NodeBuilder glob;
+
+        NodeBuilder literal(String segment) {
+            return literals.computeIfAbsent(segment, _segment -> new NodeBuilder());
+        }
+
+        NodeBuilder parameter() {
+            if (parameter == null) {
+                parameter = new NodeBuilder();
+            }
+            return parameter;
+        }
+
+        NodeBuilder glob() {
+            if (glob == null) {
+                glob = new NodeBuilder();
+            }
+            return glob;
+        }
+
+        Node build() {
+            Map<String, Node> literalNodes = new LinkedHashMap<>();
+            literals.forEach((segment, builder) -> literalNodes.put(segment, builder.build()));
+            return new Node(
+                    LiteralTable.of(literalNodes),
+                    parameter == null ? null : parameter.build(),
+                    glob == null ? null : glob.build(),
+                    routes.keySet().toArray(new HttpString[0]),
+                    routes.values().toArray(new Route[0]));
+        }
+    }
+
+    private static final class Node {
+        private final LiteralTable literals;
+
+        @Nullable
+        private final Node parameter;
+
+        @Nullable
+        private final Node glob;
+
+        private final HttpString[] methods;
+        private final Route[] routes;
+
+        Node(
+                LiteralTable literals,
+                @Nullable Node parameter,
+                @Nullable Node glob,
+                HttpString[] methods,
+                Route[] routes) {
+            this.literals = literals;
+            this.parameter = parameter;
+            this.glob = glob;
+            this.methods = methods;
+            this.routes = routes;
+        }
+
+        /**
+         * Matches the remainder of the path starting at {@code position}, which is either the index of the slash
+         * preceding the next segment, or the length of the path.
+         */
+        @Nullable
+        Route match(String path, int position, HttpString method, String[] values, int parameterIndex) {
+            int length = path.length();
+            if (position >= length - 1) {
+                Route route = route(method);
+                if (route != null || position == length) {
+                    return route;
+                }
+            }
+            int segmentStart = position + 1;
+            int segmentEnd = path.indexOf('/', segmentStart);
+            if (segmentEnd < 0) {
+                segmentEnd = length;
+            }
+            if (segmentEnd > segmentStart) {
+                Node literal = literals.get(path, segmentStart, segmentEnd);
+                if (literal != null) {
+                    Route route = literal.match(path, segmentEnd, method, values, parameterIndex);
+                    if (route != null) {
+                        return route;
+                    }
+                }
+                if (parameter != null) {
+                    Route route = parameter.match(path, segmentEnd, method, values, parameterIndex + 1);
+                    if (route != null) {
+                        // Parameter values are only materialized once the route has matched
+                        values[parameterIndex] = path.substring(segmentStart, segmentEnd);
+                        return route;
+                    }
+                }
+            }
+            if (glob != null) {
+                Route route = glob.route(method);
+                if (route != null) {
+                    values[parameterIndex] = path.substring(segmentStart);
+                    return route;
+                }
+            }
+            return null;
+        }
+
+        @Nullable
+        private Route route(HttpString method) {
+            for (int i = 0; i < methods.length; i++) {
+                if (methods[i].equals(method)) {
+                    return routes[i];
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Open-addressed table of literal segments which is queried using a region of the request path, avoiding a
+     * substring allocation for each segment.
+     */
+    private static final class LiteralTable {
+        private static final LiteralTable EMPTY = new LiteralTable(new String[1], new Node[1]);
+
+        private final String[] keys;
+        private final Node[] nodes;
+        private final int mask;
+
+        private LiteralTable(String[] keys, Node[] nodes) {
+            this.keys = keys;
+            this.nodes = nodes;
+            this.mask = keys.length - 1;
+        }
+
+        static LiteralTable of(Map<String, Node> literals) {
+            if (literals.isEmpty()) {
+                return EMPTY;
+            }
+            // Power of two capacity with a load factor of at most one half
+            int capacity = Integer.highestOneBit(literals.size() * 2 - 1) << 1;
+            String[] keys = new String[capacity];
+            Node[] nodes = new Node[capacity];
+            literals.forEach((key, node) -> {
+                int index = spread(key.hashCode()) & (capacity - 1);
+                while (keys[index] != null) {
+                    index = (index + 1) & (capacity - 1);
+                }
+                keys[index] = key;
+                nodes[index] = node;
+            });
+            return new LiteralTable(keys, nodes);
+        }
+
+        @Nullable
+        Node get(String path, int start, int end) {
+            int length = end - start;
+            int index = spread(hash(path, start, end)) & mask;
+            String key;
+            while ((key = keys[index]) != null) {
+                if (key.length() == length && key.regionMatches(0, path, start, length)) {
+                    return nodes[index];
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        /** Equivalent to {@code path.substring(start, end).hashCode()}. */
+        private static int hash(String path, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + path.charAt(i);
+            }
+            return hash;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    private static final class Route {
+        private final String template;
+        private final String[] parameterNames;
+        private final HttpHandler handler;
+
+        Route(String template, String[] parameterNames, HttpHandler handler) {
+            this.template = template;
+            this.parameterNames = parameterNames;
+            this.handler = handler;
+        }
+    }
+
+    /**
+     * Mutable {@link Map} view of the matched path parameters, backed by the route parameter names and the values
+     * collected while matching. Values may be replaced, for example by {@link io.undertow.server.handlers
+     * .URLDecodingHandler}, and new entries are supported for compatibility with handlers which add parameters.
+     */
+    private static final class PathParameters extends AbstractMap<String, String> {
+        private String[] names;
+        private String[] values;
+        private int size;
+
+        PathParameters(String[] names, String[] values) {
+            this.names = names;
+            this.values = values;
+            this.size = names.length;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Nullable
+        @Override
+        public String get(Object key) {
+            int index = indexOf(key);
+            return index < 0 ? null : values[index];
+        }
+
+        @Nullable
+        @Override
+        public String put(String key, String value) {
+            int index = indexOf(key);
+            if (index >= 0) {
+                String previous = values[index];
+                values[index] = value;
+                return previous;
+            }
+            // Route parameter names are shared between requests, so must be copied before they are modified
+            names = Arrays.copyOf(names, size + 1);
+            values = Arrays.copyOf(values, Math.max(values.length, size + 1));
+            names[size] = key;
+            values[size] = value;
+            size++;
+            return null;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<>() {
+                        private int next = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < size;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            return new ParameterEntry(next++);
+                        }
+                    };
+                }
+            };
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < size; i++) {
+                if (names[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private final class ParameterEntry implements Entry<String, String> {
+            private final int index;
+
+            ParameterEntry(int index) {
+                this.index = index;
+            }
+
+            @Override
+            public String getKey() {
+                return names[index];
+            }
+
+            @Override
+            public String getValue() {
+                return values[index];
+            }
+
+            @Override
+            public String setValue(String value) {
+                String previous = values[index];
+                values[index] = value;
+                return previous;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (!(other instanceof Entry)) {
+                    return false;
+                }
+                Entry<?, ?> entry = (Entry<?, ?>) other;
+                return getKey().equals(entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+            }
+
+            @Override
+            public int hashCode() {
+                return getKey().hashCode() ^ Objects.hashCode(getValue());
+            }
+
+            @Override
+            public String toString() {
+                return getKey() + '=' + getValue();
+            }
+        }
+    }
+}
@@ -27,30 +27,39 @@ import com.palantir.conjure.java.undertow.lib.MarkerCallback;
 import com.palantir.conjure.java.undertow.lib.PlainSerDe;
 import com.palantir.conjure.java.undertow.lib.UndertowRuntime;
 import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /** {@link ConjureUndertowRuntime} provides functionality required by generated handlers. */
 public final class ConjureUndertowRuntime implements UndertowRuntime {
 
-    private final BodySerDe bodySerDe;
+    private final ConjureBodySerDe bodySerDe;
     private final AuthorizationExtractor auth;
     private final MarkerCallback markerCallback;
-    private final AsyncRequestProcessing async;
+    private final ConjureAsyncRequestProcessing async;
     private final ExceptionHandler exceptionHandler;
     private final Contexts contexts;
+    private final Optional<EndpointMetricsRegistry> metrics;
 
     private ConjureUndertowRuntime(Builder builder) {
         this.bodySerDe = new ConjureBodySerDe(
                 builder.encodings.isEmpty()
                         ? ImmutableList.of(Encodings.json(), Encodings.smile(), Encodings.cbor())
-                        : builder.encodings);
-        this.auth = new ConjureAuthorizationExtractor(plainSerDe());
+                        : builder.encodings,
+                builder.maxResponseBuffers,
+                builder.frameworkExceptionStackTraces,
+                builder.streamingFlushSize);
+        this.auth = new ConjureAuthorizationExtractor(
+                plainSerDe(), builder.authorizationCacheSize, builder.authorizationCacheMaximumAge);
         this.exceptionHandler = builder.exceptionHandler;
         this.markerCallback = MarkerCallbacks.fold(builder.paramMarkers);
-        this.async = new ConjureAsyncRequestProcessing(builder.asyncTimeout, builder.exceptionHandler);
+        this.async = new ConjureAsyncRequestProcessing(
+                builder.asyncTimeout, builder.exceptionHandler, AsyncTimeoutWheel.shared());
         this.contexts = new ConjureContexts(builder.requestArgHandler);
+        this.metrics = builder.metrics;
     }
 
     public static Builder builder() {
@@ -92,6 +101,32 @@ public final class ConjureUndertowRuntime implements UndertowRuntime {
         return contexts;
     }
 
+    /**
+     * Eagerly creates the serializers and deserializers for endpoints of {@link ConjureHandler handlers} which have
+     * already been built using this runtime, which would otherwise be created by the first request to each endpoint.
+     * This should be invoked before the server begins receiving traffic.
+     */
+    public WarmUpResult warmUp(WarmUp value) {
+        return bodySerDe.warmUp(Preconditions.checkNotNull(value, "WarmUp is required"));
+    }
+
+    /**
+     * Returns the number of requests registered with {@link #async()} which are waiting for their future to complete.
+     */
+    public long asyncRequestsInFlight() {
+        return async.inFlight();
+    }
+
+    /** Returns the number of requests registered with {@link #async()} which have exceeded their timeout. */
+    public long asyncRequestTimeouts() {
+        return async.timeouts();
+    }
+
+    /** Metrics are applied by the {@link ConjureHandler} which uses this runtime. */
+    Optional<EndpointMetricsRegistry> metrics() {
+        return metrics;
+    }
+
     public static final class Builder {
 
         private Duration asyncTimeout = Duration.ofMinutes(3);
@@ -99,9 +134,19 @@ public final class ConjureUndertowRuntime implements UndertowRuntime {
         private RequestArgHandler requestArgHandler = DefaultRequestArgHandler.INSTANCE;
         private final List<Encoding> encodings = new ArrayList<>();
         private final List<ParamMarker> paramMarkers = new ArrayList<>();
+        private Optional<EndpointMetricsRegistry> metrics = Optional.empty();
+        private int maxResponseBuffers = ConjureBodySerDe.DEFAULT_MAX_RESPONSE_BUFFERS;
+        private int authorizationCacheSize = 0;
+        private Duration authorizationCacheMaximumAge = Duration.ZERO;
+        private boolean frameworkExceptionStackTraces = true;
+        private int streamingFlushSize = ConjureBodySerDe.DEFAULT_STREAMING_FLUSH_SIZE;
 
         private Builder() {}
 
+        /**
+         * Default timeout for futures registered with {@link AsyncRequestProcessing}. Timeouts are tracked with a
+         * granularity of 100 milliseconds.
+         */
         @CanIgnoreReturnValue
         public Builder asyncTimeout(Duration value) {
             asyncTimeout = Preconditions.checkNotNull(value, "asyncTimeout is required");
@@ -132,6 +177,77 @@ public final class ConjureUndertowRuntime implements UndertowRuntime {
             return this;
         }
 
+        /**
+         * Serialized response bodies are buffered in up to {@code maxBuffers} buffers from the connection pool, which
+         * allows bodies that fit to be sent with an exact {@code Content-Length} in a single write rather than using
+         * chunked encoding. Larger bodies are streamed once the buffers are full. Zero disables buffering, in which
+         * case bodies are written directly to the exchange output stream. Defaults to zero.
+         */
+        @CanIgnoreReturnValue
+        public Builder maxResponseBuffers(int maxBuffers) {
+            Preconditions.checkArgument(
+                    maxBuffers >= 0, "maxBuffers must not be negative", SafeArg.of("maxBuffers", maxBuffers));
+            maxResponseBuffers = maxBuffers;
+            return this;
+        }
+
+        /**
+         * Lists streamed from an {@link java.util.Iterator} or {@link java.util.stream.Stream} are flushed to the
+         * client every {@code elements} elements, rather than being collected before they are written. Defaults to
+         * 1000 elements.
+         */
+        @CanIgnoreReturnValue
+        public Builder streamingFlushSize(int elements) {
+            Preconditions.checkArgument(elements > 0, "elements must be positive", SafeArg.of("elements", elements));
+            streamingFlushSize = elements;
+            return this;
+        }
+
+        /**
+         * Caches up to {@code maximumSize} parsed {@code Authorization} header and cookie values, avoiding repeated
+         * parsing of the same JWT payload when clients reuse tokens. Entries expire at the earlier of the token
+         * {@code exp} claim and {@code maximumAge}. Tokens are never verified by the runtime, cached or otherwise.
+         * Disabled by default.
+         */
+        @CanIgnoreReturnValue
+        public Builder authorizationCache(int maximumSize, Duration maximumAge) {
+            Preconditions.checkArgument(
+                    maximumSize > 0, "maximumSize must be positive", SafeArg.of("maximumSize", maximumSize));
+            Preconditions.checkNotNull(maximumAge, "maximumAge is required");
+            Preconditions.checkArgument(
+                    !maximumAge.isNegative() && !maximumAge.isZero(),
+                    "maximumAge must be positive",
+                    SafeArg.of("maximumAge", maximumAge));
+            authorizationCacheSize = maximumSize;
+            authorizationCacheMaximumAge = maximumAge;
+            return this;
+        }
+
+        /**
+         * Controls whether exceptions raised by the runtime for protocol-level failures capture stack traces. These
+         * failures are caused by clients rather than the server, so disabling stack traces reduces the cost of
+         * rejecting misbehaving clients. This applies to unsupported request {@code Content-Type} values and to request
+         * bodies which the built-in {@link Encodings} cannot deserialize, custom encodings are used unchanged. Requests
+         * which match no endpoint are answered by the {@link ConjureHandler.Builder#fallback fallback handler} without
+         * creating an exception, and request bodies which exceed a configured limit never capture a stack trace.
+         * Enabled by default.
+         */
+        @CanIgnoreReturnValue
+        public Builder frameworkExceptionStackTraces(boolean enabled) {
+            frameworkExceptionStackTraces = enabled;
+            return this;
+        }
+
+        /**
+         * Records per-endpoint latency by {@link EndpointPhase phase}, body sizes, encodings and in-flight requests
+         * for endpoints registered with a {@link ConjureHandler} using this runtime. Disabled by default.
+         */
+        @CanIgnoreReturnValue
+        public Builder metrics(EndpointMetricsRegistry value) {
+            metrics = Optional.of(Preconditions.checkNotNull(value, "metrics is required"));
+            return this;
+        }
+
         public ConjureUndertowRuntime build() {
             return new ConjureUndertowRuntime(this);
         }
@@ -0,0 +1,286 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import io.undertow.conduits.GzipStreamSourceConduit;
+import io.undertow.conduits.InflatingStreamSourceConduit;
+import io.undertow.predicate.Predicate;
+import io.undertow.server.ConduitWrapper;
+import io.undertow.server.Connectors;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.RequestTooBigException;
+import io.undertow.server.handlers.encoding.ContentEncodingRepository;
+import io.undertow.server.handlers.encoding.DeflateEncodingProvider;
+import io.undertow.server.handlers.encoding.EncodingHandler;
+import io.undertow.server.handlers.encoding.GzipEncodingProvider;
+import io.undertow.server.handlers.encoding.RequestEncodingHandler;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
+import io.undertow.util.ObjectPool;
+import io.undertow.util.PooledObject;
+import io.undertow.util.StatusCodes;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import javax.annotation.Nullable;
+import org.xnio.IoUtils;
+import org.xnio.channels.StreamSinkChannel;
+import org.xnio.conduits.AbstractStreamSourceConduit;
+import org.xnio.conduits.ConduitReadableByteChannel;
+import org.xnio.conduits.StreamSourceConduit;
+
+/**
+ * Wrappers which compress responses using gzip or deflate based on the request {@code Accept-Encoding}, and decode
+ * gzip and deflate request bodies. {@link Deflater} and {@link Inflater} instances hold native memory which is
+ * expensive to allocate, so each thread retains one instance of each for reuse.
+ */
+final class ContentEncodings {
+
+    private static final String GZIP = "gzip";
+    private static final String DEFLATE = "deflate";
+
+    // Content which is already compressed gains nothing from another pass.
+    private static final String[] INCOMPRESSIBLE_CONTENT_TYPES = {
+        "application/octet-stream",
+        "application/gzip",
+        "application/x-gzip",
+        "application/zip",
+        "application/zstd",
+        "image/",
+        "video/",
+        "audio/"
+    };
+
+    // Undertow gzip and deflate conduits both use raw deflate streams.
+    private static final ObjectPool<Deflater> DEFLATERS = new ThreadLocalObjectPool<>(
+            () -> new Deflater(Deflater.DEFAULT_COMPRESSION, /* nowrap= */ true), Deflater::reset, Deflater::end);
+    private static final ObjectPool<Inflater> INFLATERS =
+            new ThreadLocalObjectPool<>(() -> new Inflater(/* nowrap= */ true), Inflater::reset, Inflater::end);
+
+    private ContentEncodings() {}
+
+    /**
+     * Compresses responses for clients which accept gzip or deflate, preferring gzip. Responses with a
+     * {@code Content-Length} below {@code minimumResponseBytes} are sent uncompressed, as are binary and
+     * already-compressed content types.
+     */
+    static EndpointHandlerWrapper responseWrapper(int minimumResponseBytes) {
+        Predicate compressible = new CompressiblePredicate(minimumResponseBytes);
+        ContentEncodingRepository repository = new ContentEncodingRepository()
+                .addEncodingHandler(GZIP, new GzipEncodingProvider(DEFLATERS), 100, compressible)
+                .addEncodingHandler(DEFLATE, new DeflateEncodingProvider(DEFLATERS), 50, compressible);
+        return endpoint -> {
+            HttpHandler encodingHandler = new EncodingHandler(endpoint.handler(), repository);
+            return Optional.of(exchange -> {
+                // Responses differ based on the request Accept-Encoding, which caches must take into account.
+                exchange.getResponseHeaders().add(Headers.VARY, Headers.ACCEPT_ENCODING_STRING);
+                encodingHandler.handleRequest(exchange);
+            });
+        };
+    }
+
+    /**
+     * Decodes request bodies sent with a gzip or deflate {@code Content-Encoding}. Reading more than
+     * {@code maxDecodedBytes} from a decoded body fails with a {@link RequestTooBigException}.
+     */
+    static EndpointHandlerWrapper requestWrapper(long maxDecodedBytes) {
+        ConduitWrapper<StreamSourceConduit> gzip = (factory, exchange) -> new LimitedStreamSourceConduit(
+                new GzipStreamSourceConduit(exchange, factory.create(), INFLATERS), exchange, maxDecodedBytes);
+        ConduitWrapper<StreamSourceConduit> deflate = (factory, exchange) -> new LimitedStreamSourceConduit(
+                new InflatingStreamSourceConduit(exchange, factory.create(), INFLATERS), exchange, maxDecodedBytes);
+        return endpoint -> {
+            HttpHandler decodingHandler = new RequestEncodingHandler(endpoint.handler())
+                    .addEncoding(GZIP, gzip)
+                    .addEncoding(DEFLATE, deflate);
+            return Optional.of(exchange -> {
+                try {
+                    decodingHandler.handleRequest(exchange);
+                } catch (RequestTooBigException e) {
+                    // Bodies read on the IO thread by request buffering fail before the exception handler applies.
+                    exchange.setStatusCode(StatusCodes.REQUEST_ENTITY_TOO_LARGE);
+                    exchange.endExchange();
+                }
+            });
+        };
+    }
+
+    private static boolean isIncompressible(@Nullable String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        for (String prefix : INCOMPRESSIBLE_CONTENT_TYPES) {
+            if (contentType.regionMatches(/* ignoreCase= */ true, 0, prefix, 0, prefix.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class CompressiblePredicate implements Predicate {
+
+        private final long minimumBytes;
+
+        CompressiblePredicate(long minimumBytes) {
+            this.minimumBytes = minimumBytes;
+        }
+
+        @Override
+        public boolean resolve(HttpServerExchange exchange) {
+            int status = exchange.getStatusCode();
+            if (status == StatusCodes.NO_CONTENT || status == StatusCodes.NOT_MODIFIED) {
+                return false;
+            }
+            HeaderMap headers = exchange.getResponseHeaders();
+            if (headers.contains(Headers.CONTENT_ENCODING)) {
+                return false;
+            }
+            // Responses without a Content-Length are streamed, and are likely to be large.
+            String contentLength = headers.getFirst(Headers.CONTENT_LENGTH);
+            if (contentLength != null && !exceedsThreshold(contentLength)) {
+                return false;
+            }
+            return !isIncompressible(headers.getFirst(Headers.CONTENT_TYPE));
+        }
+
+        private boolean exceedsThreshold(String contentLength) {
+            try {
+                long length = Long.parseLong(contentLength);
+                return length > 0 && length >= minimumBytes;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Bounds the number of bytes read from a decoded request body, which may be far larger than the encoded body
+     * limited by {@link io.undertow.UndertowOptions#MAX_ENTITY_SIZE}. Like the entity size limit, exceeding it
+     * terminates the request and closes the connection once the response has been sent.
+     */
+    private static final class LimitedStreamSourceConduit extends AbstractStreamSourceConduit<StreamSourceConduit> {
+
+        private final HttpServerExchange exchange;
+        private final long maxBytes;
+        private long bytesRead;
+
+        LimitedStreamSourceConduit(StreamSourceConduit next, HttpServerExchange exchange, long maxBytes) {
+            super(next);
+            this.exchange = exchange;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return (int) count(next.read(dst));
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offs, int len) throws IOException {
+            return count(next.read(dsts, offs, len));
+        }
+
+        @Override
+        public long transferTo(long position, long count, FileChannel target) throws IOException {
+            return target.transferFrom(new ConduitReadableByteChannel(this), position, count);
+        }
+
+        @Override
+        public long transferTo(long count, ByteBuffer throughBuffer, StreamSinkChannel target) throws IOException {
+            return IoUtils.transfer(new ConduitReadableByteChannel(this), count, throughBuffer, target);
+        }
+
+        private long count(long read) throws IOException {
+            if (read > 0) {
+                bytesRead += read;
+                if (bytesRead > maxBytes) {
+                    Connectors.terminateRequest(exchange);
+                    exchange.setPersistent(false);
+                    // Request buffering ends the exchange without a response when later reads on the IO thread fail.
+                    if (!exchange.isResponseStarted()) {
+                        exchange.setStatusCode(StatusCodes.REQUEST_ENTITY_TOO_LARGE);
+                    }
+                    throw new RequestTooBigException("Decoded request body exceeds the maximum size");
+                }
+            }
+            return read;
+        }
+    }
+
+    /**
+     * Retains a single released instance per thread. Instances may be released on a different thread than the one
+     * which allocated them, in which case they are retained by the releasing thread.
+     */
+    private static final class ThreadLocalObjectPool<T> implements ObjectPool<T> {
+
+        private final ThreadLocal<T> cache = new ThreadLocal<>();
+        private final Supplier<T> factory;
+        private final Consumer<T> recycler;
+        private final Consumer<T> destroyer;
+
+        ThreadLocalObjectPool(Supplier<T> factory, Consumer<T> recycler, Consumer<T> destroyer) {
+            this.factory = factory;
+            this.recycler = recycler;
+            this.destroyer = destroyer;
+        }
+
+        @Override
+        public PooledObject<T> allocate() {
+            T cached = cache.get();
+            if (cached != null) {
+                cache.remove();
+                return new Pooled(cached);
+            }
+            return new Pooled(factory.get());
+        }
+
+        private final class Pooled implements PooledObject<T> {
+
+            @Nullable
+            private T object;
+
+            Pooled(T object) {
+                this.object = object;
+            }
+
+            @Override
+            public T getObject() {
+                return object;
+            }
+
+            @Override
+            public void close() {
+                T value = object;
+                if (value == null) {
+                    return;
+                }
+                object = null;
+                if (cache.get() == null) {
+                    recycler.accept(value);
+                    cache.set(value);
+                } else {
+                    destroyer.accept(value);
+                }
+            }
+        }
+    }
+}
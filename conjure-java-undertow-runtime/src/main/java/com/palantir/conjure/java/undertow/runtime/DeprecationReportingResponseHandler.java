@@ -38,7 +38,11 @@ final class DeprecationReportingResponseHandler implements HttpHandler {
 
     @Override
     public void handleRequest(HttpServerExchange exchange) throws Exception {
-        exchange.getResponseHeaders().put(DEPRECATION, IS_DEPRECATED);
+        addHeaders(exchange);
         next.handleRequest(exchange);
     }
+
+    static void addHeaders(HttpServerExchange exchange) {
+        exchange.getResponseHeaders().put(DEPRECATION, IS_DEPRECATED);
+    }
 }
@@ -17,10 +17,14 @@
 package com.palantir.conjure.java.undertow.runtime;
 
 import com.palantir.conjure.java.undertow.lib.Endpoint;
+import com.palantir.conjure.java.undertow.lib.StreamingSerializer;
 import com.palantir.conjure.java.undertow.lib.TypeMarker;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeUnsupportedOperationException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Iterator;
 
 /**
  * An encoding provides support for a
@@ -55,6 +59,35 @@ public interface Encoding {
         return deserializer(type);
     }
 
+    /**
+     * Returns {@code true} if this encoding implements {@link #elementSerializer(TypeMarker)} and
+     * {@link #elementDeserializer(TypeMarker)}. Streamed lists are only negotiated between encodings which support
+     * element streaming.
+     */
+    default boolean supportsElementStreaming() {
+        return false;
+    }
+
+    /**
+     * Creates a new {@link ElementSerializer} which writes a list of the requested element type one element at a time.
+     * Encodings which do not {@link #supportsElementStreaming() support element streaming} throw
+     * {@link UnsupportedOperationException}.
+     */
+    default <T> ElementSerializer<T> elementSerializer(TypeMarker<T> _elementType) {
+        throw new SafeUnsupportedOperationException(
+                "Streaming serialization is not supported", SafeArg.of("contentType", getContentType()));
+    }
+
+    /**
+     * Creates a new {@link ElementDeserializer} which reads a list of the requested element type one element at a
+     * time. Encodings which do not {@link #supportsElementStreaming() support element streaming} throw
+     * {@link UnsupportedOperationException}.
+     */
+    default <T> ElementDeserializer<T> elementDeserializer(TypeMarker<T> _elementType) {
+        throw new SafeUnsupportedOperationException(
+                "Streaming deserialization is not supported", SafeArg.of("contentType", getContentType()));
+    }
+
     /**
      * Returns the value used in response
      *
@@ -98,6 +131,27 @@ public interface Encoding {
         T deserialize(InputStream input) throws IOException;
     }
 
+    interface ElementDeserializer<T> {
+
+        /**
+         * Begins reading a list from the given input stream, returning an iterator which reads each element as it is
+         * requested. Elements which cannot be read fail when they are reached, as described by
+         * {@link Deserializer#deserialize(InputStream)}, except that failures to read the stream surface as
+         * {@link java.io.UncheckedIOException}. Implementations must not close the stream. Elements must never be
+         * null.
+         */
+        Iterator<T> open(InputStream input) throws IOException;
+    }
+
+    interface ElementSerializer<T> {
+
+        /**
+         * Begins writing a list to the given output stream. Elements written to the returned writer may be buffered
+         * until it is flushed, and closing the writer completes the list without closing the stream.
+         */
+        StreamingSerializer.ElementWriter<T> open(OutputStream output) throws IOException;
+    }
+
     interface Serializer<T> {
 
         /**
@@ -0,0 +1,223 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.google.common.collect.ImmutableList;
+import io.undertow.util.HeaderValues;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nullable;
+
+/**
+ * Resolves {@code Content-Type} and {@code Accept} header values to the index of an {@link Encoding} in a fixed,
+ * ordered list of encodings.
+ *
+ * <p>Clients tend to send a handful of distinct header values, so results are memoized in small direct-mapped caches
+ * keyed on the raw header value. The caches are bounded and lock-free: a header which collides with a cached entry
+ * replaces it, so unusual values cannot grow memory usage, they only cost a fresh parse.
+ */
+final class EncodingNegotiator {
+
+    /** Returned by {@link #requestEncoding(String)} when no encoding supports the request content type. */
+    static final int UNSUPPORTED = -1;
+
+    /** The encoding used for responses when the client does not express a supported preference. */
+    private static final int DEFAULT_ENCODING = 0;
+
+    // Must be a power of two
+    private static final int CACHE_SIZE = 64;
+
+    private final ImmutableList<Encoding> encodings;
+    private final AtomicReferenceArray<CacheEntry> requestCache = new AtomicReferenceArray<>(CACHE_SIZE);
+    private final AtomicReferenceArray<CacheEntry> responseCache = new AtomicReferenceArray<>(CACHE_SIZE);
+
+    EncodingNegotiator(List<? extends Encoding> encodings) {
+        this.encodings = ImmutableList.copyOf(encodings);
+    }
+
+    /**
+     * Returns the index of the first encoding which supports the request {@code Content-Type}, or
+     * {@link #UNSUPPORTED}.
+     */
+    int requestEncoding(String contentType) {
+        int slot = slot(contentType);
+        CacheEntry cached = requestCache.get(slot);
+        if (cached != null && cached.header.equals(contentType)) {
+            return cached.encoding;
+        }
+        int encoding = resolveRequestEncoding(contentType);
+        requestCache.set(slot, new CacheEntry(contentType, encoding));
+        return encoding;
+    }
+
+    /**
+     * Returns the index of the encoding which best satisfies the request {@code Accept} values, falling back to the
+     * first encoding. Media ranges are ordered by quality value, then by the order in which the client sent them.
+     */
+    int responseEncoding(@Nullable HeaderValues acceptValues) {
+        if (acceptValues == null || acceptValues.isEmpty()) {
+            return DEFAULT_ENCODING;
+        }
+        if (acceptValues.size() != 1) {
+            // Multiple Accept headers are uncommon and are combined rather than cached
+            return resolveResponseEncoding(String.join(",", acceptValues));
+        }
+        String accept = acceptValues.get(0);
+        int slot = slot(accept);
+        CacheEntry cached = responseCache.get(slot);
+        if (cached != null && cached.header.equals(accept)) {
+            return cached.encoding;
+        }
+        int encoding = resolveResponseEncoding(accept);
+        responseCache.set(slot, new CacheEntry(accept, encoding));
+        return encoding;
+    }
+
+    private int resolveRequestEncoding(String contentType) {
+        for (int i = 0; i < encodings.size(); i++) {
+            if (encodings.get(i).supportsContentType(contentType)) {
+                return i;
+            }
+        }
+        return UNSUPPORTED;
+    }
+
+    private int resolveResponseEncoding(String accept) {
+        List<MediaRange> ranges = parseAccept(accept);
+        // Stable sort retains the client order for equal quality values
+        ranges.sort(Comparator.comparingDouble(MediaRange::quality).reversed());
+        for (MediaRange range : ranges) {
+            if (range.quality() <= 0) {
+                // Remaining ranges are explicitly not acceptable
+                break;
+            }
+            int encoding = match(range.value());
+            if (encoding != UNSUPPORTED) {
+                return encoding;
+            }
+        }
+        return DEFAULT_ENCODING;
+    }
+
+    private int match(String mediaRange) {
+        if (mediaRange.equals("*") || mediaRange.startsWith("*/*")) {
+            return DEFAULT_ENCODING;
+        }
+        int wildcard = mediaRange.indexOf("/*");
+        if (wildcard > 0) {
+            // Match the type, for example 'application/*', including the separator
+            int prefixLength = wildcard + 1;
+            for (int i = 0; i < encodings.size(); i++) {
+                String contentType = encodings.get(i).getContentType();
+                if (contentType.length() > prefixLength
+                        && contentType.regionMatches(/* ignoreCase= */ true, 0, mediaRange, 0, prefixLength)) {
+                    return i;
+                }
+            }
+            return UNSUPPORTED;
+        }
+        for (int i = 0; i < encodings.size(); i++) {
+            if (encodings.get(i).supportsContentType(mediaRange)) {
+                return i;
+            }
+        }
+        return UNSUPPORTED;
+    }
+
+    /**
+     * Splits an {@code Accept} value into media ranges. Each range retains its media type parameters, for example
+     * {@code charset}, but not the {@code q} weight nor any extension parameters which follow it.
+     */
+    private static List<MediaRange> parseAccept(String accept) {
+        List<MediaRange> ranges = new ArrayList<>();
+        int start = 0;
+        while (start <= accept.length()) {
+            int end = accept.indexOf(',', start);
+            if (end < 0) {
+                end = accept.length();
+            }
+            String element = accept.substring(start, end).trim();
+            if (!element.isEmpty()) {
+                ranges.add(parseMediaRange(element));
+            }
+            start = end + 1;
+        }
+        return ranges;
+    }
+
+    private static MediaRange parseMediaRange(String element) {
+        int parameterStart = element.indexOf(';');
+        while (parameterStart >= 0) {
+            int parameterEnd = element.indexOf(';', parameterStart + 1);
+            String parameter = element.substring(parameterStart + 1, parameterEnd < 0 ? element.length() : parameterEnd)
+                    .trim();
+            if (parameter.length() > 2
+                    && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+                    && parameter.charAt(1) == '=') {
+                return new MediaRange(
+                        element.substring(0, parameterStart).trim(), parseQuality(parameter.substring(2)));
+            }
+            parameterStart = parameterEnd;
+        }
+        return new MediaRange(element, 1);
+    }
+
+    private static double parseQuality(String value) {
+        try {
+            double quality = Double.parseDouble(value.trim());
+            // Invalid weights are ignored rather than rejecting the request
+            return Double.isNaN(quality) || quality < 0 || quality > 1 ? 1 : quality;
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    private static int slot(String header) {
+        int hash = header.hashCode();
+        return (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+    }
+
+    private static final class CacheEntry {
+        private final String header;
+        private final int encoding;
+
+        CacheEntry(String header, int encoding) {
+            this.header = header;
+            this.encoding = encoding;
+        }
+    }
+
+    private static final class MediaRange {
+        private final String value;
+        private final double quality;
+
+        MediaRange(String value, double quality) {
+            this.value = value;
+            this.quality = quality;
+        }
+
+        String value() {
+            return value;
+        }
+
+        double quality() {
+            return quality;
+        }
+    }
+}
@@ -18,17 +18,32 @@ package com.palantir.conjure.java.undertow.runtime;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.palantir.conjure.java.lib.internal.HasStreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodec;
 import com.palantir.conjure.java.serialization.ObjectMappers;
+import com.palantir.conjure.java.undertow.lib.StreamingSerializer;
 import com.palantir.conjure.java.undertow.lib.TypeMarker;
 import com.palantir.logsafe.Preconditions;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
 import com.palantir.logsafe.exceptions.SafeIoException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import javax.annotation.Nullable;
 
 // TODO(rfink): Consider async Jackson, see
 //              https://github.com/spring-projects/spring-framework/commit/31e0e537500c0763a36d3af2570d5c253a374690
@@ -40,14 +55,42 @@ public final class Encodings {
     private abstract static class AbstractJacksonEncoding implements Encoding {
 
         private final ObjectMapper mapper;
+        private final boolean streamingCodecs;
+        private final boolean frameworkStackTraces;
 
         AbstractJacksonEncoding(ObjectMapper mapper) {
+            this(mapper, false);
+        }
+
+        AbstractJacksonEncoding(ObjectMapper mapper, boolean streamingCodecs) {
+            this(mapper, streamingCodecs, true);
+        }
+
+        AbstractJacksonEncoding(ObjectMapper mapper, boolean streamingCodecs, boolean frameworkStackTraces) {
             this.mapper = Preconditions.checkNotNull(mapper, "ObjectMapper is required");
+            this.streamingCodecs = streamingCodecs;
+            this.frameworkStackTraces = frameworkStackTraces;
+        }
+
+        /** Returns an equivalent encoding which rejects unprocessable request bodies without stack traces. */
+        final Encoding withoutFrameworkStackTraces() {
+            String contentType = getContentType();
+            return new AbstractJacksonEncoding(mapper, streamingCodecs, false) {
+                @Override
+                public String getContentType() {
+                    return contentType;
+                }
+            };
+        }
+
+        @Override
+        public final boolean supportsElementStreaming() {
+            return true;
         }
 
         @Override
         public final boolean supportsContentType(String contentType) {
-            // TODO(ckozak): support wildcards? See javax.ws.rs.core.MediaType.isCompatible
+            // Accept wildcards and quality values are resolved by EncodingNegotiator
             if (contentType == null) {
                 return false;
             }
@@ -68,6 +111,16 @@ public final class Encodings {
 
         @Override
         public final <T> Serializer<T> serializer(TypeMarker<T> type) {
+            Optional<StreamingCodec<T>> maybeCodec = streamingCodec(type);
+            if (maybeCodec.isPresent()) {
+                StreamingCodec<T> codec = maybeCodec.get();
+                return (value, output) -> {
+                    Preconditions.checkNotNull(value, "cannot serialize null value");
+                    try (JsonGenerator generator = mapper.createGenerator(output)) {
+                        codec.serialize(value, generator);
+                    }
+                };
+            }
             ObjectWriter writer = mapper.writerFor(mapper.constructType(type.getType()));
             return (value, output) -> {
                 Preconditions.checkNotNull(value, "cannot serialize null value");
@@ -75,12 +128,50 @@ public final class Encodings {
             };
         }
 
+        @Override
+        public final <T> ElementSerializer<T> elementSerializer(TypeMarker<T> elementType) {
+            Optional<StreamingCodec<T>> maybeCodec = streamingCodec(elementType);
+            if (maybeCodec.isPresent()) {
+                StreamingCodec<T> codec = maybeCodec.get();
+                return output -> new JacksonElementWriter<>(mapper.createGenerator(output), codec::serialize);
+            }
+            // Elements are flushed explicitly by the caller rather than after each value.
+            ObjectWriter writer = mapper.writerFor(mapper.constructType(elementType.getType()))
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            return output -> new JacksonElementWriter<>(
+                    mapper.createGenerator(output), (value, generator) -> writer.writeValue(generator, value));
+        }
+
+        @Override
+        public final <T> ElementDeserializer<T> elementDeserializer(TypeMarker<T> elementType) {
+            Optional<StreamingCodec<T>> maybeCodec = streamingCodec(elementType);
+            if (maybeCodec.isPresent()) {
+                StreamingCodec<T> codec = maybeCodec.get();
+                return input -> new JacksonElementIterator<>(
+                        mapper.createParser(input),
+                        parser -> {
+                            try {
+                                return codec.deserialize(parser);
+                            } catch (RuntimeException e) {
+                                throw JsonMappingException.from(parser, "Failed to construct value", e);
+                            }
+                        },
+                        elementType,
+                        getContentType(),
+                        frameworkStackTraces);
+            }
+            ObjectReader reader = mapper.readerFor(mapper.constructType(elementType.getType()));
+            return input -> new JacksonElementIterator<>(
+                    mapper.createParser(input), reader::readValue, elementType, getContentType(), frameworkStackTraces);
+        }
+
         @Override
         public final <T> Deserializer<T> deserializer(TypeMarker<T> type) {
+            Optional<StreamingCodec<T>> codec = streamingCodec(type);
             ObjectReader reader = mapper.readerFor(mapper.constructType(type.getType()));
             return input -> {
                 try {
-                    T value = reader.readValue(input);
+                    T value = codec.isPresent() ? deserialize(codec.get(), input) : reader.readValue(input);
                     // Bad input should result in a 4XX response status, throw IAE rather than NPE.
                     Preconditions.checkArgument(value != null, "cannot deserialize a JSON null value");
                     return value;
@@ -89,6 +180,7 @@ public final class Encodings {
                     // which is important for us to detect when both parsing fails (in jackson code) and when object
                     // validation (setter null checks) fail in our objects.
                     throw FrameworkException.unprocessableEntity(
+                            frameworkStackTraces,
                             "Failed to deserialize request",
                             e,
                             SafeArg.of("contentType", getContentType()),
@@ -110,6 +202,166 @@ public final class Encodings {
                 }
             };
         }
+
+        private <T> T deserialize(StreamingCodec<T> codec, InputStream input) throws IOException {
+            try (JsonParser parser = mapper.createParser(input)) {
+                if (parser.nextToken() == null) {
+                    throw MismatchedInputException.from(
+                            parser, (Class<?>) null, "No content to map due to end-of-input");
+                }
+                try {
+                    return codec.deserialize(parser);
+                } catch (RuntimeException e) {
+                    // Databind reports failures thrown by builders and factories as mapping exceptions.
+                    throw JsonMappingException.from(parser, "Failed to construct value", e);
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> Optional<StreamingCodec<T>> streamingCodec(TypeMarker<T> type) {
+            if (!streamingCodecs || !(type.getType() instanceof Class)) {
+                return Optional.empty();
+            }
+            HasStreamingCodec annotation = ((Class<?>) type.getType()).getAnnotation(HasStreamingCodec.class);
+            if (annotation == null) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(annotation.value().getConstructor().newInstance());
+            } catch (ReflectiveOperationException e) {
+                throw new SafeIllegalStateException(
+                        "Failed to create streaming codec",
+                        e,
+                        SafeArg.of("type", type),
+                        SafeArg.of("codec", annotation));
+            }
+        }
+    }
+
+    private interface ValueWriter<T> {
+        void write(T value, JsonGenerator generator) throws IOException;
+    }
+
+    private static final class JacksonElementWriter<T> implements StreamingSerializer.ElementWriter<T> {
+
+        private final JsonGenerator generator;
+        private final ValueWriter<T> valueWriter;
+
+        JacksonElementWriter(JsonGenerator generator, ValueWriter<T> valueWriter) throws IOException {
+            this.generator = generator;
+            this.valueWriter = valueWriter;
+            generator.writeStartArray();
+        }
+
+        @Override
+        public void write(T element) throws IOException {
+            Preconditions.checkNotNull(element, "cannot serialize null value");
+            valueWriter.write(element, generator);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (JsonGenerator closeable = generator) {
+                closeable.writeEndArray();
+            }
+        }
+    }
+
+    private interface ValueReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    /** Reads a list one element at a time, failures surface when the element which cannot be read is reached. */
+    private static final class JacksonElementIterator<T> implements Iterator<T> {
+
+        private final JsonParser parser;
+        private final ValueReader<T> valueReader;
+        private final TypeMarker<T> elementType;
+        private final String contentType;
+        private final boolean frameworkStackTraces;
+        private boolean started;
+        private boolean complete;
+
+        @Nullable
+        private T next;
+
+        JacksonElementIterator(
+                JsonParser parser,
+                ValueReader<T> valueReader,
+                TypeMarker<T> elementType,
+                String contentType,
+                boolean frameworkStackTraces) {
+            // See documentation on Encoding.Deserializer#deserialize: Implementations must not close the stream.
+            this.parser = parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            this.valueReader = valueReader;
+            this.elementType = elementType;
+            this.contentType = contentType;
+            this.frameworkStackTraces = frameworkStackTraces;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !complete) {
+                next = read();
+            }
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T value = next;
+            next = null;
+            return value;
+        }
+
+        @Nullable
+        private T read() {
+            try {
+                if (!started) {
+                    started = true;
+                    if (parser.nextToken() != JsonToken.START_ARRAY) {
+                        throw MismatchedInputException.from(parser, List.class, "Expected a list");
+                    }
+                }
+                JsonToken token = parser.nextToken();
+                if (token == null) {
+                    throw MismatchedInputException.from(parser, List.class, "Unexpected end-of-input in list");
+                }
+                if (token == JsonToken.END_ARRAY) {
+                    complete = true;
+                    parser.close();
+                    return null;
+                }
+                T value = valueReader.read(parser);
+                // Bad input should result in a 4XX response status, throw IAE rather than NPE.
+                Preconditions.checkArgument(value != null, "cannot deserialize a JSON null value");
+                return value;
+            } catch (JsonMappingException e) {
+                throw FrameworkException.unprocessableEntity(
+                        frameworkStackTraces,
+                        "Failed to deserialize request element",
+                        e,
+                        SafeArg.of("contentType", contentType),
+                        SafeArg.of("type", elementType));
+            } catch (JsonParseException | NullPointerException e) {
+                throw new SafeIllegalArgumentException(
+                        "Failed to parse request due to malformed content",
+                        e,
+                        SafeArg.of("contentType", contentType),
+                        SafeArg.of("type", elementType));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
     }
 
     /** Returns a serializer for the Conjure JSON wire format. */
@@ -148,6 +400,56 @@ public final class Encodings {
         };
     }
 
+    /**
+     * Returns a serializer for the Conjure JSON wire format which reads and writes types generated with streaming
+     * codecs using the jackson streaming API, falling back to databind for all other types.
+     */
+    public static Encoding streamingJson() {
+        return new AbstractJacksonEncoding(configure(ObjectMappers.newServerObjectMapper()), true) {
+            private static final String CONTENT_TYPE = "application/json";
+
+            @Override
+            public String getContentType() {
+                return CONTENT_TYPE;
+            }
+        };
+    }
+
+    /** Returns a serializer for the Conjure CBOR wire format using streaming codecs where available. */
+    public static Encoding streamingCbor() {
+        return new AbstractJacksonEncoding(configure(ObjectMappers.newCborServerObjectMapper()), true) {
+            private static final String CONTENT_TYPE = "application/cbor";
+
+            @Override
+            public String getContentType() {
+                return CONTENT_TYPE;
+            }
+        };
+    }
+
+    /** Returns a serializer for the Conjure Smile wire format using streaming codecs where available. */
+    public static Encoding streamingSmile() {
+        return new AbstractJacksonEncoding(configure(ObjectMappers.newSmileServerObjectMapper()), true) {
+            private static final String CONTENT_TYPE = "application/x-jackson-smile";
+
+            @Override
+            public String getContentType() {
+                return CONTENT_TYPE;
+            }
+        };
+    }
+
+    /**
+     * Returns an equivalent encoding which rejects unprocessable request bodies without capturing stack traces. Only
+     * the encodings provided by this class are supported, other encodings are returned unchanged.
+     */
+    static Encoding withoutFrameworkStackTraces(Encoding encoding) {
+        if (encoding instanceof AbstractJacksonEncoding) {
+            return ((AbstractJacksonEncoding) encoding).withoutFrameworkStackTraces();
+        }
+        return encoding;
+    }
+
     private static ObjectMapper configure(ObjectMapper mapper) {
         // See documentation on Encoding.Serializer#serialize: Implementations must not close the stream.
         return mapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
@@ -0,0 +1,59 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.palantir.conjure.java.undertow.lib.Endpoint;
+
+/**
+ * Records metrics for a single {@link Endpoint}. Instances are created once per endpoint by an
+ * {@link EndpointMetricsRegistry} when the {@link ConjureHandler} is built, and are invoked concurrently on the request
+ * path. Implementations must be thread-safe, and should record into pre-registered meters rather than allocating or
+ * looking up meters per request.
+ *
+ * <p>Phases are recorded on the blocking thread which invokes the endpoint. Serialization which occurs after an
+ * asynchronous endpoint returns is not timed, and is attributed to neither {@link EndpointPhase#SERIALIZATION} nor
+ * {@link EndpointPhase#INVOCATION}.
+ */
+public interface EndpointMetrics {
+
+    /** Invoked when the endpoint begins handling a request. Each call is followed by {@link #requestCompleted}. */
+    default void requestStarted() {}
+
+    /** Invoked once the exchange has completed, including failed and asynchronous requests. */
+    default void requestCompleted(int _statusCode) {}
+
+    /** Records the duration of a {@link EndpointPhase phase} of a request in nanoseconds. */
+    default void phase(EndpointPhase _phase, long _nanos) {}
+
+    /** Records the size of the request body based on the {@code Content-Length}, when known. */
+    default void requestBytes(long _bytes) {}
+
+    /** Records the number of response bytes written to the connection. */
+    default void responseBytes(long _bytes) {}
+
+    /**
+     * Invoked when a request body is read. The value is the content type of the {@link Encoding} which was selected,
+     * rather than the request header, so that implementations may key counters by identity.
+     */
+    default void requestEncoding(String _contentType) {}
+
+    /**
+     * Invoked when a response body is written. The value is the content type of the {@link Encoding} which was
+     * selected, rather than the request header, so that implementations may key counters by identity.
+     */
+    default void responseEncoding(String _contentType) {}
+}
@@ -0,0 +1,154 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.palantir.logsafe.Preconditions;
+import io.undertow.server.ExchangeCompletionListener;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/**
+ * Records {@link EndpointMetrics} for an endpoint. Phases which occur within the runtime, for example body
+ * serialization, are accumulated in thread-local state while the endpoint executes and are reported once it returns,
+ * along with the remaining {@link EndpointPhase#INVOCATION} time. Neither recording nor completion allocates.
+ */
+final class EndpointMetricsHandler implements HttpHandler {
+
+    private static final EndpointPhase[] PHASES = EndpointPhase.values();
+    private static final long NOT_RECORDED = -1L;
+    private static final long INACTIVE = Long.MIN_VALUE;
+    private static final ThreadLocal<PhaseState> state = ThreadLocal.withInitial(PhaseState::new);
+
+    private final HttpHandler delegate;
+    private final EndpointMetrics metrics;
+    private final ExchangeCompletionListener completionListener;
+
+    EndpointMetricsHandler(HttpHandler delegate, EndpointMetrics metrics) {
+        this.delegate = Preconditions.checkNotNull(delegate, "Delegate handler is required");
+        this.metrics = Preconditions.checkNotNull(metrics, "EndpointMetrics is required");
+        this.completionListener = SafeExchangeCompletionListener.of(this::complete);
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        exchange.addExchangeCompleteListener(completionListener);
+        long start = enter(exchange, metrics);
+        try {
+            delegate.handleRequest(exchange);
+        } finally {
+            exit(start);
+        }
+    }
+
+    private void complete(HttpServerExchange exchange) {
+        complete(metrics, exchange);
+    }
+
+    /**
+     * Begins recording phases for the endpoint on the current thread, returning the start time to pass to
+     * {@link #exit(long)} once the endpoint returns. The caller is responsible for invoking
+     * {@link #complete(EndpointMetrics, HttpServerExchange)} when the exchange completes.
+     */
+    static long enter(HttpServerExchange exchange, EndpointMetrics metrics) {
+        long start = System.nanoTime();
+        long requestStart = exchange.getRequestStartTime();
+        if (requestStart != -1) {
+            metrics.phase(EndpointPhase.ROUTING, start - requestStart);
+        }
+        metrics.requestStarted();
+        state.get().enter(metrics);
+        return start;
+    }
+
+    static void exit(long start) {
+        state.get().exit(System.nanoTime() - start);
+    }
+
+    static void complete(EndpointMetrics metrics, HttpServerExchange exchange) {
+        long requestBytes = exchange.getRequestContentLength();
+        if (requestBytes >= 0) {
+            metrics.requestBytes(requestBytes);
+        }
+        metrics.responseBytes(exchange.getResponseBytesSent());
+        metrics.requestCompleted(exchange.getStatusCode());
+    }
+
+    /**
+     * Returns a value to pass to {@link #endPhase(EndpointPhase, long)}, avoiding the clock when the current thread
+     * is not executing an instrumented endpoint.
+     */
+    static long startPhase() {
+        return state.get().metrics == null ? INACTIVE : System.nanoTime();
+    }
+
+    static void endPhase(EndpointPhase phase, long startNanos) {
+        if (startNanos != INACTIVE) {
+            state.get().add(phase, System.nanoTime() - startNanos);
+        }
+    }
+
+    static void requestEncoding(String contentType) {
+        EndpointMetrics metrics = state.get().metrics;
+        if (metrics != null) {
+            metrics.requestEncoding(contentType);
+        }
+    }
+
+    static void responseEncoding(String contentType) {
+        EndpointMetrics metrics = state.get().metrics;
+        if (metrics != null) {
+            metrics.responseEncoding(contentType);
+        }
+    }
+
+    private static final class PhaseState {
+
+        @Nullable
+        private EndpointMetrics metrics;
+
+        private final long[] nanos = new long[PHASES.length];
+
+        void enter(EndpointMetrics value) {
+            metrics = value;
+            Arrays.fill(nanos, NOT_RECORDED);
+        }
+
+        void add(EndpointPhase phase, long value) {
+            long previous = nanos[phase.ordinal()];
+            nanos[phase.ordinal()] = previous == NOT_RECORDED ? value : previous + value;
+        }
+
+        void exit(long totalNanos) {
+            EndpointMetrics value = metrics;
+            metrics = null;
+            if (value == null) {
+                return;
+            }
+            long attributed = 0;
+            for (EndpointPhase phase : PHASES) {
+                long phaseNanos = nanos[phase.ordinal()];
+                if (phaseNanos != NOT_RECORDED) {
+                    value.phase(phase, phaseNanos);
+                    attributed += phaseNanos;
+                }
+            }
+            value.phase(EndpointPhase.INVOCATION, Math.max(0, totalNanos - attributed));
+        }
+    }
+}
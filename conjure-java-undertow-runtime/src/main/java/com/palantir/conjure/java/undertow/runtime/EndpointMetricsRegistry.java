@@ -0,0 +1,30 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.palantir.conjure.java.undertow.lib.Endpoint;
+import java.util.Optional;
+
+/**
+ * Provides {@link EndpointMetrics} for each {@link Endpoint} registered with a {@link ConjureHandler}, configured using
+ * {@link ConjureUndertowRuntime.Builder#metrics(EndpointMetricsRegistry)}.
+ */
+public interface EndpointMetricsRegistry {
+
+    /** Returns metrics for the given endpoint, or empty if the endpoint should not be instrumented. */
+    Optional<EndpointMetrics> endpoint(Endpoint endpoint);
+}
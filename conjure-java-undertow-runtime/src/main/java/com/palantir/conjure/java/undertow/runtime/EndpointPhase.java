@@ -0,0 +1,37 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+/** Phases of request handling which are timed by {@link EndpointMetrics}. */
+public enum EndpointPhase {
+    /**
+     * Time from the start of the request until the endpoint begins executing on its blocking thread, which includes
+     * routing and dispatch to the task pool. This is only recorded when the server enables
+     * {@link io.undertow.UndertowOptions#RECORD_REQUEST_START_TIME}.
+     */
+    ROUTING,
+    /** Parsing credentials from the {@code Authorization} header or a cookie. */
+    AUTHORIZATION,
+    /** Deserializing the request body. */
+    DESERIALIZATION,
+    /** Time spent in the endpoint handler which is not attributed to another phase, primarily the service method. */
+    INVOCATION,
+    /**
+     * Serializing the response body, including blocking writes to the connection as the response buffer is flushed.
+     */
+    SERIALIZATION;
+}
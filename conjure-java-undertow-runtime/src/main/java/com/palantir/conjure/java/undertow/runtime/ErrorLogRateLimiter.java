@@ -0,0 +1,84 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the rate at which errors are logged for each error name, so that a client which repeatedly triggers the same
+ * failure cannot make error handling more expensive than serving successful requests. The number of suppressed log
+ * lines is reported on the next line which is logged. Only client errors are limited, server errors such as
+ * {@code INTERNAL} may have many distinct causes under one name and are always logged.
+ */
+final class ErrorLogRateLimiter {
+
+    /** Returned by {@link #tryAcquire(String)} when the log line should be suppressed. */
+    static final int SUPPRESSED = -1;
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // Error names are defined in code, additional names are not limited rather than retaining unbounded state
+    private static final int MAX_NAMES = 1024;
+
+    private final int permitsPerSecond;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    ErrorLogRateLimiter(int permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    /**
+     * Returns {@link #SUPPRESSED} if the log line for the given error name exceeds the rate limit, otherwise the
+     * number of log lines which were suppressed since the previous line was logged.
+     */
+    int tryAcquire(String errorName) {
+        Window window = windows.get(errorName);
+        if (window == null) {
+            if (windows.size() >= MAX_NAMES) {
+                return 0;
+            }
+            window = windows.computeIfAbsent(errorName, _name -> new Window(System.nanoTime()));
+        }
+        return window.tryAcquire(System.nanoTime(), permitsPerSecond);
+    }
+
+    private static final class Window {
+        private long start;
+        private int count;
+        private int suppressed;
+
+        Window(long now) {
+            this.start = now;
+        }
+
+        synchronized int tryAcquire(long now, int permits) {
+            if (now - start >= WINDOW_NANOS) {
+                start = now;
+                count = 0;
+            }
+            if (count < permits) {
+                count++;
+                int result = suppressed;
+                suppressed = 0;
+                return result;
+            }
+            suppressed++;
+            return SUPPRESSED;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.palantir.logsafe.Preconditions;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import java.util.concurrent.Executor;
+
+/**
+ * Equivalent to Undertow's {@link io.undertow.server.handlers.BlockingHandler}, except that requests are dispatched
+ * to the provided {@link Executor} rather than the server worker pool.
+ */
+final class ExecutorBlockingHandler implements HttpHandler {
+
+    private final HttpHandler delegate;
+    private final Executor executor;
+
+    ExecutorBlockingHandler(HttpHandler delegate, Executor executor) {
+        this.delegate = Preconditions.checkNotNull(delegate, "Delegate handler is required");
+        this.executor = Preconditions.checkNotNull(executor, "Executor is required");
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        exchange.startBlocking();
+        if (exchange.isInIoThread()) {
+            exchange.dispatch(executor, delegate);
+        } else {
+            delegate.handleRequest(exchange);
+        }
+    }
+}
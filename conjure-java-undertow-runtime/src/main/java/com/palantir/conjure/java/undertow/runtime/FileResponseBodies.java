@@ -0,0 +1,119 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.palantir.conjure.java.undertow.lib.FileResponseBody;
+import com.palantir.logsafe.exceptions.SafeIoException;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.ByteRange;
+import io.undertow.util.DateUtils;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
+import io.undertow.util.StatusCodes;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.xnio.channels.Channels;
+import org.xnio.channels.StreamSinkChannel;
+
+/**
+ * Sends {@link FileResponseBody} values by transferring the file directly to the response channel, which allows the
+ * connection to use {@code sendfile} rather than copying the file through the heap. Single {@code Range} requests
+ * within the file region are supported, conditional on the file modification time when {@code If-Range} is present.
+ */
+final class FileResponseBodies {
+
+    private static final String BYTES = "bytes";
+
+    static void send(FileResponseBody body, HttpServerExchange exchange) throws IOException {
+        try (FileChannel file = FileChannel.open(body.path(), StandardOpenOption.READ)) {
+            long length = body.regionLength(file);
+            long start = body.offset();
+            long count = length;
+            // HTTP dates have a resolution of seconds, so If-Range values are compared at that resolution.
+            long lastModified = Files.getLastModifiedTime(body.path()).to(TimeUnit.SECONDS) * 1000;
+            HeaderMap responseHeaders = exchange.getResponseHeaders();
+            responseHeaders.put(Headers.ACCEPT_RANGES, BYTES);
+            responseHeaders.put(Headers.LAST_MODIFIED, DateUtils.toDateString(new Date(lastModified)));
+            ByteRange range = ByteRange.parse(exchange.getRequestHeaders().getFirst(Headers.RANGE));
+            // Multipart responses are not supported, the entire region is sent when multiple ranges are requested
+            // or the range cannot be applied.
+            ByteRange.RangeResponseResult result = range == null
+                            || range.getRanges() != 1
+                            || !ifRangeMatches(exchange.getRequestHeaders().getFirst(Headers.IF_RANGE), lastModified)
+                    ? null
+                    : range.getResponseResult(length, null, null, null);
+            if (result != null) {
+                exchange.setStatusCode(result.getStatusCode());
+                responseHeaders.put(Headers.CONTENT_RANGE, result.getContentRange());
+                if (result.getStatusCode() == StatusCodes.REQUEST_RANGE_NOT_SATISFIABLE) {
+                    responseHeaders.put(Headers.CONTENT_LENGTH, 0L);
+                    return;
+                }
+                start += result.getStart();
+                count = result.getContentLength();
+            }
+            responseHeaders.put(Headers.CONTENT_LENGTH, count);
+            StreamSinkChannel channel = exchange.getResponseChannel();
+            if (channel == null) {
+                // The response stream has already been used, so the region must be copied through it.
+                FileResponseBody.of(body.path(), start, count).write(exchange.getOutputStream());
+                return;
+            }
+            transfer(file, start, count, channel);
+            channel.shutdownWrites();
+            Channels.flushBlocking(channel);
+        }
+    }
+
+    /**
+     * Returns whether a {@code Range} may be applied given the {@code If-Range} request header. Entity tags are never
+     * generated for files, so only an {@code If-Range} date equal to the modification time of the file matches.
+     */
+    private static boolean ifRangeMatches(@Nullable String ifRange, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        Date date = DateUtils.parseDate(ifRange);
+        return date != null && date.getTime() == lastModified;
+    }
+
+    private static void transfer(FileChannel file, long start, long count, StreamSinkChannel channel)
+            throws IOException {
+        long position = start;
+        long remaining = count;
+        while (remaining > 0) {
+            // Some response conduits transfer from the current position of the file rather than the requested one.
+            file.position(position);
+            long transferred = channel.transferFrom(file, position, remaining);
+            if (transferred > 0) {
+                position += transferred;
+                remaining -= transferred;
+            } else if (position >= file.size()) {
+                throw new SafeIoException("File was truncated while it was being written");
+            } else {
+                channel.awaitWritable();
+            }
+        }
+    }
+
+    private FileResponseBodies() {}
+}
@@ -31,14 +31,22 @@ final class FrameworkException extends RuntimeException implements SafeLoggable
             ErrorType.create(ErrorType.Code.INVALID_ARGUMENT, "Conjure:UnprocessableEntity");
     private static final ErrorType UNSUPPORTED_MEDIA_TYPE =
             ErrorType.create(ErrorType.Code.INVALID_ARGUMENT, "Conjure:UnsupportedMediaType");
+    private static final ErrorType REQUEST_ENTITY_TOO_LARGE =
+            ErrorType.create(ErrorType.Code.INVALID_ARGUMENT, "Conjure:RequestEntityTooLarge");
 
     private final String logMessage;
     private final List<Arg<?>> arguments;
     private final int statusCode;
     private final ErrorType errorType;
 
-    private FrameworkException(String message, ErrorType errorType, int statusCode, Throwable cause, Arg<?>... args) {
-        super(renderMessage(message, args), cause);
+    private FrameworkException(
+            String message,
+            ErrorType errorType,
+            int statusCode,
+            Throwable cause,
+            boolean captureStackTrace,
+            Arg<?>... args) {
+        super(renderMessage(message, args), cause, true, captureStackTrace);
         this.logMessage = message;
         this.arguments = ImmutableList.copyOf(args);
         this.statusCode = statusCode;
@@ -47,11 +55,42 @@ final class FrameworkException extends RuntimeException implements SafeLoggable
 
     static FrameworkException unprocessableEntity(
             @CompileTimeConstant String message, Throwable cause, Arg<?>... args) {
-        return new FrameworkException(message, UNPROCESSABLE_ENTITY, StatusCodes.UNPROCESSABLE_ENTITY, cause, args);
+        return unprocessableEntity(true, message, cause, args);
+    }
+
+    /**
+     * Creates an exception for a request body which cannot be deserialized. The stack trace of the wrapped parsing
+     * failure is always retained, the stack trace of this exception may be omitted to reduce the cost of rejecting
+     * requests.
+     */
+    static FrameworkException unprocessableEntity(
+            boolean captureStackTrace, @CompileTimeConstant String message, Throwable cause, Arg<?>... args) {
+        return new FrameworkException(
+                message, UNPROCESSABLE_ENTITY, StatusCodes.UNPROCESSABLE_ENTITY, cause, captureStackTrace, args);
     }
 
     static FrameworkException unsupportedMediaType(@CompileTimeConstant String message, Arg<?>... args) {
-        return new FrameworkException(message, UNSUPPORTED_MEDIA_TYPE, StatusCodes.UNSUPPORTED_MEDIA_TYPE, null, args);
+        return unsupportedMediaType(true, message, args);
+    }
+
+    /**
+     * Creates an exception for an unsupported request {@code Content-Type}. The stack trace is not useful to diagnose
+     * misbehaving clients, and may be omitted to reduce the cost of rejecting requests.
+     */
+    static FrameworkException unsupportedMediaType(
+            boolean captureStackTrace, @CompileTimeConstant String message, Arg<?>... args) {
+        return new FrameworkException(
+                message, UNSUPPORTED_MEDIA_TYPE, StatusCodes.UNSUPPORTED_MEDIA_TYPE, null, captureStackTrace, args);
+    }
+
+    /**
+     * Creates an exception for a request body which exceeds a configured limit. This is only created by the exception
+     * handler to describe a failure which has already been thrown, the wrapped failure carries the relevant stack
+     * trace, so a stack trace is never captured.
+     */
+    static FrameworkException requestEntityTooLarge(@CompileTimeConstant String message, Throwable cause) {
+        return new FrameworkException(
+                message, REQUEST_ENTITY_TOO_LARGE, StatusCodes.REQUEST_ENTITY_TOO_LARGE, cause, false);
     }
 
     @Override
@@ -0,0 +1,124 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.palantir.conjure.java.api.errors.QosException;
+import com.palantir.conjure.java.undertow.lib.ExceptionHandler;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.tracing.undertow.TracedStateHandler;
+import io.undertow.server.ExchangeCompletionListener;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import javax.annotation.Nullable;
+import org.slf4j.MDC;
+
+/**
+ * Applies the built-in stages which run on the blocking thread as a single handler: endpoint metrics, logging context,
+ * tracing state, exception handling and concurrency limits. This is equivalent to the {@link EndpointMetricsHandler},
+ * {@link LoggingContextHandler}, {@link TracedStateHandler}, {@link ConjureExceptionHandler} and
+ * {@link ConcurrencyLimitingHandler} chain, except that metrics exclude the time taken to attach tracing state, and
+ * at most one completion listener is registered per request.
+ */
+final class FusedBlockingHandler implements HttpHandler {
+
+    private final HttpHandler delegate;
+    private final ExceptionHandler exceptionHandler;
+    private final HttpHandler tracedInvoke;
+
+    @Nullable
+    private final EndpointMetrics metrics;
+
+    @Nullable
+    private final Semaphore permits;
+
+    /** Completes metrics, if any, for requests which do not hold a permit. */
+    @Nullable
+    private final ExchangeCompletionListener completionListener;
+
+    /** Completes metrics, if any, and releases the permit held by the request. */
+    @Nullable
+    private final ExchangeCompletionListener releasingCompletionListener;
+
+    FusedBlockingHandler(
+            HttpHandler delegate,
+            ExceptionHandler exceptionHandler,
+            Optional<EndpointMetrics> maybeMetrics,
+            int maxConcurrentRequests) {
+        this.delegate = Preconditions.checkNotNull(delegate, "Delegate handler is required");
+        this.exceptionHandler = Preconditions.checkNotNull(exceptionHandler, "ExceptionHandler is required");
+        this.tracedInvoke = new TracedStateHandler(this::invoke);
+        this.metrics = maybeMetrics.orElse(null);
+        this.permits = maxConcurrentRequests > 0 ? new Semaphore(maxConcurrentRequests) : null;
+        this.completionListener = metrics == null ? null : SafeExchangeCompletionListener.of(this::completeMetrics);
+        this.releasingCompletionListener = permits == null
+                ? null
+                : SafeExchangeCompletionListener.of(exchange -> {
+                    permits.release();
+                    completeMetrics(exchange);
+                });
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        // Jersey filter implementations often fail to clean up MDC state after each request.
+        // In environments using both Jersey and generated Undertow handlers, the MDC may
+        // contain stale values.
+        MDC.clear();
+        try {
+            tracedInvoke.handleRequest(exchange);
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private void invoke(HttpServerExchange exchange) {
+        long start = metrics == null ? 0L : EndpointMetricsHandler.enter(exchange, metrics);
+        try {
+            if (permits != null && permits.tryAcquire()) {
+                exchange.addExchangeCompleteListener(releasingCompletionListener);
+                delegate.handleRequest(exchange);
+            } else {
+                if (completionListener != null) {
+                    exchange.addExchangeCompleteListener(completionListener);
+                }
+                if (permits != null) {
+                    throw QosException.throttle();
+                }
+                delegate.handleRequest(exchange);
+            }
+        } catch (Throwable throwable) {
+            exceptionHandler.handle(exchange, throwable);
+        } finally {
+            if (metrics != null) {
+                EndpointMetricsHandler.exit(start);
+            }
+        }
+    }
+
+    private void completeMetrics(HttpServerExchange exchange) {
+        if (metrics != null) {
+            EndpointMetricsHandler.complete(metrics, exchange);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FusedBlockingHandler{" + delegate + '}';
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.palantir.conjure.java.undertow.lib.Endpoint;
+import com.palantir.logsafe.Preconditions;
+import io.undertow.UndertowOptions;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Methods;
+
+/**
+ * Applies the built-in stages which run on the IO thread as a single handler: response headers for caching,
+ * web-security and deprecation, and URL decoding. This is equivalent to the {@link NoCachingResponseHandler},
+ * {@link WebSecurityHandler}, {@link DeprecationReportingResponseHandler} and {@link GlobRetainingDecodingHandler}
+ * chain, except that the decoding handler is only invoked when the server has disabled
+ * {@link UndertowOptions#DECODE_URL}, in which case it would otherwise no-op.
+ */
+final class FusedNonBlockingHandler implements HttpHandler {
+
+    private final HttpHandler next;
+    private final HttpHandler decodingNext;
+    private final boolean noCaching;
+    private final boolean deprecated;
+
+    FusedNonBlockingHandler(Endpoint endpoint) {
+        this.next = Preconditions.checkNotNull(endpoint.handler(), "Delegate handler is required");
+        this.decodingNext =
+                Endpoints.map(endpoint, GlobRetainingDecodingHandler.WRAPPER).handler();
+        // Only applies to GET methods
+        this.noCaching = Methods.GET.equals(endpoint.method());
+        this.deprecated = endpoint.deprecated().isPresent();
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        if (noCaching) {
+            NoCachingResponseHandler.addHeaders(exchange);
+        }
+        WebSecurityHandler.addHeaders(exchange);
+        if (deprecated) {
+            DeprecationReportingResponseHandler.addHeaders(exchange);
+        }
+        if (exchange.getConnection().getUndertowOptions().get(UndertowOptions.DECODE_URL, true)) {
+            next.handleRequest(exchange);
+        } else {
+            decodingNext.handleRequest(exchange);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FusedNonBlockingHandler{" + next + '}';
+    }
+}
@@ -16,13 +16,21 @@
 
 package com.palantir.conjure.java.undertow.runtime;
 
-import com.google.common.base.Suppliers;
+import com.google.common.collect.MapMaker;
 import com.palantir.conjure.java.undertow.lib.TypeMarker;
 import com.palantir.logsafe.Preconditions;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import javax.annotation.Nullable;
 
 /**
  * Wrapper around an {@link Encoding} which allows both {@link Serializer} and {@link Deserializer} instances
@@ -31,10 +39,15 @@ import java.util.function.Supplier;
  * startup when many endpoints are only used with one encoding based on the clients that make requests.
  * Note that this results in the first request to a given endpoint being more expensive than it would be
  * otherwise, though this is already the case to an extent before the JIT compiler can optimize the path.
+ * Services which prefer to pay this cost before receiving traffic may use {@link #initialize(Executor)}.
  */
 final class LazilyInitializedEncoding implements Encoding {
 
     private final Encoding delegate;
+    // Pending holders are weakly referenced so they are released with the serializer which owns them, even when the
+    // serializer is never used or initialized.
+    private final Set<Lazy<?>> pendingSerializers = newPendingSet();
+    private final Set<Lazy<?>> pendingDeserializers = newPendingSet();
 
     LazilyInitializedEncoding(Encoding delegate) {
         this.delegate = Preconditions.checkNotNull(delegate, "Encoding is required");
@@ -42,12 +55,84 @@ final class LazilyInitializedEncoding implements Encoding {
 
     @Override
     public <T> Serializer<T> serializer(TypeMarker<T> type) {
-        return new LazilyInitializedSerializer<>(() -> delegate.serializer(type));
+        Lazy<Serializer<T>> lazy = new Lazy<>(() -> delegate.serializer(type), pendingSerializers);
+        pendingSerializers.add(lazy);
+        return new LazilyInitializedSerializer<>(lazy);
     }
 
     @Override
     public <T> Deserializer<T> deserializer(TypeMarker<T> type) {
-        return new LazilyInitializedDeserializer<>(() -> delegate.deserializer(type));
+        Lazy<Deserializer<T>> lazy = new Lazy<>(() -> delegate.deserializer(type), pendingDeserializers);
+        pendingDeserializers.add(lazy);
+        return new LazilyInitializedDeserializer<>(lazy);
+    }
+
+    /** Returns the wrapped encoding, which creates serializers eagerly. */
+    Encoding delegate() {
+        return delegate;
+    }
+
+    /**
+     * Eagerly creates each serializer and deserializer which has been requested but not yet used, running on the
+     * provided executor. Blocks until all have been created, returning the number which were initialized.
+     */
+    Initialized initialize(Executor executor) {
+        AtomicInteger serializers = new AtomicInteger();
+        AtomicInteger deserializers = new AtomicInteger();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        drain(pendingSerializers, serializers, executor, futures);
+        drain(pendingDeserializers, deserializers, executor, futures);
+        WarmUp.await(futures);
+        return new Initialized(serializers.get(), deserializers.get());
+    }
+
+    /**
+     * Returns the number of serializers and deserializers which have been requested and are still reachable, but have
+     * not yet been created.
+     */
+    int pending() {
+        return live(pendingSerializers) + live(pendingDeserializers);
+    }
+
+    private static int live(Set<Lazy<?>> pending) {
+        // Iteration skips holders which have been collected, size may include them until they are cleaned up.
+        int count = 0;
+        for (Lazy<?> _lazy : pending) {
+            count++;
+        }
+        return count;
+    }
+
+    private static Set<Lazy<?>> newPendingSet() {
+        return Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+    }
+
+    private static void drain(
+            Set<Lazy<?>> pending, AtomicInteger count, Executor executor, List<CompletableFuture<?>> futures) {
+        for (Lazy<?> lazy : pending) {
+            futures.add(CompletableFuture.runAsync(
+                    () -> {
+                        if (lazy.initialize()) {
+                            count.incrementAndGet();
+                        }
+                    },
+                    executor));
+        }
+    }
+
+    @Override
+    public boolean supportsElementStreaming() {
+        return delegate.supportsElementStreaming();
+    }
+
+    @Override
+    public <T> ElementSerializer<T> elementSerializer(TypeMarker<T> elementType) {
+        return delegate.elementSerializer(elementType);
+    }
+
+    @Override
+    public <T> ElementDeserializer<T> elementDeserializer(TypeMarker<T> elementType) {
+        return delegate.elementDeserializer(elementType);
     }
 
     @Override
@@ -65,12 +150,77 @@ final class LazilyInitializedEncoding implements Encoding {
         return "LazilyInitializedEncoding{delegate=" + delegate + '}';
     }
 
+    static final class Initialized {
+        private final int serializers;
+        private final int deserializers;
+
+        Initialized(int serializers, int deserializers) {
+            this.serializers = serializers;
+            this.deserializers = deserializers;
+        }
+
+        int serializers() {
+            return serializers;
+        }
+
+        int deserializers() {
+            return deserializers;
+        }
+    }
+
+    /**
+     * Memoizes a value, allowing callers to determine whether the value was created by a given invocation. The
+     * holder removes itself from the pending set once its value has been created.
+     */
+    private static final class Lazy<T> {
+
+        private final Supplier<T> factory;
+        private final Set<Lazy<?>> pending;
+
+        @Nullable
+        private volatile T value;
+
+        Lazy(Supplier<T> factory, Set<Lazy<?>> pending) {
+            this.factory = factory;
+            this.pending = pending;
+        }
+
+        T get() {
+            T result = value;
+            if (result == null) {
+                synchronized (this) {
+                    result = value;
+                    if (result == null) {
+                        result = create();
+                    }
+                }
+            }
+            return result;
+        }
+
+        /** Returns {@code true} if the value was created by this invocation. */
+        synchronized boolean initialize() {
+            if (value != null) {
+                return false;
+            }
+            create();
+            return true;
+        }
+
+        private T create() {
+            T result = Preconditions.checkNotNull(factory.get(), "Encoding returned a null value");
+            value = result;
+            pending.remove(this);
+            return result;
+        }
+    }
+
     private static final class LazilyInitializedSerializer<T> implements Serializer<T> {
 
-        private final Supplier<Serializer<T>> delegate;
+        private final Lazy<Serializer<T>> delegate;
 
-        LazilyInitializedSerializer(Supplier<Serializer<T>> delegate) {
-            this.delegate = Suppliers.memoize(delegate::get);
+        LazilyInitializedSerializer(Lazy<Serializer<T>> delegate) {
+            this.delegate = delegate;
         }
 
         @Override
@@ -81,10 +231,10 @@ final class LazilyInitializedEncoding implements Encoding {
 
     private static final class LazilyInitializedDeserializer<T> implements Deserializer<T> {
 
-        private final Supplier<Deserializer<T>> delegate;
+        private final Lazy<Deserializer<T>> delegate;
 
-        LazilyInitializedDeserializer(Supplier<Deserializer<T>> delegate) {
-            this.delegate = Suppliers.memoize(delegate::get);
+        LazilyInitializedDeserializer(Lazy<Deserializer<T>> delegate) {
+            this.delegate = delegate;
         }
 
         @Override
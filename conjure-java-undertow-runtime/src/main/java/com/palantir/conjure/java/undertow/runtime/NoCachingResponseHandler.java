@@ -39,7 +39,11 @@ final class NoCachingResponseHandler implements HttpHandler {
 
     @Override
     public void handleRequest(HttpServerExchange exchange) throws Exception {
-        exchange.getResponseHeaders().put(Headers.CACHE_CONTROL, DO_NOT_CACHE);
+        addHeaders(exchange);
         next.handleRequest(exchange);
     }
+
+    static void addHeaders(HttpServerExchange exchange) {
+        exchange.getResponseHeaders().put(Headers.CACHE_CONTROL, DO_NOT_CACHE);
+    }
 }
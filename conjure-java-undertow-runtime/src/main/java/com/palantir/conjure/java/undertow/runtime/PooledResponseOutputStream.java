@@ -0,0 +1,147 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.palantir.logsafe.Preconditions;
+import io.undertow.connector.PooledByteBuffer;
+import io.undertow.io.BufferWritableOutputStream;
+import io.undertow.server.HttpServerExchange;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * Buffers a response body in up to {@code maxBuffers} buffers from the connection {@link io.undertow.connector.ByteBufferPool}.
+ * When the body fits, {@link #complete()} sets an exact {@code Content-Length} and sends every buffer in a single
+ * gathering write. Larger bodies spill to the {@link HttpServerExchange#getOutputStream() exchange output stream} and
+ * are sent using chunked encoding as usual.
+ *
+ * <p>Nothing is written to the exchange until the buffers are exhausted or the body is complete, so failures while
+ * serializing small bodies do not result in a partial response.
+ */
+final class PooledResponseOutputStream extends OutputStream {
+
+    private final HttpServerExchange exchange;
+    private final PooledByteBuffer[] pooled;
+    private int count;
+
+    @Nullable
+    private ByteBuffer current;
+
+    @Nullable
+    private OutputStream overflow;
+
+    PooledResponseOutputStream(HttpServerExchange exchange, int maxBuffers) {
+        this.exchange = Preconditions.checkNotNull(exchange, "exchange is required");
+        this.pooled = new PooledByteBuffer[maxBuffers];
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        if (overflow == null && ensureCapacity()) {
+            current.put((byte) value);
+        } else {
+            overflow.write(value);
+        }
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        int position = offset;
+        int remaining = length;
+        while (remaining > 0) {
+            if (overflow != null || !ensureCapacity()) {
+                overflow.write(bytes, position, remaining);
+                return;
+            }
+            int chunk = Math.min(remaining, current.remaining());
+            current.put(bytes, position, chunk);
+            position += chunk;
+            remaining -= chunk;
+        }
+    }
+
+    /** Sends the buffered body, which must be invoked once serialization has succeeded. */
+    void complete() throws IOException {
+        if (overflow != null) {
+            return;
+        }
+        long length = 0;
+        for (int i = 0; i < count; i++) {
+            length += pooled[i].getBuffer().position();
+        }
+        exchange.setResponseContentLength(length);
+        if (length > 0) {
+            writeBuffers();
+        }
+    }
+
+    /** Returns buffers to the pool. This does not close the exchange output stream. */
+    @Override
+    public void close() {
+        for (int i = 0; i < count; i++) {
+            pooled[i].close();
+            pooled[i] = null;
+        }
+        count = 0;
+        current = null;
+    }
+
+    /**
+     * Returns {@code true} if the current buffer has space, allocating a new buffer when necessary. Otherwise the
+     * buffered content is written to the exchange output stream which is used for the remainder of the body.
+     */
+    private boolean ensureCapacity() throws IOException {
+        if (current != null && current.hasRemaining()) {
+            return true;
+        }
+        if (count < pooled.length) {
+            PooledByteBuffer buffer =
+                    exchange.getConnection().getByteBufferPool().allocate();
+            pooled[count++] = buffer;
+            current = buffer.getBuffer();
+            current.clear();
+            return true;
+        }
+        // The remainder of the body is written without a known Content-Length
+        writeBuffers();
+        close();
+        return false;
+    }
+
+    private void writeBuffers() throws IOException {
+        OutputStream output = exchange.getOutputStream();
+        ByteBuffer[] buffers = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            buffers[i] = pooled[i].getBuffer();
+            buffers[i].flip();
+        }
+        if (output instanceof BufferWritableOutputStream) {
+            ((BufferWritableOutputStream) output).write(buffers);
+        } else {
+            for (ByteBuffer buffer : buffers) {
+                while (buffer.hasRemaining()) {
+                    output.write(buffer.get());
+                }
+            }
+        }
+        overflow = output;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.palantir.conjure.java.undertow.lib.ExceptionHandler;
+import com.palantir.conjure.java.undertow.lib.StreamingSerializer;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.tracing.DeferredTracer;
+import io.undertow.server.HttpServerExchange;
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
+
+/**
+ * Writes the elements emitted by a {@link Flow.Publisher} to an exchange as a list.
+ *
+ * <p>Signals are queued and drained serially on the server task pool, so publishers never block on I/O. Demand is
+ * only signalled once previously requested elements have been written and flushed, slow clients apply backpressure
+ * to the publisher through blocking writes rather than unbounded buffering. The subscription is cancelled if the
+ * exchange completes before the publisher, for example when the client disconnects.
+ */
+final class PublisherSubscriber<T> implements Flow.Subscriber<T> {
+
+    // Bounds the number of elements buffered between writes.
+    static final int BATCH_SIZE = 64;
+
+    private final HttpServerExchange exchange;
+    private final StreamingSerializer<T> serializer;
+    private final ExceptionHandler exceptionHandler;
+    private final DeferredTracer tracer = new DeferredTracer("Undertow: Publisher Result");
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+    private volatile boolean done;
+    private volatile boolean cancelled;
+
+    @Nullable
+    private volatile Throwable failure;
+
+    // Only accessed while draining, see wip.
+    @Nullable
+    private StreamingSerializer.ElementWriter<T> writer;
+
+    private boolean terminated;
+
+    PublisherSubscriber(
+            HttpServerExchange exchange, StreamingSerializer<T> serializer, ExceptionHandler exceptionHandler) {
+        this.exchange = exchange;
+        this.serializer = serializer;
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    void subscribe(Flow.Publisher<T> publisher) {
+        if (exchange.isComplete()) {
+            // Calling addExchangeCompleteListener will result in an IllegalStateException in this case.
+            cancelled = true;
+        } else {
+            exchange.addExchangeCompleteListener(SafeExchangeCompletionListener.of(_exchange -> cancel()));
+        }
+        try {
+            publisher.subscribe(this);
+        } catch (RuntimeException e) {
+            onError(e);
+        }
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription value) {
+        Preconditions.checkNotNull(value, "subscription");
+        if (!subscription.compareAndSet(null, value) || cancelled) {
+            value.cancel();
+            return;
+        }
+        value.request(BATCH_SIZE);
+    }
+
+    @Override
+    public void onNext(T item) {
+        queue.add(Preconditions.checkNotNull(item, "element"));
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        failure = Preconditions.checkNotNull(throwable, "throwable");
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+    private void cancel() {
+        cancelled = true;
+        Flow.Subscription current = subscription.get();
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() == 0) {
+            exchange.getConnection().getWorker().execute(this::drainLoop);
+        }
+    }
+
+    private void drainLoop() {
+        tracer.withTrace(() -> {
+            int missed = 1;
+            do {
+                drainQueue();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+            return null;
+        });
+    }
+
+    private void drainQueue() {
+        if (terminated || cancelled) {
+            terminated = true;
+            queue.clear();
+            return;
+        }
+        // Read before polling, elements are always queued before the publisher completes.
+        boolean complete = done;
+        try {
+            int written = 0;
+            T element;
+            while ((element = queue.poll()) != null) {
+                writer().write(element);
+                written++;
+            }
+            if (complete) {
+                terminated = true;
+                Throwable throwable = failure;
+                if (throwable == null) {
+                    writer().close();
+                    exchange.endExchange();
+                } else {
+                    fail(throwable);
+                }
+            } else if (written > 0) {
+                writer().flush();
+                subscription.get().request(written);
+            }
+        } catch (Throwable t) {
+            terminated = true;
+            queue.clear();
+            cancel();
+            fail(t);
+        }
+    }
+
+    private StreamingSerializer.ElementWriter<T> writer() throws IOException {
+        if (writer == null) {
+            // Opened lazily, publishers which fail before emitting any elements produce a standard error response.
+            writer = serializer.open(exchange);
+        }
+        return writer;
+    }
+
+    private void fail(Throwable throwable) {
+        // Responses which have already been committed are terminated rather than completed by the handler.
+        exceptionHandler.handle(exchange, throwable);
+        exchange.endExchange();
+    }
+}
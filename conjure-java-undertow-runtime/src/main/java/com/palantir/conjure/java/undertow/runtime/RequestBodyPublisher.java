@@ -0,0 +1,230 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+import io.undertow.connector.PooledByteBuffer;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.AttachmentKey;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import org.xnio.ChannelListener;
+import org.xnio.channels.StreamSourceChannel;
+
+/**
+ * Emits the request body of an exchange as pooled {@link ByteBuffer buffers} which are read from the request channel
+ * on the IO thread as they arrive, so slow uploads do not occupy a server task thread.
+ *
+ * <p>Buffers are returned to the connection pool once {@link Flow.Subscriber#onNext} returns, subscribers must copy
+ * any data they retain. Reads cannot be resumed while the endpoint handler is executing on a dispatched exchange, so
+ * demand is deferred until the endpoint result has been registered with {@link ConjureAsyncRequestProcessing}, which
+ * invokes {@link #start(HttpServerExchange)} once the handler has returned.
+ */
+final class RequestBodyPublisher implements Flow.Publisher<ByteBuffer> {
+
+    private static final AttachmentKey<RequestBodyPublisher> PUBLISHER =
+            AttachmentKey.create(RequestBodyPublisher.class);
+
+    private final HttpServerExchange exchange;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private volatile boolean started;
+
+    @Nullable
+    private volatile BodySubscription subscription;
+
+    RequestBodyPublisher(HttpServerExchange exchange) {
+        this.exchange = exchange;
+        exchange.putAttachment(PUBLISHER, this);
+        exchange.putAttachment(ConjureBodySerDe.STREAMED_REQUEST_BODY, Boolean.TRUE);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            reject(subscriber, new SafeIllegalStateException("The request body may only be subscribed to once"));
+            return;
+        }
+        if (exchange.isRequestComplete()) {
+            // Empty request bodies are terminated up front and never produce read events.
+            subscriber.onSubscribe(NoopSubscription.INSTANCE);
+            subscriber.onComplete();
+            return;
+        }
+        StreamSourceChannel channel = exchange.getRequestChannel();
+        if (channel == null) {
+            reject(subscriber, new SafeIllegalStateException("The request body has already been read"));
+            return;
+        }
+        BodySubscription value = new BodySubscription(exchange, channel, subscriber);
+        channel.getReadSetter().set(value);
+        subscriber.onSubscribe(value);
+        // The subscription must be visible before checking whether reading has started, otherwise a concurrent
+        // start may not observe it.
+        subscription = value;
+        if (started) {
+            value.start();
+        }
+    }
+
+    /**
+     * Begins reading request bodies of the exchange. Publishers are created while the endpoint handler executes, when
+     * reads cannot be resumed, so demand is deferred until this is invoked once the endpoint has returned.
+     */
+    static void start(HttpServerExchange exchange) {
+        RequestBodyPublisher publisher = exchange.getAttachment(PUBLISHER);
+        if (publisher != null) {
+            publisher.started = true;
+            BodySubscription value = publisher.subscription;
+            if (value != null) {
+                value.start();
+            }
+        }
+    }
+
+    private static void reject(Flow.Subscriber<?> subscriber, Throwable failure) {
+        subscriber.onSubscribe(NoopSubscription.INSTANCE);
+        subscriber.onError(failure);
+    }
+
+    private static final class BodySubscription implements Flow.Subscription, ChannelListener<StreamSourceChannel> {
+
+        private final HttpServerExchange exchange;
+        private final StreamSourceChannel channel;
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private volatile boolean started;
+        private volatile boolean cancelled;
+
+        @Nullable
+        private volatile Throwable invalidRequest;
+
+        // Only accessed from the IO thread.
+        private boolean terminated;
+
+        BodySubscription(
+                HttpServerExchange exchange,
+                StreamSourceChannel channel,
+                Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.exchange = exchange;
+            this.channel = channel;
+            this.subscriber = subscriber;
+        }
+
+        void start() {
+            started = true;
+            resume();
+        }
+
+        @Override
+        public void request(long count) {
+            if (count <= 0) {
+                invalidRequest = new SafeIllegalArgumentException(
+                        "Subscribers must request a positive number of buffers", SafeArg.of("count", count));
+            } else {
+                demand.getAndAccumulate(count, (current, added) -> {
+                    long sum = current + added;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            resume();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void resume() {
+            if (started && !cancelled) {
+                channel.resumeReads();
+            }
+        }
+
+        @Override
+        public void handleEvent(StreamSourceChannel source) {
+            if (terminated) {
+                source.suspendReads();
+                return;
+            }
+            while (true) {
+                Throwable invalid = invalidRequest;
+                if (invalid != null) {
+                    terminate(source);
+                    subscriber.onError(invalid);
+                    return;
+                }
+                if (cancelled) {
+                    terminate(source);
+                    return;
+                }
+                if (demand.get() == 0) {
+                    source.suspendReads();
+                    // Demand may have been signalled after it was checked, in which case resumeReads has already
+                    // been invoked and would be undone by suspending.
+                    if (demand.get() == 0 || cancelled || invalidRequest != null) {
+                        return;
+                    }
+                    source.resumeReads();
+                    continue;
+                }
+                try (PooledByteBuffer pooled =
+                        exchange.getConnection().getByteBufferPool().allocate()) {
+                    ByteBuffer buffer = pooled.getBuffer();
+                    int read = source.read(buffer);
+                    if (read == -1) {
+                        terminate(source);
+                        subscriber.onComplete();
+                        return;
+                    }
+                    if (read == 0) {
+                        // Wait for the next read event.
+                        return;
+                    }
+                    buffer.flip();
+                    demand.decrementAndGet();
+                    subscriber.onNext(buffer);
+                } catch (IOException | RuntimeException e) {
+                    terminate(source);
+                    subscriber.onError(e);
+                    return;
+                }
+            }
+        }
+
+        private void terminate(StreamSourceChannel source) {
+            terminated = true;
+            cancelled = true;
+            source.suspendReads();
+        }
+    }
+
+    private enum NoopSubscription implements Flow.Subscription {
+        INSTANCE;
+
+        @Override
+        public void request(long _count) {}
+
+        @Override
+        public void cancel() {}
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.palantir.conjure.java.api.errors.ErrorType;
+import com.palantir.conjure.java.api.errors.SerializableError;
+import com.palantir.conjure.java.api.errors.ServiceException;
+import com.palantir.conjure.java.undertow.lib.TypeMarker;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * Writes {@link SerializableError} responses for {@link ServiceException exceptions} without parameters using
+ * pre-serialized bodies. Such responses differ only in the {@link SerializableError#errorInstanceId() error instance
+ * id}, so each {@link ErrorType} is serialized once with a placeholder id, and responses are rendered by replacing
+ * the placeholder.
+ */
+final class SerializedErrors {
+
+    private static final String PLACEHOLDER = "errorInstanceIdPlaceholder";
+    // Error types are defined in code, this only guards against unexpected dynamically created types
+    private static final int MAX_TEMPLATES = 1024;
+
+    private final Encoding encoding;
+    private final Encoding.Serializer<SerializableError> serializer;
+    private final Map<ErrorType, Template> templates = new ConcurrentHashMap<>();
+
+    SerializedErrors(Encoding encoding) {
+        this.encoding = encoding;
+        this.serializer = encoding.serializer(new TypeMarker<SerializableError>() {});
+    }
+
+    /**
+     * Writes the error response for the exception if it has no parameters, returning {@code false} if the response
+     * must be serialized from a {@link SerializableError} instead.
+     */
+    boolean tryWrite(HttpServerExchange exchange, ServiceException exception) throws IOException {
+        if (!exception.getArgs().isEmpty()) {
+            return false;
+        }
+        String errorInstanceId = exception.getErrorInstanceId();
+        if (!isAsciiLiteral(errorInstanceId)) {
+            return false;
+        }
+        Template template = template(exception.getErrorType());
+        if (template == null) {
+            return false;
+        }
+        byte[] body = template.render(errorInstanceId);
+        ConjureBodySerDe.safelyDrainRequestBody(exchange);
+        exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, encoding.getContentType());
+        exchange.setResponseContentLength(body.length);
+        exchange.getOutputStream().write(body);
+        return true;
+    }
+
+    @Nullable
+    private Template template(ErrorType errorType) {
+        Template template = templates.get(errorType);
+        if (template == null && templates.size() < MAX_TEMPLATES) {
+            template = templates.computeIfAbsent(errorType, this::createTemplate);
+        }
+        return template;
+    }
+
+    private Template createTemplate(ErrorType errorType) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            serializer.serialize(
+                    SerializableError.builder()
+                            .errorCode(errorType.code().name())
+                            .errorName(errorType.name())
+                            .errorInstanceId(PLACEHOLDER)
+                            .build(),
+                    output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String serialized = output.toString(StandardCharsets.UTF_8);
+        int index = serialized.indexOf(PLACEHOLDER);
+        return new Template(
+                serialized.substring(0, index).getBytes(StandardCharsets.UTF_8),
+                serialized.substring(index + PLACEHOLDER.length()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Instance ids are generated UUIDs, other values are serialized in case they require escaping. */
+    private static boolean isAsciiLiteral(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character < 0x20 || character >= 0x7F || character == '"' || character == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Template {
+        private final byte[] prefix;
+        private final byte[] suffix;
+
+        Template(byte[] prefix, byte[] suffix) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        byte[] render(String errorInstanceId) {
+            int idLength = errorInstanceId.length();
+            byte[] result = new byte[prefix.length + idLength + suffix.length];
+            System.arraycopy(prefix, 0, result, 0, prefix.length);
+            for (int i = 0; i < idLength; i++) {
+                result[prefix.length + i] = (byte) errorInstanceId.charAt(i);
+            }
+            System.arraycopy(suffix, 0, result, prefix.length + idLength, suffix.length);
+            return result;
+        }
+    }
+}
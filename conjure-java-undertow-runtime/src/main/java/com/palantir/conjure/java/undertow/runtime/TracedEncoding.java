@@ -73,6 +73,23 @@ final class TracedEncoding implements Encoding {
         return type.toString();
     }
 
+    @Override
+    public boolean supportsElementStreaming() {
+        return encoding.supportsElementStreaming();
+    }
+
+    @Override
+    public <T> ElementSerializer<T> elementSerializer(TypeMarker<T> elementType) {
+        // Streamed responses span many writes, so individual elements are not traced.
+        return encoding.elementSerializer(elementType);
+    }
+
+    @Override
+    public <T> ElementDeserializer<T> elementDeserializer(TypeMarker<T> elementType) {
+        // Streamed requests span many reads, so individual elements are not traced.
+        return encoding.elementDeserializer(elementType);
+    }
+
     @Override
     public String getContentType() {
         return encoding.getContentType();
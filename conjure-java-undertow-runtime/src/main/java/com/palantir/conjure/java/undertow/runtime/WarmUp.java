@@ -0,0 +1,177 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.palantir.conjure.java.undertow.lib.TypeMarker;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Options for {@link ConjureUndertowRuntime#warmUp(WarmUp)}, which eagerly creates the serializers used by endpoints
+ * and optionally exercises them with sample values so that the JIT compiler has optimized serialization before the
+ * server receives traffic.
+ */
+public final class WarmUp {
+
+    private final ImmutableSet<String> contentTypes;
+    private final Executor executor;
+    private final ImmutableList<RoundTrip<?>> roundTrips;
+    private final int iterations;
+
+    private WarmUp(Builder builder) {
+        this.contentTypes = ImmutableSet.copyOf(builder.contentTypes);
+        this.executor = builder.executor;
+        this.roundTrips = ImmutableList.copyOf(builder.roundTrips);
+        this.iterations = builder.iterations;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    Executor executor() {
+        return executor;
+    }
+
+    List<RoundTrip<?>> roundTrips() {
+        return roundTrips;
+    }
+
+    int iterations() {
+        return iterations;
+    }
+
+    /** Returns {@code true} if the encoding was selected using {@link Builder#contentType(String)}. */
+    boolean includes(Encoding encoding) {
+        if (contentTypes.isEmpty()) {
+            return true;
+        }
+        for (String contentType : contentTypes) {
+            if (encoding.supportsContentType(contentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Waits for warm-up tasks to complete, rethrowing the first failure. */
+    static void await(List<CompletableFuture<?>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                    .join();
+        } catch (CompletionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
+    static final class RoundTrip<T> {
+        private final TypeMarker<T> type;
+        private final T value;
+
+        RoundTrip(TypeMarker<T> type, T value) {
+            this.type = type;
+            this.value = value;
+        }
+
+        /** Serializes and deserializes the value using the given encoding. */
+        void run(Encoding encoding, int iterations) throws IOException {
+            Encoding.Serializer<T> serializer = encoding.serializer(type);
+            Encoding.Deserializer<T> deserializer = encoding.deserializer(type);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            for (int i = 0; i < iterations; i++) {
+                buffer.reset();
+                serializer.serialize(value, buffer);
+                deserializer.deserialize(new ByteArrayInputStream(buffer.toByteArray()));
+            }
+        }
+
+        @Override
+        public String toString() {
+            return type.toString();
+        }
+    }
+
+    public static final class Builder {
+
+        private final Set<String> contentTypes = new LinkedHashSet<>();
+        private final List<RoundTrip<?>> roundTrips = new ArrayList<>();
+        private Executor executor = MoreExecutors.directExecutor();
+        private int iterations = 1000;
+
+        private Builder() {}
+
+        /**
+         * Limits warm-up to encodings which support the given content type, for example when clients are known to
+         * use a single encoding. All encodings are warmed up by default.
+         */
+        @CanIgnoreReturnValue
+        public Builder contentType(String value) {
+            contentTypes.add(Preconditions.checkNotNull(value, "contentType is required"));
+            return this;
+        }
+
+        /**
+         * Executor used to create serializers and run round-trips in parallel. The caller should provide a bounded
+         * executor to avoid competing with other startup work. Warm-up runs on the calling thread by default.
+         */
+        @CanIgnoreReturnValue
+        public Builder executor(Executor value) {
+            executor = Preconditions.checkNotNull(value, "executor is required");
+            return this;
+        }
+
+        /**
+         * Serializes and deserializes a representative value of the given type, for example a generated object with
+         * typical field values, using each selected encoding.
+         */
+        @CanIgnoreReturnValue
+        public <T> Builder roundTrip(TypeMarker<T> type, T value) {
+            roundTrips.add(new RoundTrip<>(
+                    Preconditions.checkNotNull(type, "type is required"),
+                    Preconditions.checkNotNull(value, "value is required")));
+            return this;
+        }
+
+        /** Number of times each {@link #roundTrip(TypeMarker, Object) round-trip} is executed, 1000 by default. */
+        @CanIgnoreReturnValue
+        public Builder iterations(int value) {
+            Preconditions.checkArgument(value > 0, "iterations must be positive", SafeArg.of("iterations", value));
+            iterations = value;
+            return this;
+        }
+
+        public WarmUp build() {
+            return new WarmUp(this);
+        }
+    }
+}
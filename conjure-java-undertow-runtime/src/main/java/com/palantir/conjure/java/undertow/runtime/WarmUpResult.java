@@ -0,0 +1,60 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import java.time.Duration;
+
+/** Reports the work done by {@link ConjureUndertowRuntime#warmUp(WarmUp)}. */
+public final class WarmUpResult {
+
+    private final int serializers;
+    private final int deserializers;
+    private final int roundTrips;
+    private final Duration duration;
+
+    WarmUpResult(int serializers, int deserializers, int roundTrips, Duration duration) {
+        this.serializers = serializers;
+        this.deserializers = deserializers;
+        this.roundTrips = roundTrips;
+        this.duration = duration;
+    }
+
+    /** Number of serializers which were created by warm-up rather than by a previous request. */
+    public int serializers() {
+        return serializers;
+    }
+
+    /** Number of deserializers which were created by warm-up rather than by a previous request. */
+    public int deserializers() {
+        return deserializers;
+    }
+
+    /** Number of round-trip values which were exercised, once for each selected encoding. */
+    public int roundTrips() {
+        return roundTrips;
+    }
+
+    public Duration duration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return "WarmUpResult{serializers=" + serializers + ", deserializers=" + deserializers + ", roundTrips="
+                + roundTrips + ", duration=" + duration + '}';
+    }
+}
@@ -61,6 +61,11 @@ final class WebSecurityHandler implements HttpHandler {
 
     @Override
     public void handleRequest(HttpServerExchange exchange) throws Exception {
+        addHeaders(exchange);
+        next.handleRequest(exchange);
+    }
+
+    static void addHeaders(HttpServerExchange exchange) {
         HeaderMap headers = exchange.getResponseHeaders();
         headers.put(Headers.CONTENT_SECURITY_POLICY, CONTENT_SECURITY_POLICY);
         headers.put(Headers.REFERRER_POLICY, REFERRER_POLICY);
@@ -74,6 +79,5 @@ final class WebSecurityHandler implements HttpHandler {
                 headers.put(HEADER_IE_X_CONTENT_SECURITY_POLICY, CONTENT_SECURITY_POLICY);
             }
         }
-        next.handleRequest(exchange);
     }
 }
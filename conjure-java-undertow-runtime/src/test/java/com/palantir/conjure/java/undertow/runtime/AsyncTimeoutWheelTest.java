@@ -0,0 +1,72 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public final class AsyncTimeoutWheelTest {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final List<String> executed = new ArrayList<>();
+
+    @Test
+    public void testExecutesExpiredTimeouts() {
+        long start = System.nanoTime();
+        AsyncTimeoutWheel wheel = new AsyncTimeoutWheel(start, Duration.ofMillis(10), 4);
+        wheel.schedule(() -> executed.add("short"), Duration.ofMillis(15));
+        // Longer than a full rotation of the wheel
+        wheel.schedule(() -> executed.add("long"), Duration.ofMillis(95));
+
+        wheel.advance(start);
+        assertThat(executed).isEmpty();
+        wheel.advance(start + 3 * TICK_NANOS);
+        assertThat(executed).containsExactly("short");
+        wheel.advance(start + 7 * TICK_NANOS);
+        assertThat(executed).containsExactly("short");
+        wheel.advance(start + 11 * TICK_NANOS);
+        assertThat(executed).containsExactly("short", "long");
+    }
+
+    @Test
+    public void testSkippedTicks() {
+        long start = System.nanoTime();
+        AsyncTimeoutWheel wheel = new AsyncTimeoutWheel(start, Duration.ofMillis(10), 4);
+        wheel.schedule(() -> executed.add("first"), Duration.ofMillis(15));
+        wheel.schedule(() -> executed.add("second"), Duration.ofMillis(45));
+        wheel.advance(start + 100 * TICK_NANOS);
+        assertThat(executed).containsExactlyInAnyOrder("first", "second");
+    }
+
+    @Test
+    public void testCancelledTimeoutsDoNotExecute() {
+        long start = System.nanoTime();
+        AsyncTimeoutWheel wheel = new AsyncTimeoutWheel(start, Duration.ofMillis(10), 4);
+        AsyncTimeoutWheel.Timeout cancelled = wheel.schedule(() -> executed.add("cancelled"), Duration.ofMillis(15));
+        wheel.advance(start);
+        cancelled.cancel();
+        assertThat(cancelled.isCancelled()).isTrue();
+        wheel.advance(start + 3 * TICK_NANOS);
+        assertThat(executed).isEmpty();
+    }
+}
@@ -27,6 +27,10 @@ import com.palantir.tokens.auth.BearerToken;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.CookieImpl;
 import io.undertow.util.Headers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import org.junit.jupiter.api.Test;
 
 public final class AuthTest {
@@ -34,6 +38,10 @@ public final class AuthTest {
     private static final UndertowRuntime CONTEXT =
             ConjureUndertowRuntime.builder().build();
 
+    private static final UndertowRuntime CACHING_CONTEXT = ConjureUndertowRuntime.builder()
+            .authorizationCache(100, Duration.ofHours(1))
+            .build();
+
     @Test
     public void testParseAuthHeader() {
         AuthHeader expected = AuthHeader.of(BearerToken.valueOf("token"));
@@ -90,4 +98,64 @@ public final class AuthTest {
         assertThatServiceExceptionThrownBy(() -> CONTEXT.auth().cookie(exchange, cookieName))
                 .hasType(ErrorType.create(ErrorType.Code.UNAUTHORIZED, "Conjure:MalformedCredentials"));
     }
+
+    @Test
+    public void testCachedAuthHeader() {
+        String token = jwt(Instant.now().plus(Duration.ofHours(1)).getEpochSecond());
+        HttpServerExchange first = HttpServerExchanges.createStub();
+        first.getRequestHeaders().add(Headers.AUTHORIZATION, "Bearer " + token);
+        HttpServerExchange second = HttpServerExchanges.createStub();
+        second.getRequestHeaders().add(Headers.AUTHORIZATION, "Bearer " + token);
+
+        AuthHeader header = CACHING_CONTEXT.auth().header(first);
+        assertThat(header).isEqualTo(AuthHeader.valueOf("Bearer " + token));
+        assertThat(CACHING_CONTEXT.auth().header(second)).isSameAs(header);
+        assertThat(second.getAttachment(Attachments.UNVERIFIED_JWT))
+                .hasValueSatisfying(
+                        jwt -> assertThat(jwt.getUnverifiedTokenId()).isPresent());
+    }
+
+    @Test
+    public void testExpiredTokensNotCached() {
+        String token = jwt(Instant.now().minus(Duration.ofMinutes(1)).getEpochSecond());
+        HttpServerExchange first = HttpServerExchanges.createStub();
+        first.getRequestHeaders().add(Headers.AUTHORIZATION, "Bearer " + token);
+        HttpServerExchange second = HttpServerExchanges.createStub();
+        second.getRequestHeaders().add(Headers.AUTHORIZATION, "Bearer " + token);
+
+        AuthHeader header = CACHING_CONTEXT.auth().header(first);
+        assertThat(CACHING_CONTEXT.auth().header(second)).isEqualTo(header).isNotSameAs(header);
+    }
+
+    @Test
+    public void testCachedMalformedAuthHeader() {
+        for (int i = 0; i < 2; i++) {
+            HttpServerExchange exchange = HttpServerExchanges.createStub();
+            exchange.getRequestHeaders().add(Headers.AUTHORIZATION, "");
+            assertThatServiceExceptionThrownBy(() -> CACHING_CONTEXT.auth().header(exchange))
+                    .hasType(ErrorType.create(ErrorType.Code.UNAUTHORIZED, "Conjure:MalformedCredentials"));
+        }
+    }
+
+    @Test
+    public void testCachedAuthCookie() {
+        String cookieName = "Auth-Token";
+        HttpServerExchange first = HttpServerExchanges.createStub();
+        first.getRequestCookies().put(cookieName, new CookieImpl(cookieName, "token"));
+        HttpServerExchange second = HttpServerExchanges.createStub();
+        second.getRequestCookies().put(cookieName, new CookieImpl(cookieName, "token"));
+
+        BearerToken token = CACHING_CONTEXT.auth().cookie(first, cookieName);
+        assertThat(token).isEqualTo(BearerToken.valueOf("token"));
+        assertThat(CACHING_CONTEXT.auth().cookie(second, cookieName)).isSameAs(token);
+        assertThat(second.getAttachment(Attachments.UNVERIFIED_JWT)).isEmpty();
+    }
+
+    private static String jwt(long expirationSeconds) {
+        String payload = "{\"exp\":" + expirationSeconds
+                + ",\"sub\":\"w5P2WQMBQ06pyXIwSlB//A==\",\"jti\":\"pFm0oVCJT+CGVdXf2bK3/Q==\"}";
+        return "eyJhbGciOiJFUzI1NiJ9."
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+                + ".c2lnbmF0dXJl";
+    }
 }
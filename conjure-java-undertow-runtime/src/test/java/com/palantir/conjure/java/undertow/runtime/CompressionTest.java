@@ -0,0 +1,254 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Iterables;
+import com.google.common.io.ByteStreams;
+import com.google.errorprone.annotations.MustBeClosed;
+import com.palantir.conjure.java.undertow.lib.Deserializer;
+import com.palantir.conjure.java.undertow.lib.Endpoint;
+import com.palantir.conjure.java.undertow.lib.Serializer;
+import com.palantir.conjure.java.undertow.lib.TypeMarker;
+import io.undertow.Undertow;
+import io.undertow.server.HttpHandler;
+import io.undertow.util.HttpString;
+import io.undertow.util.Methods;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public final class CompressionTest {
+
+    private static final OkHttpClient client = new OkHttpClient.Builder().build();
+    private static final String LARGE = Strings.repeat("compressible", 1000);
+
+    private final ConjureUndertowRuntime runtime =
+            ConjureUndertowRuntime.builder().build();
+    private Undertow server;
+    private int port;
+
+    @AfterEach
+    public void after() {
+        server.stop();
+    }
+
+    @Test
+    public void testCompressesLargeResponses() throws IOException {
+        start(ConjureHandler.builder().compression(1024));
+        try (Response response = get("/json?size=large", "gzip")) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.header("Content-Encoding")).isEqualTo("gzip");
+            assertThat(response.header("Vary")).isEqualTo("Accept-Encoding");
+            assertThat(gunzip(response.body().byteStream())).isEqualTo('"' + LARGE + '"');
+        }
+    }
+
+    @Test
+    public void testNegotiatesDeflate() throws IOException {
+        start(ConjureHandler.builder().compression(1024));
+        try (Response response = get("/json?size=large", "deflate")) {
+            assertThat(response.header("Content-Encoding")).isEqualTo("deflate");
+            byte[] body = ByteStreams.toByteArray(
+                    new InflaterInputStream(response.body().byteStream(), new Inflater(true)));
+            assertThat(new String(body, StandardCharsets.UTF_8)).isEqualTo('"' + LARGE + '"');
+        }
+    }
+
+    @Test
+    public void testSkipsSmallResponses() throws IOException {
+        start(ConjureHandler.builder().compression(1024));
+        try (Response response = get("/json?size=small", "gzip")) {
+            assertThat(response.header("Content-Encoding")).isNull();
+            assertThat(response.body().string()).isEqualTo("\"small\"");
+        }
+    }
+
+    @Test
+    public void testSkipsBinaryResponses() throws IOException {
+        start(ConjureHandler.builder().compression(0));
+        try (Response response = get("/binary", "gzip")) {
+            assertThat(response.header("Content-Encoding")).isNull();
+            assertThat(response.body().string()).isEqualTo(LARGE);
+        }
+    }
+
+    @Test
+    public void testSkipsClientsWithoutCompression() throws IOException {
+        start(ConjureHandler.builder().compression(0));
+        try (Response response = get("/json?size=large", "identity")) {
+            assertThat(response.header("Content-Encoding")).isIn(null, "identity");
+            assertThat(response.body().string()).isEqualTo('"' + LARGE + '"');
+        }
+    }
+
+    @Test
+    public void testDisabledByDefault() throws IOException {
+        start(ConjureHandler.builder());
+        try (Response response = get("/json?size=large", "gzip")) {
+            assertThat(response.header("Content-Encoding")).isNull();
+        }
+    }
+
+    @Test
+    public void testDecodesGzipRequests() throws IOException {
+        start(ConjureHandler.builder().requestDecompression(1_000_000));
+        try (Response response = postGzip()) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo('"' + LARGE + '"');
+        }
+    }
+
+    @Test
+    public void testDecodesBufferedGzipRequests() throws IOException {
+        start(ConjureHandler.builder().requestDecompression(1_000_000).requestBuffering(2));
+        try (Response response = postGzip()) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo('"' + LARGE + '"');
+        }
+    }
+
+    @Test
+    public void testResponseCompressionDoesNotDecodeRequests() throws IOException {
+        start(ConjureHandler.builder().compression(0));
+        try (Response response = postGzip()) {
+            assertThat(response.code()).isEqualTo(400);
+        }
+    }
+
+    @Test
+    public void testRejectsLargeDecodedRequests() throws IOException {
+        start(ConjureHandler.builder().requestDecompression(1024));
+        try (Response response = postGzip()) {
+            assertThat(response.code()).isEqualTo(413);
+        }
+    }
+
+    @Test
+    public void testRejectsLargeDecodedBufferedRequests() throws IOException {
+        start(ConjureHandler.builder().requestDecompression(1024).requestBuffering(2));
+        try (Response response = postGzip()) {
+            assertThat(response.code()).isEqualTo(413);
+        }
+    }
+
+    @Test
+    public void testFusedPipeline() throws IOException {
+        start(ConjureHandler.builder()
+                .compression(1024)
+                .requestDecompression(1_000_000)
+                .experimentalFusedPipeline(true));
+        try (Response response = get("/json?size=large", "gzip")) {
+            assertThat(response.header("Content-Encoding")).isEqualTo("gzip");
+            assertThat(gunzip(response.body().byteStream())).isEqualTo('"' + LARGE + '"');
+        }
+        try (Response response = postGzip()) {
+            assertThat(response.body().string()).isEqualTo('"' + LARGE + '"');
+        }
+    }
+
+    private void start(ConjureHandler.Builder builder) {
+        Serializer<String> serializer = runtime.bodySerDe().serializer(new TypeMarker<String>() {});
+        Deserializer<String> deserializer = runtime.bodySerDe().deserializer(new TypeMarker<String>() {});
+        server = Undertow.builder()
+                .addHttpListener(0, "localhost")
+                .setHandler(builder.runtime(runtime)
+                        .services(EndpointService.of(
+                                endpoint(
+                                        Methods.GET,
+                                        "/json",
+                                        exchange -> serializer.serialize(
+                                                "large"
+                                                                .equals(exchange.getQueryParameters()
+                                                                        .get("size")
+                                                                        .getFirst())
+                                                        ? LARGE
+                                                        : "small",
+                                                exchange)),
+                                endpoint(Methods.GET, "/binary", exchange -> runtime.bodySerDe()
+                                        .serialize(
+                                                output -> output.write(LARGE.getBytes(StandardCharsets.UTF_8)),
+                                                exchange)),
+                                endpoint(
+                                        Methods.POST,
+                                        "/echo",
+                                        exchange ->
+                                                serializer.serialize(deserializer.deserialize(exchange), exchange))))
+                        .build())
+                .build();
+        server.start();
+        port = ((InetSocketAddress)
+                        Iterables.getOnlyElement(server.getListenerInfo()).getAddress())
+                .getPort();
+    }
+
+    @MustBeClosed
+    private Response get(String path, String acceptEncoding) throws IOException {
+        Request request = new Request.Builder()
+                .get()
+                .url("http://localhost:" + port + path)
+                .header("Accept-Encoding", acceptEncoding)
+                .build();
+        return client.newCall(request).execute();
+    }
+
+    @MustBeClosed
+    private Response postGzip() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(('"' + LARGE + '"').getBytes(StandardCharsets.UTF_8));
+        }
+        Request request = new Request.Builder()
+                .post(RequestBody.create(MediaType.get("application/json"), compressed.toByteArray()))
+                .url("http://localhost:" + port + "/echo")
+                .header("Content-Encoding", "gzip")
+                .header("Accept-Encoding", "identity")
+                .build();
+        return client.newCall(request).execute();
+    }
+
+    private static String gunzip(InputStream input) throws IOException {
+        try (InputStream gzip = new GZIPInputStream(input)) {
+            return new String(ByteStreams.toByteArray(gzip), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Endpoint endpoint(HttpString method, String template, HttpHandler handler) {
+        return Endpoint.builder()
+                .handler(handler)
+                .method(method)
+                .template(template)
+                .serviceName("CompressionService")
+                .name(template.substring(1))
+                .build();
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.errorprone.annotations.MustBeClosed;
+import com.palantir.conjure.java.api.errors.ErrorType;
+import com.palantir.conjure.java.api.errors.ServiceException;
+import com.palantir.conjure.java.undertow.lib.Endpoint;
+import com.palantir.conjure.java.undertow.lib.Serializer;
+import com.palantir.conjure.java.undertow.lib.StreamingSerializer;
+import com.palantir.conjure.java.undertow.lib.TypeMarker;
+import com.palantir.conjure.java.undertow.lib.UndertowRuntime;
+import io.undertow.Undertow;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Methods;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class ConjureAsyncRequestProcessingTest {
+
+    private static final OkHttpClient client = new OkHttpClient.Builder().build();
+
+    private final ListeningScheduledExecutorService executor =
+            MoreExecutors.listeningDecorator(Executors.newSingleThreadScheduledExecutor());
+    private final ConjureUndertowRuntime runtime =
+            ConjureUndertowRuntime.builder().asyncTimeout(Duration.ofSeconds(5)).build();
+    private Undertow server;
+
+    @BeforeEach
+    public void before() {
+        Serializer<String> serializer = runtime.bodySerDe().serializer(new TypeMarker<String>() {});
+        StreamingSerializer<String> streamingSerializer = runtime.bodySerDe()
+                .streamingSerializer(new TypeMarker<String>() {}, endpoint("/publisher", (_rt, _exchange) -> {}));
+        server = Undertow.builder()
+                .addHttpListener(12345, "localhost")
+                .setHandler(ConjureHandler.builder()
+                        .runtime(runtime)
+                        .services(EndpointService.of(
+                                endpoint("/immediate", (rt, exchange) -> rt.async()
+                                        .register(
+                                                Futures.immediateFuture("immediate"), serializer::serialize, exchange)),
+                                endpoint("/delayed", (rt, exchange) -> rt.async()
+                                        .register(delayed("delayed"), serializer::serialize, exchange)),
+                                endpoint("/failure", (rt, exchange) -> rt.async()
+                                        .register(
+                                                executor.schedule(
+                                                        () -> {
+                                                            throw new ServiceException(ErrorType.CONFLICT);
+                                                        },
+                                                        50,
+                                                        TimeUnit.MILLISECONDS),
+                                                serializer::serialize,
+                                                exchange)),
+                                endpoint("/stage", (rt, exchange) -> rt.async()
+                                        .register(
+                                                CompletableFuture.supplyAsync(
+                                                        () -> "stage",
+                                                        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS)),
+                                                serializer::serialize,
+                                                exchange)),
+                                endpoint("/stage-failure", (rt, exchange) -> rt.async()
+                                        .register(
+                                                CompletableFuture.<String>supplyAsync(
+                                                        () -> {
+                                                            throw new ServiceException(ErrorType.CONFLICT);
+                                                        },
+                                                        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS)),
+                                                serializer::serialize,
+                                                exchange)),
+                                endpoint("/publisher", (rt, exchange) -> rt.async()
+                                        .register(publisher(200), streamingSerializer, exchange)),
+                                endpoint("/publisher-failure", (rt, exchange) -> rt.async()
+                                        .register(failingPublisher(), streamingSerializer, exchange))))
+                        .build())
+                .build();
+        server.start();
+    }
+
+    @AfterEach
+    public void after() {
+        server.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testImmediateResult() throws IOException {
+        try (Response response = execute("/immediate")) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo("\"immediate\"");
+        }
+    }
+
+    @Test
+    public void testDelayedResult() throws IOException {
+        try (Response response = execute("/delayed")) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo("\"delayed\"");
+        }
+        assertThat(runtime.asyncRequestsInFlight()).isZero();
+    }
+
+    @Test
+    public void testDelayedFailure() throws IOException {
+        try (Response response = execute("/failure")) {
+            assertThat(response.code()).isEqualTo(409);
+            assertThat(response.body().string()).contains("Default:Conflict");
+        }
+    }
+
+    @Test
+    public void testCompletionStageResult() throws IOException {
+        try (Response response = execute("/stage")) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo("\"stage\"");
+        }
+    }
+
+    @Test
+    public void testCompletionStageFailure() throws IOException {
+        try (Response response = execute("/stage-failure")) {
+            assertThat(response.code()).isEqualTo(409);
+            assertThat(response.body().string()).contains("Default:Conflict");
+        }
+    }
+
+    @Test
+    public void testPublisherElements() throws IOException {
+        try (Response response = execute("/publisher")) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.header("Content-Type")).isEqualTo("application/json");
+            assertThat(response.body().string())
+                    .isEqualTo(IntStream.range(0, 200)
+                            .mapToObj(i -> "\"element-" + i + '"')
+                            .collect(Collectors.joining(",", "[", "]")));
+        }
+    }
+
+    @Test
+    public void testPublisherFailureBeforeElements() throws IOException {
+        try (Response response = execute("/publisher-failure")) {
+            assertThat(response.code()).isEqualTo(409);
+            assertThat(response.body().string()).contains("Default:Conflict");
+        }
+    }
+
+    private Flow.Publisher<String> publisher(int elements) {
+        return subscriber -> {
+            SubmissionPublisher<String> publisher = new SubmissionPublisher<>();
+            publisher.subscribe(subscriber);
+            executor.execute(() -> {
+                for (int i = 0; i < elements; i++) {
+                    publisher.submit("element-" + i);
+                }
+                publisher.close();
+            });
+        };
+    }
+
+    private Flow.Publisher<String> failingPublisher() {
+        return subscriber -> {
+            SubmissionPublisher<String> publisher = new SubmissionPublisher<>();
+            publisher.subscribe(subscriber);
+            executor.schedule(
+                    () -> publisher.closeExceptionally(new ServiceException(ErrorType.CONFLICT)),
+                    50,
+                    TimeUnit.MILLISECONDS);
+        };
+    }
+
+    private <T> ListenableFuture<T> delayed(T value) {
+        return executor.schedule(() -> value, 50, TimeUnit.MILLISECONDS);
+    }
+
+    private Endpoint endpoint(String template, AsyncEndpoint handler) {
+        return Endpoint.builder()
+                .method(Methods.GET)
+                .template(template)
+                .serviceName("AsyncService")
+                .name(template.substring(1))
+                .handler(exchange -> handler.handle(runtime, exchange))
+                .build();
+    }
+
+    private interface AsyncEndpoint {
+        void handle(UndertowRuntime runtime, HttpServerExchange exchange) throws IOException;
+    }
+
+    @MustBeClosed
+    private static Response execute(String path) throws IOException {
+        return client.newCall(new Request.Builder()
+                        .url("http://localhost:12345" + path)
+                        .build())
+                .execute();
+    }
+}
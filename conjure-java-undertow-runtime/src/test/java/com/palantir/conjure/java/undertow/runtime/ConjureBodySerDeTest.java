@@ -22,17 +22,27 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import com.google.common.collect.ImmutableList;
 import com.palantir.conjure.java.undertow.HttpServerExchanges;
 import com.palantir.conjure.java.undertow.lib.BodySerDe;
+import com.palantir.conjure.java.undertow.lib.Endpoint;
 import com.palantir.conjure.java.undertow.lib.TypeMarker;
 import com.palantir.logsafe.Preconditions;
 import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.util.Headers;
+import io.undertow.util.Methods;
 import java.io.IOException;
 import org.junit.jupiter.api.Test;
 
 public class ConjureBodySerDeTest {
 
     private static final TypeMarker<String> TYPE = new TypeMarker<String>() {};
+    private static final Endpoint ENDPOINT = Endpoint.builder()
+            .handler(_exchange -> {})
+            .method(Methods.GET)
+            .template("/stream")
+            .serviceName("StreamingService")
+            .name("stream")
+            .build();
 
     @Test
     public void testRequestContentType() throws IOException {
@@ -131,6 +141,87 @@ public class ConjureBodySerDeTest {
         assertThat(exchange.getResponseHeaders().getFirst(Headers.CONTENT_TYPE)).isEqualTo(json.getContentType());
     }
 
+    @Test
+    public void testResponseContentType_qualityValues() throws IOException {
+        assertThat(responseContentType("application/json;q=0.5, text/plain")).isEqualTo("text/plain");
+        assertThat(responseContentType("text/plain;q=0.2, application/json;q=0.9"))
+                .isEqualTo("application/json");
+        // Equal weights retain the client order
+        assertThat(responseContentType("text/plain;q=0.5, application/json;q=0.5"))
+                .isEqualTo("text/plain");
+    }
+
+    @Test
+    public void testResponseContentType_notAcceptable() throws IOException {
+        assertThat(responseContentType("application/json;q=0, text/plain;q=0.1"))
+                .isEqualTo("text/plain");
+        // Falls back to the default encoding when nothing acceptable is supported
+        assertThat(responseContentType("text/plain;q=0")).isEqualTo("application/json");
+    }
+
+    @Test
+    public void testResponseContentType_wildcards() throws IOException {
+        assertThat(responseContentType("text/*")).isEqualTo("text/plain");
+        assertThat(responseContentType("Text/*;q=0.1, */*")).isEqualTo("application/json");
+        assertThat(responseContentType("image/*, text/*;q=0.8")).isEqualTo("text/plain");
+    }
+
+    @Test
+    public void testResponseContentType_cachedHeader() throws IOException {
+        Encoding json = new StubEncoding("application/json");
+        Encoding plain = new StubEncoding("text/plain");
+        BodySerDe serializers = new ConjureBodySerDe(ImmutableList.of(json, plain));
+        for (String accept : ImmutableList.of("text/plain", "application/json", "text/plain", "application/json")) {
+            HttpServerExchange exchange = HttpServerExchanges.createStub();
+            exchange.getRequestHeaders().put(Headers.ACCEPT, accept);
+            serializers.serializer(TYPE).serialize("test", exchange);
+            assertThat(exchange.getResponseHeaders().getFirst(Headers.CONTENT_TYPE))
+                    .isEqualTo(accept);
+        }
+    }
+
+    @Test
+    public void testResponseContentType_multipleHeaders() throws IOException {
+        Encoding json = new StubEncoding("application/json");
+        Encoding plain = new StubEncoding("text/plain");
+
+        HttpServerExchange exchange = HttpServerExchanges.createStub();
+        exchange.getRequestHeaders().add(Headers.ACCEPT, "application/json;q=0.5");
+        exchange.getRequestHeaders().add(Headers.ACCEPT, "text/plain");
+        BodySerDe serializers = new ConjureBodySerDe(ImmutableList.of(json, plain));
+        serializers.serializer(TYPE).serialize("test", exchange);
+        assertThat(exchange.getResponseHeaders().getFirst(Headers.CONTENT_TYPE)).isEqualTo(plain.getContentType());
+    }
+
+    @Test
+    public void testStreamingRequiresElementEncoding() {
+        BodySerDe serializers = new ConjureBodySerDe(ImmutableList.of(new StubEncoding("application/json")));
+        assertThatThrownBy(() -> serializers.streamingSerializer(TYPE, ENDPOINT))
+                .isInstanceOf(SafeIllegalStateException.class)
+                .hasMessageContaining("Streamed lists require an encoding which supports element streaming");
+        assertThatThrownBy(() -> serializers.streamingDeserializer(TYPE, ENDPOINT))
+                .isInstanceOf(SafeIllegalStateException.class);
+    }
+
+    @Test
+    public void testStreamingIgnoresEncodingsWithoutElements() {
+        BodySerDe serializers =
+                new ConjureBodySerDe(ImmutableList.of(new StubEncoding("text/plain"), Encodings.json()));
+        assertThat(serializers.streamingSerializer(TYPE, ENDPOINT)).isNotNull();
+        assertThat(serializers.streamingDeserializer(TYPE, ENDPOINT)).isNotNull();
+    }
+
+    private static String responseContentType(String accept) throws IOException {
+        Encoding json = new StubEncoding("application/json");
+        Encoding plain = new StubEncoding("text/plain");
+
+        HttpServerExchange exchange = HttpServerExchanges.createStub();
+        exchange.getRequestHeaders().put(Headers.ACCEPT, accept);
+        BodySerDe serializers = new ConjureBodySerDe(ImmutableList.of(json, plain));
+        serializers.serializer(TYPE).serialize("test", exchange);
+        return exchange.getResponseHeaders().getFirst(Headers.CONTENT_TYPE);
+    }
+
     /** Deserializes requests as the configured content type. */
     public static final class StubEncoding implements Encoding {
 
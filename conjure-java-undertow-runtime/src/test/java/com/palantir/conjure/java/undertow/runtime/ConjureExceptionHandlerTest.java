@@ -81,6 +81,31 @@ public final class ConjureExceptionHandlerTest {
         assertThat(response.code()).isEqualTo(ErrorType.CONFLICT.httpErrorCode());
     }
 
+    @Test
+    public void handlesServiceExceptionWithoutParameters() throws IOException {
+        ServiceException serviceException = new ServiceException(ErrorType.create(Code.CONFLICT, "Test:Conflict"));
+        exception = serviceException;
+        Response response = execute();
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        Encodings.json()
+                .serializer(new TypeMarker<SerializableError>() {})
+                .serialize(SerializableError.forException(serviceException), stream);
+        assertThat(response.body().string()).isEqualTo(stream.toString(StandardCharsets.UTF_8));
+        assertThat(response.header("Content-Type")).isEqualTo("application/json");
+        assertThat(response.header("Content-Length")).isEqualTo(Integer.toString(stream.size()));
+        assertThat(response.code()).isEqualTo(ErrorType.CONFLICT.httpErrorCode());
+    }
+
+    @Test
+    public void handlesFrameworkExceptionWithoutStackTrace() throws IOException {
+        exception = FrameworkException.unsupportedMediaType(false, "Unsupported Content-Type");
+        assertThat(exception.getStackTrace()).isEmpty();
+        Response response = execute();
+        assertThat(response.body().string()).contains("\"errorName\":\"Conjure:UnsupportedMediaType\"");
+        assertThat(response.code()).isEqualTo(415);
+    }
+
     @Test
     public void handlesRemoteException() throws IOException {
         SerializableError remoteError =
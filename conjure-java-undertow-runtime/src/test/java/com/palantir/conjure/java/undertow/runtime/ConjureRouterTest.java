@@ -0,0 +1,269 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+import com.google.common.net.HttpHeaders;
+import com.palantir.conjure.java.undertow.HttpServerExchanges;
+import com.palantir.conjure.java.undertow.lib.Endpoint;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import io.undertow.Handlers;
+import io.undertow.Undertow;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.RoutingHandler;
+import io.undertow.util.AttachmentKey;
+import io.undertow.util.HttpString;
+import io.undertow.util.Methods;
+import io.undertow.util.PathTemplateMatch;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.Test;
+
+public final class ConjureRouterTest {
+
+    private static final AttachmentKey<String> RESULT = AttachmentKey.create(String.class);
+    private static final String FALLBACK = "fallback";
+    private static final ImmutableList<String> TEMPLATES = ImmutableList.of(
+            "/",
+            "/foo",
+            "/foo/{id}",
+            "/foo/baz",
+            "/foo/{id}/bar",
+            "/lit/a/b",
+            "/lit/{p}/c",
+            "/two/{first}/{second}",
+            "/glob/*",
+            "/nested/{param}/*");
+
+    @Test
+    public void test_literalsPrecedeParameters() {
+        ConjureRouter router = router(TEMPLATES);
+        assertThat(route(router, "/foo/baz")).isEqualTo("/foo/baz {}");
+        assertThat(route(router, "/foo/qux")).isEqualTo("/foo/{id} {id=qux}");
+        assertThat(route(router, "/lit/a/b")).isEqualTo("/lit/a/b {}");
+        // Backtracks from the literal 'a' when it does not match the remaining segments
+        assertThat(route(router, "/lit/a/c")).isEqualTo("/lit/{p}/c {p=a}");
+    }
+
+    @Test
+    public void test_methodDispatch() {
+        ConjureRouter router = ConjureRouter.builder()
+                .add(Methods.POST, "/foo/baz", handler("POST /foo/baz"))
+                .add(Methods.GET, "/foo/{id}", handler("GET /foo/{id}"))
+                .add(Methods.PUT, "/foo/{name}", handler("PUT /foo/{name}"))
+                .build(handler(FALLBACK));
+        assertThat(route(router, Methods.POST, "/foo/baz")).isEqualTo("POST /foo/baz {}");
+        // Literal matches for other methods do not hide parameterized routes
+        assertThat(route(router, Methods.GET, "/foo/baz")).isEqualTo("GET /foo/{id} {id=baz}");
+        assertThat(route(router, Methods.PUT, "/foo/baz")).isEqualTo("PUT /foo/{name} {name=baz}");
+        assertThat(route(router, Methods.DELETE, "/foo/baz")).isEqualTo(FALLBACK);
+    }
+
+    @Test
+    public void test_globs() {
+        ConjureRouter router = router(TEMPLATES);
+        assertThat(route(router, "/glob")).isEqualTo(FALLBACK);
+        assertThat(route(router, "/glob/")).isEqualTo("/glob/* {*=}");
+        assertThat(route(router, "/glob/a")).isEqualTo("/glob/* {*=a}");
+        assertThat(route(router, "/glob/a/b/")).isEqualTo("/glob/* {*=a/b/}");
+        assertThat(route(router, "/glob//a%2Fb")).isEqualTo("/glob/* {*=/a%2Fb}");
+        assertThat(route(router, "/nested/x/y/z")).isEqualTo("/nested/{param}/* {param=x, *=y/z}");
+    }
+
+    @Test
+    public void test_trailingSlashes() {
+        ConjureRouter router = router(TEMPLATES);
+        assertThat(route(router, "/")).isEqualTo("/ {}");
+        assertThat(route(router, "")).isEqualTo("/ {}");
+        assertThat(route(router, "/foo/")).isEqualTo("/foo {}");
+        assertThat(route(router, "/foo/1/")).isEqualTo("/foo/{id} {id=1}");
+        assertThat(route(router, "/foo/1/bar/")).isEqualTo("/foo/{id}/bar {id=1}");
+        assertThat(route(router, "/foo//")).isEqualTo(FALLBACK);
+    }
+
+    @Test
+    public void test_emptyParametersDoNotMatch() {
+        ConjureRouter router = router(TEMPLATES);
+        assertThat(route(router, "/foo//bar")).isEqualTo(FALLBACK);
+        assertThat(route(router, "/two//second")).isEqualTo(FALLBACK);
+        assertThat(route(router, "/two/first/")).isEqualTo(FALLBACK);
+    }
+
+    @Test
+    public void test_matchesRoutingHandler() {
+        ConjureRouter router = router(TEMPLATES);
+        RoutingHandler routingHandler = Handlers.routing(false).setFallbackHandler(handler(FALLBACK));
+        TEMPLATES.forEach(template -> routingHandler.add(Methods.GET, template, handler(template)));
+        for (String path : ImmutableList.of(
+                "/",
+                "/foo",
+                "/foo/1",
+                "/foo/1/",
+                "/foo/baz",
+                "/foo/1/bar",
+                "/foo/1/bar/",
+                "/foo/1/bar/x",
+                "/lit/a/b",
+                "/lit/a/c",
+                "/lit/b/c",
+                "/lit/b/d",
+                "/two/a/b",
+                "/glob/",
+                "/glob/a/b",
+                "/nested/x/",
+                "/nested/x/y/z",
+                "/missing",
+                "/foo/1/2/3")) {
+            assertThat(route(router, path)).describedAs(path).isEqualTo(route(routingHandler, Methods.GET, path));
+        }
+    }
+
+    @Test
+    public void test_parametersMutable() {
+        ConjureRouter router = router(TEMPLATES);
+        HttpServerExchange exchange = exchange(Methods.GET, "/nested/x/y");
+        route(router, exchange);
+        Map<String, String> parameters =
+                exchange.getAttachment(PathTemplateMatch.ATTACHMENT_KEY).getParameters();
+        parameters.entrySet().forEach(entry -> entry.setValue(entry.getValue() + "!"));
+        assertThat(parameters.put("*", "z")).isEqualTo("y!");
+        assertThat(parameters.put("added", "value")).isNull();
+        assertThat(parameters).isEqualTo(ImmutableMap.of("param", "x!", "*", "z", "added", "value"));
+        // Other matches are not impacted by new entries
+        assertThat(route(router, "/nested/a/b")).isEqualTo("/nested/{param}/* {param=a, *=b}");
+    }
+
+    @Test
+    public void test_invalidTemplates() {
+        assertThatThrownBy(() -> ConjureRouter.builder().add(Methods.GET, "/foo/prefix{id}", handler("")))
+                .isInstanceOf(SafeIllegalArgumentException.class)
+                .hasMessageContaining("Unsupported path template segment");
+        assertThatThrownBy(() -> ConjureRouter.builder()
+                        .add(Methods.GET, "/foo/{id}", handler(""))
+                        .add(Methods.GET, "/foo/{name}", handler("")))
+                .isInstanceOf(SafeIllegalArgumentException.class)
+                .hasMessageContaining("Multiple routes match the same path template");
+    }
+
+    @Test
+    public void test_conjureHandler() throws IOException {
+        HttpHandler handler = ConjureHandler.builder()
+                .experimentalTrieRouting(true)
+                .services(EndpointService.of(Endpoint.builder()
+                        .method(Methods.GET)
+                        .template("/items/{itemId}")
+                        .serviceName("RouterService")
+                        .name("getItem")
+                        .handler(exchange -> exchange.getResponseSender()
+                                .send(exchange.getAttachment(PathTemplateMatch.ATTACHMENT_KEY)
+                                        .getParameters()
+                                        .get("itemId")))
+                        .build()))
+                .build();
+        Undertow server = Undertow.builder()
+                .addHttpListener(0, "localhost")
+                .setHandler(handler)
+                .build();
+        server.start();
+        try {
+            String url = "http://localhost:"
+                    + ((InetSocketAddress) Iterables.getOnlyElement(server.getListenerInfo())
+                                    .getAddress())
+                            .getPort()
+                    + "/items/";
+            OkHttpClient client = new OkHttpClient();
+            try (Response response = client.newCall(
+                            new Request.Builder().url(url + "a%20b").build())
+                    .execute()) {
+                assertThat(response.code()).isEqualTo(200);
+                assertThat(response.body().string()).isEqualTo("a b");
+            }
+            try (Response response = client.newCall(
+                            new Request.Builder().head().url(url + "a").build())
+                    .execute()) {
+                assertThat(response.code()).isEqualTo(200);
+            }
+            try (Response response = client.newCall(new Request.Builder()
+                            .method("OPTIONS", null)
+                            .url(url + "a")
+                            .build())
+                    .execute()) {
+                assertThat(response.code()).isEqualTo(204);
+                assertThat(response.header(HttpHeaders.ALLOW)).isEqualTo("OPTIONS, GET, HEAD");
+            }
+            try (Response response =
+                    client.newCall(new Request.Builder().url(url).build()).execute()) {
+                assertThat(response.code()).isEqualTo(404);
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static ConjureRouter router(ImmutableList<String> templates) {
+        ConjureRouter.Builder builder = ConjureRouter.builder();
+        templates.forEach(template -> builder.add(Methods.GET, template, handler(template)));
+        return builder.build(handler(FALLBACK));
+    }
+
+    private static String route(HttpHandler router, String path) {
+        return route(router, Methods.GET, path);
+    }
+
+    private static String route(HttpHandler router, HttpString method, String path) {
+        return route(router, exchange(method, path));
+    }
+
+    private static String route(HttpHandler router, HttpServerExchange exchange) {
+        try {
+            router.handleRequest(exchange);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return exchange.getAttachment(RESULT);
+    }
+
+    private static HttpServerExchange exchange(HttpString method, String path) {
+        HttpServerExchange exchange = HttpServerExchanges.createStub();
+        exchange.setRequestMethod(method);
+        exchange.setRelativePath(path);
+        return exchange;
+    }
+
+    private static HttpHandler handler(String name) {
+        return exchange -> exchange.putAttachment(
+                RESULT,
+                FALLBACK.equals(name)
+                        ? name
+                        : name + " "
+                                + Optional.ofNullable(exchange.getAttachment(PathTemplateMatch.ATTACHMENT_KEY))
+                                        .map(match -> new LinkedHashMap<>(match.getParameters()).toString())
+                                        .orElse("{}"));
+    }
+}
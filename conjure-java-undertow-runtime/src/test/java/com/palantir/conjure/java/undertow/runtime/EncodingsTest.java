@@ -24,19 +24,30 @@ import static org.mockito.Mockito.verify;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.palantir.conjure.java.lib.internal.HasStreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodec;
+import com.palantir.conjure.java.lib.internal.StreamingCodecs;
+import com.palantir.conjure.java.undertow.lib.StreamingSerializer;
 import com.palantir.conjure.java.undertow.lib.TypeMarker;
 import com.palantir.logsafe.Preconditions;
 import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
 import com.palantir.logsafe.exceptions.SafeNullPointerException;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.util.Iterator;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.Test;
 
 final class EncodingsTest {
@@ -65,6 +76,22 @@ final class EncodingsTest {
                 .matches(exception -> ((FrameworkException) exception).getStatusCode() == 422, "Expected 422 status");
     }
 
+    @Test
+    void json_deserialize_withoutFrameworkStackTraces() {
+        Encoding encoding = Encodings.withoutFrameworkStackTraces(json);
+        assertThat(encoding.getContentType()).isEqualTo(json.getContentType());
+        TypeMarker<OffsetDateTime> type = new TypeMarker<OffsetDateTime>() {};
+        assertThatThrownBy(() -> encoding.deserializer(type).deserialize(asStream("\"2018-08-bogus\"")))
+                .isInstanceOf(FrameworkException.class)
+                .matches(exception -> exception.getStackTrace().length == 0, "Expected no stack trace")
+                .matches(exception -> exception.getCause().getStackTrace().length > 0, "Expected a cause stack trace");
+        assertThatThrownBy(() -> encoding.elementDeserializer(type)
+                        .open(asStream("[\"2018-08-bogus\"]"))
+                        .next())
+                .isInstanceOf(FrameworkException.class)
+                .matches(exception -> exception.getStackTrace().length == 0, "Expected no stack trace");
+    }
+
     @Test
     void json_deserialize_missingField() {
         assertThatThrownBy(() -> deserialize(asStream("{\"value\":null}"), new TypeMarker<SimpleObject>() {}))
@@ -156,6 +183,173 @@ final class EncodingsTest {
         verify(outputStream, never()).close();
     }
 
+    @Test
+    void streamingJson_usesStreamingCodec() throws IOException {
+        Encoding streaming = Encodings.streamingJson();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        streaming.serializer(new TypeMarker<StreamingObject>() {}).serialize(new StreamingObject("foo"), output);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("{\"streaming\":\"foo\"}");
+        assertThat(streaming
+                        .deserializer(new TypeMarker<StreamingObject>() {})
+                        .deserialize(asStream("{\"streaming\":\"bar\"}")))
+                .isEqualTo(new StreamingObject("bar"));
+    }
+
+    @Test
+    void streamingJson_fallsBackToDatabind() throws IOException {
+        Encoding streaming = Encodings.streamingJson();
+        assertThat(streaming.deserializer(new TypeMarker<SimpleObject>() {}).deserialize(asStream("{\"value\":\"a\"}")))
+                .isEqualTo(SimpleObject.builder().value("a").build());
+    }
+
+    @Test
+    void streamingJson_deserialize_failedConstruction() {
+        Encoding streaming = Encodings.streamingJson();
+        assertThatThrownBy(() -> streaming
+                        .deserializer(new TypeMarker<StreamingObject>() {})
+                        .deserialize(asStream("{\"streaming\":null}")))
+                .isInstanceOf(FrameworkException.class)
+                .hasMessageContaining("Failed to deserialize")
+                .matches(exception -> ((FrameworkException) exception).getStatusCode() == 422, "Expected 422 status");
+    }
+
+    @Test
+    void streamingJson_deserialize_invalidToken() {
+        Encoding streaming = Encodings.streamingJson();
+        assertThatThrownBy(() -> streaming
+                        .deserializer(new TypeMarker<StreamingObject>() {})
+                        .deserialize(asStream("{\"streaming\"}")))
+                .isInstanceOf(SafeIllegalArgumentException.class)
+                .hasMessageContaining("Failed to parse request due to malformed content");
+    }
+
+    @Test
+    void streamingJson_deserialize_rejectsNullsAndEmptyContent() {
+        Encoding streaming = Encodings.streamingJson();
+        assertThatThrownBy(() -> streaming
+                        .deserializer(new TypeMarker<StreamingObject>() {})
+                        .deserialize(asStream("null")))
+                .isInstanceOf(SafeIllegalArgumentException.class);
+        assertThatThrownBy(() -> streaming
+                        .deserializer(new TypeMarker<StreamingObject>() {})
+                        .deserialize(asStream("")))
+                .isInstanceOf(FrameworkException.class)
+                .matches(exception -> ((FrameworkException) exception).getStatusCode() == 422, "Expected 422 status");
+    }
+
+    @Test
+    void streamingJson_serialize_doesNotCloseOutputStream() throws IOException {
+        OutputStream outputStream = mock(OutputStream.class);
+        Encodings.streamingJson()
+                .serializer(new TypeMarker<StreamingObject>() {})
+                .serialize(new StreamingObject("foo"), outputStream);
+        verify(outputStream, never()).close();
+    }
+
+    @Test
+    void json_elementDeserializer_readsElementsIncrementally() throws IOException {
+        Iterator<SimpleObject> elements = json.elementDeserializer(new TypeMarker<SimpleObject>() {})
+                .open(asStream("[{\"value\":\"a\"},{\"value\":null}]"));
+        assertThat(elements.next()).isEqualTo(SimpleObject.builder().value("a").build());
+        // Malformed elements only fail once they are reached
+        assertThatThrownBy(elements::next)
+                .isInstanceOf(FrameworkException.class)
+                .hasMessageContaining("Failed to deserialize request element")
+                .matches(exception -> ((FrameworkException) exception).getStatusCode() == 422, "Expected 422 status");
+    }
+
+    @Test
+    void json_elementDeserializer_rejectsNonListsAndNulls() throws IOException {
+        TypeMarker<String> type = new TypeMarker<String>() {};
+        assertThat(json.elementDeserializer(type).open(asStream("[]"))).isExhausted();
+        assertThatThrownBy(() ->
+                        json.elementDeserializer(type).open(asStream("\"a\"")).hasNext())
+                .isInstanceOf(FrameworkException.class)
+                .matches(exception -> ((FrameworkException) exception).getStatusCode() == 422, "Expected 422 status");
+        assertThatThrownBy(() ->
+                        json.elementDeserializer(type).open(asStream("[null]")).next())
+                .isInstanceOf(SafeIllegalArgumentException.class);
+        assertThatThrownBy(() ->
+                        json.elementDeserializer(type).open(asStream("[\"a\",")).forEachRemaining(_value -> {}))
+                .isInstanceOf(SafeIllegalArgumentException.class)
+                .hasMessageContaining("Failed to parse request due to malformed content");
+    }
+
+    @Test
+    void json_elementDeserializer_doesNotCloseInputStream() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream inputStream = new FilterInputStream(asStream("[\"a\"]")) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        assertThat(json.elementDeserializer(new TypeMarker<String>() {}).open(inputStream))
+                .toIterable()
+                .containsExactly("a");
+        assertThat(closed).isFalse();
+    }
+
+    @Test
+    void streamingSmile_elementDeserializer_usesStreamingCodec() throws IOException {
+        Encoding streaming = Encodings.streamingSmile();
+        TypeMarker<StreamingObject> type = new TypeMarker<StreamingObject>() {};
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (StreamingSerializer.ElementWriter<StreamingObject> writer =
+                streaming.elementSerializer(type).open(output)) {
+            writer.write(new StreamingObject("foo"));
+            writer.write(new StreamingObject("bar"));
+        }
+        assertThat(streaming.elementDeserializer(type).open(new ByteArrayInputStream(output.toByteArray())))
+                .toIterable()
+                .containsExactly(new StreamingObject("foo"), new StreamingObject("bar"));
+    }
+
+    /** Approximation of a generated object with a streaming codec. */
+    @HasStreamingCodec(StreamingObject.Codec.class)
+    public static final class StreamingObject {
+
+        private final String value;
+
+        StreamingObject(String value) {
+            this.value = Preconditions.checkNotNull(value, "value");
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || (other instanceof StreamingObject && value.equals(((StreamingObject) other).value));
+        }
+
+        @Override
+        public int hashCode() {
+            return value.hashCode();
+        }
+
+        public static final class Codec implements StreamingCodec<StreamingObject> {
+
+            @Override
+            public void serialize(StreamingObject object, JsonGenerator generator) throws IOException {
+                generator.writeStartObject();
+                generator.writeStringField("streaming", object.value);
+                generator.writeEndObject();
+            }
+
+            @Override
+            public StreamingObject deserialize(JsonParser parser) throws IOException {
+                if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                    return null;
+                }
+                StreamingCodecs.expect(parser, JsonToken.START_OBJECT, StreamingObject.class);
+                String value = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    parser.nextToken();
+                    value = StreamingCodecs.readString(parser);
+                }
+                return new StreamingObject(value);
+            }
+        }
+    }
+
     @Test
     void cbor_supportsContentType() {
         assertThat(cbor.supportsContentType("application/cbor")).isTrue();
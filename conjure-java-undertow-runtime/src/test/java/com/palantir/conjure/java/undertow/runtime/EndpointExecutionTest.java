@@ -0,0 +1,155 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.errorprone.annotations.MustBeClosed;
+import com.palantir.conjure.java.undertow.lib.Endpoint;
+import com.palantir.tracing.Tracer;
+import io.undertow.Undertow;
+import io.undertow.server.HttpHandler;
+import io.undertow.util.Methods;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class EndpointExecutionTest {
+
+    private static final OkHttpClient client = new OkHttpClient.Builder()
+            .followRedirects(false)
+            .retryOnConnectionFailure(false)
+            .build();
+
+    private final ExecutorService requestExecutor = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("conjure-test-%d").build());
+    private final ExecutorService clientExecutor = Executors.newCachedThreadPool();
+    private final CountDownLatch blockingEndpointEntered = new CountDownLatch(1);
+    private final CountDownLatch blockingEndpointReleased = new CountDownLatch(1);
+    private Undertow server;
+    private int port;
+
+    @BeforeEach
+    public void before() {
+        server = Undertow.builder()
+                .addHttpListener(0, "localhost")
+                .setHandler(ConjureHandler.builder()
+                        .executor(requestExecutor)
+                        .maxConcurrentRequestsPerEndpoint(1)
+                        .services(EndpointService.of(endpoint("/thread", exchange -> {
+                            exchange.getResponseSender()
+                                    .send(Thread.currentThread().getName() + " " + Tracer.hasTraceId());
+                        })))
+                        .services(EndpointService.of(endpoint("/blocking", _exchange -> {
+                            blockingEndpointEntered.countDown();
+                            assertThat(blockingEndpointReleased.await(10, TimeUnit.SECONDS))
+                                    .isTrue();
+                        })))
+                        .services(EndpointService.of(endpoint("/failure", _exchange -> {
+                            throw new IllegalStateException();
+                        })))
+                        .build())
+                .build();
+        server.start();
+        port = ((InetSocketAddress)
+                        Iterables.getOnlyElement(server.getListenerInfo()).getAddress())
+                .getPort();
+    }
+
+    @AfterEach
+    public void after() {
+        server.stop();
+        requestExecutor.shutdownNow();
+        clientExecutor.shutdownNow();
+    }
+
+    @Test
+    public void test_dispatchesToExecutor() throws IOException {
+        try (Response response = execute("/thread")) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).startsWith("conjure-test-").endsWith(" true");
+        }
+    }
+
+    @Test
+    public void test_exceptionHandling() {
+        try (Response response = execute("/failure")) {
+            assertThat(response.code()).isEqualTo(500);
+        }
+        // Permits are released when requests fail
+        try (Response response = execute("/failure")) {
+            assertThat(response.code()).isEqualTo(500);
+        }
+    }
+
+    @Test
+    public void test_concurrencyLimit() throws Exception {
+        Future<Integer> first = clientExecutor.submit(() -> {
+            try (Response response = execute("/blocking")) {
+                return response.code();
+            }
+        });
+        assertThat(blockingEndpointEntered.await(10, TimeUnit.SECONDS)).isTrue();
+        try (Response response = execute("/blocking")) {
+            assertThat(response.code()).isEqualTo(429);
+        }
+        // Limits apply to each endpoint independently
+        try (Response response = execute("/thread")) {
+            assertThat(response.code()).isEqualTo(200);
+        }
+        blockingEndpointReleased.countDown();
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(200);
+        try (Response response = execute("/blocking")) {
+            assertThat(response.code()).isEqualTo(200);
+        }
+    }
+
+    @MustBeClosed
+    private Response execute(String path) {
+        Request request = new Request.Builder()
+                .get()
+                .url("http://localhost:" + port + path)
+                .build();
+        try {
+            return client.newCall(request).execute();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Endpoint endpoint(String template, HttpHandler handler) {
+        return Endpoint.builder()
+                .handler(handler)
+                .method(Methods.GET)
+                .template(template)
+                .serviceName("ExecutionService")
+                .name(template.substring(1))
+                .build();
+    }
+}
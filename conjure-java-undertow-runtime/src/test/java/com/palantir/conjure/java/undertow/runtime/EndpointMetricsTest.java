@@ -0,0 +1,194 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.Iterables;
+import com.google.errorprone.annotations.MustBeClosed;
+import com.palantir.conjure.java.undertow.lib.Deserializer;
+import com.palantir.conjure.java.undertow.lib.Endpoint;
+import com.palantir.conjure.java.undertow.lib.Serializer;
+import com.palantir.conjure.java.undertow.lib.TypeMarker;
+import com.palantir.conjure.java.undertow.lib.UndertowRuntime;
+import io.undertow.Undertow;
+import io.undertow.UndertowOptions;
+import io.undertow.util.Methods;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class EndpointMetricsTest {
+
+    private static final TypeMarker<String> TYPE = new TypeMarker<String>() {};
+    private static final OkHttpClient client = new OkHttpClient.Builder()
+            .followRedirects(false)
+            .retryOnConnectionFailure(false)
+            .build();
+
+    private final RecordingMetrics metrics = new RecordingMetrics();
+    private Undertow server;
+    private int port;
+
+    @BeforeEach
+    public void before() {
+        ConjureUndertowRuntime runtime = ConjureUndertowRuntime.builder()
+                .metrics(endpoint -> endpoint.name().equals("echo") ? Optional.of(metrics) : Optional.empty())
+                .build();
+        server = Undertow.builder()
+                .setServerOption(UndertowOptions.RECORD_REQUEST_START_TIME, true)
+                .addHttpListener(0, "localhost")
+                .setHandler(ConjureHandler.builder()
+                        .runtime(runtime)
+                        .services(EndpointMetricsTest::endpoints)
+                        .build())
+                .build();
+        server.start();
+        port = ((InetSocketAddress)
+                        Iterables.getOnlyElement(server.getListenerInfo()).getAddress())
+                .getPort();
+    }
+
+    @AfterEach
+    public void after() {
+        server.stop();
+    }
+
+    @Test
+    public void testRecordsEndpointMetrics() throws Exception {
+        try (Response response = execute("/echo", "\"hello\"")) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo("\"hello\"");
+        }
+        assertThat(metrics.completed.await(10, TimeUnit.SECONDS)).isTrue();
+        // Phases are recorded once the handler returns, which may happen after the exchange has completed.
+        assertThat(metrics.invoked.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(metrics.started).hasValue(1);
+        assertThat(metrics.statusCode).hasValue(200);
+        assertThat(metrics.requestBytes).hasValue(7);
+        assertThat(metrics.responseBytes).hasValue(7);
+        assertThat(metrics.requestEncodings).containsExactly(Map.entry("application/json", 1));
+        assertThat(metrics.responseEncodings).containsExactly(Map.entry("application/json", 1));
+        assertThat(metrics.phases).containsOnlyKeys(EndpointPhase.values());
+        assertThat(metrics.phases.values())
+                .allSatisfy(nanos -> assertThat(nanos).isNotNegative());
+    }
+
+    @Test
+    public void testEndpointsMayBeExcluded() throws Exception {
+        try (Response response = execute("/other", "\"hello\"")) {
+            assertThat(response.code()).isEqualTo(200);
+        }
+        assertThat(metrics.started).hasValue(0);
+        assertThat(metrics.phases).isEmpty();
+    }
+
+    @MustBeClosed
+    private Response execute(String path, String body) throws IOException {
+        Request request = new Request.Builder()
+                .post(RequestBody.create(MediaType.get("application/json"), body))
+                .header("Authorization", "Bearer token")
+                .url("http://localhost:" + port + path)
+                .build();
+        return client.newCall(request).execute();
+    }
+
+    private static List<Endpoint> endpoints(UndertowRuntime runtime) {
+        return List.of(echo(runtime, "echo"), echo(runtime, "other"));
+    }
+
+    private static Endpoint echo(UndertowRuntime runtime, String name) {
+        Deserializer<String> deserializer = runtime.bodySerDe().deserializer(TYPE);
+        Serializer<String> serializer = runtime.bodySerDe().serializer(TYPE);
+        return Endpoint.builder()
+                .handler(exchange -> {
+                    runtime.auth().header(exchange);
+                    serializer.serialize(deserializer.deserialize(exchange), exchange);
+                })
+                .method(Methods.POST)
+                .template("/" + name)
+                .serviceName("MetricsService")
+                .name(name)
+                .build();
+    }
+
+    private static final class RecordingMetrics implements EndpointMetrics {
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch invoked = new CountDownLatch(1);
+        private final AtomicInteger started = new AtomicInteger();
+        private final AtomicInteger statusCode = new AtomicInteger();
+        private final AtomicLong requestBytes = new AtomicLong();
+        private final AtomicLong responseBytes = new AtomicLong();
+        private final Map<EndpointPhase, Long> phases = new ConcurrentHashMap<>();
+        private final Map<String, Integer> requestEncodings = new ConcurrentHashMap<>();
+        private final Map<String, Integer> responseEncodings = new ConcurrentHashMap<>();
+
+        @Override
+        public void requestStarted() {
+            started.incrementAndGet();
+        }
+
+        @Override
+        public void requestCompleted(int value) {
+            statusCode.set(value);
+            completed.countDown();
+        }
+
+        @Override
+        public void phase(EndpointPhase phase, long nanos) {
+            phases.merge(phase, nanos, Long::sum);
+            if (phase == EndpointPhase.INVOCATION) {
+                invoked.countDown();
+            }
+        }
+
+        @Override
+        public void requestBytes(long bytes) {
+            requestBytes.addAndGet(bytes);
+        }
+
+        @Override
+        public void responseBytes(long bytes) {
+            responseBytes.addAndGet(bytes);
+        }
+
+        @Override
+        public void requestEncoding(String contentType) {
+            requestEncodings.merge(contentType, 1, Integer::sum);
+        }
+
+        @Override
+        public void responseEncoding(String contentType) {
+            responseEncodings.merge(contentType, 1, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public final class ErrorLogRateLimiterTest {
+
+    @Test
+    public void testSuppressesLogsAboveLimit() {
+        ErrorLogRateLimiter limiter = new ErrorLogRateLimiter(2);
+        assertThat(limiter.tryAcquire("Default:InvalidArgument")).isZero();
+        assertThat(limiter.tryAcquire("Default:InvalidArgument")).isZero();
+        assertThat(limiter.tryAcquire("Default:InvalidArgument")).isEqualTo(ErrorLogRateLimiter.SUPPRESSED);
+        // Each error name is limited independently
+        assertThat(limiter.tryAcquire("Default:Conflict")).isZero();
+    }
+
+    @Test
+    public void testReportsSuppressedLogs() throws InterruptedException {
+        ErrorLogRateLimiter limiter = new ErrorLogRateLimiter(1);
+        assertThat(limiter.tryAcquire("Default:InvalidArgument")).isZero();
+        assertThat(limiter.tryAcquire("Default:InvalidArgument")).isEqualTo(ErrorLogRateLimiter.SUPPRESSED);
+        assertThat(limiter.tryAcquire("Default:InvalidArgument")).isEqualTo(ErrorLogRateLimiter.SUPPRESSED);
+        Thread.sleep(1100);
+        assertThat(limiter.tryAcquire("Default:InvalidArgument")).isEqualTo(2);
+        assertThat(limiter.tryAcquire("Default:InvalidArgument")).isEqualTo(ErrorLogRateLimiter.SUPPRESSED);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.Iterables;
+import com.google.errorprone.annotations.MustBeClosed;
+import com.palantir.conjure.java.undertow.lib.BinaryResponseBody;
+import com.palantir.conjure.java.undertow.lib.Endpoint;
+import com.palantir.conjure.java.undertow.lib.FileResponseBody;
+import io.undertow.Undertow;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Methods;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public final class FileResponseBodyTest {
+
+    private static final String CONTENT = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final OkHttpClient client = new OkHttpClient.Builder().build();
+
+    @TempDir
+    Path directory;
+
+    private Undertow server;
+    private int port;
+
+    @BeforeEach
+    public void before() throws IOException {
+        Path file = Files.writeString(directory.resolve("file.txt"), CONTENT);
+        server = Undertow.builder()
+                .addHttpListener(0, "localhost")
+                .setHandler(ConjureHandler.builder()
+                        .services(runtime -> List.of(
+                                endpoint(runtime.bodySerDe()::serialize, "/file", FileResponseBody.of(file)),
+                                endpoint(runtime.bodySerDe()::serialize, "/region", FileResponseBody.of(file, 10, 6)),
+                                endpoint(
+                                        runtime.bodySerDe()::serialize,
+                                        "/missing",
+                                        FileResponseBody.of(directory.resolve("missing.txt"))),
+                                endpoint(
+                                        runtime.bodySerDe()::serialize,
+                                        "/out-of-bounds",
+                                        FileResponseBody.of(file, 30, 10))))
+                        .build())
+                .build();
+        server.start();
+        port = ((InetSocketAddress)
+                        Iterables.getOnlyElement(server.getListenerInfo()).getAddress())
+                .getPort();
+    }
+
+    @AfterEach
+    public void after() {
+        server.stop();
+    }
+
+    @Test
+    public void testFile() throws IOException {
+        try (Response response = get("/file", null)) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.header("Content-Type")).isEqualTo("application/octet-stream");
+            assertThat(response.header("Content-Length")).isEqualTo(Integer.toString(CONTENT.length()));
+            assertThat(response.header("Accept-Ranges")).isEqualTo("bytes");
+            assertThat(response.body().string()).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    public void testRegion() throws IOException {
+        try (Response response = get("/region", null)) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.header("Content-Length")).isEqualTo("6");
+            assertThat(response.body().string()).isEqualTo("abcdef");
+        }
+    }
+
+    @Test
+    public void testRange() throws IOException {
+        try (Response response = get("/file", "bytes=2-4")) {
+            assertThat(response.code()).isEqualTo(206);
+            assertThat(response.header("Content-Range")).isEqualTo("bytes 2-4/36");
+            assertThat(response.body().string()).isEqualTo("234");
+        }
+    }
+
+    @Test
+    public void testRangeWithinRegion() throws IOException {
+        try (Response response = get("/region", "bytes=-2")) {
+            assertThat(response.code()).isEqualTo(206);
+            assertThat(response.header("Content-Range")).isEqualTo("bytes 4-5/6");
+            assertThat(response.body().string()).isEqualTo("ef");
+        }
+    }
+
+    @Test
+    public void testUnsatisfiableRange() throws IOException {
+        try (Response response = get("/region", "bytes=10-20")) {
+            assertThat(response.code()).isEqualTo(416);
+            assertThat(response.header("Content-Range")).isEqualTo("bytes */6");
+        }
+    }
+
+    @Test
+    public void testRangeWithMatchingIfRange() throws IOException {
+        String lastModified;
+        try (Response response = get("/file", null)) {
+            lastModified = response.header("Last-Modified");
+        }
+        assertThat(lastModified).isNotNull();
+        try (Response response = get("/file", "bytes=2-4", lastModified)) {
+            assertThat(response.code()).isEqualTo(206);
+            assertThat(response.body().string()).isEqualTo("234");
+        }
+    }
+
+    @Test
+    public void testRangeWithStaleIfRangeSendsEntireFile() throws IOException {
+        try (Response response = get("/file", "bytes=2-4", "Thu, 01 Jan 1970 00:00:00 GMT")) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    public void testRangeWithIfRangeEntityTagSendsEntireFile() throws IOException {
+        try (Response response = get("/file", "bytes=2-4", "\"etag\"")) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    public void testMultipleRangesSendEntireRegion() throws IOException {
+        try (Response response = get("/region", "bytes=0-1,3-4")) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo("abcdef");
+        }
+    }
+
+    @Test
+    public void testMissingFile() throws IOException {
+        try (Response response = get("/missing", null)) {
+            assertThat(response.code()).isEqualTo(500);
+        }
+    }
+
+    @Test
+    public void testRegionBeyondEndOfFile() throws IOException {
+        try (Response response = get("/out-of-bounds", null)) {
+            assertThat(response.code()).isEqualTo(500);
+        }
+    }
+
+    @Test
+    public void testWriteCopiesRegion() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        FileResponseBody.of(directory.resolve("file.txt"), 10, 6).write(output);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("abcdef");
+    }
+
+    @MustBeClosed
+    private Response get(String path, String range) throws IOException {
+        return get(path, range, null);
+    }
+
+    @MustBeClosed
+    private Response get(String path, String range, String ifRange) throws IOException {
+        Request.Builder request = new Request.Builder().get().url("http://localhost:" + port + path);
+        if (range != null) {
+            request.header("Range", range);
+        }
+        if (ifRange != null) {
+            request.header("If-Range", ifRange);
+        }
+        return client.newCall(request.build()).execute();
+    }
+
+    private static Endpoint endpoint(BinarySerializer serializer, String template, BinaryResponseBody body) {
+        return Endpoint.builder()
+                .handler(exchange -> serializer.serialize(body, exchange))
+                .method(Methods.GET)
+                .template(template)
+                .serviceName("FileService")
+                .name(template.substring(1))
+                .build();
+    }
+
+    private interface BinarySerializer {
+        void serialize(BinaryResponseBody body, HttpServerExchange exchange) throws IOException;
+    }
+}
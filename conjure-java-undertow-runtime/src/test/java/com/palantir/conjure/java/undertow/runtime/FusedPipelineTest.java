@@ -0,0 +1,174 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.Iterables;
+import com.google.errorprone.annotations.MustBeClosed;
+import com.palantir.conjure.java.api.errors.ErrorType;
+import com.palantir.conjure.java.api.errors.ServiceException;
+import com.palantir.conjure.java.undertow.lib.Endpoint;
+import com.palantir.tracing.Tracer;
+import io.undertow.Undertow;
+import io.undertow.UndertowOptions;
+import io.undertow.server.HttpHandler;
+import io.undertow.util.HttpString;
+import io.undertow.util.Methods;
+import io.undertow.util.PathTemplateMatch;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+public final class FusedPipelineTest {
+
+    private static final OkHttpClient client = new OkHttpClient.Builder().build();
+
+    private final AtomicInteger wrapperInvocations = new AtomicInteger();
+    private final BlockingQueue<String> completedRequests = new LinkedBlockingQueue<>();
+    private Undertow nested;
+    private Undertow fused;
+
+    @BeforeEach
+    public void before() {
+        nested = start(false);
+        fused = start(true);
+    }
+
+    @AfterEach
+    public void after() {
+        nested.stop();
+        fused.stop();
+    }
+
+    @Test
+    public void testResponsesMatchNestedPipeline() throws IOException {
+        for (String path : new String[] {"/get", "/post", "/deprecated", "/failure", "/files/a%2Fb"}) {
+            try (Response expected = execute(nested, path);
+                    Response actual = execute(fused, path)) {
+                assertThat(actual.code()).as(path).isEqualTo(expected.code());
+                assertThat(actual.headers().toMultimap())
+                        .as(path)
+                        .containsOnlyKeys(expected.headers().toMultimap().keySet());
+                assertThat(actual.header("Cache-Control")).isEqualTo(expected.header("Cache-Control"));
+                assertThat(actual.header("deprecation")).isEqualTo(expected.header("deprecation"));
+                assertThat(withoutInstanceId(actual.body().string()))
+                        .isEqualTo(withoutInstanceId(expected.body().string()));
+            }
+        }
+    }
+
+    @Test
+    public void testAppliesStages() throws IOException {
+        try (Response response = execute(fused, "/get")) {
+            assertThat(response.body().string()).isEqualTo("true true");
+            assertThat(response.header("Content-Security-Policy")).isNotNull();
+        }
+        assertThat(wrapperInvocations).hasValue(1);
+    }
+
+    @Test
+    public void testReportsMetrics() throws IOException, InterruptedException {
+        try (Response response = execute(fused, "/failure")) {
+            assertThat(response.code()).isEqualTo(409);
+        }
+        // Metrics are reported when the exchange completes, which may happen after the client reads the response.
+        assertThat(completedRequests.poll(5, TimeUnit.SECONDS)).isEqualTo("failure 409");
+    }
+
+    private Undertow start(boolean fusedPipeline) {
+        Undertow server = Undertow.builder()
+                .addHttpListener(0, "localhost")
+                .setServerOption(UndertowOptions.DECODE_URL, false)
+                .setHandler(ConjureHandler.builder()
+                        .experimentalFusedPipeline(fusedPipeline)
+                        .maxConcurrentRequestsPerEndpoint(10)
+                        .runtime(ConjureUndertowRuntime.builder()
+                                .metrics(endpoint -> Optional.of(new EndpointMetrics() {
+                                    @Override
+                                    public void requestCompleted(int statusCode) {
+                                        completedRequests.add(endpoint.name() + " " + statusCode);
+                                    }
+                                }))
+                                .build())
+                        .addWrapperBeforeBlocking(endpoint -> Optional.of(exchange -> {
+                            wrapperInvocations.incrementAndGet();
+                            endpoint.handler().handleRequest(exchange);
+                        }))
+                        .services(EndpointService.of(
+                                endpoint(Methods.GET, "/get", "get", exchange -> exchange.getResponseSender()
+                                        .send(Tracer.hasTraceId() + " " + (MDC.get("traceId") != null))),
+                                endpoint(Methods.POST, "/post", "post", _exchange -> {}),
+                                Endpoint.builder()
+                                        .from(endpoint(Methods.GET, "/deprecated", "deprecated", _exchange -> {}))
+                                        .deprecated(Optional.of("deprecated"))
+                                        .build(),
+                                endpoint(Methods.GET, "/failure", "failure", _exchange -> {
+                                    throw new ServiceException(ErrorType.CONFLICT);
+                                }),
+                                endpoint(Methods.GET, "/files/*", "files", exchange -> exchange.getResponseSender()
+                                        .send(exchange.getAttachment(PathTemplateMatch.ATTACHMENT_KEY)
+                                                .getParameters()
+                                                .get("*")))))
+                        .build())
+                .build();
+        server.start();
+        return server;
+    }
+
+    private static String withoutInstanceId(String body) {
+        return body.replaceAll("\"errorInstanceId\":\"[^\"]*\"", "");
+    }
+
+    private static Endpoint endpoint(HttpString method, String template, String name, HttpHandler handler) {
+        return Endpoint.builder()
+                .method(method)
+                .template(template)
+                .serviceName("TestService")
+                .name(name)
+                .handler(handler)
+                .build();
+    }
+
+    @MustBeClosed
+    private static Response execute(Undertow server, String path) {
+        int port = ((InetSocketAddress)
+                        Iterables.getOnlyElement(server.getListenerInfo()).getAddress())
+                .getPort();
+        Request.Builder request = new Request.Builder().url("http://localhost:" + port + path);
+        if (path.equals("/post")) {
+            request.post(RequestBody.create(null, new byte[0]));
+        }
+        try {
+            return client.newCall(request.build()).execute();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
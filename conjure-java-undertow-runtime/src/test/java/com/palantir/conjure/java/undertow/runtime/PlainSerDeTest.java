@@ -107,6 +107,28 @@ public final class PlainSerDeTest {
                         SafeArg.of("size", 3), UnsafeArg.of("received", ImmutableList.of("one", "two", "three")));
     }
 
+    @Test
+    public void testDeserializePrimitiveArrays() {
+        assertThat(PLAIN.deserializeIntegerArray(ImmutableList.of("1", "-2", "3")))
+                .containsExactly(1, -2, 3);
+        assertThat(PLAIN.deserializeDoubleArray(ImmutableList.of("1.5", "NaN"))).containsExactly(1.5, Double.NaN);
+        assertThat(PLAIN.deserializeSafeLongArray(ImmutableList.of("9007199254740991", "1")))
+                .containsExactly(9007199254740991L, 1L);
+        assertThat(PLAIN.deserializeIntegerArray(null)).isEmpty();
+        assertThat(PLAIN.deserializeDoubleArray(null)).isEmpty();
+        assertThat(PLAIN.deserializeSafeLongArray(ImmutableList.of())).isEmpty();
+    }
+
+    @Test
+    public void testDeserializePrimitiveArrayFailures() {
+        assertThatLoggableExceptionThrownBy(() -> PLAIN.deserializeIntegerArray(ImmutableList.of("1", "two")))
+                .isInstanceOf(SafeIllegalArgumentException.class)
+                .hasLogMessage("failed to deserialize integer");
+        assertThatLoggableExceptionThrownBy(() -> PLAIN.deserializeSafeLongArray(ImmutableList.of("9007199254740992")))
+                .isInstanceOf(SafeIllegalArgumentException.class)
+                .hasLogMessage("failed to deserialize safelong");
+    }
+
     private static <T> void runDeserializerTest(String typeName, String plainIn, T want) throws Exception {
         runDeserializerTest(typeName, plainIn, want, Optional::of);
     }
@@ -0,0 +1,185 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.Iterables;
+import com.google.errorprone.annotations.MustBeClosed;
+import com.palantir.conjure.java.undertow.lib.Endpoint;
+import com.palantir.conjure.java.undertow.lib.Serializer;
+import com.palantir.conjure.java.undertow.lib.TypeMarker;
+import io.undertow.Undertow;
+import io.undertow.server.HttpHandler;
+import io.undertow.util.Methods;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.zip.CRC32;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class RequestBodyPublisherTest {
+
+    private static final OkHttpClient client = new OkHttpClient.Builder().build();
+    private static final MediaType OCTET_STREAM = MediaType.get("application/octet-stream");
+
+    private final ConjureUndertowRuntime runtime =
+            ConjureUndertowRuntime.builder().build();
+    private Undertow server;
+    private int port;
+
+    @BeforeEach
+    public void before() {
+        server = Undertow.builder()
+                .addHttpListener(0, "localhost")
+                .setHandler(ConjureHandler.builder()
+                        .runtime(runtime)
+                        .services(_runtime -> endpoints())
+                        .build())
+                .build();
+        server.start();
+        port = ((InetSocketAddress)
+                        Iterables.getOnlyElement(server.getListenerInfo()).getAddress())
+                .getPort();
+    }
+
+    @AfterEach
+    public void after() {
+        server.stop();
+    }
+
+    @Test
+    public void testUpload() throws IOException {
+        byte[] body = new byte[10 * 1024 * 1024];
+        new Random(1234).nextBytes(body);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        try (Response response = post("/upload", RequestBody.create(OCTET_STREAM, body))) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo("\"" + body.length + ":" + crc.getValue() + "\"");
+        }
+    }
+
+    @Test
+    public void testEmptyUpload() throws IOException {
+        try (Response response = post("/upload", RequestBody.create(OCTET_STREAM, new byte[0]))) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo("\"0:0\"");
+        }
+    }
+
+    @Test
+    public void testUnsupportedContentType() throws IOException {
+        try (Response response = post("/upload", RequestBody.create(MediaType.get("application/json"), "{}"))) {
+            assertThat(response.code()).isEqualTo(415);
+        }
+    }
+
+    @Test
+    public void testSingleSubscriber() throws IOException {
+        try (Response response = post("/resubscribe", RequestBody.create(OCTET_STREAM, new byte[16]))) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo("\"The request body may only be subscribed to once\"");
+        }
+    }
+
+    @MustBeClosed
+    private Response post(String path, RequestBody body) throws IOException {
+        Request request = new Request.Builder()
+                .post(body)
+                .url("http://localhost:" + port + path)
+                .build();
+        return client.newCall(request).execute();
+    }
+
+    private List<Endpoint> endpoints() {
+        Serializer<String> serializer = runtime.bodySerDe().serializer(new TypeMarker<String>() {});
+        return List.of(
+                endpoint("/upload", exchange -> {
+                    ChecksumSubscriber subscriber = new ChecksumSubscriber();
+                    runtime.bodySerDe().deserializeByteBuffers(exchange).subscribe(subscriber);
+                    runtime.async().register(subscriber.result, serializer::serialize, exchange);
+                }),
+                endpoint("/resubscribe", exchange -> {
+                    Flow.Publisher<ByteBuffer> publisher = runtime.bodySerDe().deserializeByteBuffers(exchange);
+                    ChecksumSubscriber first = new ChecksumSubscriber();
+                    ChecksumSubscriber second = new ChecksumSubscriber();
+                    publisher.subscribe(first);
+                    publisher.subscribe(second);
+                    runtime.async()
+                            .register(
+                                    first.result.thenCombine(
+                                            second.result.handle((_result, failure) -> failure.getMessage()),
+                                            (_first, message) -> message),
+                                    serializer::serialize,
+                                    exchange);
+                }));
+    }
+
+    private static Endpoint endpoint(String template, HttpHandler handler) {
+        return Endpoint.builder()
+                .handler(handler)
+                .method(Methods.POST)
+                .template(template)
+                .serviceName("UploadService")
+                .name(template.substring(1))
+                .build();
+    }
+
+    /** Requests a single buffer at a time to exercise backpressure. */
+    private static final class ChecksumSubscriber implements Flow.Subscriber<ByteBuffer> {
+
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private final CRC32 crc = new CRC32();
+        private long bytes;
+        private Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription value) {
+            subscription = value;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            bytes += buffer.remaining();
+            crc.update(buffer);
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(bytes + ":" + crc.getValue());
+        }
+    }
+}
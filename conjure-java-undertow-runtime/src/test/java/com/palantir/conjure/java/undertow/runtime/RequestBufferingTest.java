@@ -0,0 +1,117 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.Iterables;
+import com.google.common.io.ByteStreams;
+import com.google.errorprone.annotations.MustBeClosed;
+import com.palantir.conjure.java.undertow.lib.Endpoint;
+import io.undertow.Undertow;
+import io.undertow.util.Methods;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class RequestBufferingTest {
+
+    private static final OkHttpClient client = new OkHttpClient.Builder()
+            .followRedirects(false)
+            .retryOnConnectionFailure(false)
+            .build();
+
+    private Undertow server;
+    private int port;
+
+    @BeforeEach
+    public void before() {
+        Endpoint endpoint = Endpoint.builder()
+                .handler(exchange -> {
+                    byte[] body;
+                    try (InputStream stream = exchange.getInputStream()) {
+                        body = ByteStreams.toByteArray(stream);
+                    }
+                    exchange.getResponseSender().send(Integer.toString(body.length));
+                })
+                .method(Methods.POST)
+                .template("/echo")
+                .serviceName("BufferingService")
+                .name("echo")
+                .build();
+        server = Undertow.builder()
+                .addHttpListener(0, "localhost")
+                .setHandler(ConjureHandler.builder()
+                        .requestBuffering(2)
+                        .services(EndpointService.of(endpoint))
+                        .build())
+                .build();
+        server.start();
+        port = ((InetSocketAddress)
+                        Iterables.getOnlyElement(server.getListenerInfo()).getAddress())
+                .getPort();
+    }
+
+    @AfterEach
+    public void after() {
+        server.stop();
+    }
+
+    @Test
+    public void test_smallBody() throws IOException {
+        try (Response response = post(new byte[] {1, 2, 3})) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo("3");
+        }
+    }
+
+    @Test
+    public void test_largeBodyExceedingBuffers() throws IOException {
+        byte[] body = new byte[1024 * 1024];
+        Arrays.fill(body, (byte) 'a');
+        try (Response response = post(body)) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo(Integer.toString(body.length));
+        }
+    }
+
+    @Test
+    public void test_emptyBody() throws IOException {
+        try (Response response = post(new byte[0])) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo("0");
+        }
+    }
+
+    @MustBeClosed
+    private Response post(byte[] body) throws IOException {
+        Request request = new Request.Builder()
+                .post(RequestBody.create(MediaType.parse("application/octet-stream"), body))
+                .url("http://localhost:" + port + "/echo")
+                .build();
+        return client.newCall(request).execute();
+    }
+}
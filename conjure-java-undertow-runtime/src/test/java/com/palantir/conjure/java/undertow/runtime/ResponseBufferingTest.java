@@ -0,0 +1,154 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.Strings;
+import com.google.common.collect.Iterables;
+import com.google.errorprone.annotations.MustBeClosed;
+import com.palantir.conjure.java.undertow.lib.Endpoint;
+import com.palantir.conjure.java.undertow.lib.Serializer;
+import com.palantir.conjure.java.undertow.lib.TypeMarker;
+import com.palantir.conjure.java.undertow.lib.UndertowRuntime;
+import io.undertow.Undertow;
+import io.undertow.server.HttpHandler;
+import io.undertow.util.Methods;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class ResponseBufferingTest {
+
+    private static final OkHttpClient client = new OkHttpClient.Builder()
+            .followRedirects(false)
+            .retryOnConnectionFailure(false)
+            .build();
+
+    private Undertow server;
+    private int port;
+
+    @BeforeEach
+    public void before() {
+        server = Undertow.builder()
+                .addHttpListener(0, "localhost")
+                .setHandler(ConjureHandler.builder()
+                        .runtime(ConjureUndertowRuntime.builder()
+                                .maxResponseBuffers(4)
+                                .build())
+                        .services(ResponseBufferingTest::endpoints)
+                        .build())
+                .build();
+        server.start();
+        port = ((InetSocketAddress)
+                        Iterables.getOnlyElement(server.getListenerInfo()).getAddress())
+                .getPort();
+    }
+
+    @AfterEach
+    public void after() {
+        server.stop();
+    }
+
+    @Test
+    public void test_smallBody() throws IOException {
+        try (Response response = get("/body?size=3")) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.header("Content-Length")).isEqualTo("5");
+            assertThat(response.body().string()).isEqualTo("\"aaa\"");
+        }
+    }
+
+    @Test
+    public void test_bodyExceedingSingleBuffer() throws IOException {
+        int size = 40 * 1024;
+        try (Response response = get("/body?size=" + size)) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.header("Transfer-Encoding")).isNull();
+            assertThat(response.header("Content-Length")).isEqualTo(Integer.toString(size + 2));
+            assertThat(response.body().string()).hasSize(size + 2);
+        }
+    }
+
+    @Test
+    public void test_largeBodyExceedingBuffers() throws IOException {
+        int size = 1024 * 1024;
+        try (Response response = get("/body?size=" + size)) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.header("Content-Length")).isNull();
+            assertThat(response.header("Transfer-Encoding")).isEqualTo("chunked");
+            assertThat(response.body().string()).isEqualTo('"' + Strings.repeat("a", size) + '"');
+        }
+    }
+
+    @Test
+    public void test_serializationFailure() throws IOException {
+        try (Response response = get("/failure")) {
+            assertThat(response.code()).isEqualTo(500);
+            assertThat(response.body().string()).contains("\"errorCode\":\"INTERNAL\"");
+        }
+    }
+
+    @MustBeClosed
+    private Response get(String path) throws IOException {
+        Request request = new Request.Builder()
+                .get()
+                .url("http://localhost:" + port + path)
+                .build();
+        return client.newCall(request).execute();
+    }
+
+    private static List<Endpoint> endpoints(UndertowRuntime runtime) {
+        Serializer<Object> serializer = runtime.bodySerDe().serializer(new TypeMarker<Object>() {});
+        return List.of(
+                endpoint("/body", exchange -> {
+                    int size = Integer.parseInt(
+                            exchange.getQueryParameters().get("size").getFirst());
+                    serializer.serialize(Strings.repeat("a", size), exchange);
+                }),
+                endpoint("/failure", exchange -> serializer.serialize(new FailingValue(), exchange)));
+    }
+
+    private static Endpoint endpoint(String template, HttpHandler handler) {
+        return Endpoint.builder()
+                .handler(handler)
+                .method(Methods.GET)
+                .template(template)
+                .serviceName("BufferingService")
+                .name(template.substring(1))
+                .build();
+    }
+
+    static final class FailingValue {
+        @JsonProperty
+        public String getPrefix() {
+            return Strings.repeat("a", 1024);
+        }
+
+        @JsonProperty
+        public String getValue() {
+            throw new IllegalStateException("Failed to serialize");
+        }
+    }
+}
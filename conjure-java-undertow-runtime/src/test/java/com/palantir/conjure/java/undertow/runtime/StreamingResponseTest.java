@@ -0,0 +1,304 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.Iterables;
+import com.google.errorprone.annotations.MustBeClosed;
+import com.palantir.conjure.java.undertow.lib.Deserializer;
+import com.palantir.conjure.java.undertow.lib.Endpoint;
+import com.palantir.conjure.java.undertow.lib.StreamingSerializer;
+import com.palantir.conjure.java.undertow.lib.TypeMarker;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+import io.undertow.Undertow;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HttpString;
+import io.undertow.util.Methods;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class StreamingResponseTest {
+
+    private static final OkHttpClient client = new OkHttpClient.Builder().build();
+
+    private final AtomicBoolean streamClosed = new AtomicBoolean();
+    private final ConjureUndertowRuntime runtime =
+            ConjureUndertowRuntime.builder().streamingFlushSize(10).build();
+    // Flushes the exchange when a list is completed, which commits the response.
+    private final ConjureUndertowRuntime flushingRuntime = ConjureUndertowRuntime.builder()
+            .encodings(new FlushOnCloseEncoding(Encodings.json()))
+            .build();
+    private Undertow server;
+    private int port;
+
+    @BeforeEach
+    public void before() {
+        server = Undertow.builder()
+                .addHttpListener(0, "localhost")
+                .setHandler(ConjureHandler.builder()
+                        .runtime(runtime)
+                        .services(_runtime -> endpoints())
+                        .build())
+                .build();
+        server.start();
+        port = ((InetSocketAddress)
+                        Iterables.getOnlyElement(server.getListenerInfo()).getAddress())
+                .getPort();
+    }
+
+    @AfterEach
+    public void after() {
+        server.stop();
+    }
+
+    @Test
+    public void testStream() throws IOException {
+        try (Response response = get("/stream?size=25")) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.header("Content-Type")).isEqualTo("application/json");
+            assertThat(response.body().string()).isEqualTo(expected(25));
+        }
+        assertThat(streamClosed).isTrue();
+    }
+
+    @Test
+    public void testEmptyStream() throws IOException {
+        try (Response response = get("/stream?size=0")) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo("[]");
+        }
+        assertThat(streamClosed).isTrue();
+    }
+
+    @Test
+    public void testLargeStreamIsNotBuffered() throws IOException {
+        try (Response response = get("/stream?size=100000")) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.header("Content-Length")).isNull();
+            assertThat(response.body().string()).isEqualTo(expected(100_000));
+        }
+    }
+
+    @Test
+    public void testIterator() throws IOException {
+        try (Response response = get("/iterator?size=25")) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo(expected(25));
+        }
+    }
+
+    @Test
+    public void testFailureBeforeFirstElement() throws IOException {
+        try (Response response = get("/failing")) {
+            assertThat(response.code()).isEqualTo(500);
+            assertThat(response.body().string()).contains("\"errorCode\":\"INTERNAL\"");
+        }
+        assertThat(streamClosed).isTrue();
+    }
+
+    @Test
+    public void testStreamedRequestBody() throws IOException {
+        try (Response response = post("/echo", expected(25))) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo(expected(25));
+        }
+    }
+
+    @Test
+    public void testLargeStreamedRequestBody() throws IOException {
+        try (Response response = post("/echo", expected(100_000))) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo(expected(100_000));
+        }
+    }
+
+    @Test
+    public void testMalformedStreamedRequestBody() throws IOException {
+        try (Response response = post("/echo", "[\"element-0\",null]")) {
+            assertThat(response.code()).isEqualTo(400);
+        }
+    }
+
+    @Test
+    public void testPartiallyReadRequestBodyIsDrained() throws IOException {
+        // Both bodies exceed socket buffers, the response can only complete once the request has been drained.
+        try (Response response = post("/partial?size=1000000", expected(1_000_000))) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo(expected(1_000_000));
+        }
+    }
+
+    @MustBeClosed
+    private Response get(String path) throws IOException {
+        Request request = new Request.Builder()
+                .get()
+                .url("http://localhost:" + port + path)
+                .build();
+        return client.newCall(request).execute();
+    }
+
+    @MustBeClosed
+    private Response post(String path, String body) throws IOException {
+        Request request = new Request.Builder()
+                .post(RequestBody.create(MediaType.get("application/json"), body))
+                .url("http://localhost:" + port + path)
+                .build();
+        return client.newCall(request).execute();
+    }
+
+    private List<Endpoint> endpoints() {
+        StreamingSerializer<String> serializer = runtime.bodySerDe()
+                .streamingSerializer(new TypeMarker<String>() {}, endpoint(Methods.GET, "/stream", _exchange -> {}));
+        StreamingSerializer<String> flushingSerializer = flushingRuntime
+                .bodySerDe()
+                .streamingSerializer(new TypeMarker<String>() {}, endpoint(Methods.GET, "/failing", _exchange -> {}));
+        Deserializer<Iterator<String>> deserializer = runtime.bodySerDe()
+                .streamingDeserializer(new TypeMarker<String>() {}, endpoint(Methods.POST, "/echo", _exchange -> {}));
+        return List.of(
+                endpoint(
+                        Methods.GET,
+                        "/stream",
+                        exchange -> serializer.serialize(
+                                elements(size(exchange)).onClose(() -> streamClosed.set(true)), exchange)),
+                endpoint(
+                        Methods.GET,
+                        "/iterator",
+                        exchange ->
+                                serializer.serialize(elements(size(exchange)).iterator(), exchange)),
+                endpoint(
+                        Methods.GET,
+                        "/failing",
+                        exchange -> flushingSerializer.serialize(
+                                Stream.of("element-0")
+                                        .<String>map(_element -> {
+                                            throw new SafeIllegalStateException("Failed to produce element");
+                                        })
+                                        .onClose(() -> streamClosed.set(true)),
+                                exchange)),
+                endpoint(
+                        Methods.POST,
+                        "/echo",
+                        exchange -> serializer.serialize(deserializer.deserialize(exchange), exchange)),
+                endpoint(Methods.POST, "/partial", exchange -> {
+                    // Reads the start of the request body without consuming it.
+                    exchange.getInputStream().read();
+                    serializer.serialize(elements(size(exchange)).iterator(), exchange);
+                }));
+    }
+
+    private static int size(HttpServerExchange exchange) {
+        return Integer.parseInt(exchange.getQueryParameters().get("size").getFirst());
+    }
+
+    private static Stream<String> elements(int size) {
+        return IntStream.range(0, size).mapToObj(i -> "element-" + i);
+    }
+
+    private static String expected(int size) {
+        return elements(size).map(element -> '"' + element + '"').collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static Endpoint endpoint(HttpString method, String template, HttpHandler handler) {
+        return Endpoint.builder()
+                .handler(handler)
+                .method(method)
+                .template(template)
+                .serviceName("StreamingService")
+                .name(template.substring(1))
+                .build();
+    }
+
+    private static final class FlushOnCloseEncoding implements Encoding {
+
+        private final Encoding delegate;
+
+        FlushOnCloseEncoding(Encoding delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public <T> Serializer<T> serializer(TypeMarker<T> type) {
+            return delegate.serializer(type);
+        }
+
+        @Override
+        public <T> Deserializer<T> deserializer(TypeMarker<T> type) {
+            return delegate.deserializer(type);
+        }
+
+        @Override
+        public boolean supportsElementStreaming() {
+            return true;
+        }
+
+        @Override
+        public <T> ElementSerializer<T> elementSerializer(TypeMarker<T> elementType) {
+            ElementSerializer<T> serializer = delegate.elementSerializer(elementType);
+            return output -> {
+                StreamingSerializer.ElementWriter<T> writer = serializer.open(output);
+                return new StreamingSerializer.ElementWriter<T>() {
+                    @Override
+                    public void write(T element) throws IOException {
+                        writer.write(element);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        writer.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        writer.close();
+                        output.flush();
+                    }
+                };
+            };
+        }
+
+        @Override
+        public <T> ElementDeserializer<T> elementDeserializer(TypeMarker<T> elementType) {
+            return delegate.elementDeserializer(elementType);
+        }
+
+        @Override
+        public String getContentType() {
+            return delegate.getContentType();
+        }
+
+        @Override
+        public boolean supportsContentType(String contentType) {
+            return delegate.supportsContentType(contentType);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.conjure.java.undertow.lib.TypeMarker;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+public final class WarmUpTest {
+
+    private static final TypeMarker<String> TYPE = new TypeMarker<String>() {};
+
+    @Test
+    public void testInitializesRequestedSerializers() {
+        ConjureUndertowRuntime runtime = ConjureUndertowRuntime.builder().build();
+        runtime.bodySerDe().serializer(TYPE);
+        runtime.bodySerDe().deserializer(TYPE);
+        runtime.bodySerDe().deserializer(new TypeMarker<Integer>() {});
+
+        WarmUpResult json =
+                runtime.warmUp(WarmUp.builder().contentType("application/json").build());
+        assertThat(json.serializers()).isOne();
+        assertThat(json.deserializers()).isEqualTo(2);
+        assertThat(json.roundTrips()).isZero();
+
+        // Remaining encodings are initialized, json serializers are not initialized again
+        WarmUpResult all = runtime.warmUp(WarmUp.builder().build());
+        assertThat(all.serializers()).isEqualTo(2);
+        assertThat(all.deserializers()).isEqualTo(4);
+    }
+
+    @Test
+    public void testReleasesInitializedSerializers() throws IOException {
+        LazilyInitializedEncoding encoding = new LazilyInitializedEncoding(Encodings.json());
+        Encoding.Serializer<String> serializer = encoding.serializer(TYPE);
+        Encoding.Deserializer<String> deserializer = encoding.deserializer(TYPE);
+        encoding.deserializer(new TypeMarker<Integer>() {});
+        assertThat(encoding.pending()).isEqualTo(3);
+
+        serializer.serialize("value", new ByteArrayOutputStream());
+        assertThat(deserializer.deserialize(new ByteArrayInputStream("\"value\"".getBytes(StandardCharsets.UTF_8))))
+                .isEqualTo("value");
+        assertThat(encoding.pending()).isOne();
+
+        LazilyInitializedEncoding.Initialized initialized = encoding.initialize(MoreExecutors.directExecutor());
+        assertThat(initialized.serializers()).isZero();
+        assertThat(initialized.deserializers()).isOne();
+        assertThat(encoding.pending()).isZero();
+    }
+
+    @Test
+    public void testReleasesDroppedSerializers() throws IOException, InterruptedException {
+        LazilyInitializedEncoding encoding = new LazilyInitializedEncoding(Encodings.json());
+        Encoding.Serializer<String> serializer = encoding.serializer(TYPE);
+        encoding.deserializer(TYPE);
+
+        for (int i = 0; i < 100 && encoding.pending() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertThat(encoding.pending()).isOne();
+
+        LazilyInitializedEncoding.Initialized initialized = encoding.initialize(MoreExecutors.directExecutor());
+        assertThat(initialized.serializers()).isOne();
+        assertThat(initialized.deserializers()).isZero();
+        serializer.serialize("value", new ByteArrayOutputStream());
+    }
+
+    @Test
+    public void testRoundTrips() {
+        ConjureUndertowRuntime runtime = ConjureUndertowRuntime.builder().build();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            WarmUpResult result = runtime.warmUp(WarmUp.builder()
+                    .executor(executor)
+                    .roundTrip(TYPE, "value")
+                    .roundTrip(new TypeMarker<Integer>() {}, 1)
+                    .iterations(10)
+                    .build());
+            // Two values for each of the three default encodings
+            assertThat(result.roundTrips()).isEqualTo(6);
+            assertThat(result.duration()).isPositive();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -144,6 +144,20 @@ public final class ConjureJavaCli implements Runnable {
                         + "processing")
         private boolean undertowListenableFutures;
 
+        @CommandLine.Option(
+                names = "--undertowCompletionStages",
+                defaultValue = "false",
+                description = "Generate asynchronous Undertow endpoints which return CompletionStage instead of "
+                        + "ListenableFuture")
+        private boolean undertowCompletionStages;
+
+        @CommandLine.Option(
+                names = "--undertowPrimitiveParameters",
+                defaultValue = "false",
+                description = "Generate Undertow handlers which decode list<integer>, list<double> and list<safelong> "
+                        + "query parameters into primitive arrays")
+        private boolean undertowPrimitiveParameters;
+
         @CommandLine.Option(
                 names = "--strictObjects",
                 defaultValue = "false",
@@ -215,6 +229,25 @@ public final class ConjureJavaCli implements Runnable {
                 description = "Union visitors expose the values of unknowns in addition to their types.")
         private boolean unionsWithUnknownValues;
 
+        @CommandLine.Option(
+                names = "--experimentalStreamingCodecs",
+                defaultValue = "false",
+                description = "Objects provide codecs which read and write JSON using the jackson streaming API "
+                        + "instead of jackson databind.")
+        private boolean experimentalStreamingCodecs;
+
+        @CommandLine.Option(
+                names = "--primitiveLists",
+                defaultValue = "false",
+                description = "Object fields of type list<integer> and list<double> are backed by primitive arrays.")
+        private boolean primitiveLists;
+
+        @CommandLine.Option(
+                names = "--compactOptionals",
+                defaultValue = "false",
+                description = "Optional primitive object fields are stored without an Optional wrapper.")
+        private boolean compactOptionals;
+
         @SuppressWarnings("unused")
         @CommandLine.Unmatched
         private List<String> unmatchedOptions;
@@ -273,6 +306,8 @@ public final class ConjureJavaCli implements Runnable {
                             .undertowServicePrefix(undertowServicePrefix)
                             .useImmutableBytes(useImmutableBytes)
                             .undertowListenableFutures(undertowListenableFutures)
+                            .undertowCompletionStages(undertowCompletionStages)
+                            .undertowPrimitiveParameters(undertowPrimitiveParameters)
                             .experimentalUndertowAsyncMarkers(experimentalUndertowAsyncMarkers)
                             .jakartaPackages(jakartaPackages)
                             .strictObjects(strictObjects)
@@ -284,6 +319,9 @@ public final class ConjureJavaCli implements Runnable {
                             .excludeEmptyOptionals(excludeEmptyOptionals)
                             .excludeEmptyCollections(excludeEmptyCollections)
                             .unionsWithUnknownValues(unionsWithUnknownValues)
+                            .experimentalStreamingCodecs(experimentalStreamingCodecs)
+                            .primitiveLists(primitiveLists)
+                            .compactOptionals(compactOptionals)
                             .build())
                     .build();
         }
@@ -0,0 +1,309 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.palantir.conjure.java.lib.internal.StreamingCodecs;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeUnsupportedOperationException;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A {@link java.util.List} of integers backed by an {@code int[]}, avoiding a boxed {@link Integer} per element.
+ * Methods inherited from {@link java.util.List} box their values; {@link #getInt}, {@link #addInt} and
+ * {@link #toIntArray} do not. Null elements are not permitted. Serialized as a JSON array of numbers.
+ */
+@JsonSerialize(using = IntegerList.Serializer.class)
+@JsonDeserialize(using = IntegerList.Deserializer.class)
+public final class IntegerList extends AbstractList<Integer> implements RandomAccess {
+
+    private static final int[] EMPTY = new int[0];
+    private static final int MIN_CAPACITY = 10;
+
+    private final boolean mutable;
+    private int[] values;
+    private int size;
+
+    public IntegerList() {
+        this(EMPTY, 0, true);
+    }
+
+    public IntegerList(int initialCapacity) {
+        this(new int[checkCapacity(initialCapacity)], 0, true);
+    }
+
+    private IntegerList(int[] values, int size, boolean mutable) {
+        this.values = values;
+        this.size = size;
+        this.mutable = mutable;
+    }
+
+    /** Returns a new mutable list containing {@code values}. */
+    public static IntegerList of(int... values) {
+        return new IntegerList(values.clone(), values.length, true);
+    }
+
+    /**
+     * Returns an unmodifiable list sharing the storage of {@code list}, without copying its elements. The
+     * {@code list} must not be modified afterwards.
+     */
+    public static IntegerList unmodifiable(IntegerList list) {
+        Preconditions.checkNotNull(list, "list is required");
+        return list.mutable ? new IntegerList(list.values, list.size, false) : list;
+    }
+
+    /**
+     * Returns an unmodifiable list backed by {@code values}, without copying them. The {@code values} must not be
+     * modified afterwards.
+     */
+    public static IntegerList unmodifiable(int[] values) {
+        Preconditions.checkNotNull(values, "values is required");
+        return new IntegerList(values, values.length, false);
+    }
+
+    /** Returns the element at {@code index} without boxing. */
+    public int getInt(int index) {
+        Objects.checkIndex(index, size);
+        return values[index];
+    }
+
+    /** Replaces the element at {@code index} without boxing, returning the previous element. */
+    public int setInt(int index, int value) {
+        checkMutable();
+        Objects.checkIndex(index, size);
+        int previous = values[index];
+        values[index] = value;
+        return previous;
+    }
+
+    /** Appends {@code value} without boxing. */
+    public void addInt(int value) {
+        checkMutable();
+        modCount++;
+        if (size == values.length) {
+            grow(size + 1);
+        }
+        values[size++] = value;
+    }
+
+    /** Returns a copy of the elements of this list. */
+    public int[] toIntArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public Integer set(int index, Integer element) {
+        return setInt(index, checkElement(element));
+    }
+
+    @Override
+    public boolean add(Integer element) {
+        addInt(checkElement(element));
+        return true;
+    }
+
+    @Override
+    public void add(int index, Integer element) {
+        checkMutable();
+        Objects.checkIndex(index, size + 1);
+        int value = checkElement(element);
+        modCount++;
+        if (size == values.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Integer> elements) {
+        if (!(elements instanceof IntegerList)) {
+            return super.addAll(elements);
+        }
+        checkMutable();
+        IntegerList other = (IntegerList) elements;
+        int count = other.size;
+        if (count == 0) {
+            return false;
+        }
+        modCount++;
+        if (size + count > values.length) {
+            grow(size + count);
+        }
+        System.arraycopy(other.values, 0, values, size, count);
+        size += count;
+        return true;
+    }
+
+    @Override
+    public Integer remove(int index) {
+        checkMutable();
+        Objects.checkIndex(index, size);
+        modCount++;
+        int previous = values[index];
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return previous;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        checkMutable();
+        modCount++;
+        System.arraycopy(values, toIndex, values, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+    }
+
+    @Override
+    public void clear() {
+        checkMutable();
+        modCount++;
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int indexOf(Object element) {
+        if (element instanceof Integer) {
+            int value = (Integer) element;
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object element) {
+        if (element instanceof Integer) {
+            int value = (Integer) element;
+            for (int i = size - 1; i >= 0; i--) {
+                if (values[i] == value) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return indexOf(element) >= 0;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof IntegerList) {
+            IntegerList that = (IntegerList) other;
+            return Arrays.equals(values, 0, size, that.values, 0, that.size);
+        }
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + Integer.hashCode(values[i]);
+        }
+        return hash;
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(Math.max(minCapacity, values.length + (values.length >> 1)), MIN_CAPACITY);
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    private void checkMutable() {
+        if (!mutable) {
+            throw new SafeUnsupportedOperationException("IntegerList is unmodifiable");
+        }
+    }
+
+    private static int checkElement(Integer element) {
+        return Preconditions.checkNotNull(element, "IntegerList elements cannot be null");
+    }
+
+    private static int checkCapacity(int initialCapacity) {
+        Preconditions.checkArgument(
+                initialCapacity >= 0,
+                "initialCapacity must not be negative",
+                SafeArg.of("initialCapacity", initialCapacity));
+        return initialCapacity;
+    }
+
+    static final class Serializer extends StdSerializer<IntegerList> {
+        Serializer() {
+            super(IntegerList.class);
+        }
+
+        @Override
+        public void serialize(IntegerList value, JsonGenerator generator, SerializerProvider _provider)
+                throws IOException {
+            StreamingCodecs.integerLists().serialize(value, generator);
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider _provider, IntegerList value) {
+            return value.isEmpty();
+        }
+    }
+
+    static final class Deserializer extends StdDeserializer<IntegerList> {
+        Deserializer() {
+            super(IntegerList.class);
+        }
+
+        @Override
+        public IntegerList deserialize(JsonParser parser, DeserializationContext _context) throws IOException {
+            return StreamingCodecs.integerLists().deserialize(parser);
+        }
+
+        @Override
+        public Object getEmptyValue(DeserializationContext _context) {
+            return new IntegerList();
+        }
+    }
+}
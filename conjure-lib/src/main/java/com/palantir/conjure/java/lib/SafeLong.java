@@ -49,6 +49,9 @@ public abstract class SafeLong implements Comparable<SafeLong> {
 
     @JsonCreator
     public static SafeLong of(long value) {
+        if (value >= Cache.LOW && value <= Cache.HIGH) {
+            return Cache.VALUES[(int) (value - Cache.LOW)];
+        }
         return ImmutableSafeLong.of(value);
     }
 
@@ -61,4 +64,22 @@ public abstract class SafeLong implements Comparable<SafeLong> {
     public final int compareTo(SafeLong other) {
         return Long.compare(longValue(), other.longValue());
     }
+
+    /**
+     * Shared instances for small values, which are common in ids, counts and page sizes. Held in a separate class so
+     * that initialization does not depend on the order of the {@link SafeLong} static fields.
+     */
+    private static final class Cache {
+        private static final int LOW = -128;
+        private static final int HIGH = 1023;
+        private static final SafeLong[] VALUES = new SafeLong[HIGH - LOW + 1];
+
+        static {
+            for (int i = 0; i < VALUES.length; i++) {
+                VALUES[i] = ImmutableSafeLong.of(i + LOW);
+            }
+        }
+
+        private Cache() {}
+    }
 }
@@ -16,10 +16,16 @@
 
 package com.palantir.conjure.java.lib.internal;
 
+import com.palantir.conjure.java.lib.DoubleList;
+import com.palantir.conjure.java.lib.IntegerList;
+import com.palantir.conjure.java.lib.SafeLong;
 import com.palantir.logsafe.Preconditions;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.RandomAccess;
 
 /**
  * Utility functions for conjure. Consumers should prefer to use something like guava instead of using these functions
@@ -70,4 +76,45 @@ public final class ConjureCollections {
         }
         return set;
     }
+
+    public static IntegerList newIntegerList(Iterable<? extends Integer> iterable) {
+        Preconditions.checkNotNull(iterable, "iterable cannot be null");
+        IntegerList list = new IntegerList();
+        addAll(list, iterable);
+        return list;
+    }
+
+    public static DoubleList newDoubleList(Iterable<? extends Double> iterable) {
+        Preconditions.checkNotNull(iterable, "iterable cannot be null");
+        DoubleList list = new DoubleList();
+        addAll(list, iterable);
+        return list;
+    }
+
+    /**
+     * Returns an unmodifiable list backed by {@code values}, which creates each {@link SafeLong} as it is read. The
+     * {@code values} must be valid safelongs, and must not be modified afterwards.
+     */
+    public static List<SafeLong> unmodifiableSafeLongList(long[] values) {
+        Preconditions.checkNotNull(values, "values cannot be null");
+        return new SafeLongArrayList(values);
+    }
+
+    private static final class SafeLongArrayList extends AbstractList<SafeLong> implements RandomAccess {
+        private final long[] values;
+
+        SafeLongArrayList(long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public SafeLong get(int index) {
+            return SafeLong.of(values[index]);
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import com.palantir.logsafe.Preconditions;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Case-insensitive lookup of conjure enum values by name, used by the {@code valueOf} method of generated enums.
+ *
+ * <p>Known values are found in a precomputed open-addressed table without allocating: the hash of the upper-cased
+ * input is computed while folding ASCII characters, and candidates are compared in place. Inputs containing non-ASCII
+ * characters fall back to {@link String#toUpperCase(Locale)}, which preserves the exact behaviour of upper-casing the
+ * input before matching. Unknown values are upper-cased and cached, up to a bound, so that repeated unknown values
+ * resolve to a canonical instance.
+ */
+public final class EnumLookup<T> {
+
+    private static final int MAX_CACHED_UNKNOWN_VALUES = 128;
+    private static final int MAX_CACHED_UNKNOWN_LENGTH = 64;
+
+    private final String[] names;
+    private final int[] hashes;
+    private final Object[] values;
+    private final int mask;
+    private final Function<String, T> unknownFactory;
+    private final Map<String, T> unknownValues = new ConcurrentHashMap<>();
+
+    private EnumLookup(List<T> knownValues, Function<String, T> unknownFactory) {
+        int capacity = Integer.highestOneBit(Math.max(knownValues.size(), 1) * 2 - 1) << 1;
+        this.names = new String[capacity];
+        this.hashes = new int[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.unknownFactory = unknownFactory;
+        for (T value : knownValues) {
+            String name = value.toString();
+            // names which are not upper-case can never match an upper-cased input
+            if (name.equals(name.toUpperCase(Locale.ROOT)) && find(name, name.hashCode(), false) < 0) {
+                int slot = spread(name.hashCode()) & mask;
+                while (names[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                names[slot] = name;
+                hashes[slot] = name.hashCode();
+                values[slot] = value;
+            }
+        }
+    }
+
+    /**
+     * Creates a lookup over the given known values, named by their {@link Object#toString()}. Unrecognized names are
+     * passed to {@code unknownFactory} after being upper-cased.
+     */
+    public static <T> EnumLookup<T> of(List<T> knownValues, Function<String, T> unknownFactory) {
+        Preconditions.checkNotNull(knownValues, "knownValues cannot be null");
+        Preconditions.checkNotNull(unknownFactory, "unknownFactory cannot be null");
+        return new EnumLookup<>(knownValues, unknownFactory);
+    }
+
+    /** Returns the value whose name equals {@code name} upper-cased using {@link Locale#ROOT}. */
+    @SuppressWarnings("unchecked")
+    public T valueOf(String name) {
+        int hash = 0;
+        int length = name.length();
+        for (int i = 0; i < length; i++) {
+            char character = name.charAt(i);
+            if (character >= 0x80) {
+                return valueOfUpperCased(name.toUpperCase(Locale.ROOT));
+            }
+            hash = 31 * hash + ((character >= 'a' && character <= 'z') ? character - ('a' - 'A') : character);
+        }
+        int slot = find(name, hash, true);
+        return slot >= 0 ? (T) values[slot] : unknown(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T valueOfUpperCased(String upperCased) {
+        int slot = find(upperCased, upperCased.hashCode(), false);
+        return slot >= 0 ? (T) values[slot] : unknown(upperCased);
+    }
+
+    private T unknown(String name) {
+        T cached = unknownValues.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        T value = unknownFactory.apply(name.toUpperCase(Locale.ROOT));
+        if (name.length() <= MAX_CACHED_UNKNOWN_LENGTH && unknownValues.size() < MAX_CACHED_UNKNOWN_VALUES) {
+            T existing = unknownValues.putIfAbsent(name, value);
+            return existing != null ? existing : value;
+        }
+        return value;
+    }
+
+    private int find(String name, int hash, boolean ignoreAsciiCase) {
+        for (int slot = spread(hash) & mask; names[slot] != null; slot = (slot + 1) & mask) {
+            String candidate = names[slot];
+            if (hashes[slot] == hash
+                    && candidate.length() == name.length()
+                    && candidate.regionMatches(ignoreAsciiCase, 0, name, 0, name.length())) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private static int spread(int hash) {
+        int mixed = hash * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import java.io.IOException;
+
+/**
+ * Reads and writes values of a single type directly against the jackson streaming API, without going through
+ * databind introspection. Implementations are generated alongside conjure types when streaming codecs are enabled,
+ * and are composed using the factories in {@link StreamingCodecs}.
+ */
+public interface StreamingCodec<T> {
+
+    /** Writes {@code value}, which must not be null, as the next value of the {@code generator}. */
+    void serialize(T value, JsonGenerator generator) throws IOException;
+
+    /**
+     * Reads a value starting at the current token of the {@code parser}, leaving the parser positioned at the last
+     * token of the value, matching the contract of jackson {@code JsonDeserializer} implementations.
+     */
+    T deserialize(JsonParser parser) throws IOException;
+
+    /**
+     * Returns true if {@code value} is empty in the sense of {@code JsonInclude.Include.NON_EMPTY}, allowing codecs
+     * to omit empty optional and collection fields.
+     */
+    default boolean isEmpty(T _value) {
+        return false;
+    }
+}
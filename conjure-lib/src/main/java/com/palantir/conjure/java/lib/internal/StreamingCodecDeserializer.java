@@ -0,0 +1,42 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import java.io.IOException;
+
+/**
+ * Jackson deserializer which reads values using a {@link StreamingCodec}. Generated types extend this with a nested
+ * no-arg subclass referenced from {@code @JsonDeserialize(using = ...)}, replacing databind introspection and
+ * polymorphic type handling.
+ */
+public abstract class StreamingCodecDeserializer<T> extends StdDeserializer<T> {
+
+    private final StreamingCodec<T> codec;
+
+    protected StreamingCodecDeserializer(Class<T> type, StreamingCodec<T> codec) {
+        super(type);
+        this.codec = codec;
+    }
+
+    @Override
+    public final T deserialize(JsonParser parser, DeserializationContext _context) throws IOException {
+        return codec.deserialize(parser);
+    }
+}
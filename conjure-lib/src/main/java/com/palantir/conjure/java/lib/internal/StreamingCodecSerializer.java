@@ -0,0 +1,47 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+/**
+ * Jackson serializer which writes values using a {@link StreamingCodec}. Generated types extend this with a nested
+ * no-arg subclass referenced from {@code @JsonSerialize(using = ...)}, so that databind writes them without
+ * introspection.
+ */
+public abstract class StreamingCodecSerializer<T> extends StdSerializer<T> {
+
+    private final StreamingCodec<T> codec;
+
+    protected StreamingCodecSerializer(Class<T> type, StreamingCodec<T> codec) {
+        super(type);
+        this.codec = codec;
+    }
+
+    @Override
+    public final void serialize(T value, JsonGenerator generator, SerializerProvider _provider) throws IOException {
+        codec.serialize(value, generator);
+    }
+
+    @Override
+    public final boolean isEmpty(SerializerProvider _provider, T value) {
+        return value == null || codec.isEmpty(value);
+    }
+}
@@ -0,0 +1,740 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.palantir.conjure.java.lib.DoubleList;
+import com.palantir.conjure.java.lib.IntegerList;
+import com.palantir.conjure.java.lib.SafeLong;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.ri.ResourceIdentifier;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Building blocks for generated {@link StreamingCodec} implementations. Values which have no streaming
+ * representation are delegated to the {@link ObjectCodec} of the parser or generator, so both must be created by an
+ * {@link ObjectMapper}, for example using {@code mapper.getFactory().createParser(input)}.
+ */
+public final class StreamingCodecs {
+
+    private static final String UNION_TYPE_FIELD = "type";
+
+    private StreamingCodecs() {
+        // cannot instantiate
+    }
+
+    /** Reads a conjure {@code string}, returning null for a JSON null. */
+    public static String readString(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        throw mismatch(parser, String.class);
+    }
+
+    /** Reads a conjure {@code integer}. Strings and floating point values are not coerced. */
+    public static int readInteger(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        throw mismatch(parser, int.class);
+    }
+
+    /** Reads a conjure {@code double}, including the {@code "NaN"} and {@code "[-]Infinity"} string forms. */
+    public static double readDouble(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getDoubleValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            switch (parser.getText()) {
+                case "NaN":
+                    return Double.NaN;
+                case "Infinity":
+                    return Double.POSITIVE_INFINITY;
+                case "-Infinity":
+                    return Double.NEGATIVE_INFINITY;
+                default:
+                    // fall through to the mismatch
+            }
+        }
+        throw mismatch(parser, double.class);
+    }
+
+    /** Reads a conjure {@code boolean}. */
+    public static boolean readBoolean(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_TRUE) {
+            return true;
+        }
+        if (token == JsonToken.VALUE_FALSE) {
+            return false;
+        }
+        throw mismatch(parser, boolean.class);
+    }
+
+    /** Reads a conjure {@code safelong}, accepting the string form for parity with the conjure object mappers. */
+    public static SafeLong readSafeLong(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return SafeLong.of(parser.getLongValue());
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            return SafeLong.valueOf(parser.getText());
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        throw mismatch(parser, SafeLong.class);
+    }
+
+    /** Reads a conjure {@code uuid}, returning null for a JSON null. */
+    public static UUID readUuid(JsonParser parser) throws IOException {
+        String value = readString(parser);
+        return value == null ? null : UUID.fromString(value);
+    }
+
+    /** Reads a conjure {@code rid}, returning null for a JSON null. */
+    public static ResourceIdentifier readResourceIdentifier(JsonParser parser) throws IOException {
+        String value = readString(parser);
+        return value == null ? null : ResourceIdentifier.valueOf(value);
+    }
+
+    /** Fails unless the current token of the {@code parser} is {@code expected}. */
+    public static void expect(JsonParser parser, JsonToken expected, Class<?> type) throws IOException {
+        if (parser.currentToken() != expected) {
+            throw MismatchedInputException.from(
+                    parser,
+                    type,
+                    "Unexpected token (" + parser.currentToken() + "), expected " + expected + " for "
+                            + type.getSimpleName());
+        }
+    }
+
+    /**
+     * Handles a field which is not known to a strict object, failing only if the parser's object mapper is
+     * configured with {@link DeserializationFeature#FAIL_ON_UNKNOWN_PROPERTIES}. The parser must be positioned on
+     * the value of the field.
+     */
+    public static void unknownField(JsonParser parser, Class<?> type, String field) throws IOException {
+        ObjectCodec codec = parser.getCodec();
+        if (codec instanceof ObjectMapper
+                && ((ObjectMapper) codec).isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)) {
+            throw UnrecognizedPropertyException.from(parser, type, field, null);
+        }
+        parser.skipChildren();
+    }
+
+    /**
+     * Positions a parser on the {@code type} value of the union object beginning at the current token. Returns the
+     * given parser when {@code type} is the first field, otherwise the remaining fields are buffered and a parser
+     * over the reordered object is returned. In both cases the remaining fields should be read from the returned
+     * parser, and the original parser is left on the last token of the union.
+     */
+    public static JsonParser readUnionType(JsonParser parser, Class<?> type) throws IOException {
+        expect(parser, JsonToken.START_OBJECT, type);
+        if (parser.nextToken() == JsonToken.FIELD_NAME && UNION_TYPE_FIELD.equals(parser.getCurrentName())) {
+            parser.nextToken();
+            expectDiscriminator(parser, type);
+            return parser;
+        }
+
+        TokenBuffer fields = new TokenBuffer(parser);
+        String discriminator = null;
+        for (JsonToken token = parser.currentToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (discriminator == null && UNION_TYPE_FIELD.equals(field)) {
+                expectDiscriminator(parser, type);
+                discriminator = parser.getText();
+            } else {
+                fields.writeFieldName(field);
+                fields.copyCurrentStructure(parser);
+            }
+        }
+        if (discriminator == null) {
+            throw MismatchedInputException.from(
+                    parser, type, "Missing union discriminator 'type' for " + type.getSimpleName());
+        }
+
+        TokenBuffer reordered = new TokenBuffer(parser);
+        reordered.writeStartObject();
+        reordered.writeStringField(UNION_TYPE_FIELD, discriminator);
+        reordered.append(fields);
+        reordered.writeEndObject();
+        JsonParser reorderedParser = reordered.asParser(parser.getCodec());
+        // START_OBJECT, FIELD_NAME and finally the discriminator value
+        reorderedParser.nextToken();
+        reorderedParser.nextToken();
+        reorderedParser.nextToken();
+        return reorderedParser;
+    }
+
+    /** Accepts any scalar discriminator, which like jackson type ids is read as text. */
+    private static void expectDiscriminator(JsonParser parser, Class<?> type) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null || !token.isScalarValue() || token == JsonToken.VALUE_NULL) {
+            throw MismatchedInputException.from(
+                    parser,
+                    type,
+                    "Unexpected token (" + token + "), expected union discriminator 'type' for "
+                            + type.getSimpleName());
+        }
+    }
+
+    /**
+     * Reads the remaining fields of a union object positioned by {@link #readUnionType}, returning the value of the
+     * {@code member} field. An absent member is read as a JSON null, so that optional members default to empty, and
+     * members without a value are rejected.
+     */
+    public static <T> T readUnionValue(JsonParser parser, String member, StreamingCodec<T> codec) throws IOException {
+        T value = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (member.equals(field)) {
+                value = codec.deserialize(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (value == null) {
+            TokenBuffer absent = new TokenBuffer(parser);
+            absent.writeNull();
+            JsonParser absentParser = absent.asParser(parser.getCodec());
+            absentParser.nextToken();
+            value = codec.deserialize(absentParser);
+        }
+        if (value == null) {
+            throw MismatchedInputException.from(parser, (Class<?>) null, "Missing union value '" + member + "'");
+        }
+        return value;
+    }
+
+    /** Reads the remaining fields of a union object with an unknown type, positioned by {@link #readUnionType}. */
+    public static Map<String, Object> readUnknownUnionValues(JsonParser parser) throws IOException {
+        Map<String, Object> values = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            values.put(field, parser.readValueAs(Object.class));
+        }
+        return values;
+    }
+
+    /** Writes a union object with an unknown type, equivalent to the jackson representation of unknown unions. */
+    public static void writeUnknownUnion(JsonGenerator generator, String type, Map<String, Object> values)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField(UNION_TYPE_FIELD, type);
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            generator.writeFieldName(entry.getKey());
+            generator.writeObject(entry.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    public static StreamingCodec<String> strings() {
+        return StringCodec.INSTANCE;
+    }
+
+    public static StreamingCodec<Integer> integers() {
+        return IntegerCodec.INSTANCE;
+    }
+
+    public static StreamingCodec<Double> doubles() {
+        return DoubleCodec.INSTANCE;
+    }
+
+    public static StreamingCodec<Boolean> booleans() {
+        return BooleanCodec.INSTANCE;
+    }
+
+    public static StreamingCodec<SafeLong> safeLongs() {
+        return SafeLongCodec.INSTANCE;
+    }
+
+    public static StreamingCodec<UUID> uuids() {
+        return UuidCodec.INSTANCE;
+    }
+
+    public static StreamingCodec<ResourceIdentifier> resourceIdentifiers() {
+        return ResourceIdentifierCodec.INSTANCE;
+    }
+
+    public static StreamingCodec<OptionalInt> optionalInts() {
+        return OptionalIntCodec.INSTANCE;
+    }
+
+    public static StreamingCodec<OptionalDouble> optionalDoubles() {
+        return OptionalDoubleCodec.INSTANCE;
+    }
+
+    /** An {@link IntegerList} which reads JSON null as an empty list. Elements are never boxed. */
+    public static StreamingCodec<IntegerList> integerLists() {
+        return IntegerListCodec.INSTANCE;
+    }
+
+    /** A {@link DoubleList} which reads JSON null as an empty list. Elements are never boxed. */
+    public static StreamingCodec<DoubleList> doubleLists() {
+        return DoubleListCodec.INSTANCE;
+    }
+
+    /** Delegates to the jackson databind representation of {@code type}. */
+    public static <T> StreamingCodec<T> databind(TypeReference<T> type) {
+        return new DatabindCodec<>(type);
+    }
+
+    /** Rejects JSON null values which the {@code delegate} would otherwise accept. */
+    public static <T> StreamingCodec<T> nonNull(StreamingCodec<T> delegate) {
+        return new NonNullCodec<>(delegate);
+    }
+
+    /** An optional value, written as JSON null when empty. */
+    public static <T> StreamingCodec<Optional<T>> optional(StreamingCodec<T> values) {
+        return new OptionalCodec<>(values);
+    }
+
+    /** A list which reads JSON null as an empty list. */
+    public static <T> StreamingCodec<List<T>> list(StreamingCodec<T> elements) {
+        return new CollectionCodec<List<T>, T>(elements) {
+            @Override
+            List<T> newCollection() {
+                return new ArrayList<>();
+            }
+        };
+    }
+
+    /** A set which reads JSON null as an empty set. */
+    public static <T> StreamingCodec<Set<T>> set(StreamingCodec<T> elements) {
+        return new CollectionCodec<Set<T>, T>(elements) {
+            @Override
+            Set<T> newCollection() {
+                return new LinkedHashSet<>();
+            }
+        };
+    }
+
+    /**
+     * A map which reads JSON null as an empty map. Keys are written using {@link Object#toString()} and read using
+     * the {@code keys} function.
+     */
+    public static <K, V> StreamingCodec<Map<K, V>> map(Function<String, K> keys, StreamingCodec<V> values) {
+        return new MapCodec<>(keys, values);
+    }
+
+    private static MismatchedInputException mismatch(JsonParser parser, Class<?> type) {
+        return MismatchedInputException.from(
+                parser, type, "Unexpected token (" + parser.currentToken() + ") for " + type.getSimpleName());
+    }
+
+    private static <T> void writeNullable(StreamingCodec<T> codec, T value, JsonGenerator generator)
+            throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            codec.serialize(value, generator);
+        }
+    }
+
+    private enum StringCodec implements StreamingCodec<String> {
+        INSTANCE;
+
+        @Override
+        public void serialize(String value, JsonGenerator generator) throws IOException {
+            generator.writeString(value);
+        }
+
+        @Override
+        public String deserialize(JsonParser parser) throws IOException {
+            return readString(parser);
+        }
+    }
+
+    private enum IntegerCodec implements StreamingCodec<Integer> {
+        INSTANCE;
+
+        @Override
+        public void serialize(Integer value, JsonGenerator generator) throws IOException {
+            generator.writeNumber(value);
+        }
+
+        @Override
+        public Integer deserialize(JsonParser parser) throws IOException {
+            return parser.currentToken() == JsonToken.VALUE_NULL ? null : readInteger(parser);
+        }
+    }
+
+    private enum DoubleCodec implements StreamingCodec<Double> {
+        INSTANCE;
+
+        @Override
+        public void serialize(Double value, JsonGenerator generator) throws IOException {
+            generator.writeNumber(value);
+        }
+
+        @Override
+        public Double deserialize(JsonParser parser) throws IOException {
+            return parser.currentToken() == JsonToken.VALUE_NULL ? null : readDouble(parser);
+        }
+    }
+
+    private enum BooleanCodec implements StreamingCodec<Boolean> {
+        INSTANCE;
+
+        @Override
+        public void serialize(Boolean value, JsonGenerator generator) throws IOException {
+            generator.writeBoolean(value);
+        }
+
+        @Override
+        public Boolean deserialize(JsonParser parser) throws IOException {
+            return parser.currentToken() == JsonToken.VALUE_NULL ? null : readBoolean(parser);
+        }
+    }
+
+    private enum SafeLongCodec implements StreamingCodec<SafeLong> {
+        INSTANCE;
+
+        @Override
+        public void serialize(SafeLong value, JsonGenerator generator) throws IOException {
+            generator.writeNumber(value.longValue());
+        }
+
+        @Override
+        public SafeLong deserialize(JsonParser parser) throws IOException {
+            return readSafeLong(parser);
+        }
+    }
+
+    private enum UuidCodec implements StreamingCodec<UUID> {
+        INSTANCE;
+
+        @Override
+        public void serialize(UUID value, JsonGenerator generator) throws IOException {
+            generator.writeString(value.toString());
+        }
+
+        @Override
+        public UUID deserialize(JsonParser parser) throws IOException {
+            return readUuid(parser);
+        }
+    }
+
+    private enum ResourceIdentifierCodec implements StreamingCodec<ResourceIdentifier> {
+        INSTANCE;
+
+        @Override
+        public void serialize(ResourceIdentifier value, JsonGenerator generator) throws IOException {
+            generator.writeString(value.toString());
+        }
+
+        @Override
+        public ResourceIdentifier deserialize(JsonParser parser) throws IOException {
+            return readResourceIdentifier(parser);
+        }
+    }
+
+    private enum OptionalIntCodec implements StreamingCodec<OptionalInt> {
+        INSTANCE;
+
+        @Override
+        public void serialize(OptionalInt value, JsonGenerator generator) throws IOException {
+            if (value.isPresent()) {
+                generator.writeNumber(value.getAsInt());
+            } else {
+                generator.writeNull();
+            }
+        }
+
+        @Override
+        public OptionalInt deserialize(JsonParser parser) throws IOException {
+            return parser.currentToken() == JsonToken.VALUE_NULL
+                    ? OptionalInt.empty()
+                    : OptionalInt.of(readInteger(parser));
+        }
+
+        @Override
+        public boolean isEmpty(OptionalInt value) {
+            return !value.isPresent();
+        }
+    }
+
+    private enum OptionalDoubleCodec implements StreamingCodec<OptionalDouble> {
+        INSTANCE;
+
+        @Override
+        public void serialize(OptionalDouble value, JsonGenerator generator) throws IOException {
+            if (value.isPresent()) {
+                generator.writeNumber(value.getAsDouble());
+            } else {
+                generator.writeNull();
+            }
+        }
+
+        @Override
+        public OptionalDouble deserialize(JsonParser parser) throws IOException {
+            return parser.currentToken() == JsonToken.VALUE_NULL
+                    ? OptionalDouble.empty()
+                    : OptionalDouble.of(readDouble(parser));
+        }
+
+        @Override
+        public boolean isEmpty(OptionalDouble value) {
+            return !value.isPresent();
+        }
+    }
+
+    private enum IntegerListCodec implements StreamingCodec<IntegerList> {
+        INSTANCE;
+
+        @Override
+        public void serialize(IntegerList value, JsonGenerator generator) throws IOException {
+            int size = value.size();
+            generator.writeStartArray(value, size);
+            for (int i = 0; i < size; i++) {
+                generator.writeNumber(value.getInt(i));
+            }
+            generator.writeEndArray();
+        }
+
+        @Override
+        public IntegerList deserialize(JsonParser parser) throws IOException {
+            IntegerList list = new IntegerList();
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                return list;
+            }
+            expect(parser, JsonToken.START_ARRAY, IntegerList.class);
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                list.addInt(readInteger(parser));
+            }
+            return list;
+        }
+
+        @Override
+        public boolean isEmpty(IntegerList value) {
+            return value.isEmpty();
+        }
+    }
+
+    private enum DoubleListCodec implements StreamingCodec<DoubleList> {
+        INSTANCE;
+
+        @Override
+        public void serialize(DoubleList value, JsonGenerator generator) throws IOException {
+            int size = value.size();
+            generator.writeStartArray(value, size);
+            for (int i = 0; i < size; i++) {
+                generator.writeNumber(value.getDouble(i));
+            }
+            generator.writeEndArray();
+        }
+
+        @Override
+        public DoubleList deserialize(JsonParser parser) throws IOException {
+            DoubleList list = new DoubleList();
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                return list;
+            }
+            expect(parser, JsonToken.START_ARRAY, DoubleList.class);
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                list.addDouble(readDouble(parser));
+            }
+            return list;
+        }
+
+        @Override
+        public boolean isEmpty(DoubleList value) {
+            return value.isEmpty();
+        }
+    }
+
+    private static final class DatabindCodec<T> implements StreamingCodec<T> {
+        private final TypeReference<T> type;
+
+        private DatabindCodec(TypeReference<T> type) {
+            this.type = Preconditions.checkNotNull(type, "type is required");
+        }
+
+        @Override
+        public void serialize(T value, JsonGenerator generator) throws IOException {
+            generator.writeObject(value);
+        }
+
+        @Override
+        public T deserialize(JsonParser parser) throws IOException {
+            return parser.readValueAs(type);
+        }
+    }
+
+    private static final class NonNullCodec<T> implements StreamingCodec<T> {
+        private final StreamingCodec<T> delegate;
+
+        private NonNullCodec(StreamingCodec<T> delegate) {
+            this.delegate = Preconditions.checkNotNull(delegate, "delegate is required");
+        }
+
+        @Override
+        public void serialize(T value, JsonGenerator generator) throws IOException {
+            delegate.serialize(value, generator);
+        }
+
+        @Override
+        public T deserialize(JsonParser parser) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                throw MismatchedInputException.from(parser, Object.class, "Unexpected null value");
+            }
+            return delegate.deserialize(parser);
+        }
+
+        @Override
+        public boolean isEmpty(T value) {
+            return delegate.isEmpty(value);
+        }
+    }
+
+    private static final class OptionalCodec<T> implements StreamingCodec<Optional<T>> {
+        private final StreamingCodec<T> values;
+
+        private OptionalCodec(StreamingCodec<T> values) {
+            this.values = Preconditions.checkNotNull(values, "values is required");
+        }
+
+        @Override
+        public void serialize(Optional<T> value, JsonGenerator generator) throws IOException {
+            if (value.isPresent()) {
+                values.serialize(value.get(), generator);
+            } else {
+                generator.writeNull();
+            }
+        }
+
+        @Override
+        public Optional<T> deserialize(JsonParser parser) throws IOException {
+            return parser.currentToken() == JsonToken.VALUE_NULL
+                    ? Optional.empty()
+                    : Optional.ofNullable(values.deserialize(parser));
+        }
+
+        @Override
+        public boolean isEmpty(Optional<T> value) {
+            return !value.isPresent();
+        }
+    }
+
+    private abstract static class CollectionCodec<C extends Collection<T>, T> implements StreamingCodec<C> {
+        private final StreamingCodec<T> elements;
+
+        CollectionCodec(StreamingCodec<T> elements) {
+            this.elements = Preconditions.checkNotNull(elements, "elements is required");
+        }
+
+        abstract C newCollection();
+
+        @Override
+        public final void serialize(C value, JsonGenerator generator) throws IOException {
+            generator.writeStartArray();
+            for (T element : value) {
+                writeNullable(elements, element, generator);
+            }
+            generator.writeEndArray();
+        }
+
+        @Override
+        public final C deserialize(JsonParser parser) throws IOException {
+            C collection = newCollection();
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                return collection;
+            }
+            expect(parser, JsonToken.START_ARRAY, Collection.class);
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                collection.add(elements.deserialize(parser));
+            }
+            return collection;
+        }
+
+        @Override
+        public final boolean isEmpty(C value) {
+            return value.isEmpty();
+        }
+    }
+
+    private static final class MapCodec<K, V> implements StreamingCodec<Map<K, V>> {
+        private final Function<String, K> keys;
+        private final StreamingCodec<V> values;
+
+        private MapCodec(Function<String, K> keys, StreamingCodec<V> values) {
+            this.keys = Preconditions.checkNotNull(keys, "keys is required");
+            this.values = Preconditions.checkNotNull(values, "values is required");
+        }
+
+        @Override
+        public void serialize(Map<K, V> value, JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            for (Map.Entry<K, V> entry : value.entrySet()) {
+                generator.writeFieldName(entry.getKey().toString());
+                writeNullable(values, entry.getValue(), generator);
+            }
+            generator.writeEndObject();
+        }
+
+        @Override
+        public Map<K, V> deserialize(JsonParser parser) throws IOException {
+            Map<K, V> map = new LinkedHashMap<>();
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                return map;
+            }
+            expect(parser, JsonToken.START_OBJECT, Map.class);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                K key = keys.apply(parser.getCurrentName());
+                parser.nextToken();
+                map.put(key, values.deserialize(parser));
+            }
+            return map;
+        }
+
+        @Override
+        public boolean isEmpty(Map<K, V> value) {
+            return value.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+public final class DoubleListTests {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void testBehavesAsList() {
+        DoubleList list = new DoubleList(2);
+        list.addDouble(1.5);
+        list.addDouble(Double.NaN);
+        list.add(-0.0);
+        assertThat(list).containsExactly(1.5, Double.NaN, -0.0);
+        assertThat(list.getDouble(0)).isEqualTo(1.5);
+        assertThat(list.indexOf(Double.NaN)).isEqualTo(1);
+        assertThat(list.contains(0.0)).isFalse();
+        assertThat(list.toDoubleArray()).containsExactly(1.5, Double.NaN, -0.0);
+        assertThat(list.setDouble(0, 2.5)).isEqualTo(1.5);
+        assertThat(list.remove(0)).isEqualTo(2.5);
+        assertThat(list).hasSize(2);
+    }
+
+    @Test
+    public void testEqualToOtherLists() {
+        List<Double> boxed = new ArrayList<>(List.of(1.0, Double.NaN));
+        DoubleList list = DoubleList.of(1.0, Double.NaN);
+        assertThat(list)
+                .isEqualTo(boxed)
+                .isEqualTo(DoubleList.of(1.0, Double.NaN))
+                .hasSameHashCodeAs(boxed);
+        assertThat(boxed).isEqualTo(list);
+        assertThat(DoubleList.of(0.0)).isNotEqualTo(DoubleList.of(-0.0));
+    }
+
+    @Test
+    public void testUnmodifiable() {
+        DoubleList list = DoubleList.unmodifiable(DoubleList.of(1.0));
+        assertThatThrownBy(() -> list.addDouble(2.0)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> list.remove(0)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testUnmodifiableArray() {
+        DoubleList list = DoubleList.unmodifiable(new double[] {1.5, 2.5});
+        assertThat(list).containsExactly(1.5, 2.5);
+        assertThatThrownBy(() -> list.addDouble(3)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testSerde() throws IOException {
+        DoubleList list = DoubleList.of(1.5, 2, Double.NaN, Double.NEGATIVE_INFINITY);
+        String serialized = mapper.writeValueAsString(list);
+        assertThat(serialized).isEqualTo("[1.5,2.0,\"NaN\",\"-Infinity\"]");
+        assertThat(mapper.readValue(serialized, DoubleList.class)).isEqualTo(list);
+    }
+
+    @Test
+    public void testDeserializationFailsForNulls() {
+        assertThatThrownBy(() -> mapper.readValue("[1.0, null]", DoubleList.class))
+                .isInstanceOf(JsonMappingException.class);
+    }
+}
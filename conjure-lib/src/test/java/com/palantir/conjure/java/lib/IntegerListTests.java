@@ -0,0 +1,99 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+public final class IntegerListTests {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void testBehavesAsList() {
+        IntegerList list = new IntegerList();
+        for (int i = 0; i < 100; i++) {
+            list.addInt(i);
+        }
+        list.add(0, -1);
+        list.remove(100);
+        list.subList(1, 3).clear();
+        assertThat(list).hasSize(98).startsWith(-1, 2, 3).endsWith(97, 98);
+        assertThat(list.getInt(0)).isEqualTo(-1);
+        assertThat(list.indexOf(3)).isEqualTo(2);
+        assertThat(list.contains(99)).isFalse();
+        assertThat(list.toIntArray()).hasSize(98).startsWith(-1, 2, 3);
+    }
+
+    @Test
+    public void testEqualToOtherLists() {
+        List<Integer> boxed = new ArrayList<>(List.of(1, 2, 3));
+        IntegerList list = IntegerList.of(1, 2, 3);
+        assertThat(list).isEqualTo(boxed).isEqualTo(IntegerList.of(1, 2, 3)).hasSameHashCodeAs(boxed);
+        assertThat(boxed).isEqualTo(list);
+        assertThat(list).isNotEqualTo(IntegerList.of(1, 2));
+    }
+
+    @Test
+    public void testRejectsNullElements() {
+        assertThatThrownBy(() -> new IntegerList().add(null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void testUnmodifiable() {
+        IntegerList list = IntegerList.unmodifiable(IntegerList.of(1, 2));
+        assertThat(list).containsExactly(1, 2);
+        assertThatThrownBy(() -> list.addInt(3)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> list.set(0, 3)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(list::clear).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(IntegerList.unmodifiable(list)).isSameAs(list);
+    }
+
+    @Test
+    public void testUnmodifiableArray() {
+        IntegerList list = IntegerList.unmodifiable(new int[] {1, 2});
+        assertThat(list).containsExactly(1, 2);
+        assertThatThrownBy(() -> list.addInt(3)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testSerde() throws IOException {
+        IntegerList list = IntegerList.of(1, -2, Integer.MAX_VALUE);
+        String serialized = mapper.writeValueAsString(list);
+        assertThat(serialized).isEqualTo("[1,-2,2147483647]");
+        assertThat(mapper.readValue(serialized, IntegerList.class)).isEqualTo(list);
+        assertThat(mapper.readValue("[]", IntegerList.class)).isEmpty();
+    }
+
+    @Test
+    public void testDeserializationFailsForNullsAndStrings() {
+        assertThatThrownBy(() -> mapper.readValue("[1, null]", IntegerList.class))
+                .isInstanceOf(JsonMappingException.class);
+        assertThatThrownBy(() -> mapper.readValue("[\"1\"]", IntegerList.class))
+                .isInstanceOf(JsonMappingException.class);
+    }
+}
@@ -65,6 +65,14 @@ public final class SafeLongTests {
         SafeLong.of(minValue);
     }
 
+    @Test
+    public void testSmallValuesAreShared() {
+        assertThat(SafeLong.of(0)).isSameAs(SafeLong.of(0));
+        assertThat(SafeLong.of(-128)).isSameAs(SafeLong.valueOf("-128"));
+        assertThat(SafeLong.of(1023)).isSameAs(SafeLong.of(1023));
+        assertThat(SafeLong.of(1024)).isEqualTo(SafeLong.of(1024));
+    }
+
     @Test
     public void testSerde() throws IOException {
         ObjectMapper mapper = new ObjectMapper();
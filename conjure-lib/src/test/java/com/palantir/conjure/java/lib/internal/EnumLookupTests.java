@@ -0,0 +1,114 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+public final class EnumLookupTests {
+
+    private static final Name ONE = new Name("ONE", true);
+    private static final Name ONE_HUNDRED = new Name("ONE_HUNDRED", true);
+    // "AA" and "BB" share a hash code
+    private static final Name AA = new Name("AA", true);
+    private static final Name BB = new Name("BB", true);
+
+    private final EnumLookup<Name> lookup =
+            EnumLookup.of(List.of(ONE, ONE_HUNDRED, AA, BB), string -> new Name(string, false));
+
+    @Test
+    public void testFindsKnownValuesIgnoringCase() {
+        assertThat(lookup.valueOf("ONE")).isSameAs(ONE);
+        assertThat(lookup.valueOf("one")).isSameAs(ONE);
+        assertThat(lookup.valueOf("One_Hundred")).isSameAs(ONE_HUNDRED);
+        assertThat(lookup.valueOf("aa")).isSameAs(AA);
+        assertThat(lookup.valueOf("bB")).isSameAs(BB);
+    }
+
+    @Test
+    public void testUnknownValuesAreUpperCased() {
+        Name unknown = lookup.valueOf("two");
+        assertThat(unknown.known).isFalse();
+        assertThat(unknown).hasToString("TWO");
+        assertThat(lookup.valueOf("ONE_")).hasToString("ONE_");
+        assertThat(lookup.valueOf("")).hasToString("");
+    }
+
+    @Test
+    public void testNonAsciiValuesMatchUpperCasedInput() {
+        // dotless i upper-cases to I
+        assertThat(lookup.valueOf("on\u0131")).hasToString("ONI");
+        assertThat(lookup.valueOf("\u00f6ne")).hasToString("\u00d6NE");
+        assertThat(EnumLookup.of(List.of(new Name("CLASS", true)), string -> new Name(string, false))
+                        .valueOf("cla\u00df")
+                        .known)
+                .isTrue();
+    }
+
+    @Test
+    public void testRepeatedUnknownValuesAreCached() {
+        assertThat(lookup.valueOf("two")).isSameAs(lookup.valueOf("two"));
+        String longValue = "x".repeat(100);
+        assertThat(lookup.valueOf(longValue)).isNotSameAs(lookup.valueOf(longValue));
+    }
+
+    @Test
+    public void testUnknownValueCacheIsBounded() {
+        List<Name> first = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            first.add(lookup.valueOf("value" + i));
+        }
+        assertThat(lookup.valueOf("value0")).isSameAs(first.get(0));
+        assertThat(lookup.valueOf("value999")).isNotSameAs(first.get(999));
+        assertThat(lookup.valueOf("value999")).hasToString("value999".toUpperCase(Locale.ROOT));
+    }
+
+    @Test
+    public void testLargeEnums() {
+        List<Name> values = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            values.add(new Name("VALUE_" + i, true));
+        }
+        EnumLookup<Name> large = EnumLookup.of(values, string -> new Name(string, false));
+        for (int i = 0; i < 500; i++) {
+            assertThat(large.valueOf("value_" + i)).isSameAs(values.get(i));
+        }
+        assertThat(large.valueOf("value_500").known).isFalse();
+    }
+
+    private static final class Name {
+        private final String name;
+        private final boolean known;
+
+        Name(String name, boolean known) {
+            this.name = name;
+            this.known = known;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -17,9 +17,12 @@
 package com.palantir.conjure.java.undertow.lib;
 
 import com.google.common.util.concurrent.ListenableFuture;
+import com.palantir.logsafe.exceptions.SafeUnsupportedOperationException;
 import io.undertow.server.HttpServerExchange;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
 
 /**
  * Provides functionality to process requests asynchronously. This decouples the lifecycle of a request from the
@@ -38,4 +41,39 @@ public interface AsyncRequestProcessing {
             Duration timeout,
             HttpServerExchange exchange)
             throws IOException;
+
+    /**
+     * Registers a {@link CompletionStage} with the provided {@link HttpServerExchange request}. Implementations should
+     * override this method to avoid adapting the stage into a {@link ListenableFuture}.
+     */
+    default <T> void register(
+            CompletionStage<T> stage, ReturnValueWriter<T> returnValueWriter, HttpServerExchange exchange)
+            throws IOException {
+        register(CompletionStages.toListenableFuture(stage), returnValueWriter, exchange);
+    }
+
+    /**
+     * Registers a {@link CompletionStage} with the provided {@link HttpServerExchange request}. Implementations should
+     * override this method to avoid adapting the stage into a {@link ListenableFuture}.
+     */
+    default <T> void register(
+            CompletionStage<T> stage,
+            ReturnValueWriter<T> returnValueWriter,
+            Duration timeout,
+            HttpServerExchange exchange)
+            throws IOException {
+        register(CompletionStages.toListenableFuture(stage), returnValueWriter, timeout, exchange);
+    }
+
+    /**
+     * Registers a {@link Flow.Publisher} with the provided {@link HttpServerExchange request}. Published elements are
+     * written to the response as a list using the {@link StreamingSerializer} as they are received, and the response
+     * is completed once the publisher completes. Implementations which do not support publishers throw
+     * {@link UnsupportedOperationException}.
+     */
+    default <T> void register(
+            Flow.Publisher<T> _publisher, StreamingSerializer<T> _serializer, HttpServerExchange _exchange)
+            throws IOException {
+        throw new SafeUnsupportedOperationException("Flow.Publisher responses are not supported");
+    }
 }
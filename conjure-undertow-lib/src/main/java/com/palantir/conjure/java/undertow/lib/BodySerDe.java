@@ -16,9 +16,13 @@
 
 package com.palantir.conjure.java.undertow.lib;
 
+import com.palantir.logsafe.exceptions.SafeUnsupportedOperationException;
 import io.undertow.server.HttpServerExchange;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.concurrent.Flow;
 
 /** Request and response Deserialization and Serialization functionality used by generated code. */
 public interface BodySerDe {
@@ -37,6 +41,24 @@ public interface BodySerDe {
         return deserializer(type);
     }
 
+    /**
+     * Creates a {@link StreamingSerializer} which writes a list of the requested element type incrementally.
+     * Implementations which do not support streaming throw {@link UnsupportedOperationException}.
+     */
+    default <T> StreamingSerializer<T> streamingSerializer(TypeMarker<T> _elementType, Endpoint _endpoint) {
+        throw new SafeUnsupportedOperationException("Streaming serialization is not supported");
+    }
+
+    /**
+     * Creates a {@link Deserializer} which reads a list request body of the requested element type one element at a
+     * time as the returned {@link Iterator} is consumed, rather than reading the entire list up front. Elements which
+     * cannot be read fail when they are reached. The iterator may only be used while the request is being handled.
+     * Implementations which do not support streaming throw {@link UnsupportedOperationException}.
+     */
+    default <T> Deserializer<Iterator<T>> streamingDeserializer(TypeMarker<T> _elementType, Endpoint _endpoint) {
+        throw new SafeUnsupportedOperationException("Streaming deserialization is not supported");
+    }
+
     /**
      * Serializes a {@link BinaryResponseBody} to
      *
@@ -60,4 +82,15 @@ public interface BodySerDe {
      * to support future streaming binary bindings without conflicting method signatures.
      */
     InputStream deserializeInputStream(HttpServerExchange exchange);
+
+    /**
+     * Reads the {@link HttpServerExchange} request body as a {@link Flow.Publisher} of {@link ByteBuffer buffers}
+     * which are emitted as data arrives, without blocking a thread for the duration of the upload. Buffers are only
+     * valid until {@link Flow.Subscriber#onNext} returns. The publisher supports a single subscriber, and reading
+     * begins once the endpoint has registered its result with {@link AsyncRequestProcessing}. Implementations which do
+     * not support non-blocking request bodies throw {@link UnsupportedOperationException}.
+     */
+    default Flow.Publisher<ByteBuffer> deserializeByteBuffers(HttpServerExchange _exchange) {
+        throw new SafeUnsupportedOperationException("Non-blocking binary deserialization is not supported");
+    }
 }
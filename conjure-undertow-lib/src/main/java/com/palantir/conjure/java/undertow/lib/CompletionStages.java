@@ -0,0 +1,56 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.lib;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+
+/** Adapts {@link CompletionStage} instances for {@link AsyncRequestProcessing} implementations. */
+final class CompletionStages {
+
+    private CompletionStages() {}
+
+    /**
+     * Returns a {@link ListenableFuture} which completes with the result of the stage. Cancelling the returned future
+     * cancels the stage if it is also a {@link Future}.
+     */
+    static <T> ListenableFuture<T> toListenableFuture(CompletionStage<T> stage) {
+        SettableFuture<T> future = SettableFuture.create();
+        stage.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                future.set(value);
+            } else {
+                future.setException(
+                        throwable instanceof CompletionException && throwable.getCause() != null
+                                ? throwable.getCause()
+                                : throwable);
+            }
+        });
+        future.addListener(
+                () -> {
+                    if (future.isCancelled() && stage instanceof Future) {
+                        ((Future<?>) stage).cancel(false);
+                    }
+                },
+                MoreExecutors.directExecutor());
+        return future;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.lib;
+
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIoException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.OptionalLong;
+
+/**
+ * A {@link BinaryResponseBody} backed by a region of a file. Runtimes which recognize this type may transfer the file
+ * to the client without copying it through the heap, for example using {@code sendfile}, and may serve
+ * {@code Range} requests within the region. Otherwise the region is copied to the response stream by
+ * {@link #write(OutputStream)}.
+ */
+public final class FileResponseBody implements BinaryResponseBody {
+
+    private final Path path;
+    private final long offset;
+    private final OptionalLong length;
+
+    private FileResponseBody(Path path, long offset, OptionalLong length) {
+        this.path = Preconditions.checkNotNull(path, "path is required");
+        Preconditions.checkArgument(offset >= 0, "offset must not be negative", SafeArg.of("offset", offset));
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /** Creates a {@link FileResponseBody} which responds with the entire file. */
+    public static FileResponseBody of(Path path) {
+        return new FileResponseBody(path, 0, OptionalLong.empty());
+    }
+
+    /** Creates a {@link FileResponseBody} which responds with {@code length} bytes beginning at {@code offset}. */
+    public static FileResponseBody of(Path path, long offset, long length) {
+        Preconditions.checkArgument(length >= 0, "length must not be negative", SafeArg.of("length", length));
+        return new FileResponseBody(path, offset, OptionalLong.of(length));
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    /** Position within the file of the first byte of the response. */
+    public long offset() {
+        return offset;
+    }
+
+    /** Number of bytes in the response, or empty if the response extends to the end of the file. */
+    public OptionalLong length() {
+        return length;
+    }
+
+    /**
+     * Returns the number of bytes in the response given the current size of the {@code file} opened from
+     * {@link #path()}, failing if the region extends beyond the end of the file.
+     */
+    public long regionLength(FileChannel file) throws IOException {
+        long size = file.size();
+        long end = length.isPresent() ? offset + length.getAsLong() : size;
+        if (offset > size || end > size) {
+            throw new SafeIoException(
+                    "File region extends beyond the end of the file",
+                    SafeArg.of("offset", offset),
+                    SafeArg.of("end", end),
+                    SafeArg.of("size", size));
+        }
+        return end - offset;
+    }
+
+    @Override
+    public void write(OutputStream responseBody) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(responseBody);
+            long position = offset;
+            long remaining = regionLength(file);
+            while (remaining > 0) {
+                long transferred = file.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    throw new SafeIoException("File was truncated while it was being written");
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FileResponseBody{path=" + path + ", offset=" + offset + ", length=" + length + '}';
+    }
+}
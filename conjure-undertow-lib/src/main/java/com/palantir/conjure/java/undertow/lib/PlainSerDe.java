@@ -87,6 +87,16 @@ public interface PlainSerDe {
 
     Set<Double> deserializeDoubleSet(@Nullable Iterable<String> in);
 
+    /**
+     * Deserializes each value into a primitive array, avoiding the boxing required by
+     * {@link #deserializeDoubleList(Iterable)}. A {@code null} input produces an empty array.
+     */
+    default double[] deserializeDoubleArray(@Nullable Iterable<String> in) {
+        return deserializeDoubleList(in).stream()
+                .mapToDouble(Double::doubleValue)
+                .toArray();
+    }
+
     int deserializeInteger(@Nullable String in);
 
     int deserializeInteger(@Nullable Iterable<String> in);
@@ -99,6 +109,14 @@ public interface PlainSerDe {
 
     Set<Integer> deserializeIntegerSet(@Nullable Iterable<String> in);
 
+    /**
+     * Deserializes each value into a primitive array, avoiding the boxing required by
+     * {@link #deserializeIntegerList(Iterable)}. A {@code null} input produces an empty array.
+     */
+    default int[] deserializeIntegerArray(@Nullable Iterable<String> in) {
+        return deserializeIntegerList(in).stream().mapToInt(Integer::intValue).toArray();
+    }
+
     ResourceIdentifier deserializeRid(String in);
 
     ResourceIdentifier deserializeRid(@Nullable Iterable<String> in);
@@ -123,6 +141,17 @@ public interface PlainSerDe {
 
     Set<SafeLong> deserializeSafeLongSet(@Nullable Iterable<String> in);
 
+    /**
+     * Deserializes each value into a primitive array of validated {@link SafeLong} values, avoiding the
+     * {@link SafeLong} instances allocated by {@link #deserializeSafeLongList(Iterable)}. A {@code null} input
+     * produces an empty array.
+     */
+    default long[] deserializeSafeLongArray(@Nullable Iterable<String> in) {
+        return deserializeSafeLongList(in).stream()
+                .mapToLong(SafeLong::longValue)
+                .toArray();
+    }
+
     String deserializeString(@Nullable String in);
 
     String deserializeString(@Nullable Iterable<String> in);
@@ -0,0 +1,73 @@
+/*
+ * (c) Copyright 2022 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.lib;
+
+import io.undertow.server.HttpServerExchange;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a list to a response one element at a time, allowing responses to be produced incrementally rather than
+ * materializing the entire list in memory.
+ */
+public interface StreamingSerializer<T> {
+
+    /**
+     * Negotiates the response encoding and begins writing a list to the provided exchange. Elements are written using
+     * the returned {@link ElementWriter}, which must be closed to complete the list. Writers are not closed when
+     * producing elements fails, closing would commit a truncated list rather than allowing the failure to be reported.
+     */
+    ElementWriter<T> open(HttpServerExchange exchange) throws IOException;
+
+    /**
+     * Writes each element produced by the iterator to the exchange as a list. Implementations flush periodically, so
+     * the number of elements held in memory does not depend on the size of the list.
+     */
+    default void serialize(Iterator<? extends T> elements, HttpServerExchange exchange) throws IOException {
+        ElementWriter<T> writer = open(exchange);
+        while (elements.hasNext()) {
+            writer.write(elements.next());
+        }
+        writer.close();
+    }
+
+    /** Writes each element of the stream to the exchange as a list, closing the stream once it has been consumed. */
+    default void serialize(Stream<? extends T> elements, HttpServerExchange exchange) throws IOException {
+        try (Stream<? extends T> closeable = elements) {
+            serialize(closeable.iterator(), exchange);
+        }
+    }
+
+    /** Writes elements of a list which has been opened by a {@link StreamingSerializer}. */
+    interface ElementWriter<T> extends Closeable {
+
+        /** Writes an element to the list. Elements may be buffered until {@link #flush()} is invoked. */
+        void write(T element) throws IOException;
+
+        /** Sends buffered elements to the client. */
+        void flush() throws IOException;
+
+        /**
+         * Completes the list. This does not end the exchange, and should only be invoked once every element has been
+         * written successfully.
+         */
+        @Override
+        void close() throws IOException;
+    }
+}
@@ -32,6 +32,12 @@ public interface ReturnType {
 
     Optional<TypeName> asyncInnerType();
 
+    /**
+     * Element type of {@link java.util.Iterator} and {@link java.util.stream.Stream} responses which are written as a
+     * list one element at a time.
+     */
+    Optional<TypeName> streamingElementType();
+
     @Value.Derived
     default boolean isVoid() {
         TypeName type = asyncInnerType().orElseGet(this::returnType);
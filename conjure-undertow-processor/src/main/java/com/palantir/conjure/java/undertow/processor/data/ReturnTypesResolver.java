@@ -17,11 +17,15 @@
 package com.palantir.conjure.java.undertow.processor.data;
 
 import com.google.common.util.concurrent.ListenableFuture;
+import com.palantir.conjure.java.undertow.annotations.DefaultSerDe;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.TypeName;
+import java.util.Iterator;
 import java.util.Optional;
+import java.util.stream.Stream;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 
 public final class ReturnTypesResolver {
@@ -44,12 +48,18 @@ public final class ReturnTypesResolver {
 
         TypeMirror producesSerializerFactory = handleAnnotation.getAnnotationValue("produces", TypeMirror.class);
         CodeBlock factoryInstantiator = Instantiables.instantiate(producesSerializerFactory);
+        // Custom serializer factories are responsible for their own handling of iterators and streams.
+        Optional<TypeMirror> maybeStreamingElementType =
+                context.isSameTypes(producesSerializerFactory, DefaultSerDe.class)
+                        ? getStreamingElementType(maybeListenableFutureInnerType.orElse(returnType))
+                        : Optional.empty();
 
         return Optional.of(ImmutableReturnType.builder()
                 .returnType(TypeName.get(returnType))
                 .serializerFactory(factoryInstantiator)
                 .serializerFieldName(InstanceVariables.joinCamelCase(endpointName.get(), "Serializer"))
                 .asyncInnerType(maybeListenableFutureInnerType.map(TypeName::get))
+                .streamingElementType(maybeStreamingElementType.map(TypeName::get))
                 .build());
     }
 
@@ -57,4 +67,13 @@ public final class ReturnTypesResolver {
         return context.maybeAsDeclaredType(typeName)
                 .flatMap(declaredType -> context.getGenericInnerType(ListenableFuture.class, declaredType));
     }
+
+    private Optional<TypeMirror> getStreamingElementType(TypeMirror typeName) {
+        Optional<TypeMirror> iteratorElementType = context.getGenericInnerType(Iterator.class, typeName);
+        return (iteratorElementType.isPresent()
+                        ? iteratorElementType
+                        : context.getGenericInnerType(Stream.class, typeName))
+                // Wildcards and type variables cannot be captured by a TypeMarker.
+                .filter(elementType -> elementType.getKind() == TypeKind.DECLARED);
+    }
 }
@@ -396,15 +396,28 @@ public final class ConjureUndertowEndpointsGenerator {
                                     Modifier.PRIVATE,
                                     Modifier.FINAL)
                             .build())
-                    .constructorInitializer(CodeBlock.builder()
-                            .addStatement(
-                                    "this.$N = $L.serializer(new $T<$T>() {}, $N, this)",
-                                    returnType.serializerFieldName(),
-                                    returnType.serializerFactory(),
-                                    TypeMarker.class,
-                                    responseTypeName,
-                                    RUNTIME_NAME)
-                            .build())
+                    .constructorInitializer(
+                            returnType.streamingElementType().isPresent()
+                                    ? CodeBlock.builder()
+                                            .addStatement(
+                                                    "this.$N = $N.bodySerDe().streamingSerializer(new $T<$T>() {},"
+                                                            + " this)::serialize",
+                                                    returnType.serializerFieldName(),
+                                                    RUNTIME_NAME,
+                                                    TypeMarker.class,
+                                                    returnType
+                                                            .streamingElementType()
+                                                            .get())
+                                            .build()
+                                    : CodeBlock.builder()
+                                            .addStatement(
+                                                    "this.$N = $L.serializer(new $T<$T>() {}, $N, this)",
+                                                    returnType.serializerFieldName(),
+                                                    returnType.serializerFactory(),
+                                                    TypeMarker.class,
+                                                    responseTypeName,
+                                                    RUNTIME_NAME)
+                                            .build())
                     .build());
             if (returnType.asyncInnerType().isPresent()) {
                 handlerBuilder.addStatement(
@@ -52,6 +52,7 @@ import com.palantir.conjure.java.undertow.processor.sample.SafeLoggableAuthHeade
 import com.palantir.conjure.java.undertow.processor.sample.SafeLoggableParams;
 import com.palantir.conjure.java.undertow.processor.sample.SimpleInterface;
 import com.palantir.conjure.java.undertow.processor.sample.StaticMethodAnnotatedResource;
+import com.palantir.conjure.java.undertow.processor.sample.StreamingResponses;
 import com.palantir.conjure.java.undertow.processor.sample.TaggedEndpoints;
 import com.palantir.logsafe.exceptions.SafeRuntimeException;
 import java.io.IOException;
@@ -147,6 +148,11 @@ public class ConjureUndertowAnnotationProcessorTest {
         assertTestFileCompileAndMatches(TEST_CLASSES_BASE_DIR, GenericImpl.class);
     }
 
+    @Test
+    public void testStreamingResponses() {
+        assertTestFileCompileAndMatches(TEST_CLASSES_BASE_DIR, StreamingResponses.class);
+    }
+
     @Test
     public void testSafeLoggingAuthCookie() {
         assertThat(compileTestClass(TEST_CLASSES_BASE_DIR, SafeLoggableAuthCookieParam.class))